@@ -39,8 +39,39 @@ public class Config {
 	public static final String MONGO_TEST_DATABASE_NAME = "NHLBotIntegrationTest";
 	public static final ZoneId DATE_START_TIME_ZONE = ZoneId.of("America/Vancouver");
 
-	public static final int HTTP_REQUEST_RETRIES = 5;
+	public static final int HTTP_RETRY_THREADS = 2;
+	public static final long HTTP_RETRY_BASE_DELAY_MS = 1000;
+	public static final long HTTP_RETRY_MAX_DELAY_MS = 60000;
+	public static final int HTTP_CIRCUIT_FAILURE_THRESHOLD = 5;
+	public static final long HTTP_CIRCUIT_OPEN_MS = 30000;
+	public static final int HTTP_LAST_KNOWN_GOOD_SIZE = 16;
+	public static final int HTTP_HEDGE_SAMPLES = 200;
+	public static final double HTTP_HEDGE_PERCENTILE = 95;
+	public static final long HTTP_HEDGE_MIN_DELAY_MS = 250;
+	public static final double NHL_API_MAX_REQUESTS_PER_SECOND = 2;
+	public static final int NHL_API_REQUEST_BURST = 10;
+	public static final int HTTP_MAX_CONNECTIONS = 50;
+	public static final int HTTP_MAX_CONNECTIONS_PER_ROUTE = 5;
+	public static final int HTTP_MAX_NHL_API_CONNECTIONS = 20;
+	public static final int HTTP_CONNECT_TIMEOUT_MS = 5000;
+	public static final int HTTP_SOCKET_TIMEOUT_MS = 10000;
+	public static final int HTTP_CONNECTION_REQUEST_TIMEOUT_MS = 5000;
+	public static final int HTTP_VALIDATE_AFTER_INACTIVITY_MS = 2000;
+	public static final long HTTP_KEEP_ALIVE_MS = 30000;
+	public static final int EVENT_WORKER_THREADS = 16;
+	public static final int EVENT_WORKER_QUEUE_SIZE = 1000;
+	public static final double DISCORD_MAX_REQUESTS_PER_SECOND = 40;
+	public static final int DISCORD_REQUEST_BURST = 40;
+	public static final double DISCORD_CHANNEL_MAX_REQUESTS_PER_SECOND = 1;
+	public static final int DISCORD_CHANNEL_REQUEST_BURST = 5;
+	public static final int DISCORD_MAX_CHANNEL_QUEUES = 10000;
+	public static final long DISCORD_REQUEST_MAX_WAIT_MS = 30000;
+	public static final long DISCORD_REQUEST_TIMEOUT_MS = 30000;
+	public static final int GOAL_FAN_OUT_CONCURRENCY = 20;
+	public static final long GOAL_FAN_OUT_DELIVERY_TIMEOUT_MS = 120000;
+	public static final int GOAL_FAN_OUT_LATENCY_SAMPLES = 1000;
 	public static final String NHL_API_URL = "https://statsapi.web.nhl.com/api/v1";	
+	public static final String SCHEDULE_SNAPSHOT_FILE = "data/schedule.snapshot";
 
 	private static final Properties systemProperties = System.getProperties();
 }
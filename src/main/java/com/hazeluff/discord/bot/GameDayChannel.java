@@ -1,9 +1,7 @@
 package com.hazeluff.discord.bot;
 
 import java.time.ZoneId;
-import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -11,53 +9,55 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.hazeluff.discord.bot.GameMessageCache.MessageType;
 import com.hazeluff.discord.bot.database.preferences.GuildPreferences;
+import com.hazeluff.discord.bot.discord.DiscordManager;
+import com.hazeluff.discord.bot.discord.RequestPriority;
 import com.hazeluff.discord.bot.listener.IEventProcessor;
 import com.hazeluff.discord.nhl.Game;
 import com.hazeluff.discord.nhl.GameEvent;
 import com.hazeluff.discord.nhl.GameEventStrength;
 import com.hazeluff.discord.nhl.GamePeriod;
+import com.hazeluff.discord.nhl.GameSnapshot;
 import com.hazeluff.discord.nhl.GameStatus;
 import com.hazeluff.discord.nhl.GameTracker;
 import com.hazeluff.discord.nhl.Player;
 import com.hazeluff.discord.nhl.Team;
 import com.hazeluff.discord.nhl.custommessages.CanucksCustomMessages;
-import com.hazeluff.discord.utils.DateUtils;
-import com.hazeluff.discord.utils.Utils;
 
 import discord4j.core.event.domain.Event;
-import discord4j.core.event.domain.message.ReactionAddEvent;
-import discord4j.core.event.domain.message.ReactionRemoveEvent;
 import discord4j.core.object.entity.Guild;
 import discord4j.core.object.entity.Message;
-import discord4j.core.object.entity.channel.Category;
 import discord4j.core.object.entity.channel.TextChannel;
 import discord4j.core.object.reaction.ReactionEmoji;
 import discord4j.core.object.reaction.ReactionEmoji.Unicode;
-import discord4j.core.spec.TextChannelCreateSpec;
-
-public class GameDayChannel extends Thread implements IEventProcessor {
+import reactor.core.publisher.Mono;
+
+/**
+ * <p>
+ * The channel of a game in a guild. Posts the changes published by the {@link GameTracker} of the game.
+ * </p>
+ * 
+ * <p>
+ * Messages are sent without blocking the thread of the tracker. The channel, and each message that is edited later, is
+ * kept as a cached {@link Mono}, so that a message is sent once the channel is created, and an edit is sent once the
+ * message (or its previous edit) is sent.
+ * </p>
+ */
+public class GameDayChannel implements IEventProcessor, GameTracker.Listener {
 	private static final Logger LOGGER = LoggerFactory.getLogger(GameDayChannel.class);
 
-	// Number of retries to do when NHL API returns no events.
-	static final int NHL_EVENTS_RETRIES = 5;
-
-	// Polling time for when game is not close to starting
-	static final long IDLE_POLL_RATE_MS = 60000l;
-	// Polling time for when game is started/almost-started
-	static final long ACTIVE_POLL_RATE_MS = 5000l;
-	// Time before game to poll faster
-	static final long CLOSE_TO_START_THRESHOLD_MS = 300000l;
-	// Time after game is final to continue updates
-	static final long POST_GAME_UPDATE_DURATION = 600000l;
+	// Messages shared by the channels of all guilds
+	static final GameMessageCache MESSAGE_CACHE = new GameMessageCache();
+	static final GoalFanOut GOAL_FAN_OUT = new GoalFanOut();
 
 	static final Unicode HOME_EMOJI = ReactionEmoji.unicode("🏠");
 	static final Unicode AWAY_EMOJI = ReactionEmoji.unicode("✈️");
@@ -77,35 +77,32 @@ public class GameDayChannel extends Thread implements IEventProcessor {
 	private final Game game;
 	private final Guild guild;
 
-	private TextChannel channel;
+	// Completes with the channel once it is created. Empty, if the channel could not be created.
+	private Mono<TextChannel> channel;
 
-	private List<GameEvent> events = new ArrayList<>();
-	private int eventsRetries = 0;
+	private boolean firstCountdown = true;
 
 	// Map<eventId, message>
-	private final Map<Integer, Message> eventMessages = new HashMap<>();
+	private final Map<Integer, Mono<Message>> eventMessages = new HashMap<>();
 
-	private Message endOfGameMessage;
+	private Mono<Message> endOfGameMessage;
 
 	private AtomicBoolean started = new AtomicBoolean(false);
 
-	GameDayChannel(NHLBot nhlBot, GameTracker gameTracker, Game game, List<GameEvent> events, Guild guild,
-			TextChannel channel) {
-		setUncaughtExceptionHandler(new ExceptionHandler(GameDayChannelsManager.class));
+	GameDayChannel(NHLBot nhlBot, GameTracker gameTracker, Game game, Guild guild, TextChannel channel) {
 		this.nhlBot = nhlBot;
 		this.gameTracker = gameTracker;
 		this.game = game;
-		this.events = events;
 		this.guild = guild;
-		this.channel = channel;
+		this.channel = Mono.justOrEmpty(channel);
 	}
 
 	GameDayChannel(NHLBot nhlBot, Game game, Guild guild) {
-		this(nhlBot, null, game, game.getEvents(), guild, null);
+		this(nhlBot, null, game, guild, null);
 	}
 
 	GameDayChannel(NHLBot nhlBot, GameTracker gameTracker, Guild guild) {
-		this(nhlBot, gameTracker, gameTracker.getGame(), gameTracker.getGame().getEvents(), guild, null);
+		this(nhlBot, gameTracker, gameTracker.getGame(), guild, null);
 	}
 
 	public static GameDayChannel get(NHLBot nhlBot, GameTracker gameTracker, Guild guild) {
@@ -126,282 +123,165 @@ public class GameDayChannel extends Thread implements IEventProcessor {
 		return new GameDayChannel(nhlBot, game, guild);
 	}
 
-	void updateEvents(List<GameEvent> events) {
-		this.events = events;
-	}
-
-	/*
-	 * Thread
+	/**
+	 * Starts listening to the changes of the game. Does nothing if the game is already finished.
 	 */
-
-	@Override
 	public void start() {
-		if (!started.get()) {
-			started.set(true);
-			superStart();
-		} else {
-			LOGGER.warn("Thread already started.");
+		if (!started.compareAndSet(false, true)) {
+			LOGGER.warn("Channel already started.");
+			return;
 		}
-	}
-
-	void superStart() {
-		super.start();
-	}
-
-	@Override
-	public void run() {
-		String channelName = getChannelName();
-		String threadName = String.format("<%s> <%s>", guild.getName(), channelName);
-		setName(threadName);
-		LOGGER.info("Started thread for channel [{}] in guild [{}]", channelName, guild.getName());
 
+		LOGGER.info("Started channel [{}] in guild [{}]", getChannelName(), guild.getName());
 		if (game.getStatus() != GameStatus.FINAL) {
-
-			// Wait until close to start of game
-			LOGGER.info("Idling until near game start.");
-			sendReminders();
-
-			// Game is close to starting. Poll at higher rate than previously
-			LOGGER.info("Game is about to start. Polling more actively.");
-			boolean alreadyStarted = waitForStart();
-
-			// Game has started
-			if (!alreadyStarted) {
-				LOGGER.info("Game is about to start!");
-				sendStartOfGameMessage();
-			} else {
-				LOGGER.info("Game has already started.");
-			}
-
-			while (!gameTracker.isFinished()) {
-				List<GameEvent> fetchedEvents = game.getEvents();
-				if (!isRetryEventFetch(fetchedEvents)) {
-					updateMessages(fetchedEvents);
-					updateEvents(fetchedEvents);
-
-					if (game.getStatus() == GameStatus.FINAL) {
-						updateEndOfGameMessage();
-					}
-				}
-				Utils.sleep(ACTIVE_POLL_RATE_MS);
-			}
+			gameTracker.addListener(this);
 		} else {
 			LOGGER.info("Game is already finished");
 		}
+	}
+
+	/**
+	 * Stops listening to the changes of the game.
+	 */
+	void stop() {
+		if (gameTracker != null) {
+			gameTracker.removeListener(this);
+		}
 		// Deregister processing on ReactionListener
 		unregisterFromListener();
-		LOGGER.info("Thread Completed");
 	}
 
 	/*
-	 * Other Methods
+	 * GameTracker.Listener
 	 */
-	void createChannel() {
-		String channelName = getChannelName();
-		Predicate<TextChannel> channelMatcher = c -> c.getName().equalsIgnoreCase(channelName);
-		GuildPreferences preferences = nhlBot.getPersistentData()
-				.getPreferencesData()
-				.getGuildPreferences(guild.getId().asLong());
 
-		Category category = getCategory(guild, GameDayChannelsManager.GAME_DAY_CHANNEL_CATEGORY_NAME);
+	@Override
+	public void onCountdown(long timeTillGameMs) {
+		sendReminders(timeTillGameMs);
+	}
 
-		if (!nhlBot.getDiscordManager().getTextChannels(guild).stream().anyMatch(channelMatcher)) {
-			Consumer<TextChannelCreateSpec> channelSpec = spec -> {
-				spec.setName(channelName);
-				spec.setTopic(preferences.getCheer());
-				if (category != null) {
-					spec.setParentId(category.getId());
-				}
-			};
-			channel = nhlBot.getDiscordManager().createAndGetChannel(guild, channelSpec);
-			if (channel != null) {
-				ZoneId timeZone = preferences.getTimeZone();
-				Message message = sendAndGetMessage(getDetailsMessage(timeZone));
-				nhlBot.getDiscordManager().pinMessage(message);
-			}
-		} else {
-			LOGGER.debug("Channel [" + channelName + "] already exists in [" + guild.getName() + "]");
-			channel = nhlBot.getDiscordManager().getTextChannels(guild).stream()
-					.filter(channelMatcher)
-					.findAny()
-					.orElse(null);
-
-			if (!channel.getCategoryId().isPresent() && category != null) {
-				nhlBot.getDiscordManager().moveChannel(category, channel);
-			}
+	@Override
+	public void onStatusChanged(GameStatus oldStatus, GameStatus newStatus) {
+		if (oldStatus == GameStatus.PREVIEW) {
+			LOGGER.info("Game is about to start!");
+			sendStartOfGameMessage();
 		}
 	}
 
-	/**
-	 * Gets the existing category in the guild. If the category does not already
-	 * exist, it will be created.
-	 * 
-	 * @param guild
-	 *            guild to create the category in
-	 * @param categoryName
-	 *            name of the category
-	 * @return the {@link ICategory}
-	 */
-	Category getCategory(Guild guild, String categoryName) {
-		Category category = nhlBot.getDiscordManager().getCategory(guild, categoryName);
-		if (category == null) {
-			category = nhlBot.getDiscordManager().createCategory(guild, categoryName);
-		}
-		return category;
+	@Override
+	public void onGoalAdded(GameEvent event) {
+		sendEventMessage(event);
+		updateEndOfGameMessageIfFinal();
 	}
 
-	/**
-	 * Stops the thread and deletes the channel from the Discord Guild.
-	 */
-	void stopAndRemoveGuildChannel() {
-		nhlBot.getDiscordManager().deleteChannel(channel);
-		interrupt();
+	@Override
+	public void onGoalChanged(GameEvent event) {
+		updateEventMessage(event);
+		updateEndOfGameMessageIfFinal();
 	}
 
 	@Override
-	public void interrupt() {
-		unregisterFromListener();
-		super.interrupt();
+	public void onGoalRescinded(GameEvent event) {
+		sendDeletedEventMessage(event);
+		updateEndOfGameMessageIfFinal();
 	}
 
-	/**
-	 * Sends reminders of time till the game starts.
-	 * 
-	 * @throws InterruptedException
-	 */
-	void sendReminders() {
-		boolean firstPass = true;
-		boolean closeToStart;
-		long timeTillGameMs = Long.MAX_VALUE;
-		do {
-			timeTillGameMs = DateUtils.diffMs(ZonedDateTime.now(), game.getDate());
-			closeToStart = timeTillGameMs < CLOSE_TO_START_THRESHOLD_MS;
-			if (!closeToStart) {
-				// Check to see if message should be sent.
-				long lowestThreshold = Long.MAX_VALUE;
-				String message = null;
-				Iterator<Entry<Long, String>> it = gameReminders.entrySet().iterator();
-				while (it.hasNext()) {
-					Entry<Long, String> entry = it.next();
-					long threshold = entry.getKey();
-					if (threshold > timeTillGameMs) {
-						if (lowestThreshold > threshold) {
-							lowestThreshold = threshold;
-							message = entry.getValue();
-						}
-						it.remove();
-					}
-				}
-				if (message != null && !firstPass) {
-					sendMessage(message);
-				}
-				lowestThreshold = Long.MAX_VALUE;
-				message = null;
-				firstPass = false;
-				LOGGER.trace("Idling until near game start. Sleeping for [" + IDLE_POLL_RATE_MS + "]");
+	@Override
+	public void onGameEnded() {
+		updateEndOfGameMessage();
+	}
 
-				Utils.sleep(IDLE_POLL_RATE_MS);
-			}
-		} while (!closeToStart && !isInterrupted());
+	@Override
+	public void onFinished(GameTracker gameTracker) {
+		stop();
+		LOGGER.info("Channel Completed");
 	}
 
+	/*
+	 * Other Methods
+	 */
 	/**
-	 * Polls at higher polling rate before game starts. Returns whether or not the
-	 * game has already started
-	 * 
-	 * @return true, if game is already started<br>
-	 *         false, otherwise
-	 * @throws InterruptedException
-	 */
-	boolean waitForStart() {
-		boolean alreadyStarted = game.getStatus() != GameStatus.PREVIEW;
-		boolean started = false;
-		do {
-			started = game.getStatus() != GameStatus.PREVIEW;
-			if (!started && !isInterrupted()) {
-				LOGGER.trace("Game almost started. Sleeping for [" + ACTIVE_POLL_RATE_MS + "]");
-				Utils.sleep(ACTIVE_POLL_RATE_MS);
-			}
-		} while (!started && !isInterrupted());
-		return alreadyStarted;
+	 * Starts creating the channel, without waiting for it to be created.
+	 */
+	void createChannel() {
+		channel = createChannelAsync().cache();
+		channel.subscribe();
 	}
 
 	/**
+	 * Creates the channel in the Game Day Channels category, and pins the details of the game in it. If the channel
+	 * already exists, it is moved into the category instead.
 	 * 
-	 * <p>
-	 * Posts/Updates/Removes Messages from the Channels based on the state of the
-	 * Game's GameEvents.
-	 * </p>
-	 * 
-	 * <p>
-	 * Updates the stored events.
-	 * </p>
-	 * 
-	 * @param fetchedEvents
-	 *            the new list of events to update to
+	 * @return mono of the channel
 	 */
-	void updateMessages(List<GameEvent> fetchedEvents) {
-		fetchedEvents.forEach(retrievedEvent -> {
-			if (retrievedEvent.getPlayers().isEmpty()) {
-				return;
-			}
+	Mono<TextChannel> createChannelAsync() {
+		DiscordManager discordManager = nhlBot.getDiscordManager();
+		String channelName = getChannelName();
+		GuildPreferences preferences = nhlBot.getPersistentData()
+				.getPreferencesData()
+				.getGuildPreferences(guild.getId().asLong());
 
-			GameEvent existingEvent = events.stream().filter(event -> event.getId() == retrievedEvent.getId()).findAny()
-					.orElse(null);
-			if (existingEvent == null) {
-				// New events
-				LOGGER.debug("New event: [" + retrievedEvent + "]");
-				sendEventMessage(retrievedEvent);
-			} else if (!existingEvent.equals(retrievedEvent)) {
-				// Updated events
-				LOGGER.debug("Updated event: [" + retrievedEvent + "]");
-				updateEventMessage(retrievedEvent);
-			}
-		});
+		return discordManager
+				.getOrCreateCategoryAsync(guild, GameDayChannelsManager.GAME_DAY_CHANNEL_CATEGORY_NAME)
+				.map(Optional::of)
+				.defaultIfEmpty(Optional.empty())
+				.flatMap(category -> discordManager.getTextChannelsAsync(guild)
+						.filter(c -> c.getName().equalsIgnoreCase(channelName))
+						.next()
+						.flatMap(existingChannel -> {
+							LOGGER.debug("Channel [" + channelName + "] already exists in [" + guild.getName() + "]");
+							if (!existingChannel.getCategoryId().isPresent() && category.isPresent()) {
+								return discordManager.moveChannelAsync(category.get(), existingChannel)
+										.defaultIfEmpty(existingChannel);
+							}
+							return Mono.just(existingChannel);
+						})
+						.switchIfEmpty(Mono.defer(() -> discordManager.createChannelAsync(guild, spec -> {
+							spec.setName(channelName);
+							spec.setTopic(preferences.getCheer());
+							category.ifPresent(c -> spec.setParentId(c.getId()));
+						}).flatMap(createdChannel -> discordManager
+								.sendMessageAsync(createdChannel, getDetailsMessage(preferences.getTimeZone()),
+										RequestPriority.REMINDER)
+								.flatMap(message -> discordManager.pinMessageAsync(message, RequestPriority.REMINDER))
+								.thenReturn(createdChannel)))));
+	}
 
-		// Deleted events
-		events.forEach(event -> {
-			if (fetchedEvents.stream().noneMatch(retrievedEvent -> event.getId() == retrievedEvent.getId())) {
-				LOGGER.debug("Removed event: [" + event + "]");
-				sendDeletedEventMessage(event);
-			}
-		});
+	/**
+	 * Stops listening to the game and deletes the channel from the Discord Guild.
+	 */
+	void stopAndRemoveGuildChannel() {
+		DiscordManager discordManager = nhlBot.getDiscordManager();
+		discordManager.subscribe(channel.flatMap(discordManager::deleteChannelAsync));
+		stop();
 	}
 
 	/**
-	 * <p>
-	 * Determines if game events should be fetched again before updating the
-	 * messages.
-	 * </p>
-	 * 
-	 * <p>
-	 * A retry should happen if the existing events is more than 1 and the api
-	 * returned 0 events. Otherwise, if there is 1 existing event and none is
-	 * fetched, retry {@link #NHL_EVENTS_RETRIES} times until accepting the changes.
-	 * </p>
+	 * Sends the reminder of the lowest threshold that the time till the game has passed. Thresholds that have passed
+	 * before the first countdown are skipped.
 	 * 
-	 * @param fetchedGameEvents
-	 *            the fetched game events
-	 * @return true - if events should be fetched again<br>
-	 *         false - otherwise
-	 */
-	public boolean isRetryEventFetch(List<GameEvent> fetchedGameEvents) {
-		if (fetchedGameEvents.isEmpty()) {
-			if (events.size() > 1) {
-				LOGGER.warn("NHL api returned no events, but we have stored more than one event.");
-				return true;
-			} else if (events.size() == 1) {
-				LOGGER.warn("NHL api returned no events, but we have stored one event.");
-				if (eventsRetries++ < NHL_EVENTS_RETRIES) {
-					LOGGER.warn(String.format(
-							"Could be a rescinded goal or NHL api issue. " + "Retrying %s time(s) out of %s",
-							eventsRetries, NHL_EVENTS_RETRIES));
-					return true;
+	 * @param timeTillGameMs
+	 *            time (ms) until the game starts
+	 */
+	void sendReminders(long timeTillGameMs) {
+		long lowestThreshold = Long.MAX_VALUE;
+		String message = null;
+		Iterator<Entry<Long, String>> it = gameReminders.entrySet().iterator();
+		while (it.hasNext()) {
+			Entry<Long, String> entry = it.next();
+			long threshold = entry.getKey();
+			if (threshold > timeTillGameMs) {
+				if (lowestThreshold > threshold) {
+					lowestThreshold = threshold;
+					message = entry.getValue();
 				}
+				it.remove();
 			}
 		}
-		eventsRetries = 0;
-		return false;
+		if (message != null && !firstCountdown) {
+			sendMessage(message, RequestPriority.REMINDER);
+		}
+		firstCountdown = false;
 	}
 
 	/**
@@ -416,10 +296,8 @@ public class GameDayChannel extends Thread implements IEventProcessor {
 	void sendEventMessage(GameEvent event) {
 		LOGGER.info("Sending message for event [" + event + "].");
 		String strMessage = buildEventMessage(event);
-		Message message = sendAndGetMessage(strMessage);
-		if (message != null) {
-			eventMessages.put(event.getId(), message);
-		}
+		Mono<Message> message = GOAL_FAN_OUT.deliver(guild.getId().asLong(), () -> sendMessageAsync(strMessage));
+		eventMessages.put(event.getId(), message);
 	}
 
 	/**
@@ -433,12 +311,15 @@ public class GameDayChannel extends Thread implements IEventProcessor {
 	 */
 	void updateEventMessage(GameEvent event) {
 		LOGGER.info("Updating message for event [" + event + "].");
-		if (!eventMessages.containsKey(event.getId())) {
+		Mono<Message> eventMessage = eventMessages.get(event.getId());
+		if (eventMessage == null) {
 			LOGGER.warn("No message exists for the event: {}", event);
 		} else {
 			String message = buildEventMessage(event);
-			Message updatedMessage = nhlBot.getDiscordManager()
-					.updateAndGetMessage(eventMessages.get(event.getId()), message);
+			Mono<Message> updatedMessage = GOAL_FAN_OUT.deliver(guild.getId().asLong(), () -> eventMessage
+					.flatMap(sentMessage -> nhlBot.getDiscordManager()
+							.updateMessageAsync(sentMessage, message, RequestPriority.LIVE_EVENT)
+							.defaultIfEmpty(sentMessage)));
 			eventMessages.put(event.getId(), updatedMessage);
 		}
 	}
@@ -454,17 +335,33 @@ public class GameDayChannel extends Thread implements IEventProcessor {
 	 */
 	void sendDeletedEventMessage(GameEvent event) {
 		LOGGER.info("Sending 'deleted event' message for event [" + event + "].");
-		sendMessage(String.format("Goal by %s has been rescinded.", event.getPlayers().get(0).getFullName()));
+		String message = String.format("Goal by %s has been rescinded.", event.getPlayers().get(0).getFullName());
+		GOAL_FAN_OUT.deliver(guild.getId().asLong(), () -> sendMessageAsync(message));
 	}
 
 	/**
-	 * Build a message to deliver based on the event.
+	 * Build a message to deliver based on the event. The message is built once per version of the event, and shared
+	 * across guilds.
 	 * 
 	 * @param event
 	 *            event to build message from
 	 * @return message to send
 	 */
 	String buildEventMessage(GameEvent event) {
+		return MESSAGE_CACHE.get(GameMessageCache.eventKey(game.getGamePk(), event.getId(), event),
+				() -> renderEventMessage(event));
+	}
+
+	/**
+	 * Gets the fan-out that the messages of goals are delivered through.
+	 * 
+	 * @return the fan-out
+	 */
+	public static GoalFanOut getGoalFanOut() {
+		return GOAL_FAN_OUT;
+	}
+
+	static String renderEventMessage(GameEvent event) {
 		GameEventStrength strength = event.getStrength();
 		List<Player> players = event.getPlayers();
 		StringBuilder message = new StringBuilder();
@@ -507,27 +404,34 @@ public class GameDayChannel extends Thread implements IEventProcessor {
 				"\nRemember: Be Kind, Be Calm, Be Safe");
 	}
 
+	void updateEndOfGameMessageIfFinal() {
+		if (game.getStatus() == GameStatus.FINAL) {
+			updateEndOfGameMessage();
+		}
+	}
+
 	/**
-	 * Updates/Sends the end of game message.
+	 * Updates/Sends the end of game message. The update is sent after the previous one. If the message was not sent
+	 * (e.g. the previous send failed), it is sent again.
 	 */
 	void updateEndOfGameMessage() {
-		if (endOfGameMessage == null) {
-			if (channel != null) {
-				endOfGameMessage = sendAndGetMessage(buildEndOfGameMessage());
-			}
-			if (endOfGameMessage != null) {
-				LOGGER.info("Sent end of game message for game. Pinning it...");
-				nhlBot.getDiscordManager().pinMessage(endOfGameMessage);
-			}
-		} else {
-			LOGGER.trace("End of game message already sent.");
-			String newEndOfGameMessage = buildEndOfGameMessage();
-			Message updatedMessage = nhlBot.getDiscordManager()
-					.updateAndGetMessage(endOfGameMessage, newEndOfGameMessage);
-			if (updatedMessage != null) {
-				endOfGameMessage = updatedMessage;
-			}
-		}
+		DiscordManager discordManager = nhlBot.getDiscordManager();
+		String newEndOfGameMessage = buildEndOfGameMessage();
+		Mono<Message> previousMessage = endOfGameMessage == null ? Mono.empty() : endOfGameMessage;
+		endOfGameMessage = previousMessage
+				.flatMap(message -> {
+					LOGGER.trace("End of game message already sent.");
+					return discordManager.updateMessageAsync(message, newEndOfGameMessage, RequestPriority.LIVE_EVENT)
+							.defaultIfEmpty(message);
+				})
+				.switchIfEmpty(Mono.defer(() -> sendMessageAsync(newEndOfGameMessage)
+						.flatMap(message -> {
+							LOGGER.info("Sent end of game message for game. Pinning it...");
+							return discordManager.pinMessageAsync(message, RequestPriority.LIVE_EVENT)
+									.thenReturn(message);
+						})))
+				.cache();
+		endOfGameMessage.subscribe();
 	}
 
 	/**
@@ -540,9 +444,6 @@ public class GameDayChannel extends Thread implements IEventProcessor {
 	 * @return end of game message
 	 */
 	String buildEndOfGameMessage() {
-		String message = "Game has ended. Thanks for joining!\n" + "Final Score: " + getScoreMessage() + "\n"
-				+ "Goals Scored:\n" + getGoalsMessage();
-
 		GuildPreferences preferences = nhlBot.getPersistentData()
 				.getPreferencesData()
 				.getGuildPreferences(guild.getId().asLong());
@@ -550,9 +451,26 @@ public class GameDayChannel extends Thread implements IEventProcessor {
 				.map(team -> nhlBot.getGameScheduler().getNextGame(team))
 				.filter(Objects::nonNull)
 				.collect(Collectors.toList());
+		ZoneId timeZone = preferences.getTimeZone();
+
+		// Guilds with the same next games and time zone get the same message
+		List<Object> nextGamesVariant = nextGames.stream()
+				.map(nextGame -> Arrays.asList(nextGame.getGamePk(), nextGame.getDate()))
+				.collect(Collectors.toList());
+		// The key and the message are built from the same state of the game, even if it is updated in between
+		GameSnapshot snapshot = game.getSnapshot();
+		GameMessageCache.Key key = GameMessageCache.key(game.getGamePk(), MessageType.END_OF_GAME,
+				Arrays.asList(snapshot.getHomeScore(), snapshot.getAwayScore(), snapshot.getEvents()),
+				nextGamesVariant, timeZone);
+		return MESSAGE_CACHE.get(key, () -> renderEndOfGameMessage(snapshot, nextGames, timeZone));
+	}
+
+	String renderEndOfGameMessage(GameSnapshot snapshot, List<Game> nextGames, ZoneId timeZone) {
+		String message = "Game has ended. Thanks for joining!\n" + "Final Score: "
+				+ getScoreMessage(game, snapshot.getHomeScore(), snapshot.getAwayScore()) + "\n"
+				+ "Goals Scored:\n" + getGoalsMessage(game, snapshot.getEvents());
 
 		if (!nextGames.isEmpty()) {
-			ZoneId timeZone = preferences.getTimeZone();
 			if (nextGames.size() > 1) {
 
 			} else {
@@ -660,7 +578,7 @@ public class GameDayChannel extends Thread implements IEventProcessor {
 	}
 
 	/**
-	 * Gets the name that a channel in Discord related to this game would have.
+	 * Gets the name that a channel in Discord related to this game would have. See {@link Game#getChannelName()}.
 	 * 
 	 * @param game
 	 *            game to get channel name for
@@ -670,10 +588,7 @@ public class GameDayChannel extends Thread implements IEventProcessor {
 	 *         yy-MM-DD is a date format
 	 */
 	public static String getChannelName(Game game) {
-		String channelName = String.format("%.3s-vs-%.3s-%s", game.getHomeTeam().getCode(),
-				game.getAwayTeam().getCode(), getShortDate(game, ZoneId.of("America/New_York")));
-		return channelName.toLowerCase();
-
+		return game.getChannelName();
 	}
 
 	/**
@@ -727,8 +642,21 @@ public class GameDayChannel extends Thread implements IEventProcessor {
 	 *         Team"
 	 */
 	public static String getScoreMessage(Game game) {
-		return String.format("%s **%s** - **%s** %s", game.getHomeTeam().getName(), game.getHomeScore(),
-				game.getAwayScore(), game.getAwayTeam().getName());
+		return getScoreMessage(game, game.getHomeScore(), game.getAwayScore());
+	}
+
+	/*
+	 * The message is cached under the scores it is rendered with.
+	 */
+	static String getScoreMessage(Game game, int homeScore, int awayScore) {
+		GameMessageCache.Key key = GameMessageCache.key(game.getGamePk(), MessageType.SCORE,
+				Arrays.asList(game.getHomeTeam(), homeScore, awayScore, game.getAwayTeam()));
+		return MESSAGE_CACHE.get(key, () -> renderScoreMessage(game, homeScore, awayScore));
+	}
+
+	static String renderScoreMessage(Game game, int homeScore, int awayScore) {
+		return String.format("%s **%s** - **%s** %s", game.getHomeTeam().getName(), homeScore, awayScore,
+				game.getAwayTeam().getName());
 	}
 
 	public String getGoalsMessage() {
@@ -736,7 +664,15 @@ public class GameDayChannel extends Thread implements IEventProcessor {
 	}
 
 	public static String getGoalsMessage(Game game) {
-		List<GameEvent> goals = game.getEvents();
+		return getGoalsMessage(game, game.getEvents());
+	}
+
+	static String getGoalsMessage(Game game, List<GameEvent> goals) {
+		GameMessageCache.Key key = GameMessageCache.key(game.getGamePk(), MessageType.GOALS, goals);
+		return MESSAGE_CACHE.get(key, () -> renderGoalsMessage(goals));
+	}
+
+	static String renderGoalsMessage(List<GameEvent> goals) {
 		StringBuilder response = new StringBuilder();
 		response.append("```\n");
 		for (int i = 1; i <= 3; i++) {
@@ -790,14 +726,36 @@ public class GameDayChannel extends Thread implements IEventProcessor {
 	}
 
 	protected void sendMessage(String message) {
-		if (channel != null) {
-			nhlBot.getDiscordManager().sendMessage(channel, message);
-		}
+		sendMessage(message, RequestPriority.LIVE_EVENT);
+	}
+
+	protected void sendMessage(String message, RequestPriority priority) {
+		sendMessageAsync(message, priority).subscribe();
+	}
+
+	/**
+	 * Sends the message to the channel, as a {@link RequestPriority#LIVE_EVENT}, once the channel is created.
+	 * 
+	 * @param message
+	 *            content of the message
+	 * @return mono of the sent message. Completes empty, if there is no channel or the message could not be sent.
+	 */
+	protected Mono<Message> sendMessageAsync(String message) {
+		return sendMessageAsync(message, RequestPriority.LIVE_EVENT);
 	}
 
-	protected Message sendAndGetMessage(String message) {
-		return channel == null ? null
-				: nhlBot.getDiscordManager().sendAndGetMessage(channel, message);
+	/**
+	 * Sends the message to the channel, once the channel is created.
+	 * 
+	 * @param message
+	 *            content of the message
+	 * @param priority
+	 *            priority of the message
+	 * @return mono of the sent message. Completes empty, if there is no channel or the message could not be sent.
+	 */
+	protected Mono<Message> sendMessageAsync(String message, RequestPriority priority) {
+		return channel.flatMap(
+				textChannel -> nhlBot.getDiscordManager().sendMessageAsync(textChannel, message, priority));
 	}
 
 	static List<Team> getRelevantTeams(List<Team> teams, Game game) {
@@ -807,11 +765,6 @@ public class GameDayChannel extends Thread implements IEventProcessor {
 	/*
 	 * Reaction Listener
 	 */
-	private void registerToListener() {
-		nhlBot.getReactionListener().addProccessor(this, ReactionAddEvent.class);
-		nhlBot.getReactionListener().addProccessor(this, ReactionRemoveEvent.class);
-	}
-
 	private void unregisterFromListener() {
 		nhlBot.getReactionListener().removeProccessor(this);
 	}
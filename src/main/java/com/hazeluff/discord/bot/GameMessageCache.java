@@ -0,0 +1,160 @@
+package com.hazeluff.discord.bot;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Caches the rendered messages of games, so that a message is built once and shared by the channels of every guild.
+ * </p>
+ * 
+ * <p>
+ * Messages are keyed by (gamePk, message type, event id, version, variant). The version is the state of the game the
+ * message is rendered from (e.g. the event itself, or the score), so a new version is rendered whenever the content
+ * changes. The variant is what differs between guilds (e.g. time zone). The least recently used messages are evicted
+ * when the cache is full.
+ * </p>
+ */
+public class GameMessageCache {
+
+	public enum MessageType {
+		EVENT, SCORE, GOALS, END_OF_GAME
+	}
+
+	static final int DEFAULT_MAX_ENTRIES = 2000;
+
+	private final Map<Key, String> messages;
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	public GameMessageCache() {
+		this(DEFAULT_MAX_ENTRIES);
+	}
+
+	@SuppressWarnings("serial")
+	GameMessageCache(int maxEntries) {
+		messages = new LinkedHashMap<Key, String>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, String> eldest) {
+				return size() > maxEntries;
+			}
+		};
+	}
+
+	/**
+	 * Gets the cached message of the key. If it is not cached, the message is rendered and cached.
+	 * 
+	 * @param key
+	 *            key of the message
+	 * @param renderer
+	 *            renders the message. Invoked outside of the lock of the cache.
+	 * @return the message
+	 */
+	public String get(Key key, Supplier<String> renderer) {
+		String message;
+		synchronized (messages) {
+			message = messages.get(key);
+		}
+		if (message != null) {
+			hits.incrementAndGet();
+			return message;
+		}
+
+		misses.incrementAndGet();
+		message = renderer.get();
+		synchronized (messages) {
+			messages.put(key, message);
+		}
+		return message;
+	}
+
+	public int size() {
+		synchronized (messages) {
+			return messages.size();
+		}
+	}
+
+	public long getHits() {
+		return hits.get();
+	}
+
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * Creates the key of a message that is not about a specific event.
+	 * 
+	 * @param gamePk
+	 *            gamePk of the game
+	 * @param type
+	 *            type of the message
+	 * @param version
+	 *            state of the game that the message is rendered from
+	 * @param variant
+	 *            guild specific values that the message is rendered with
+	 * @return the key
+	 */
+	public static Key key(int gamePk, MessageType type, Object version, Object... variant) {
+		return new Key(gamePk, type, 0, version, Arrays.asList(variant));
+	}
+
+	/**
+	 * Creates the key of the message of an event.
+	 * 
+	 * @param gamePk
+	 *            gamePk of the game
+	 * @param eventId
+	 *            id of the event
+	 * @param version
+	 *            state of the event that the message is rendered from
+	 * @return the key
+	 */
+	public static Key eventKey(int gamePk, int eventId, Object version) {
+		return new Key(gamePk, MessageType.EVENT, eventId, version, null);
+	}
+
+	public static class Key {
+		private final int gamePk;
+		private final MessageType type;
+		private final int eventId;
+		private final Object version;
+		private final Object variant;
+
+		Key(int gamePk, MessageType type, int eventId, Object version, Object variant) {
+			this.gamePk = gamePk;
+			this.type = type;
+			this.eventId = eventId;
+			this.version = version;
+			this.variant = variant;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(gamePk, type, eventId, version, variant);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (obj == null)
+				return false;
+			if (getClass() != obj.getClass())
+				return false;
+			Key other = (Key) obj;
+			return gamePk == other.gamePk && type == other.type && eventId == other.eventId
+					&& Objects.equals(version, other.version) && Objects.equals(variant, other.variant);
+		}
+
+		@Override
+		public String toString() {
+			return "Key [gamePk=" + gamePk + ", type=" + type + ", eventId=" + eventId + ", version=" + version
+					+ ", variant=" + variant + "]";
+		}
+	}
+}
@@ -0,0 +1,217 @@
+package com.hazeluff.discord.bot;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.hazeluff.discord.Config;
+import com.hazeluff.discord.utils.LatencyTracker;
+import com.hazeluff.discord.utils.Utils;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * <p>
+ * Delivers the messages of goals to the game day channels of every guild. A goal is found once by the
+ * {@link com.hazeluff.discord.nhl.GameTracker} of its game, and its message is rendered once (see
+ * {@link GameMessageCache}). Each channel of the game then hands its delivery to the fan-out, without waiting on it.
+ * </p>
+ *
+ * <p>
+ * Deliveries of a guild are made in the order they were submitted: a delivery starts once the previous one of the
+ * guild has finished, so that e.g. a goal is not rescinded before it is posted. Deliveries of different guilds run in
+ * parallel, up to the maximum concurrency. Deliveries beyond that wait in FIFO order. A delivery that does not finish
+ * within the delivery timeout fails, so that it does not hold its slot (or its guild) forever.
+ * </p>
+ *
+ * <p>
+ * The latency of each delivery (from its submission until it is delivered) is tracked, to get its percentiles.
+ * </p>
+ */
+public class GoalFanOut {
+	private static final Logger LOGGER = LoggerFactory.getLogger(GoalFanOut.class);
+
+	private final int maxConcurrency;
+	private final Duration deliveryTimeout;
+	private final LongSupplier clock;
+	private final LatencyTracker latencies;
+
+	// Map<GuildId, last delivery of the guild>. Removed once the delivery finishes, if no delivery followed it.
+	private final Map<Long, Mono<?>> lastDeliveries = new ConcurrentHashMap<>();
+	// Deliveries waiting for a slot, in the order they are started
+	private final Deque<Runnable> waiting = new ArrayDeque<>();
+	private int inFlight = 0;
+	// Whether a thread is starting the waiting deliveries
+	private boolean starting = false;
+
+	private final AtomicLong submitted = new AtomicLong();
+	private final AtomicLong delivered = new AtomicLong();
+	private final AtomicLong failed = new AtomicLong();
+	private final AtomicLong maxLatencyMs = new AtomicLong();
+
+	public GoalFanOut() {
+		this(Config.GOAL_FAN_OUT_CONCURRENCY, Config.GOAL_FAN_OUT_DELIVERY_TIMEOUT_MS,
+				Config.GOAL_FAN_OUT_LATENCY_SAMPLES, Utils::getCurrentTime);
+	}
+
+	GoalFanOut(int maxConcurrency, long deliveryTimeoutMs, int latencySamples, LongSupplier clock) {
+		this.maxConcurrency = maxConcurrency;
+		this.deliveryTimeout = Duration.ofMillis(deliveryTimeoutMs);
+		this.clock = clock;
+		this.latencies = new LatencyTracker(latencySamples);
+	}
+
+	/**
+	 * Delivers to the guild, after the previous deliveries of the guild. The delivery is started right away; it does
+	 * not need to be subscribed to.
+	 *
+	 * @param guildId
+	 *            id of the guild that is delivered to
+	 * @param delivery
+	 *            makes the delivery. Its mono completes empty, if the delivery failed.
+	 * @return mono of the result of the delivery. Completes empty, if the delivery failed. Fails, if the delivery did
+	 *         not finish within the delivery timeout.
+	 */
+	public <T> Mono<T> deliver(long guildId, Supplier<Mono<T>> delivery) {
+		submitted.incrementAndGet();
+		long submitTime = clock.getAsLong();
+		Mono<T> result;
+		synchronized (lastDeliveries) {
+			Mono<?> previous = lastDeliveries.getOrDefault(guildId, Mono.empty());
+			result = previous
+					.onErrorResume(e -> Mono.empty())
+					.then(Mono.defer(() -> start(delivery)))
+					.doOnNext(value -> onDelivered(submitTime))
+					.switchIfEmpty(Mono.fromRunnable(failed::incrementAndGet))
+					.doOnError(e -> {
+						LOGGER.error("Delivery to guild [" + guildId + "] failed.", e);
+						failed.incrementAndGet();
+					})
+					.cache();
+			lastDeliveries.put(guildId, result);
+		}
+		result.doFinally(signal -> lastDeliveries.remove(guildId, result))
+				.subscribe(value -> {}, e -> {});
+		return result;
+	}
+
+	private void onDelivered(long submitTime) {
+		long latencyMs = clock.getAsLong() - submitTime;
+		delivered.incrementAndGet();
+		latencies.record(latencyMs);
+		maxLatencyMs.accumulateAndGet(latencyMs, Math::max);
+	}
+
+	/**
+	 * Starts the delivery once there is a free slot. The slot is released once the delivery finishes or times out.
+	 */
+	private <T> Mono<T> start(Supplier<Mono<T>> delivery) {
+		return Mono.create(sink -> acquire(() -> {
+			Mono<T> mono;
+			try {
+				mono = delivery.get();
+			} catch (RuntimeException e) {
+				mono = Mono.error(e);
+			}
+			mono.timeout(deliveryTimeout)
+					.doFinally(signal -> release())
+					.subscribe(sink::success, sink::error, sink::success);
+		}));
+	}
+
+	private void acquire(Runnable start) {
+		synchronized (waiting) {
+			waiting.add(start);
+		}
+		startWaiting();
+	}
+
+	private void release() {
+		synchronized (waiting) {
+			inFlight--;
+		}
+		startWaiting();
+	}
+
+	/**
+	 * Starts the waiting deliveries, while there are free slots. Only one thread starts deliveries at a time. A
+	 * delivery that finishes while it is started (e.g. completes right away) leaves the next one to the thread that is
+	 * starting them, instead of starting it from within the previous one.
+	 */
+	private void startWaiting() {
+		synchronized (waiting) {
+			if (starting) {
+				return;
+			}
+			starting = true;
+		}
+		while (true) {
+			Runnable next;
+			synchronized (waiting) {
+				if (inFlight >= maxConcurrency || waiting.isEmpty()) {
+					starting = false;
+					return;
+				}
+				next = waiting.poll();
+				inFlight++;
+			}
+			try {
+				next.run();
+			} catch (RuntimeException e) {
+				LOGGER.error("Failed to start delivery.", e);
+			}
+		}
+	}
+
+	public int getInFlight() {
+		synchronized (waiting) {
+			return inFlight;
+		}
+	}
+
+	/**
+	 * @return number of deliveries that wait for a slot. Deliveries that wait for the previous one of their guild are
+	 *         not counted.
+	 */
+	public int getWaiting() {
+		synchronized (waiting) {
+			return waiting.size();
+		}
+	}
+
+	public long getSubmitted() {
+		return submitted.get();
+	}
+
+	public long getDelivered() {
+		return delivered.get();
+	}
+
+	public long getFailed() {
+		return failed.get();
+	}
+
+	/**
+	 * Gets the latency that the given percentage of the recent deliveries were delivered within.
+	 *
+	 * @param percentile
+	 *            percentile (0-100)
+	 * @return latency (ms)<br>
+	 *         -1, if nothing was delivered yet
+	 */
+	public long getLatencyMs(double percentile) {
+		return latencies.getPercentile(percentile);
+	}
+
+	public long getMaxLatencyMs() {
+		return maxLatencyMs.get();
+	}
+}
@@ -168,6 +168,9 @@ public class NHLBot extends Thread {
 		nhlBot.getDiscordManager().getClient().getEventDispatcher().on(ReactionRemoveEvent.class)
 				.doOnError(logError)
 				.subscribe(event -> nhlBot.getReactionListener().execute(event));
+
+		// Keep cached guilds and channels up to date
+		nhlBot.getDiscordManager().getCache().subscribe(nhlBot.getDiscordManager().getClient().getEventDispatcher());
 	}
 
 	@Override
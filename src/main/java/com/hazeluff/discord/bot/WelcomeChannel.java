@@ -8,6 +8,7 @@ import org.slf4j.LoggerFactory;
 
 import com.hazeluff.discord.bot.command.AboutCommand;
 import com.hazeluff.discord.bot.command.HelpCommand;
+import com.hazeluff.discord.bot.discord.RequestPriority;
 
 import discord4j.common.util.Snowflake;
 import discord4j.core.object.entity.channel.TextChannel;
@@ -53,12 +54,12 @@ public class WelcomeChannel extends Thread {
 		if (lastMessageId != null) {
 			channel.getMessagesBefore(lastMessageId).collectList().block().stream()
 					.filter(message -> nhlBot.getDiscordManager().isAuthorOfMessage(message))
-					.forEach(message -> nhlBot.getDiscordManager().deleteMessage(message));
+					.forEach(message -> nhlBot.getDiscordManager().deleteMessage(message, RequestPriority.MAINTENANCE));
 			nhlBot.getDiscordManager().deleteMessage(
-					nhlBot.getDiscordManager().block(channel.getLastMessage()));
+					nhlBot.getDiscordManager().block(channel.getLastMessage()), RequestPriority.MAINTENANCE);
 		}
-		nhlBot.getDiscordManager().sendMessage(channel, UPDATED_MESSAGE);
-		nhlBot.getDiscordManager().sendMessage(channel, aboutCommand.getReply());
-		nhlBot.getDiscordManager().sendMessage(channel, helpCommand.getReply());
+		nhlBot.getDiscordManager().sendMessage(channel, UPDATED_MESSAGE, RequestPriority.MAINTENANCE);
+		nhlBot.getDiscordManager().sendMessage(channel, aboutCommand.getReply(), RequestPriority.MAINTENANCE);
+		nhlBot.getDiscordManager().sendMessage(channel, helpCommand.getReply(), RequestPriority.MAINTENANCE);
 	}
 }
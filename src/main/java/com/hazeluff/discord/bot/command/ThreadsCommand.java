@@ -1,9 +1,20 @@
 package com.hazeluff.discord.bot.command;
 
+import java.util.Arrays;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
+import org.apache.http.pool.PoolStats;
+
+import com.hazeluff.discord.bot.GameDayChannel;
+import com.hazeluff.discord.bot.GoalFanOut;
 import com.hazeluff.discord.bot.NHLBot;
-import com.hazeluff.discord.utils.DiscordThreadFactory;
+import com.hazeluff.discord.bot.discord.DiscordCache;
+import com.hazeluff.discord.bot.discord.MessageDispatcher;
+import com.hazeluff.discord.bot.discord.RequestPriority;
+import com.hazeluff.discord.utils.EventWorkerPool;
+import com.hazeluff.discord.utils.HttpUtils;
+import com.hazeluff.discord.utils.RequestBudget;
 
 import discord4j.core.event.domain.message.MessageCreateEvent;
 import discord4j.core.object.entity.Message;
@@ -27,6 +38,64 @@ public class ThreadsCommand extends Command {
 	}
 
 	public Consumer<MessageCreateSpec> getReply() {
-		return spec -> spec.setContent("Threads: " + DiscordThreadFactory.getInstance().getThreads().size());
+		return spec -> spec.setContent(getEventWorkerPoolMessage(EventWorkerPool.getInstance())
+				+ "Game Trackers: " + getNHLBot().getGameScheduler().getGameTrackerRegistry().size() + "\n"
+				+ "NHL API Connections: " + getPoolStatsMessage(HttpUtils.getNHLApiPoolStats()) + "\n"
+				+ "NHL API Budget: " + getRequestBudgetMessage(HttpUtils.getRequestBudget()) + "\n"
+				+ "NHL API Hedges: " + getHedgeMessage() + "\n"
+				+ "Discord Cache: " + getDiscordCacheMessage(getNHLBot().getDiscordManager().getCache()) + "\n"
+				+ "Discord Queue: "
+				+ getMessageDispatcherMessage(getNHLBot().getDiscordManager().getMessageDispatcher()) + "\n"
+				+ "Goal Fan-out: " + getGoalFanOutMessage(GameDayChannel.getGoalFanOut()));
+	}
+
+	static String getEventWorkerPoolMessage(EventWorkerPool pool) {
+		StringBuilder message = new StringBuilder();
+		message.append(String.format("Event Workers: active=%s, threads=%s/%s, queued=%s/%s\n",
+				pool.getActiveCount(), pool.getPoolSize(), pool.getMaxPoolSize(), pool.getQueueSize(),
+				pool.getQueueCapacity()));
+		pool.getAllStats().forEach((source, stats) -> message.append(String.format(
+				"  %s: submitted=%s, completed=%s, failed=%s, shed=%s, avgQueueMs=%s, avgMs=%s, maxMs=%s\n",
+				source.getSimpleName(), stats.getSubmitted(), stats.getCompleted(), stats.getFailed(),
+				stats.getRejected(), stats.getAverageQueueDelayMs(), stats.getAverageLatencyMs(),
+				stats.getMaxLatencyMs())));
+		return message.toString();
+	}
+
+	static String getRequestBudgetMessage(RequestBudget budget) {
+		return String.format("available=%s, acquired=%s, recorded=%s, denied=%s",
+				budget.getAvailable(), budget.getAcquired(), budget.getRecorded(), budget.getDenied());
+	}
+
+	static String getHedgeMessage() {
+		return String.format("sent=%s, wins=%s, delayMs=%s",
+				HttpUtils.getHedgedRequests(), HttpUtils.getHedgeWins(), HttpUtils.getHedgeDelayMs());
+	}
+
+	static String getGoalFanOutMessage(GoalFanOut fanOut) {
+		return String.format(
+				"inFlight=%s, waiting=%s, submitted=%s, delivered=%s, failed=%s, p50Ms=%s, p95Ms=%s, maxMs=%s",
+				fanOut.getInFlight(), fanOut.getWaiting(), fanOut.getSubmitted(), fanOut.getDelivered(),
+				fanOut.getFailed(), fanOut.getLatencyMs(50), fanOut.getLatencyMs(95), fanOut.getMaxLatencyMs());
+	}
+
+	static String getDiscordCacheMessage(DiscordCache cache) {
+		return String.format("hits=%s, misses=%s", cache.getHits(), cache.getMisses());
+	}
+
+	static String getMessageDispatcherMessage(MessageDispatcher dispatcher) {
+		String queued = Arrays.stream(RequestPriority.values())
+				.map(priority -> priority + "=" + dispatcher.getQueued(priority))
+				.collect(Collectors.joining(", "));
+		return String.format(
+				"queued=%s (%s), submitted=%s, sent=%s, coalesced=%s, starved=%s, avgDelayMs=%s, maxDelayMs=%s",
+				dispatcher.getQueued(), queued, dispatcher.getSubmitted(), dispatcher.getSent(),
+				dispatcher.getCoalesced(), dispatcher.getStarved(), dispatcher.getAverageDelayMs(),
+				dispatcher.getMaxDelayMs());
+	}
+
+	static String getPoolStatsMessage(PoolStats stats) {
+		return String.format("leased=%s, available=%s, pending=%s, max=%s", 
+				stats.getLeased(), stats.getAvailable(), stats.getPending(), stats.getMax());
 	}
 }
@@ -0,0 +1,259 @@
+package com.hazeluff.discord.bot.discord;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import discord4j.core.event.EventDispatcher;
+import discord4j.core.event.domain.Event;
+import discord4j.core.event.domain.channel.CategoryCreateEvent;
+import discord4j.core.event.domain.channel.CategoryDeleteEvent;
+import discord4j.core.event.domain.channel.CategoryUpdateEvent;
+import discord4j.core.event.domain.channel.TextChannelCreateEvent;
+import discord4j.core.event.domain.channel.TextChannelDeleteEvent;
+import discord4j.core.event.domain.channel.TextChannelUpdateEvent;
+import discord4j.core.event.domain.guild.GuildCreateEvent;
+import discord4j.core.event.domain.guild.GuildDeleteEvent;
+import discord4j.core.event.domain.guild.GuildUpdateEvent;
+import discord4j.core.object.entity.Guild;
+import discord4j.core.object.entity.channel.Category;
+import discord4j.core.object.entity.channel.TextChannel;
+import reactor.core.publisher.Mono;
+
+/**
+ * <p>
+ * Caches the guilds of the bot, and the text channels and categories of each guild, so that they are not fetched
+ * from Discord on every lookup.
+ * </p>
+ *
+ * <p>
+ * The cache is read-through: the guilds, or the channels of a guild, are loaded with the given loader when the first
+ * lookup is subscribed to. After that, they are kept up to date by the gateway events of Discord (create/update/delete). The channels
+ * of a guild are dropped when the guild is (re)created or becomes unavailable, and are loaded again on the next
+ * lookup.
+ * </p>
+ */
+public class DiscordCache {
+	private static final Logger LOGGER = LoggerFactory.getLogger(DiscordCache.class);
+
+	private final Section<Guild> guilds = new Section<>();
+	// Map<GuildId, Section<TextChannel>>
+	private final Map<Long, Section<TextChannel>> textChannels = new ConcurrentHashMap<>();
+	// Map<GuildId, Section<Category>>
+	private final Map<Long, Section<Category>> categories = new ConcurrentHashMap<>();
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * Keeps the cache up to date with the events of the dispatcher.
+	 *
+	 * @param dispatcher
+	 *            dispatcher of the gateway events
+	 */
+	public void subscribe(EventDispatcher dispatcher) {
+		subscribe(dispatcher, GuildCreateEvent.class, event -> onGuildCreate(event.getGuild()));
+		subscribe(dispatcher, GuildUpdateEvent.class, event -> putGuild(event.getCurrent()));
+		subscribe(dispatcher, GuildDeleteEvent.class,
+				event -> onGuildDelete(event.getGuildId().asLong(), event.isUnavailable()));
+		subscribe(dispatcher, TextChannelCreateEvent.class, event -> putTextChannel(event.getChannel()));
+		subscribe(dispatcher, TextChannelUpdateEvent.class, event -> putTextChannel(event.getCurrent()));
+		subscribe(dispatcher, TextChannelDeleteEvent.class, event -> removeTextChannel(event.getChannel()));
+		subscribe(dispatcher, CategoryCreateEvent.class, event -> putCategory(event.getCategory()));
+		subscribe(dispatcher, CategoryUpdateEvent.class, event -> putCategory(event.getCurrent()));
+		subscribe(dispatcher, CategoryDeleteEvent.class, event -> removeCategory(event.getCategory()));
+	}
+
+	private static <E extends Event> void subscribe(EventDispatcher dispatcher, Class<E> eventClass,
+			Consumer<E> handler) {
+		dispatcher.on(eventClass)
+				.doOnError(t -> LOGGER.error("Error occurred when updating the cache.", t))
+				.subscribe(handler);
+	}
+
+	/**
+	 * Gets the guilds of the bot.
+	 *
+	 * @param loader
+	 *            fetches the guilds from Discord. Completes empty if they could not be fetched.
+	 * @return mono of the list of guilds. Completes empty, if the guilds are not cached and could not be fetched.
+	 */
+	public Mono<List<Guild>> getGuilds(Mono<List<Guild>> loader) {
+		return get(guilds, loader, guild -> guild.getId().asLong());
+	}
+
+	/**
+	 * Gets the text channels of the guild.
+	 *
+	 * @param guildId
+	 *            id of the guild
+	 * @param loader
+	 *            fetches the text channels of the guild from Discord. Completes empty if they could not be fetched.
+	 * @return mono of the list of text channels. Completes empty, if the channels are not cached and could not be
+	 *         fetched.
+	 */
+	public Mono<List<TextChannel>> getTextChannels(long guildId, Mono<List<TextChannel>> loader) {
+		return get(textChannels.computeIfAbsent(guildId, key -> new Section<>()), loader,
+				channel -> channel.getId().asLong());
+	}
+
+	/**
+	 * Gets the categories of the guild.
+	 *
+	 * @param guildId
+	 *            id of the guild
+	 * @param loader
+	 *            fetches the categories of the guild from Discord. Completes empty if they could not be fetched.
+	 * @return mono of the list of categories. Completes empty, if the categories are not cached and could not be
+	 *         fetched.
+	 */
+	public Mono<List<Category>> getCategories(long guildId, Mono<List<Category>> loader) {
+		return get(categories.computeIfAbsent(guildId, key -> new Section<>()), loader,
+				category -> category.getId().asLong());
+	}
+
+	private <T> Mono<List<T>> get(Section<T> section, Mono<List<T>> loader, Function<T, Long> idFunction) {
+		return Mono.defer(() -> {
+			List<T> values = section.getValues();
+			if (values != null) {
+				hits.incrementAndGet();
+				return Mono.just(values);
+			}
+
+			misses.incrementAndGet();
+			long version = section.getVersion();
+			return loader.doOnNext(loaded -> {
+				Map<Long, T> entries = new LinkedHashMap<>();
+				loaded.forEach(value -> entries.put(idFunction.apply(value), value));
+				if (!section.load(version, entries)) {
+					LOGGER.debug("Section changed while it was loaded. It will be loaded again on the next lookup.");
+				}
+			});
+		});
+	}
+
+	void onGuildCreate(Guild guild) {
+		putGuild(guild);
+		invalidateChannels(guild.getId().asLong());
+	}
+
+	/**
+	 * Removes the guild, if the bot left it. The channels of the guild are dropped either way.
+	 *
+	 * @param guildId
+	 *            id of the guild
+	 * @param unavailable
+	 *            true, if the guild is only unavailable (outage). The guild is kept.
+	 */
+	void onGuildDelete(long guildId, boolean unavailable) {
+		if (!unavailable) {
+			guilds.remove(guildId);
+		}
+		invalidateChannels(guildId);
+	}
+
+	void putGuild(Guild guild) {
+		guilds.put(guild.getId().asLong(), guild);
+	}
+
+	void invalidateChannels(long guildId) {
+		textChannels.remove(guildId);
+		categories.remove(guildId);
+	}
+
+	public void putTextChannel(TextChannel channel) {
+		Section<TextChannel> section = textChannels.get(channel.getGuildId().asLong());
+		if (section != null) {
+			section.put(channel.getId().asLong(), channel);
+		}
+	}
+
+	public void removeTextChannel(TextChannel channel) {
+		Section<TextChannel> section = textChannels.get(channel.getGuildId().asLong());
+		if (section != null) {
+			section.remove(channel.getId().asLong());
+		}
+	}
+
+	public void putCategory(Category category) {
+		Section<Category> section = categories.get(category.getGuildId().asLong());
+		if (section != null) {
+			section.put(category.getId().asLong(), category);
+		}
+	}
+
+	public void removeCategory(Category category) {
+		Section<Category> section = categories.get(category.getGuildId().asLong());
+		if (section != null) {
+			section.remove(category.getId().asLong());
+		}
+	}
+
+	public long getHits() {
+		return hits.get();
+	}
+
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * Entities of one kind (e.g. the text channels of a guild), keyed by their id. Changes made while the section is
+	 * being loaded increment its version, so that a load that may be older than the change is not stored.
+	 */
+	static class Section<T> {
+		private final Map<Long, T> entries = new LinkedHashMap<>();
+		private long version = 0;
+		private boolean loaded = false;
+
+		/**
+		 * @return the entities<br>
+		 *         null, if the section is not loaded
+		 */
+		synchronized List<T> getValues() {
+			return loaded ? new ArrayList<>(entries.values()) : null;
+		}
+
+		synchronized long getVersion() {
+			return version;
+		}
+
+		synchronized void put(long id, T entity) {
+			version++;
+			entries.put(id, entity);
+		}
+
+		synchronized void remove(long id) {
+			version++;
+			entries.remove(id);
+		}
+
+		/**
+		 * Replaces the entities with the loaded ones.
+		 *
+		 * @param startVersion
+		 *            version of the section when the load started
+		 * @param loadedEntries
+		 *            loaded entities
+		 * @return true, if the entities were stored<br>
+		 *         false, if the section changed since the load started
+		 */
+		synchronized boolean load(long startVersion, Map<Long, T> loadedEntries) {
+			if (version != startVersion) {
+				return false;
+			}
+			entries.clear();
+			entries.putAll(loadedEntries);
+			loaded = true;
+			return true;
+		}
+	}
+}
@@ -2,6 +2,8 @@ package com.hazeluff.discord.bot.discord;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 import org.slf4j.Logger;
@@ -21,22 +23,61 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
+ * <p>
  * Provides methods that interface with Discord. The methods provide error handling.
+ * </p>
+ *
+ * <p>
+ * Methods suffixed with <code>Async</code> do not block. They return a {@link Mono}/{@link Flux} that logs errors and
+ * completes empty instead, and nothing is sent until it is subscribed to. The other methods block on, or subscribe
+ * to, their <code>Async</code> counterpart.
+ * </p>
  */
 public class DiscordManager {
 	private static final Logger LOGGER = LoggerFactory.getLogger(DiscordManager.class);
 
 	private final GatewayDiscordClient client;
+	private final DiscordCache cache = new DiscordCache();
+	private final MessageDispatcher messageDispatcher;
+	/*
+	 * Category lookups (and creations) in flight, per guild and category name. Concurrent callers share one, so that
+	 * the category is not created twice.
+	 */
+	private final Map<String, Mono<Category>> categoriesInFlight = new ConcurrentHashMap<>();
 	private Snowflake id;
 
 	public DiscordManager(GatewayDiscordClient client) {
+		this(client, new MessageDispatcher());
+	}
+
+	DiscordManager(GatewayDiscordClient client, MessageDispatcher messageDispatcher) {
 		this.client = client;
+		this.messageDispatcher = messageDispatcher;
 	}
 
 	public GatewayDiscordClient getClient() {
 		return client;
 	}
 
+	/**
+	 * Gets the cache of guilds, text channels and categories. It must be subscribed to the events of the client to be
+	 * kept up to date (see {@link DiscordCache#subscribe(discord4j.core.event.EventDispatcher)}).
+	 *
+	 * @return the cache
+	 */
+	public DiscordCache getCache() {
+		return cache;
+	}
+
+	/**
+	 * Gets the dispatcher that messages are sent and edited through.
+	 * 
+	 * @return the dispatcher
+	 */
+	public MessageDispatcher getMessageDispatcher() {
+		return messageDispatcher;
+	}
+
 	public Snowflake getId() {
 		if (id == null) {
 			id = getClient().getSelfId();
@@ -47,7 +88,7 @@ public class DiscordManager {
 	/**
 	 * Determines if the user of the DiscordClient is the author of the specified
 	 * message.
-	 * 
+	 *
 	 * @param message
 	 *            message to determine if client's user is the author of
 	 * @return true, if message is authored by client's user.<br>
@@ -61,9 +102,20 @@ public class DiscordManager {
 		return message.getAuthor().map(User::getId).map(getId()::equals).orElse(false);
 	}
 
-	public <T> T block(Mono<T> mono) {
+	/**
+	 * Logs the error of the mono, and completes it empty instead.
+	 *
+	 * @param mono
+	 *            mono to handle the error of
+	 * @return mono that does not error
+	 */
+	public <T> Mono<T> handle(Mono<T> mono) {
 		return mono.doOnError(DiscordManager::logError)
-				.onErrorResume(error -> Mono.empty())
+				.onErrorResume(error -> Mono.empty());
+	}
+
+	public <T> T block(Mono<T> mono) {
+		return handle(mono)
 				.blockOptional()
 				.orElseGet(() -> null);
 	}
@@ -87,11 +139,21 @@ public class DiscordManager {
 	}
 
 	public void changePresence(StatusUpdate presence) {
-		subscribe(getClient().updatePresence(presence));
+		subscribe(messageDispatcher.submit(RequestPriority.MAINTENANCE, MessageDispatcher.NO_CHANNEL,
+				() -> getClient().updatePresence(presence)));
 	}
 
 	public List<Guild> getGuilds() {
-		return block(getClient().getGuilds().collectList());
+		return block(getGuildsAsync());
+	}
+
+	/**
+	 * Gets the guilds of the bot.
+	 *
+	 * @return mono of the list of guilds. Completes empty, if the guilds could not be fetched.
+	 */
+	public Mono<List<Guild>> getGuildsAsync() {
+		return cache.getGuilds(handle(getClient().getGuilds().collectList()));
 	}
 
 	public Message getMessage(long channelId, long messageId) {
@@ -99,53 +161,101 @@ public class DiscordManager {
 	}
 
 	public Message sendAndGetMessage(TextChannel channel, Consumer<MessageCreateSpec> messageSpec) {
-		if (channel == null) {
-			logNullArgumentsStackTrace("`channel` was null.");
-			return null;
-		}
-
-		if (messageSpec == null) {
-			logNullArgumentsStackTrace("`messageSpec` was null.");
-			return null;
-		}
-		return block(channel.createMessage(messageSpec));
+		return block(sendMessageAsync(channel, messageSpec));
 	}
 
 	public Message sendAndGetMessage(TextChannel channel, String message) {
-		if (message == null) {
-			logNullArgumentsStackTrace("`message` was null.");
-			return null;
-		}
-
-		return sendAndGetMessage(channel, spec -> spec.setContent(message));
+		return block(sendMessageAsync(channel, message));
 	}
 
 	public void sendMessage(TextChannel channel, Consumer<MessageCreateSpec> messageSpec) {
+		subscribe(sendMessageAsync(channel, messageSpec));
+	}
+
+	public void sendMessage(TextChannel channel, String message) {
+		subscribe(sendMessageAsync(channel, message));
+	}
+
+	public void sendMessage(TextChannel channel, Consumer<MessageCreateSpec> messageSpec, RequestPriority priority) {
+		subscribe(sendMessageAsync(channel, messageSpec, priority));
+	}
+
+	/**
+	 * Sends the message to the channel, as a {@link RequestPriority#COMMAND_REPLY}.
+	 *
+	 * @param channel
+	 *            channel to send the message to
+	 * @param messageSpec
+	 *            spec of the message
+	 * @return mono of the sent message. Completes empty, if the message could not be sent.
+	 */
+	public Mono<Message> sendMessageAsync(TextChannel channel, Consumer<MessageCreateSpec> messageSpec) {
+		return sendMessageAsync(channel, messageSpec, RequestPriority.COMMAND_REPLY);
+	}
+
+	/**
+	 * Sends the message to the channel. The message is queued in the {@link MessageDispatcher}.
+	 *
+	 * @param channel
+	 *            channel to send the message to
+	 * @param messageSpec
+	 *            spec of the message
+	 * @param priority
+	 *            priority of the message
+	 * @return mono of the sent message. Completes empty, if the message could not be sent.
+	 */
+	public Mono<Message> sendMessageAsync(TextChannel channel, Consumer<MessageCreateSpec> messageSpec,
+			RequestPriority priority) {
 		if (channel == null) {
 			logNullArgumentsStackTrace("`channel` was null.");
-			return;
+			return Mono.empty();
 		}
 
 		if (messageSpec == null) {
 			logNullArgumentsStackTrace("`messageSpec` was null.");
-			return;
+			return Mono.empty();
 		}
-		subscribe(channel.createMessage(messageSpec));
+		return handle(messageDispatcher.submit(priority, channel.getId().asLong(),
+				() -> channel.createMessage(messageSpec)));
 	}
 
-	public void sendMessage(TextChannel channel, String message) {
+	/**
+	 * Sends the message to the channel, as a {@link RequestPriority#COMMAND_REPLY}.
+	 *
+	 * @param channel
+	 *            channel to send the message to
+	 * @param message
+	 *            content of the message
+	 * @return mono of the sent message. Completes empty, if the message could not be sent.
+	 */
+	public Mono<Message> sendMessageAsync(TextChannel channel, String message) {
+		return sendMessageAsync(channel, message, RequestPriority.COMMAND_REPLY);
+	}
+
+	/**
+	 * Sends the message to the channel.
+	 *
+	 * @param channel
+	 *            channel to send the message to
+	 * @param message
+	 *            content of the message
+	 * @param priority
+	 *            priority of the message
+	 * @return mono of the sent message. Completes empty, if the message could not be sent.
+	 */
+	public Mono<Message> sendMessageAsync(TextChannel channel, String message, RequestPriority priority) {
 		if (message == null) {
 			logNullArgumentsStackTrace("`message` was null.");
-			return;
+			return Mono.empty();
 		}
 
-		sendMessage(channel, spec -> spec.setContent(message));
+		return sendMessageAsync(channel, spec -> spec.setContent(message), priority);
 	}
 
 	/**
 	 * Updates the message in Discord. Returns the new Message if successful. Else
 	 * it returns the original Message.
-	 * 
+	 *
 	 * @param messages
 	 *            existing message in Discord
 	 * @param newMessage
@@ -153,23 +263,13 @@ public class DiscordManager {
 	 * @return
 	 */
 	public Message updateAndGetMessage(Message message, String newMessage) {
-		if (message == null) {
-			logNullArgumentsStackTrace("`message` was null.");
-			return null;
-		}
-
-		if (newMessage == null) {
-			logNullArgumentsStackTrace("`newMessage` was null.");
-			return null;
-		}
-
-		return block(message.edit(spec -> spec.setContent(newMessage)));
+		return block(updateMessageAsync(message, newMessage));
 	}
 
 	/**
 	 * Updates the message in Discord. Returns the new Message if successful. Else
 	 * it returns the original Message.
-	 * 
+	 *
 	 * @param messages
 	 *            existing message in Discord
 	 * @param newMessage
@@ -177,37 +277,91 @@ public class DiscordManager {
 	 * @return
 	 */
 	public void updateMessage(Message message, String newMessage) {
+		subscribe(updateMessageAsync(message, newMessage));
+	}
+
+	/**
+	 * Updates the message in Discord, as a {@link RequestPriority#COMMAND_REPLY}.
+	 *
+	 * @param message
+	 *            existing message in Discord
+	 * @param newMessage
+	 *            new content of the message
+	 * @return mono of the updated message. Completes empty, if the message could not be updated.
+	 */
+	public Mono<Message> updateMessageAsync(Message message, String newMessage) {
+		return updateMessageAsync(message, newMessage, RequestPriority.COMMAND_REPLY);
+	}
+
+	/**
+	 * Updates the message in Discord. The edit is queued in the {@link MessageDispatcher}, and replaces the content of
+	 * an edit of the message that is still queued.
+	 *
+	 * @param message
+	 *            existing message in Discord
+	 * @param newMessage
+	 *            new content of the message
+	 * @param priority
+	 *            priority of the edit
+	 * @return mono of the updated message. Completes empty, if the message could not be updated.
+	 */
+	public Mono<Message> updateMessageAsync(Message message, String newMessage, RequestPriority priority) {
 		if (message == null) {
 			logNullArgumentsStackTrace("`message` was null.");
-			return;
+			return Mono.empty();
 		}
 
 		if (newMessage == null) {
 			logNullArgumentsStackTrace("`newMessage` was null.");
-			return;
+			return Mono.empty();
 		}
 
-		subscribe(message.edit(spec -> spec.setContent(newMessage)));
+		return handle(messageDispatcher.submitEdit(priority, message, newMessage));
 	}
 
 	/**
 	 * Deletes the specified message in Discord
-	 * 
+	 *
 	 * @param message
 	 *            message to delete in Discord
 	 */
 	public void deleteMessage(Message message) {
+		deleteMessage(message, RequestPriority.COMMAND_REPLY);
+	}
+
+	/**
+	 * Deletes the specified message in Discord
+	 *
+	 * @param message
+	 *            message to delete in Discord
+	 * @param priority
+	 *            priority of the deletion
+	 */
+	public void deleteMessage(Message message, RequestPriority priority) {
+		subscribe(deleteMessageAsync(message, priority));
+	}
+
+	/**
+	 * Deletes the message in Discord.
+	 *
+	 * @param message
+	 *            message to delete in Discord
+	 * @param priority
+	 *            priority of the deletion
+	 * @return mono that completes when the message is deleted, or could not be deleted
+	 */
+	public Mono<Void> deleteMessageAsync(Message message, RequestPriority priority) {
 		if (message == null) {
 			logNullArgumentsStackTrace("`message` was null.");
-			return;
+			return Mono.empty();
 		}
 
-		subscribe(message.delete());
+		return handle(messageDispatcher.submit(priority, message.getChannelId().asLong(), message::delete));
 	}
 
 	/**
 	 * Gets a list of pinned messages in the specified channel.
-	 * 
+	 *
 	 * @param channel
 	 *            channel to get messages from
 	 * @return List<Message> of messages in the channel
@@ -223,22 +377,34 @@ public class DiscordManager {
 
 	/**
 	 * Deletes the specified channel
-	 * 
+	 *
 	 * @param channel
 	 *            channel to delete
 	 */
 	public void deleteChannel(TextChannel channel) {
+		subscribe(deleteChannelAsync(channel));
+	}
+
+	/**
+	 * Deletes the specified channel, as {@link RequestPriority#MAINTENANCE}.
+	 *
+	 * @param channel
+	 *            channel to delete
+	 * @return mono that completes when the channel is deleted, or could not be deleted
+	 */
+	public Mono<Void> deleteChannelAsync(TextChannel channel) {
 		if (channel == null) {
 			logNullArgumentsStackTrace("`channel` was null.");
-			return;
+			return Mono.empty();
 		}
 
-		subscribe(channel.delete());
+		return handle(messageDispatcher.submit(RequestPriority.MAINTENANCE, channel.getId().asLong(), channel::delete)
+				.doOnSuccess(success -> cache.removeTextChannel(channel)));
 	}
 
 	/**
 	 * Creates channel in specified guild
-	 * 
+	 *
 	 * @param guild
 	 *            guild to create the channel in
 	 * @param channelName
@@ -251,7 +417,7 @@ public class DiscordManager {
 
 	/**
 	 * Creates channel in specified guild
-	 * 
+	 *
 	 * @param guild
 	 *            guild to create the channel in
 	 * @param channelName
@@ -259,22 +425,12 @@ public class DiscordManager {
 	 * @return TextChannel that was created
 	 */
 	public TextChannel createAndGetChannel(Guild guild, Consumer<? super TextChannelCreateSpec> channelSpec) {
-		if (guild == null) {
-			logNullArgumentsStackTrace("`guild` was null.");
-			return null;
-		}
-
-		if (channelSpec == null) {
-			logNullArgumentsStackTrace("`channelSpec` was null.");
-			return null;
-		}
-
-		return block(guild.createTextChannel(channelSpec));
+		return block(createChannelAsync(guild, channelSpec));
 	}
 
 	/**
 	 * Creates channel in specified guild
-	 * 
+	 *
 	 * @param guild
 	 *            guild to create the channel in
 	 * @param channelName
@@ -282,114 +438,278 @@ public class DiscordManager {
 	 * @return TextChannel that was created
 	 */
 	public void createChannel(Guild guild, String channelName) {
+		if (channelName == null) {
+			logNullArgumentsStackTrace("`spec` was null.");
+			return;
+		}
+
+		subscribe(createChannelAsync(guild, spec -> spec.setName(channelName)));
+	}
+
+	/**
+	 * Creates a channel in the specified guild, as {@link RequestPriority#REMINDER}. The request is queued under the
+	 * guild, since the channel does not exist yet.
+	 *
+	 * @param guild
+	 *            guild to create the channel in
+	 * @param channelSpec
+	 *            spec of the channel
+	 * @return mono of the created channel. Completes empty, if the channel could not be created.
+	 */
+	public Mono<TextChannel> createChannelAsync(Guild guild, Consumer<? super TextChannelCreateSpec> channelSpec) {
 		if (guild == null) {
 			logNullArgumentsStackTrace("`guild` was null.");
-			return;
+			return Mono.empty();
 		}
 
-		if (channelName == null) {
-			logNullArgumentsStackTrace("`spec` was null.");
-			return;
+		if (channelSpec == null) {
+			logNullArgumentsStackTrace("`channelSpec` was null.");
+			return Mono.empty();
 		}
 
-		subscribe(guild.createTextChannel(spec -> spec.setName(channelName)));
+		return handle(messageDispatcher.submit(RequestPriority.REMINDER, guild.getId().asLong(),
+				() -> guild.createTextChannel(channelSpec))
+				.doOnNext(cache::putTextChannel));
 	}
 
 	/**
 	 * Pins the message to the specified channels
-	 * 
+	 *
 	 * @param message
 	 *            existing message in Discord
 	 */
 	public void pinMessage(Message message) {
+		subscribe(pinMessageAsync(message));
+	}
+
+	/**
+	 * Pins the message to its channel, as a {@link RequestPriority#COMMAND_REPLY}.
+	 *
+	 * @param message
+	 *            existing message in Discord
+	 * @return mono that completes when the message is pinned, or could not be pinned
+	 */
+	public Mono<Void> pinMessageAsync(Message message) {
+		return pinMessageAsync(message, RequestPriority.COMMAND_REPLY);
+	}
+
+	/**
+	 * Pins the message to its channel.
+	 *
+	 * @param message
+	 *            existing message in Discord
+	 * @param priority
+	 *            priority of the pin
+	 * @return mono that completes when the message is pinned, or could not be pinned
+	 */
+	public Mono<Void> pinMessageAsync(Message message, RequestPriority priority) {
 		if (message == null) {
 			logNullArgumentsStackTrace("`message` was null.");
-			return;
+			return Mono.empty();
 		}
 
-		subscribe(message.pin());
+		return handle(messageDispatcher.submit(priority, message.getChannelId().asLong(), message::pin));
 	}
 
 	/**
 	 * Creates a category with the given name.
-	 * 
+	 *
 	 * @param guild
 	 *            guild to create the category in
 	 * @param categoryName
 	 *            name of the category
 	 */
 	public Category createCategory(Guild guild, String categoryName) {
+		return block(createCategoryAsync(guild, categoryName));
+	}
+
+	/**
+	 * Creates a category with the given name, as {@link RequestPriority#REMINDER}. The request is queued under the
+	 * guild, since the category does not exist yet.
+	 *
+	 * @param guild
+	 *            guild to create the category in
+	 * @param categoryName
+	 *            name of the category
+	 * @return mono of the created category. Completes empty, if the category could not be created.
+	 */
+	public Mono<Category> createCategoryAsync(Guild guild, String categoryName) {
 		if (guild == null) {
 			logNullArgumentsStackTrace("`guild` was null.");
-			return null;
+			return Mono.empty();
 		}
 
 		if (categoryName == null) {
 			logNullArgumentsStackTrace("`categoryName` was null.");
-			return null;
+			return Mono.empty();
 		}
 
-		return guild.createCategory(spec -> spec.setName(categoryName)).block();
+		return handle(messageDispatcher.submit(RequestPriority.REMINDER, guild.getId().asLong(),
+				() -> guild.createCategory(spec -> spec.setName(categoryName)))
+				.doOnNext(cache::putCategory));
 	}
 
 	/**
 	 * Gets the category with the given name.
-	 * 
+	 *
 	 * @param guild
 	 *            guild to get the category from
 	 * @param categoryName
 	 *            name of the category
-	 * 
+	 *
 	 */
 	public Category getCategory(Guild guild, String categoryName) {
+		return block(getCategoryAsync(guild, categoryName));
+	}
+
+	/**
+	 * Gets the category with the given name.
+	 *
+	 * @param guild
+	 *            guild to get the category from
+	 * @param categoryName
+	 *            name of the category
+	 * @return mono of the category. Completes empty, if there is no such category.
+	 */
+	public Mono<Category> getCategoryAsync(Guild guild, String categoryName) {
+		if (categoryName == null) {
+			logNullArgumentsStackTrace("`categoryName` was null.");
+			return Mono.empty();
+		}
+
+		return getCategoriesAsync(guild)
+				.filter(category -> category.getName().equalsIgnoreCase(categoryName))
+				.next();
+	}
+
+	/**
+	 * Gets the category with the given name. If it does not exist, it is created. Concurrent calls for the same guild
+	 * and name share one lookup (and creation).
+	 *
+	 * @param guild
+	 *            guild to get the category from
+	 * @param categoryName
+	 *            name of the category
+	 * @return mono of the category. Completes empty, if the category could not be found or created.
+	 */
+	public Mono<Category> getOrCreateCategoryAsync(Guild guild, String categoryName) {
 		if (guild == null) {
 			logNullArgumentsStackTrace("`guild` was null.");
-			return null;
+			return Mono.empty();
 		}
 
 		if (categoryName == null) {
 			logNullArgumentsStackTrace("`categoryName` was null.");
-			return null;
+			return Mono.empty();
 		}
 
-		return block(guild.getChannels()
-				.filter(channel -> (channel instanceof Category))
-				.filter(category -> category.getName().equalsIgnoreCase(categoryName))
-				.take(1)
-				.cast(Category.class)
-				.next());
+		String key = guild.getId().asString() + "/" + categoryName.toLowerCase();
+		return categoriesInFlight.computeIfAbsent(key, k -> getCategoryAsync(guild, categoryName)
+				.switchIfEmpty(Mono.defer(() -> createCategoryAsync(guild, categoryName)))
+				.doFinally(signal -> categoriesInFlight.remove(k))
+				.cache());
+	}
+
+	/**
+	 * Gets the categories of the guild.
+	 *
+	 * @param guild
+	 *            guild to get the categories of
+	 * @return list of categories
+	 */
+	public List<Category> getCategories(Guild guild) {
+		return block(getCategoriesAsync(guild));
+	}
+
+	/**
+	 * Gets the categories of the guild.
+	 *
+	 * @param guild
+	 *            guild to get the categories of
+	 * @return flux of the categories. Completes empty, if they could not be fetched.
+	 */
+	public Flux<Category> getCategoriesAsync(Guild guild) {
+		if (guild == null) {
+			logNullArgumentsStackTrace("`guild` was null.");
+			return Flux.empty();
+		}
+
+		return getCategoriesAsync(guild.getId(), Mono.just(guild));
+	}
+
+	private Flux<Category> getCategoriesAsync(Snowflake guildId, Mono<Guild> guild) {
+		Mono<List<Category>> loader = handle(guild.flatMapMany(Guild::getChannels)
+				.ofType(Category.class)
+				.collectList());
+		return cache.getCategories(guildId.asLong(), loader).flatMapIterable(categories -> categories);
 	}
 
 	/**
 	 * Moves the given channel into the given category.
-	 * 
+	 *
 	 * @param category
 	 *            category to move channel into
 	 * @param channel
 	 *            channel to move
 	 */
 	public void moveChannel(Category category, TextChannel channel) {
+		subscribe(moveChannelAsync(category, channel));
+	}
+
+	/**
+	 * Moves the given channel into the given category, as {@link RequestPriority#REMINDER}.
+	 *
+	 * @param category
+	 *            category to move channel into
+	 * @param channel
+	 *            channel to move
+	 * @return mono of the moved channel. Completes empty, if the channel could not be moved.
+	 */
+	public Mono<TextChannel> moveChannelAsync(Category category, TextChannel channel) {
 		if (category == null) {
 			logNullArgumentsStackTrace("`category` was null.");
-			return;
+			return Mono.empty();
 		}
 
 		if (channel == null) {
 			logNullArgumentsStackTrace("`channel` was null.");
-			return;
+			return Mono.empty();
 		}
-		LOGGER.debug("Moving channel into category. channel={}, category={}", channel.getName(), category.getName());
 
-		subscribe(channel.edit(spec -> spec.setParentId(category.getId())));
+		return Mono.defer(() -> {
+			LOGGER.debug("Moving channel into category. channel={}, category={}", channel.getName(),
+					category.getName());
+			return handle(messageDispatcher.submit(RequestPriority.REMINDER, channel.getId().asLong(),
+					() -> channel.edit(spec -> spec.setParentId(category.getId())))
+					.doOnNext(cache::putTextChannel));
+		});
 	}
 
 	public Category getCategory(TextChannel channel) {
+		return block(getCategoryAsync(channel));
+	}
+
+	/**
+	 * Gets the category of the channel.
+	 *
+	 * @param channel
+	 *            channel to get the category of
+	 * @return mono of the category. Completes empty, if the channel is not in a category.
+	 */
+	public Mono<Category> getCategoryAsync(TextChannel channel) {
 		if (channel == null) {
 			logNullArgumentsStackTrace("`channel` was null.");
-			return null;
+			return Mono.empty();
 		}
 
-		return block(channel.getCategory());
+		Snowflake categoryId = channel.getCategoryId().orElse(null);
+		if (categoryId == null) {
+			return Mono.empty();
+		}
+
+		return getCategoriesAsync(channel.getGuildId(), channel.getGuild())
+				.filter(category -> category.getId().equals(categoryId))
+				.next();
 	}
 
 	public List<TextChannel> getTextChannels(Guild guild) {
@@ -398,10 +718,27 @@ public class DiscordManager {
 			return null;
 		}
 
-		return block(guild.getChannels()				
+		return block(getTextChannelsAsync(guild).collectList());
+	}
+
+	/**
+	 * Gets the text channels of the guild.
+	 *
+	 * @param guild
+	 *            guild to get the channels of
+	 * @return flux of the channels. Completes empty, if they could not be fetched.
+	 */
+	public Flux<TextChannel> getTextChannelsAsync(Guild guild) {
+		if (guild == null) {
+			logNullArgumentsStackTrace("`guild` was null.");
+			return Flux.empty();
+		}
+
+		Mono<List<TextChannel>> loader = handle(guild.getChannels()
 				.filter(channel -> (channel instanceof TextChannel))
 				.cast(TextChannel.class)
 				.collectList());
+		return cache.getTextChannels(guild.getId().asLong(), loader).flatMapIterable(channels -> channels);
 	}
 
 	public User getUser(long userId) {
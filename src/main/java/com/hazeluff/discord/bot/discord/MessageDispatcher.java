@@ -0,0 +1,542 @@
+package com.hazeluff.discord.bot.discord;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.hazeluff.discord.Config;
+import com.hazeluff.discord.utils.RequestBudget;
+import com.hazeluff.discord.utils.Utils;
+
+import discord4j.core.object.entity.Message;
+import reactor.core.publisher.Mono;
+
+/**
+ * <p>
+ * Sends requests to Discord through a FIFO queue per channel, within the rate limits of Discord.
+ * </p>
+ *
+ * <p>
+ * Each channel has its own {@link RequestBudget} (its bucket), and all channels share a global one. A request is sent
+ * once both have a token, and only one request per channel is in flight at a time, so the requests of a channel are
+ * sent in the order they were queued. A request that does not finish within the request timeout fails, so that it
+ * does not hold up its channel.
+ * </p>
+ *
+ * <p>
+ * Channels wait in the lane of the {@link RequestPriority} of their next request, and take turns within it. Lanes take
+ * turns by their weight, so that e.g. goals are sent ahead of a backlog of channel deletions. A lane whose oldest
+ * request has waited longer than the maximum wait is served first, so that no lane is starved.
+ * </p>
+ *
+ * <p>
+ * Edits of a message that is already queued to be edited are coalesced: the queued edit is sent with the latest
+ * content (and the most urgent priority), and every caller gets its result.
+ * </p>
+ */
+public class MessageDispatcher {
+	private static final Logger LOGGER = LoggerFactory.getLogger(MessageDispatcher.class);
+
+	/**
+	 * Id to queue requests under, that are not made to a channel (e.g. presence updates).
+	 */
+	public static final long NO_CHANNEL = 0;
+
+	private final ScheduledExecutorService scheduler;
+	private final RequestBudget globalBudget;
+	private final double channelPermitsPerSecond;
+	private final int channelBurst;
+	private final int maxChannelQueues;
+	private final long maxWaitMs;
+	private final long requestTimeoutMs;
+	private final LongSupplier clock;
+
+	// Map<ChannelId, ChannelQueue>. Idle queues are swept once there are more than the maximum.
+	private final Map<Long, ChannelQueue> channelQueues = new HashMap<>();
+	/*
+	 * Map<ChannelId, RequestBudget>. Kept apart from the queues, so that a swept queue does not reset the rate limit of
+	 * its channel. The budgets of channels without a queue are swept once they are full, as a new one is the same.
+	 */
+	private final Map<Long, RequestBudget> channelBudgets = new HashMap<>();
+	// Channels that have requests queued and none in flight, by the lane they wait in. In the order they take turns.
+	private final Map<RequestPriority, Set<ChannelQueue>> lanes = new EnumMap<>(RequestPriority.class);
+	// Turns left of each lane, in the current round
+	private final Map<RequestPriority, Integer> turns = new EnumMap<>(RequestPriority.class);
+	private ScheduledFuture<?> scheduledDrain;
+
+	private final Map<RequestPriority, Integer> queued = new EnumMap<>(RequestPriority.class);
+	private final AtomicLong submitted = new AtomicLong();
+	private final AtomicLong sent = new AtomicLong();
+	private final AtomicLong coalesced = new AtomicLong();
+	private final AtomicLong starved = new AtomicLong();
+	private final AtomicLong totalDelayMs = new AtomicLong();
+	private final AtomicLong maxDelayMs = new AtomicLong();
+
+	public MessageDispatcher() {
+		this(Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "MessageDispatcher");
+			thread.setDaemon(true);
+			return thread;
+		}), new RequestBudget("Discord", Config.DISCORD_MAX_REQUESTS_PER_SECOND, Config.DISCORD_REQUEST_BURST),
+				Config.DISCORD_CHANNEL_MAX_REQUESTS_PER_SECOND, Config.DISCORD_CHANNEL_REQUEST_BURST,
+				Config.DISCORD_MAX_CHANNEL_QUEUES, Config.DISCORD_REQUEST_MAX_WAIT_MS, Config.DISCORD_REQUEST_TIMEOUT_MS,
+				Utils::getCurrentTime);
+	}
+
+	MessageDispatcher(ScheduledExecutorService scheduler, RequestBudget globalBudget, double channelPermitsPerSecond,
+			int channelBurst, int maxChannelQueues, long maxWaitMs, long requestTimeoutMs, LongSupplier clock) {
+		this.scheduler = scheduler;
+		this.globalBudget = globalBudget;
+		this.channelPermitsPerSecond = channelPermitsPerSecond;
+		this.channelBurst = channelBurst;
+		this.maxChannelQueues = maxChannelQueues;
+		this.maxWaitMs = maxWaitMs;
+		this.requestTimeoutMs = requestTimeoutMs;
+		this.clock = clock;
+		for (RequestPriority priority : RequestPriority.values()) {
+			lanes.put(priority, new LinkedHashSet<>());
+			turns.put(priority, priority.getWeight());
+			queued.put(priority, 0);
+		}
+	}
+
+	/**
+	 * Queues the request to the channel. The request is made when it is subscribed to.
+	 *
+	 * @param priority
+	 *            priority of the request
+	 * @param channelId
+	 *            id of the channel that the request is made to. Requests that create channels are queued under the id
+	 *            of their guild. {@link #NO_CHANNEL}, if it is not made to a channel or guild.
+	 * @param request
+	 *            makes the request
+	 * @return mono of the result of the request
+	 */
+	public <T> Mono<T> submit(RequestPriority priority, long channelId, Supplier<Mono<T>> request) {
+		return Mono.defer(() -> {
+			Request<T> queuedRequest = new Request<>(priority, request);
+			CompletableFuture<T> future = queuedRequest.newFuture();
+			enqueue(channelId, queuedRequest);
+			return Mono.fromFuture(future);
+		});
+	}
+
+	/**
+	 * Queues an edit of the message. If an edit of the message is already queued, its content is replaced instead.
+	 *
+	 * @param priority
+	 *            priority of the edit
+	 * @param message
+	 *            message to edit
+	 * @param content
+	 *            new content of the message
+	 * @return mono of the edited message
+	 */
+	public Mono<Message> submitEdit(RequestPriority priority, Message message, String content) {
+		return Mono.defer(() -> {
+			CompletableFuture<Message> future;
+			synchronized (this) {
+				ChannelQueue queue = getChannelQueue(message.getChannelId().asLong());
+				long messageId = message.getId().asLong();
+				Edit edit = queue.queuedEdits.get(messageId);
+				if (edit != null) {
+					LOGGER.debug("Coalescing edit of message [{}]", messageId);
+					coalesced.incrementAndGet();
+					edit.content = content;
+					future = edit.newFuture();
+					if (priority.isMoreUrgentThan(edit.priority)) {
+						setPriority(queue, edit, priority);
+					}
+				} else {
+					edit = new Edit(priority, message, content);
+					queue.queuedEdits.put(messageId, edit);
+					future = edit.newFuture();
+					enqueue(queue, edit);
+				}
+			}
+			return Mono.fromFuture(future);
+		});
+	}
+
+	private synchronized void enqueue(long channelId, Request<?> request) {
+		enqueue(getChannelQueue(channelId), request);
+	}
+
+	private synchronized void enqueue(ChannelQueue queue, Request<?> request) {
+		submitted.incrementAndGet();
+		queued.merge(request.priority, 1, Integer::sum);
+		request.queueTime = clock.getAsLong();
+		queue.requests.add(request);
+		updateLane(queue);
+		scheduler.execute(this::drain);
+	}
+
+	private void setPriority(ChannelQueue queue, Request<?> request, RequestPriority priority) {
+		queued.merge(request.priority, -1, Integer::sum);
+		request.priority = priority;
+		queued.merge(priority, 1, Integer::sum);
+		updateLane(queue);
+		scheduler.execute(this::drain);
+	}
+
+	/**
+	 * Moves the channel into the lane of the priority of its next request. The requests of a channel are sent in order,
+	 * so a more urgent request behind it does not move the channel up; it would spend the turns of its lane on a less
+	 * urgent request. Channels with a request in flight, or nothing queued, are not in a lane.
+	 */
+	private void updateLane(ChannelQueue queue) {
+		Request<?> next = queue.requests.peek();
+		RequestPriority lane = queue.inFlight || next == null ? null : next.priority;
+		if (lane == queue.lane) {
+			return;
+		}
+		if (queue.lane != null) {
+			lanes.get(queue.lane).remove(queue);
+		}
+		if (lane != null) {
+			lanes.get(lane).add(queue);
+		}
+		queue.lane = lane;
+	}
+
+	private ChannelQueue getChannelQueue(long channelId) {
+		ChannelQueue queue = channelQueues.get(channelId);
+		if (queue == null) {
+			if (channelQueues.size() >= maxChannelQueues) {
+				sweep();
+			}
+			RequestBudget budget = channelBudgets.computeIfAbsent(channelId,
+					key -> new RequestBudget("Discord Channel " + key, channelPermitsPerSecond, channelBurst));
+			queue = new ChannelQueue(budget);
+			channelQueues.put(channelId, queue);
+		}
+		return queue;
+	}
+
+	/**
+	 * Removes the queues of the channels that are idle, and the budgets of the channels without a queue that are full.
+	 */
+	private void sweep() {
+		int queues = channelQueues.size();
+		channelQueues.values().removeIf(ChannelQueue::isIdle);
+		Iterator<Map.Entry<Long, RequestBudget>> budgets = channelBudgets.entrySet().iterator();
+		while (budgets.hasNext()) {
+			Map.Entry<Long, RequestBudget> budget = budgets.next();
+			if (!channelQueues.containsKey(budget.getKey()) && budget.getValue().getAvailable() >= channelBurst) {
+				budgets.remove();
+			}
+		}
+		LOGGER.debug("Swept [{}] idle channel queues.", queues - channelQueues.size());
+	}
+
+	/**
+	 * @return number of channels that have a queue
+	 */
+	synchronized int getChannelQueueCount() {
+		return channelQueues.size();
+	}
+
+	/**
+	 * Sends the requests that have tokens, in the order of their lanes. If a budget is spent, the drain is scheduled
+	 * for when it has a token again. Requests are sent outside of the lock of the dispatcher.
+	 */
+	void drain() {
+		Map<Request<?>, ChannelQueue> requests = takeSendableRequests();
+		requests.forEach((request, queue) -> send(queue, request));
+	}
+
+	private synchronized Map<Request<?>, ChannelQueue> takeSendableRequests() {
+		Map<Request<?>, ChannelQueue> requests = new LinkedHashMap<>();
+		long now = clock.getAsLong();
+		while (lanes.values().stream().anyMatch(lane -> !lane.isEmpty())) {
+			long globalWaitMs = globalBudget.getWaitMs();
+			if (globalWaitMs > 0) {
+				scheduleDrain(globalWaitMs);
+				break;
+			}
+			ChannelQueue queue = nextChannelQueue(now);
+			if (queue == null) {
+				scheduleDrain(getChannelWaitMs());
+				break;
+			}
+
+			queue.budget.tryAcquire();
+			globalBudget.tryAcquire();
+			requests.put(take(queue, now), queue);
+		}
+		return requests;
+	}
+
+	/**
+	 * Gets the channel to send the next request of. The channel whose request has waited the longest is served first,
+	 * if it waited longer than the maximum wait. Otherwise, the most urgent lane that has turns left is served. Once no
+	 * lane with a sendable channel has turns left, a new round starts.
+	 *
+	 * @param now
+	 *            current time (ms)
+	 * @return the channel<br>
+	 *         null, if no channel has a token
+	 */
+	private ChannelQueue nextChannelQueue(long now) {
+		Map<RequestPriority, ChannelQueue> sendable = new EnumMap<>(RequestPriority.class);
+		ChannelQueue starvedQueue = null;
+		long longestWaitMs = maxWaitMs;
+		for (RequestPriority priority : RequestPriority.values()) {
+			// The channel whose turn it is in the lane, and the one with the oldest request
+			ChannelQueue queue = null;
+			ChannelQueue oldestQueue = null;
+			for (ChannelQueue channelQueue : lanes.get(priority)) {
+				if (channelQueue.budget.getWaitMs() > 0) {
+					continue;
+				}
+				if (queue == null) {
+					queue = channelQueue;
+				}
+				if (oldestQueue == null || channelQueue.getQueueTime() < oldestQueue.getQueueTime()) {
+					oldestQueue = channelQueue;
+				}
+			}
+			if (queue != null) {
+				sendable.put(priority, queue);
+				long waitMs = now - oldestQueue.getQueueTime();
+				if (waitMs > longestWaitMs) {
+					starvedQueue = oldestQueue;
+					longestWaitMs = waitMs;
+				}
+			}
+		}
+
+		if (sendable.isEmpty()) {
+			return null;
+		}
+		if (starvedQueue != null) {
+			LOGGER.debug("Serving lane [{}] that waited {}ms.", starvedQueue.lane, longestWaitMs);
+			starved.incrementAndGet();
+			return starvedQueue;
+		}
+		RequestPriority lane = sendable.keySet().stream()
+				.filter(priority -> turns.get(priority) > 0)
+				.findFirst()
+				.orElse(null);
+		if (lane == null) {
+			// New round
+			for (RequestPriority priority : RequestPriority.values()) {
+				turns.put(priority, priority.getWeight());
+			}
+			lane = sendable.keySet().iterator().next();
+		}
+		turns.merge(lane, -1, Integer::sum);
+		return sendable.get(lane);
+	}
+
+	/**
+	 * @return time (ms) until a channel in a lane has a token
+	 */
+	private long getChannelWaitMs() {
+		return lanes.values().stream()
+				.flatMap(Set::stream)
+				.mapToLong(queue -> queue.budget.getWaitMs())
+				.min()
+				.orElse(0);
+	}
+
+	private void scheduleDrain(long delayMs) {
+		if (scheduledDrain != null && !scheduledDrain.isDone()) {
+			if (scheduledDrain.getDelay(TimeUnit.MILLISECONDS) <= delayMs) {
+				return;
+			}
+			scheduledDrain.cancel(false);
+		}
+		scheduledDrain = scheduler.schedule(this::drain, delayMs, TimeUnit.MILLISECONDS);
+	}
+
+	private Request<?> take(ChannelQueue queue, long now) {
+		Request<?> request = queue.requests.poll();
+		queued.merge(request.priority, -1, Integer::sum);
+		queue.inFlight = true;
+		updateLane(queue);
+		if (request instanceof Edit) {
+			// Later edits are queued separately, since this one is sent with the content it has now
+			queue.queuedEdits.remove(((Edit) request).message.getId().asLong());
+		}
+		long delayMs = now - request.queueTime;
+		totalDelayMs.addAndGet(delayMs);
+		maxDelayMs.accumulateAndGet(delayMs, Math::max);
+		sent.incrementAndGet();
+		return request;
+	}
+
+	private <T> void send(ChannelQueue queue, Request<T> request) {
+		Mono<T> mono;
+		try {
+			mono = request.start();
+		} catch (RuntimeException e) {
+			mono = Mono.error(e);
+		}
+		mono.timeout(Duration.ofMillis(requestTimeoutMs))
+				.doFinally(signal -> onFinished(queue))
+				.subscribe(request::complete, request::fail, () -> request.complete(null));
+	}
+
+	private synchronized void onFinished(ChannelQueue queue) {
+		queue.inFlight = false;
+		updateLane(queue);
+		scheduler.execute(this::drain);
+	}
+
+	/**
+	 * @return number of requests that are queued, and not yet sent
+	 */
+	public synchronized int getQueued() {
+		return queued.values().stream().mapToInt(Integer::intValue).sum();
+	}
+
+	/**
+	 * @param priority
+	 *            priority of the requests
+	 * @return number of requests of the priority that are queued, and not yet sent
+	 */
+	public synchronized int getQueued(RequestPriority priority) {
+		return queued.get(priority);
+	}
+
+	/**
+	 * @return number of requests that were queued. Coalesced edits are not counted.
+	 */
+	public long getSubmitted() {
+		return submitted.get();
+	}
+
+	public long getSent() {
+		return sent.get();
+	}
+
+	/**
+	 * @return number of edits that were coalesced into an edit that was already queued
+	 */
+	public long getCoalesced() {
+		return coalesced.get();
+	}
+
+	/**
+	 * @return number of requests that were sent ahead of their turn, because they waited longer than the maximum wait
+	 */
+	public long getStarved() {
+		return starved.get();
+	}
+
+	/**
+	 * @return average time (ms) that the sent requests were queued
+	 */
+	public long getAverageDelayMs() {
+		long sentRequests = sent.get();
+		return sentRequests == 0 ? 0 : totalDelayMs.get() / sentRequests;
+	}
+
+	/**
+	 * @return longest time (ms) that a sent request was queued
+	 */
+	public long getMaxDelayMs() {
+		return maxDelayMs.get();
+	}
+
+	/**
+	 * Requests of a channel. The budget is the rate limit of the channel, which outlives the queue.
+	 */
+	private static class ChannelQueue {
+		final RequestBudget budget;
+		final Deque<Request<?>> requests = new ArrayDeque<>();
+		// Map<MessageId, Edit>
+		final Map<Long, Edit> queuedEdits = new HashMap<>();
+		boolean inFlight = false;
+		// Lane that the channel waits in. null, if it is not waiting.
+		RequestPriority lane;
+
+		ChannelQueue(RequestBudget budget) {
+			this.budget = budget;
+		}
+
+		boolean isIdle() {
+			return !inFlight && requests.isEmpty();
+		}
+
+		/**
+		 * @return time (ms) that the next request was queued at. Only called while requests are queued.
+		 */
+		long getQueueTime() {
+			return requests.peek().queueTime;
+		}
+	}
+
+	/**
+	 * A queued request. Every caller that shares the request gets its own future of the result.
+	 */
+	private static class Request<T> {
+		private final Supplier<Mono<T>> request;
+		final List<CompletableFuture<T>> futures = new ArrayList<>();
+		RequestPriority priority;
+		long queueTime;
+
+		Request(RequestPriority priority, Supplier<Mono<T>> request) {
+			this.priority = priority;
+			this.request = request;
+		}
+
+		Mono<T> start() {
+			return request.get();
+		}
+
+		synchronized CompletableFuture<T> newFuture() {
+			CompletableFuture<T> future = new CompletableFuture<>();
+			futures.add(future);
+			return future;
+		}
+
+		synchronized void complete(T result) {
+			futures.forEach(future -> future.complete(result));
+		}
+
+		synchronized void fail(Throwable throwable) {
+			futures.forEach(future -> future.completeExceptionally(throwable));
+		}
+	}
+
+	/**
+	 * A queued edit of a message. The content is replaced by coalesced edits, until the edit is sent.
+	 */
+	private static class Edit extends Request<Message> {
+		final Message message;
+		String content;
+
+		Edit(RequestPriority priority, Message message, String content) {
+			super(priority, null);
+			this.message = message;
+			this.content = content;
+		}
+
+		@Override
+		Mono<Message> start() {
+			return message.edit(spec -> spec.setContent(content));
+		}
+	}
+}
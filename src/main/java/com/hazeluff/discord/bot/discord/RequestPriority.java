@@ -0,0 +1,46 @@
+package com.hazeluff.discord.bot.discord;
+
+/**
+ * Priority of a request to Discord. Priorities are declared from most to least urgent. The {@link MessageDispatcher}
+ * gives each priority a number of turns (its weight) per round, when requests of several priorities are queued.
+ */
+public enum RequestPriority {
+	/**
+	 * Goals, scores and other messages of a game that is being played.
+	 */
+	LIVE_EVENT(8),
+	/**
+	 * Replies to commands and chat.
+	 */
+	COMMAND_REPLY(4),
+	/**
+	 * Reminders before a game, and setting up game day channels.
+	 */
+	REMINDER(2),
+	/**
+	 * Deleting old channels and messages, and presence updates.
+	 */
+	MAINTENANCE(1);
+
+	private final int weight;
+
+	private RequestPriority(int weight) {
+		this.weight = weight;
+	}
+
+	/**
+	 * @return number of turns per round of the priority
+	 */
+	public int getWeight() {
+		return weight;
+	}
+
+	/**
+	 * @param priority
+	 *            priority to compare to
+	 * @return true, if this priority is more urgent than the given one
+	 */
+	public boolean isMoreUrgentThan(RequestPriority priority) {
+		return compareTo(priority) < 0;
+	}
+}
@@ -1,7 +1,7 @@
 package com.hazeluff.discord.bot.listener;
 
 import com.hazeluff.discord.bot.NHLBot;
-import com.hazeluff.discord.utils.DiscordThreadFactory;
+import com.hazeluff.discord.utils.EventWorkerPool;
 
 import discord4j.core.event.domain.Event;
 
@@ -13,8 +13,14 @@ public abstract class EventListener {
 		this.nhlBot = nhlBot;
 	}
 
+	/**
+	 * Queues the event to be processed on the {@link EventWorkerPool}. The event is dropped if the pool is saturated.
+	 * 
+	 * @param event
+	 *            event to process
+	 */
 	public void execute(Event event) {
-		DiscordThreadFactory.getInstance().createThread(ReactionListener.class, () -> processEvent(event)).start();
+		EventWorkerPool.getInstance().submit(getClass(), () -> processEvent(event));
 	}
 	
 	public abstract void processEvent(Event event);
@@ -1,35 +1,50 @@
 package com.hazeluff.discord.nhl;
 
 import java.net.URISyntaxException;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.http.client.utils.URIBuilder;
 import org.json.JSONException;
-import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.hazeluff.discord.utils.DateUtils;
 import com.hazeluff.discord.utils.HttpException;
 import com.hazeluff.discord.utils.HttpUtils;
 
-
+/**
+ * <p>
+ * A game in the NHL. The date, gamePk and teams of a game do not change.
+ * </p>
+ * 
+ * <p>
+ * The scores, status and events of the game are held in an immutable {@link GameSnapshot}, which is replaced
+ * atomically when the game is updated. Use {@link #getSnapshot()} to read them as a consistent view, and
+ * {@link #getVersion()} to determine if the game changed.
+ * </p>
+ */
 public class Game {
 	private static final Logger LOGGER = LoggerFactory.getLogger(Game.class);
 
+	// Time zone and format of the date in the channel name
+	static final ZoneId CHANNEL_NAME_TIME_ZONE = ZoneId.of("America/New_York");
+	static final DateTimeFormatter CHANNEL_NAME_DATE_FORMATTER = DateTimeFormatter.ofPattern("yy-MM-dd");
+
 	private final ZonedDateTime date;
 	private final int gamePk;
 	private final Team awayTeam;
 	private final Team homeTeam;
-	private int awayScore;
-	private int homeScore;
-	private GameStatus status;
-	private List<GameEvent> events = new ArrayList<>();
+	private final AtomicReference<GameSnapshot> snapshot;
+	// Changes while the game is played, without changing the version of the game. Set by the LiveGamePoller.
+	private volatile GameClock clock = GameClock.NONE;
+	// Derived from the date and teams, which do not change
+	private volatile String channelName;
 
 	Game(ZonedDateTime date, int gamePk, Team awayTeam, Team homeTeam, int awayScore, int homeScore,
 			GameStatus status) {
@@ -37,51 +52,27 @@ public class Game {
 		this.gamePk = gamePk;
 		this.awayTeam = awayTeam;
 		this.homeTeam = homeTeam;
-		this.awayScore = awayScore;
-		this.homeScore = homeScore;
-		this.status = status;
-	}
-
-	private Game(ZonedDateTime date, int gamePk, Team awayTeam, Team homeTeam) {
-		this.date = date;
-		this.gamePk = gamePk;
-		this.awayTeam = awayTeam;
-		this.homeTeam = homeTeam;
-	}
-
-	public static Game parse(JSONObject jsonGame) {
-		try {
-			ZonedDateTime date = DateUtils.parseNHLDate(jsonGame.getString("gameDate"));
-			int gamePk = jsonGame.getInt("gamePk");
-			Team awayTeam = Team
-					.parse(jsonGame.getJSONObject("teams").getJSONObject("away").getJSONObject("team").getInt("id"));
-			Team homeTeam = Team
-					.parse(jsonGame.getJSONObject("teams").getJSONObject("home").getJSONObject("team").getInt("id"));
-			Game game = new Game(date, gamePk, awayTeam, homeTeam);
-			game.updateState(jsonGame);
-
-			return game;
-		} catch (Exception e) {
-			LOGGER.error("Could not parse game.", e);
-			return null;
-		}
+		this.snapshot = new AtomicReference<>(
+				new GameSnapshot(0, awayScore, homeScore, status, Collections.emptyList()));
 	}
 
 	/**
 	 * Clones the values (that are dynamic) in the provided game, and applies it to
-	 * this game.
+	 * this game. The clock is not cloned; it is polled separately by the {@link LiveGamePoller}.
 	 * 
 	 * @param updatedGame
+	 * @return true, if any of the values changed<br>
+	 *         false, otherwise
 	 */
-	public void updateTo(Game updatedGame) {
-		awayScore = updatedGame.getAwayScore();
-		homeScore = updatedGame.getHomeScore();
-		status = updatedGame.getStatus();
-		events = updatedGame.getEvents();
+	public boolean updateTo(Game updatedGame) {
+		return publish(updatedGame.getAwayScore(), updatedGame.getHomeScore(), updatedGame.getStatus(),
+				updatedGame.getEvents());
 	}
 
 	/**
-	 * Calls the NHL API and gets the current information of the game.
+	 * Calls the NHL API and gets the current information of the game. Nothing is parsed if the response is the same
+	 * as the previous one. The request is not retried; a failed update is retried by the next update. A slow request
+	 * is hedged, so that one slow response does not delay the update.
 	 * 
 	 * @throws HttpException
 	 */
@@ -92,44 +83,80 @@ public class Game {
 			URIBuilder uriBuilder = new URIBuilder("https://statsapi.web.nhl.com/api/v1/schedule");
 			uriBuilder.addParameter("gamePk", Integer.toString(gamePk));
 			uriBuilder.addParameter("expand", "schedule.scoringplays");
-			strJSONSchedule = HttpUtils.getAndRetry(uriBuilder.build(), 5, // 5 retries
-					60000l, //
-					"Update the game.");
+			strJSONSchedule = HttpUtils.getIfChanged(uriBuilder.build(), true);
 		} catch (URISyntaxException e) {
 			LOGGER.error("Error building URI", e);
 		}
 
+		if (strJSONSchedule == null) {
+			LOGGER.trace("Game is unchanged. [" + gamePk + "]");
+			return;
+		}
 		if (strJSONSchedule.isEmpty()) {
 			return;
 		}
 
 		try {
-			JSONObject jsonSchedule = new JSONObject(strJSONSchedule);
-			JSONObject jsonGame = jsonSchedule.getJSONArray("dates").getJSONObject(0).getJSONArray("games")
-					.getJSONObject(0);
-			updateState(jsonGame);
+			List<Game> fetchedGames = ScheduleParser.parseGames(strJSONSchedule);
+			if (fetchedGames.isEmpty()) {
+				LOGGER.warn("Game [" + gamePk + "] was not in the schedule.");
+				return;
+			}
+			updateTo(fetchedGames.get(0));
 		} catch (JSONException e) {
 			LOGGER.error("Failed to parse game.", e);
 		}
 	}
 
+	void setClock(GameClock clock) {
+		this.clock = clock;
+	}
+
 	/**
-	 * Updates the state of the game.
-	 * <UL>
-	 * <LI>Scores</LI>
-	 * <LI>Status</LI>
-	 * <LI>Events (Goals)</LI>
-	 * </UL>
+	 * Gets the clock of the game, as of the last update.
 	 * 
-	 * @param jsonGame
+	 * @return clock of the game. {@link GameClock#NONE}, if the clock of the game was not polled yet.
 	 */
-	void updateState(JSONObject jsonGame) {
-		awayScore = jsonGame.getJSONObject("teams").getJSONObject("away").getInt("score");
-		homeScore = jsonGame.getJSONObject("teams").getJSONObject("home").getInt("score");
-		status = GameStatus.parse(Integer.parseInt(jsonGame.getJSONObject("status").getString("statusCode")));
+	public GameClock getClock() {
+		return clock;
+	}
 
-		events = jsonGame.getJSONArray("scoringPlays").toList().stream().map(HashMap.class::cast).map(JSONObject::new)
-				.map(GameEvent::parse).collect(Collectors.toList());
+	/**
+	 * Replaces the snapshot of the game, if the given state is different from the current one.
+	 * 
+	 * @return true, if a new snapshot was published<br>
+	 *         false, if the state is unchanged
+	 */
+	boolean publish(int awayScore, int homeScore, GameStatus status, List<GameEvent> events) {
+		while (true) {
+			GameSnapshot current = snapshot.get();
+			GameSnapshot next = current.next(awayScore, homeScore, status, events);
+			if (next == current) {
+				return false;
+			}
+			if (snapshot.compareAndSet(current, next)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Gets the current state of the game. The returned snapshot does not change; call this again to get later
+	 * updates.
+	 * 
+	 * @return current snapshot of the game
+	 */
+	public GameSnapshot getSnapshot() {
+		return snapshot.get();
+	}
+
+	/**
+	 * Gets the version of the current snapshot. The version increases each time the state of the game changes.
+	 * 
+	 * @return version of the game
+	 */
+	public long getVersion() {
+		return snapshot.get().getVersion();
 	}
 
 	public ZonedDateTime getDate() {
@@ -149,13 +176,14 @@ public class Game {
 	}
 
 	public Team getWinningTeam() {
-		if (!isFinished()) {
+		GameSnapshot snapshot = getSnapshot();
+		if (snapshot.getStatus() != GameStatus.FINAL) {
 			return null;
 		}
-		if (getHomeScore() > getAwayScore()) {
+		if (snapshot.getHomeScore() > snapshot.getAwayScore()) {
 			return homeTeam;
 		}
-		if (getAwayScore() > getHomeScore()) {
+		if (snapshot.getAwayScore() > snapshot.getHomeScore()) {
 			return awayTeam;
 		}
 
@@ -182,16 +210,34 @@ public class Game {
 		return awayTeam == team || homeTeam == team;
 	}
 
+	/**
+	 * Gets the name that a channel in Discord related to this game would have. The name is built once and cached, as
+	 * the date and teams of a game do not change.
+	 * 
+	 * @return channel name in format: "AAA-vs-BBB-yy-MM-DD". <br>
+	 *         AAA is the 3 letter code of home team<br>
+	 *         BBB is the 3 letter code of away team<br>
+	 *         yy-MM-DD is the date of the game in the time zone of the NHL
+	 */
+	public String getChannelName() {
+		if (channelName == null) {
+			channelName = String.format("%.3s-vs-%.3s-%s", homeTeam.getCode(), awayTeam.getCode(),
+					date.withZoneSameInstant(CHANNEL_NAME_TIME_ZONE).format(CHANNEL_NAME_DATE_FORMATTER))
+					.toLowerCase();
+		}
+		return channelName;
+	}
+
 	public int getAwayScore() {
-		return awayScore;
+		return getSnapshot().getAwayScore();
 	}
 
 	public int getHomeScore() {
-		return homeScore;
+		return getSnapshot().getHomeScore();
 	}
 
 	public GameStatus getStatus() {
-		return status;
+		return getSnapshot().getStatus();
 	}
 
 	public boolean isFinished() {
@@ -199,27 +245,23 @@ public class Game {
 	}
 
 	public List<GameEvent> getEvents() {
-		return new ArrayList<>(events);
+		return new ArrayList<>(getSnapshot().getEvents());
 	}
 
 	@Override
 	public String toString() {
+		GameSnapshot snapshot = getSnapshot();
 		return "NHLGame [date=" + date + ", gamePk=" + gamePk + ", awayTeam=" + awayTeam + ", homeTeam=" + homeTeam
-				+ ", awayScore=" + awayScore + ", homeScore=" + homeScore + ", status=" + status + "]";
+				+ ", awayScore=" + snapshot.getAwayScore() + ", homeScore=" + snapshot.getHomeScore() + ", status="
+				+ snapshot.getStatus() + ", version=" + snapshot.getVersion() + "]";
 	}
 
+	/**
+	 * Games are identified by their gamePk only, as the rest of the state of a game changes over time.
+	 */
 	@Override
 	public int hashCode() {
-		final int prime = 31;
-		int result = 1;
-		result = prime * result + awayScore;
-		result = prime * result + ((awayTeam == null) ? 0 : awayTeam.hashCode());
-		result = prime * result + ((date == null) ? 0 : date.hashCode());
-		result = prime * result + gamePk;
-		result = prime * result + homeScore;
-		result = prime * result + ((homeTeam == null) ? 0 : homeTeam.hashCode());
-		result = prime * result + ((status == null) ? 0 : status.hashCode());
-		return result;
+		return Integer.hashCode(gamePk);
 	}
 
 	@Override
@@ -230,25 +272,7 @@ public class Game {
 			return false;
 		if (getClass() != obj.getClass())
 			return false;
-		Game other = (Game) obj;
-		if (awayScore != other.awayScore)
-			return false;
-		if (awayTeam != other.awayTeam)
-			return false;
-		if (date == null) {
-			if (other.date != null)
-				return false;
-		} else if (!date.equals(other.date))
-			return false;
-		if (gamePk != other.gamePk)
-			return false;
-		if (homeScore != other.homeScore)
-			return false;
-		if (homeTeam != other.homeTeam)
-			return false;
-		if (status != other.status)
-			return false;
-		return true;
+		return gamePk == ((Game) obj).gamePk;
 	}
 
 	public boolean equals(Game other) {
@@ -262,6 +286,6 @@ public class Game {
 	 *         false, otherwise
 	 */
 	public boolean isEnded() {
-		return status == GameStatus.FINAL;
+		return getStatus() == GameStatus.FINAL;
 	}
 }
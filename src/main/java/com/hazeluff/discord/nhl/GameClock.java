@@ -0,0 +1,52 @@
+package com.hazeluff.discord.nhl;
+
+/**
+ * <p>
+ * Where a game is in its periods, as given by the linescore of the NHL API. Immutable.
+ * </p>
+ *
+ * <p>
+ * The clock changes every few seconds while the game is played, so it is not part of the {@link GameSnapshot} and does
+ * not change the version of the game.
+ * </p>
+ */
+public class GameClock {
+	/**
+	 * Clock of a game without a linescore.
+	 */
+	public static final GameClock NONE = new GameClock(0, false, 0);
+
+	private final int currentPeriod;
+	private final boolean inIntermission;
+	private final int intermissionTimeRemaining;
+
+	GameClock(int currentPeriod, boolean inIntermission, int intermissionTimeRemaining) {
+		this.currentPeriod = currentPeriod;
+		this.inIntermission = inIntermission;
+		this.intermissionTimeRemaining = intermissionTimeRemaining;
+	}
+
+	/**
+	 * @return number of the current period. 0, if the game has not started.
+	 */
+	public int getCurrentPeriod() {
+		return currentPeriod;
+	}
+
+	public boolean isInIntermission() {
+		return inIntermission;
+	}
+
+	/**
+	 * @return time (seconds) until the intermission ends
+	 */
+	public int getIntermissionTimeRemaining() {
+		return intermissionTimeRemaining;
+	}
+
+	@Override
+	public String toString() {
+		return "GameClock [currentPeriod=" + currentPeriod + ", inIntermission=" + inIntermission
+				+ ", intermissionTimeRemaining=" + intermissionTimeRemaining + "]";
+	}
+}
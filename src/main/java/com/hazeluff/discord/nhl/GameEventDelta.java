@@ -0,0 +1,52 @@
+package com.hazeluff.discord.nhl;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The goals that were added, updated and removed in a game between two fetches of its events. Computed once per game
+ * by {@link GameEventDiffer} and shared by all listeners of the game.
+ */
+public class GameEventDelta {
+	private final int gamePk;
+	private final List<GameEvent> added;
+	private final List<GameEvent> updated;
+	private final List<GameEvent> removed;
+
+	GameEventDelta(int gamePk, List<GameEvent> added, List<GameEvent> updated, List<GameEvent> removed) {
+		this.gamePk = gamePk;
+		this.added = Collections.unmodifiableList(added);
+		this.updated = Collections.unmodifiableList(updated);
+		this.removed = Collections.unmodifiableList(removed);
+	}
+
+	static GameEventDelta empty(int gamePk) {
+		return new GameEventDelta(gamePk, Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+	}
+
+	public int getGamePk() {
+		return gamePk;
+	}
+
+	public List<GameEvent> getAdded() {
+		return added;
+	}
+
+	public List<GameEvent> getUpdated() {
+		return updated;
+	}
+
+	public List<GameEvent> getRemoved() {
+		return removed;
+	}
+
+	public boolean isEmpty() {
+		return added.isEmpty() && updated.isEmpty() && removed.isEmpty();
+	}
+
+	@Override
+	public String toString() {
+		return "GameEventDelta [gamePk=" + gamePk + ", added=" + added + ", updated=" + updated + ", removed="
+				+ removed + "]";
+	}
+}
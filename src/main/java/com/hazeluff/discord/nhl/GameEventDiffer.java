@@ -0,0 +1,141 @@
+package com.hazeluff.discord.nhl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ * Computes the {@link GameEventDelta} of a game from the fetched events, against the events of the previous fetch.
+ * Events are compared by their id with a hash map, so a diff is linear in the number of events.
+ * </p>
+ * 
+ * <p>
+ * Empty fetches are debounced, since the NHL API sometimes returns no events for a game that has goals. See
+ * {@link #isRetryEventFetch(List)}.
+ * </p>
+ * 
+ * <p>
+ * Not thread safe. Owned by the {@link GameTracker} of the game.
+ * </p>
+ */
+public class GameEventDiffer {
+	private static final Logger LOGGER = LoggerFactory.getLogger(GameEventDiffer.class);
+
+	// Number of retries to do when NHL API returns no events.
+	static final int NHL_EVENTS_RETRIES = 5;
+
+	private final int gamePk;
+	// Map<EventId, GameEvent> in the order they were fetched
+	private Map<Integer, GameEvent> events;
+	private int eventsRetries = 0;
+	private boolean retryPending = false;
+
+	/**
+	 * @param gamePk
+	 *            gamePk of the game
+	 * @param events
+	 *            the current events of the game. Changes are computed against these.
+	 */
+	GameEventDiffer(int gamePk, List<GameEvent> events) {
+		this.gamePk = gamePk;
+		this.events = toMap(events);
+	}
+
+	/**
+	 * Computes the delta from the stored events to the fetched events, and stores the fetched events. Events without
+	 * players are ignored.
+	 * 
+	 * @param fetchedEvents
+	 *            the fetched events of the game
+	 * @return the delta of the events<br>
+	 *         an empty delta, if the fetch should be retried
+	 */
+	public GameEventDelta diff(List<GameEvent> fetchedEvents) {
+		retryPending = isRetryEventFetch(fetchedEvents);
+		if (retryPending) {
+			return GameEventDelta.empty(gamePk);
+		}
+
+		Map<Integer, GameEvent> fetchedEventsMap = toMap(fetchedEvents);
+		List<GameEvent> added = new ArrayList<>();
+		List<GameEvent> updated = new ArrayList<>();
+		List<GameEvent> removed = new ArrayList<>();
+		for (GameEvent fetchedEvent : fetchedEventsMap.values()) {
+			if (fetchedEvent.getPlayers().isEmpty()) {
+				continue;
+			}
+			GameEvent existingEvent = events.get(fetchedEvent.getId());
+			if (existingEvent == null) {
+				LOGGER.debug("New event: [" + fetchedEvent + "]");
+				added.add(fetchedEvent);
+			} else if (!existingEvent.equals(fetchedEvent)) {
+				LOGGER.debug("Updated event: [" + fetchedEvent + "]");
+				updated.add(fetchedEvent);
+			}
+		}
+		for (GameEvent event : events.values()) {
+			if (!event.getPlayers().isEmpty() && !fetchedEventsMap.containsKey(event.getId())) {
+				LOGGER.debug("Removed event: [" + event + "]");
+				removed.add(event);
+			}
+		}
+
+		events = fetchedEventsMap;
+		return new GameEventDelta(gamePk, added, updated, removed);
+	}
+
+	/**
+	 * @return true, if the last diff was deferred and the events should be diffed again even if they are unchanged<br>
+	 *         false, otherwise
+	 */
+	public boolean isRetryPending() {
+		return retryPending;
+	}
+
+	/**
+	 * <p>
+	 * Determines if game events should be fetched again before computing the delta.
+	 * </p>
+	 * 
+	 * <p>
+	 * A retry should happen if the existing events is more than 1 and the api returned 0 events. Otherwise, if there
+	 * is 1 existing event and none is fetched, retry {@link #NHL_EVENTS_RETRIES} times until accepting the changes.
+	 * </p>
+	 * 
+	 * @param fetchedGameEvents
+	 *            the fetched game events
+	 * @return true - if events should be fetched again<br>
+	 *         false - otherwise
+	 */
+	boolean isRetryEventFetch(List<GameEvent> fetchedGameEvents) {
+		if (fetchedGameEvents.isEmpty()) {
+			if (events.size() > 1) {
+				LOGGER.warn("NHL api returned no events, but we have stored more than one event.");
+				return true;
+			} else if (events.size() == 1) {
+				LOGGER.warn("NHL api returned no events, but we have stored one event.");
+				if (eventsRetries++ < NHL_EVENTS_RETRIES) {
+					LOGGER.warn(String.format(
+							"Could be a rescinded goal or NHL api issue. " + "Retrying %s time(s) out of %s",
+							eventsRetries, NHL_EVENTS_RETRIES));
+					return true;
+				}
+			}
+		}
+		eventsRetries = 0;
+		return false;
+	}
+
+	private static Map<Integer, GameEvent> toMap(List<GameEvent> events) {
+		Map<Integer, GameEvent> map = new LinkedHashMap<>();
+		for (GameEvent event : events) {
+			map.put(event.getId(), event);
+		}
+		return map;
+	}
+}
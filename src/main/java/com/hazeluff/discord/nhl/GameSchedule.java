@@ -0,0 +1,189 @@
+package com.hazeluff.discord.nhl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.hazeluff.discord.nhl.TeamGameIndex.Partition;
+
+/**
+ * <p>
+ * The games known to the {@link GameScheduler}. Games are stored by gamePk, with secondary indexes to look up games by
+ * team (see {@link TeamGameIndex}) and by channel name.
+ * </p>
+ *
+ * <p>
+ * Games are added and updated with {@link #upsert(Game)}, and removed with {@link #remove(int)}. A schedule fetched
+ * from the NHL API is applied with {@link #merge(Collection, Collection)}, which reports the games that were added,
+ * changed and removed.
+ * </p>
+ */
+class GameSchedule {
+
+	/**
+	 * Result of applying games to the schedule.
+	 */
+	static class Changes {
+		private final List<Game> added;
+		private final List<Game> changed;
+		private final List<Game> removed;
+
+		Changes(List<Game> added, List<Game> changed, List<Game> removed) {
+			this.added = Collections.unmodifiableList(added);
+			this.changed = Collections.unmodifiableList(changed);
+			this.removed = Collections.unmodifiableList(removed);
+		}
+
+		public List<Game> getAdded() {
+			return added;
+		}
+
+		public List<Game> getChanged() {
+			return changed;
+		}
+
+		public List<Game> getRemoved() {
+			return removed;
+		}
+
+		public boolean isEmpty() {
+			return added.isEmpty() && changed.isEmpty() && removed.isEmpty();
+		}
+
+		@Override
+		public String toString() {
+			return "Changes [added=" + added + ", changed=" + changed + ", removed=" + removed + "]";
+		}
+	}
+
+	enum UpsertResult {
+		ADDED, CHANGED, UNCHANGED
+	}
+
+	// Map<GamePk, Game>
+	private final Map<Integer, Game> games = new HashMap<>();
+	private final TeamGameIndex teamGameIndex = new TeamGameIndex();
+	// Map<ChannelName, Game>
+	private final Map<String, Game> channelNameGames = new HashMap<>();
+
+	/**
+	 * Adds the game to the schedule. If a game with the same gamePk already exists, the existing game is updated to
+	 * the values of the given game instead, so that references to the existing game stay valid.
+	 *
+	 * @param game
+	 *            game to add or update to
+	 * @return whether the game was added, changed or unchanged
+	 */
+	synchronized UpsertResult upsert(Game game) {
+		Game existingGame = games.get(game.getGamePk());
+		if (existingGame == null) {
+			games.put(game.getGamePk(), game);
+			teamGameIndex.add(game);
+			channelNameGames.put(game.getChannelName().toLowerCase(), game);
+			return UpsertResult.ADDED;
+		}
+		if (existingGame.updateTo(game)) {
+			teamGameIndex.update(existingGame);
+			return UpsertResult.CHANGED;
+		}
+		return UpsertResult.UNCHANGED;
+	}
+
+	synchronized void upsertAll(Collection<Game> games) {
+		games.forEach(this::upsert);
+	}
+
+	/**
+	 * Removes the game from the schedule.
+	 *
+	 * @param gamePk
+	 *            gamePk of the game to remove
+	 * @return the removed game<br>
+	 *         null, if the game is not in the schedule
+	 */
+	synchronized Game remove(int gamePk) {
+		Game game = games.remove(gamePk);
+		if (game != null) {
+			teamGameIndex.remove(game);
+			channelNameGames.remove(game.getChannelName().toLowerCase(), game);
+		}
+		return game;
+	}
+
+	/**
+	 * Applies the upserts and removals to the schedule.
+	 *
+	 * @param upserts
+	 *            games to add or update to
+	 * @param tombstones
+	 *            gamePks of the games to remove
+	 * @return the games that were added, changed and removed
+	 */
+	synchronized Changes merge(Collection<Game> upserts, Collection<Integer> tombstones) {
+		List<Game> added = new ArrayList<>();
+		List<Game> changed = new ArrayList<>();
+		List<Game> removed = new ArrayList<>();
+		for (Game game : upserts) {
+			switch (upsert(game)) {
+			case ADDED:
+				added.add(game);
+				break;
+			case CHANGED:
+				changed.add(games.get(game.getGamePk()));
+				break;
+			default:
+				break;
+			}
+		}
+		for (int gamePk : tombstones) {
+			Game game = remove(gamePk);
+			if (game != null) {
+				removed.add(game);
+			}
+		}
+		return new Changes(added, changed, removed);
+	}
+
+	/**
+	 * Moves the game to the partition of its current status in the team index.
+	 *
+	 * @param game
+	 *            game whose status changed
+	 */
+	synchronized void updateStatus(Game game) {
+		if (games.get(game.getGamePk()) == game) {
+			teamGameIndex.update(game);
+		}
+	}
+
+	synchronized Game get(int gamePk) {
+		return games.get(gamePk);
+	}
+
+	synchronized boolean contains(Game game) {
+		return games.containsKey(game.getGamePk());
+	}
+
+	synchronized Game getByChannelName(String channelName) {
+		return channelNameGames.get(channelName.toLowerCase());
+	}
+
+	synchronized List<Game> getGames() {
+		return new ArrayList<>(games.values());
+	}
+
+	List<Game> getGames(Team team) {
+		return teamGameIndex.getGames(team);
+	}
+
+	Game getGame(Team team, Partition partition, int index, boolean descending) {
+		return teamGameIndex.getGame(team, partition, index, descending);
+	}
+
+	synchronized int size() {
+		return games.size();
+	}
+}
@@ -1,34 +1,35 @@
 package com.hazeluff.discord.nhl;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.TreeSet;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import org.apache.http.client.utils.URIBuilder;
-import org.json.JSONArray;
-import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.hazeluff.discord.Config;
-import com.hazeluff.discord.bot.GameDayChannel;
 import com.hazeluff.discord.nhl.Seasons.Season;
+import com.hazeluff.discord.nhl.TeamGameIndex.Partition;
 import com.hazeluff.discord.utils.DateUtils;
 import com.hazeluff.discord.utils.HttpException;
 import com.hazeluff.discord.utils.HttpUtils;
@@ -48,7 +49,19 @@ public class GameScheduler extends Thread {
 	// Poll for if the day has rolled over every 30 minutes
 	static final long UPDATE_RATE = 1800000L;
 
-	private Set<Game> games = new ConcurrentSkipListSet<>(GAME_COMPARATOR);
+	// Number of days of the schedule to fetch per request
+	static final int SCHEDULE_CHUNK_DAYS = 60;
+
+	// Number of threads shared by all GameTrackers
+	static final int TRACKER_THREADS = 2;
+
+	// Number of requests made to fetch a schedule. Delays between requests are backed off up to a minute.
+	static final int SCHEDULE_FETCH_ATTEMPTS = 10;
+
+	// Wait 1 minute before initializing again, if the schedule could not be fetched
+	static final long INIT_RETRY_RATE = 60000L;
+
+	private final GameSchedule schedule = new GameSchedule();
 	private AtomicBoolean init = new AtomicBoolean(false);
 
 	/**
@@ -66,26 +79,64 @@ public class GameScheduler extends Thread {
 		}
 	};
 
-	private final Map<Game, GameTracker> activeGameTrackers;
+	private final GameTrackerRegistry gameTrackers;
+	private final LiveGamePoller livePoller;
+	private final ScheduledExecutorService trackerExecutor;
+	// File of the schedule snapshot. null, if the schedule is not persisted.
+	private final Path snapshotPath;
 
 	LocalDate lastUpdate;
+	// Whether a fetch of the current update of the schedule got the last known good response, instead of a fresh one
+	private volatile boolean scheduleStale = false;
+	// Whether the games are revalidated against the NHL API. Guarded by provisionalTrackers.
+	private boolean revalidated = true;
+	// Trackers of games that are not revalidated yet. Guarded by itself.
+	private final List<GameTracker> provisionalTrackers = new ArrayList<>();
 
 	/**
 	 * Constructor for injecting private members (Use only for testing).
 	 * 
-	 * @param discordmanager
 	 * @param games
-	 * @param activeGameTrackers
-	 * @param teamSubscriptions
-	 * @param teamLatestGames
+	 * @param gameTrackers
 	 */
-	GameScheduler(Set<Game> games, Map<Game, GameTracker> activeGameTrackers) {
-		this.games = games;
-		this.activeGameTrackers = activeGameTrackers;
+	GameScheduler(Set<Game> games, GameTrackerRegistry gameTrackers) {
+		this(games, gameTrackers, new LiveGamePoller());
+	}
+
+	GameScheduler(Set<Game> games, GameTrackerRegistry gameTrackers, LiveGamePoller livePoller) {
+		this(games, gameTrackers, livePoller, null);
+	}
+
+	GameScheduler(Set<Game> games, GameTrackerRegistry gameTrackers, LiveGamePoller livePoller,
+			ScheduledExecutorService trackerExecutor) {
+		this(games, gameTrackers, livePoller, trackerExecutor, null);
+	}
+
+	GameScheduler(Set<Game> games, GameTrackerRegistry gameTrackers, LiveGamePoller livePoller,
+			ScheduledExecutorService trackerExecutor, Path snapshotPath) {
+		if (games != null) {
+			schedule.upsertAll(games);
+		}
+		this.gameTrackers = gameTrackers;
+		this.livePoller = livePoller;
+		this.trackerExecutor = trackerExecutor;
+		this.snapshotPath = snapshotPath;
 	}
 
 	public GameScheduler() {
-		activeGameTrackers = new ConcurrentHashMap<>();
+		gameTrackers = new GameTrackerRegistry(this::toGameTracker);
+		livePoller = new LiveGamePoller();
+		trackerExecutor = Executors.newScheduledThreadPool(TRACKER_THREADS, new ThreadFactory() {
+			private final AtomicInteger count = new AtomicInteger();
+
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "GameTracker-" + count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		snapshotPath = Paths.get(Config.SCHEDULE_SNAPSHOT_FILE);
 	}
 
 
@@ -94,19 +145,32 @@ public class GameScheduler extends Thread {
 	 */
 	@Override
 	public void run() {
-		try {
+		livePoller.start();
+		if (loadSnapshot()) {
 			/*
-			 * Initialize games, trackers, guild channels.
+			 * Start with the games of the last run, so that the bot does not wait for the NHL API. They are
+			 * revalidated by the initialization below. Until then, their trackers are held, so that the changes since
+			 * the snapshot are not published as new.
 			 */
-			initGames();
+			synchronized (provisionalTrackers) {
+				revalidated = false;
+			}
 			initTrackers();
+			init.set(true);
+		}
 
-		} catch (HttpException e) {
-			LOGGER.error("Error occured when initializing games.", e);
-			throw new RuntimeException(e);
+		/*
+		 * Initialize games, trackers, guild channels.
+		 */
+		while (!initialize()) {
+			if (isStop()) {
+				return;
+			}
+			Utils.sleep(INIT_RETRY_RATE);
 		}
 
 		init.set(true);
+		saveSnapshot();
 
 		lastUpdate = Utils.getCurrentDate(Config.DATE_START_TIME_ZONE);
 		while (!isStop()) {
@@ -115,30 +179,115 @@ public class GameScheduler extends Thread {
 				try {
 					updateGameSchedule();
 					updateTrackers();
-					lastUpdate = today;
+					if (isScheduleStale()) {
+						// The schedule is not fresh. The update is tried again in the next loop.
+						LOGGER.warn("Updated games from the last known good schedule. Updating again later.");
+					} else {
+						lastUpdate = today;
+						saveSnapshot();
+					}
 
 				} catch (HttpException e) {
-					LOGGER.error("Error occured when updating games.", e);
-					throw new RuntimeException(e);
+					// The current schedule is kept. The update is tried again in the next loop.
+					LOGGER.error("Error occured when updating games. Keeping the current schedule.", e);
 				}
 			}
 			Utils.sleep(UPDATE_RATE);
 		}
 	}
 
+	/**
+	 * Initializes the games and their trackers.
+	 * 
+	 * @return true, if initialized<br>
+	 *         false, if the games could not be fetched
+	 */
+	boolean initialize() {
+		try {
+			initGames();
+			rebaseTrackers();
+			initTrackers();
+			return true;
+		} catch (HttpException e) {
+			LOGGER.error("Error occured when initializing games. Retrying in [" + INIT_RETRY_RATE + "ms].", e);
+			return false;
+		}
+	}
+
+	/**
+	 * Releases the trackers that were created before the games were revalidated. Each tracker takes the revalidated
+	 * state of its game as the last published state.
+	 */
+	void rebaseTrackers() {
+		synchronized (provisionalTrackers) {
+			revalidated = true;
+			provisionalTrackers.forEach(GameTracker::rebase);
+			LOGGER.info("Rebased trackers: [" + provisionalTrackers.size() + "]");
+			provisionalTrackers.clear();
+		}
+	}
+
+	/**
+	 * Loads the games of the schedule snapshot.
+	 * 
+	 * @return true, if games were loaded<br>
+	 *         false, if there is no (valid) snapshot
+	 */
+	boolean loadSnapshot() {
+		if (snapshotPath == null || !Files.exists(snapshotPath)) {
+			return false;
+		}
+		try {
+			List<Game> games = ScheduleSnapshot.read(snapshotPath, currentSeason.getAbbreviation());
+			schedule.upsertAll(games);
+			LOGGER.info("Loaded games from snapshot: [" + games.size() + "]");
+			return !games.isEmpty();
+		} catch (IOException e) {
+			LOGGER.warn("Could not load schedule snapshot [" + snapshotPath + "].", e);
+			return false;
+		}
+	}
+
+	/**
+	 * Writes the games of the schedule to the snapshot.
+	 */
+	void saveSnapshot() {
+		if (snapshotPath == null) {
+			return;
+		}
+		try {
+			List<Game> games = schedule.getGames();
+			ScheduleSnapshot.write(snapshotPath, currentSeason.getAbbreviation(), games);
+			LOGGER.info("Saved games to snapshot: [" + games.size() + "]");
+		} catch (IOException e) {
+			LOGGER.warn("Could not save schedule snapshot [" + snapshotPath + "].", e);
+		}
+	}
+
 	/**
 	 * Gets game information from NHL API and initializes creates Game objects for
-	 * them.
+	 * them. Games that are already in the schedule (from the snapshot) are updated, and removed if they are no longer
+	 * in the season.
 	 * 
 	 * @throws HttpException
 	 */
 	public void initGames() throws HttpException {
 		LOGGER.info("Initializing");
 		// Retrieve schedule/game information from NHL API
-		for (Team team : Team.values()) {
-			games.addAll(getGames(team, currentSeason.getStartDate(), currentSeason.getEndDate()));
+		List<Game> fetchedGames = getLeagueGames(currentSeason.getStartDate(), currentSeason.getEndDate());
+		List<Integer> tombstones = new ArrayList<>();
+		if (!fetchedGames.isEmpty()) {
+			Set<Integer> fetchedGamePks = fetchedGames.stream()
+					.map(Game::getGamePk)
+					.collect(Collectors.toSet());
+			schedule.getGames().stream()
+					.filter(game -> !fetchedGamePks.contains(game.getGamePk()))
+					.forEach(game -> tombstones.add(game.getGamePk()));
 		}
-		LOGGER.info("Retrieved all games: [" + games.size() + "]");
+		GameSchedule.Changes changes = schedule.merge(fetchedGames, tombstones);
+		LOGGER.info("Retrieved all games: [" + schedule.size() + "]");
+		LOGGER.info("Added [{}], changed [{}] and removed [{}] games.", changes.getAdded().size(),
+				changes.getChanged().size(), changes.getRemoved().size());
 
 		LOGGER.info("Finished Initialization.");
 	}
@@ -161,39 +310,40 @@ public class GameScheduler extends Thread {
 
 	/**
 	 * Updates the game schedule and adds games in a recent time frame to the list
-	 * of games.
+	 * of games. Games in the time frame that are no longer in the fetched schedule are removed.
 	 * 
+	 * @return the games that were added, changed and removed
 	 * @throws HttpException
 	 */
-	void updateGameSchedule() throws HttpException {
+	GameSchedule.Changes updateGameSchedule() throws HttpException {
 		LOGGER.info("Updating game schedule.");
+		scheduleStale = false;
 		// Update schedule
-		for (Team team : Team.values()) {
-			ZonedDateTime startDate = DateUtils.now();
-			ZonedDateTime endDate = startDate.plusDays(7);
-			List<Game> fetchedGames = getGames(team, startDate, endDate);
-			fetchedGames.forEach(updatedGame -> {
-				Game existingGame = games.stream()
-						.filter(game -> game.getGamePk() == updatedGame.getGamePk()).findAny()
-						.orElse(null);
-				if (existingGame == null) {
-					games.add(updatedGame);
-				} else {
-					existingGame.updateTo(updatedGame);
-				}
-			});
-			LOGGER.info("Fetched games for team [{}]: {}", team, fetchedGames);
-			if (!fetchedGames.isEmpty()) {
-				List<Game> gamesToRemove = games.stream()
-						.filter(game -> game.containsTeam(team))
-						.filter(game -> DateUtils.isBetweenRange(game.getDate(), startDate, endDate))
-						.filter(game -> fetchedGames.stream()
-								.noneMatch(updatedGame -> updatedGame.getGamePk() == game.getGamePk()))
-						.collect(Collectors.toList());
-				LOGGER.info("Removing games: " + gamesToRemove);
-				games.removeAll(gamesToRemove);
-			}
+		ZonedDateTime startDate = DateUtils.now();
+		ZonedDateTime endDate = startDate.plusDays(7);
+		List<Game> fetchedGames = getGames(startDate, endDate);
+		LOGGER.info("Fetched games: {}", fetchedGames);
+		List<Integer> tombstones = new ArrayList<>();
+		if (!fetchedGames.isEmpty()) {
+			Set<Integer> fetchedGamePks = fetchedGames.stream()
+					.map(Game::getGamePk)
+					.collect(Collectors.toSet());
+			schedule.getGames().stream()
+					.filter(game -> !fetchedGamePks.contains(game.getGamePk()))
+					.filter(game -> DateUtils.isBetweenRange(game.getDate(), startDate, endDate))
+					.forEach(game -> tombstones.add(game.getGamePk()));
 		}
+		GameSchedule.Changes changes = schedule.merge(fetchedGames, tombstones);
+		LOGGER.info("Schedule changes: {}", changes);
+		return changes;
+	}
+
+	/**
+	 * @return true, if the last update of the schedule used the last known good response of the NHL API<br>
+	 *         false, if it was fresh
+	 */
+	boolean isScheduleStale() {
+		return scheduleStale;
 	}
 
 	/**
@@ -201,15 +351,7 @@ public class GameScheduler extends Thread {
 	 */
 	void updateTrackers() {
 		LOGGER.info("Removing finished trackers.");
-		activeGameTrackers.entrySet().removeIf(map -> {
-			GameTracker gameTracker = map.getValue();
-			if (gameTracker.isFinished()) {
-				LOGGER.info("Game is finished: " + gameTracker.getGame());
-				return true;
-			} else {
-				return false;
-			}
-		});
+		gameTrackers.removeFinished();
 
 		LOGGER.info("Starting new trackers and creating channels.");
 		for (Team team : Team.values()) {
@@ -219,6 +361,46 @@ public class GameScheduler extends Thread {
 		}
 	}
 
+	/**
+	 * Gets games of all teams between the given time period. The period is fetched in chunks of
+	 * {@link #SCHEDULE_CHUNK_DAYS} days, so that each request to the NHL API stays a reasonable size.
+	 * 
+	 * @param startDate
+	 *            first date to get games of
+	 * @param endDate
+	 *            last date to get games of
+	 * @return list of games
+	 * @throws HttpException
+	 */
+	List<Game> getLeagueGames(ZonedDateTime startDate, ZonedDateTime endDate) throws HttpException {
+		List<Game> games = new ArrayList<>();
+		ZonedDateTime chunkStartDate = startDate;
+		while (!chunkStartDate.isAfter(endDate)) {
+			ZonedDateTime chunkEndDate = chunkStartDate.plusDays(SCHEDULE_CHUNK_DAYS - 1);
+			if (chunkEndDate.isAfter(endDate)) {
+				chunkEndDate = endDate;
+			}
+			games.addAll(getGames(chunkStartDate, chunkEndDate));
+			chunkStartDate = chunkEndDate.plusDays(1);
+		}
+		return games;
+	}
+
+	/**
+	 * Gets games of all teams between the given time period, in a single request.
+	 * 
+	 * @param startDate
+	 *            first date to get games of
+	 * @param endDate
+	 *            last date to get games of
+	 * @return list of games
+	 * @throws HttpException
+	 */
+	List<Game> getGames(ZonedDateTime startDate, ZonedDateTime endDate) throws HttpException {
+		LOGGER.info("Retrieving games of all teams. startDate={}, endDate={}", startDate, endDate);
+		return getGames(buildScheduleURI(null, startDate, endDate));
+	}
+
 	/**
 	 * Gets games for the specified team between the given time period.
 	 * 
@@ -229,39 +411,56 @@ public class GameScheduler extends Thread {
 	 */
 	List<Game> getGames(Team team, ZonedDateTime startDate, ZonedDateTime endDate) throws HttpException {
 		LOGGER.info("Retrieving games of [" + team + "]");
+		return getGames(buildScheduleURI(team, startDate, endDate));
+	}
+
+	/**
+	 * Builds the URI of the NHL API schedule for the given period.
+	 * 
+	 * @param team
+	 *            team to get the schedule of. null to get the schedule of all teams.
+	 * @param startDate
+	 *            first date of the schedule
+	 * @param endDate
+	 *            last date of the schedule
+	 * @return URI of the schedule
+	 */
+	URI buildScheduleURI(Team team, ZonedDateTime startDate, ZonedDateTime endDate) {
 		String strStartDate = startDate.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
 		String strEndDate = endDate.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
 
-		URI uri;
 		try {
 			URIBuilder uriBuilder = new URIBuilder(Config.NHL_API_URL + "/schedule");
 			uriBuilder.addParameter("startDate", strStartDate);
 			uriBuilder.addParameter("endDate", strEndDate);
-			uriBuilder.addParameter("teamId", String.valueOf(team.getId()));
+			if (team != null) {
+				uriBuilder.addParameter("teamId", String.valueOf(team.getId()));
+			}
 			uriBuilder.addParameter("expand", "schedule.scoringplays");
-			uri = uriBuilder.build();
+			return uriBuilder.build();
 		} catch (URISyntaxException e) {
 			String message = "Error building URI";
 			RuntimeException runtimeException = new RuntimeException(message, e);
 			LOGGER.error(message, runtimeException);
 			throw runtimeException;
 		}
+	}
 
-		String strJSONSchedule = HttpUtils.getAndRetry(uri, 
-				288, // 288 retries (tries over a day)
-				300000l, // Wait 5 minutes between tries
-				"Get Games.");
-		List<Game> games = new ArrayList<>();
-		JSONObject jsonSchedule = new JSONObject(strJSONSchedule);
-		JSONArray jsonDates = jsonSchedule.getJSONArray("dates");
-		for (int i = 0; i < jsonDates.length(); i++) {
-			JSONObject jsonGame = jsonDates.getJSONObject(i).getJSONArray("games").getJSONObject(0);
-			Game game = Game.parse(jsonGame);
-			if (game != null) {
-				LOGGER.debug("Adding additional game [" + game + "]");
-				games.add(game);
-			}
+	/**
+	 * Gets all games in the schedule at the given URI.
+	 * 
+	 * @param uri
+	 *            URI of the schedule
+	 * @return list of games
+	 * @throws HttpException
+	 */
+	List<Game> getGames(URI uri) throws HttpException {
+		String strJSONSchedule = HttpUtils.getAndRetry(uri, SCHEDULE_FETCH_ATTEMPTS, "Get Games.");
+		if (HttpUtils.isFallback(uri)) {
+			scheduleStale = true;
 		}
+		List<Game> games = ScheduleParser.parseGames(strJSONSchedule);
+		LOGGER.debug("Parsed games: {}", games.size());
 		return games;
 	}
 
@@ -323,15 +522,7 @@ public class GameScheduler extends Thread {
 	 * @return NHLGame of game in the future for the provided team
 	 */
 	public Game getFutureGame(Team team, int futureIndex) {
-		List<Game> futureGames = games.stream()
-				.filter(game -> game.containsTeam(team))
-				.filter(game -> game.getStatus() == GameStatus.PREVIEW || game.getStatus() == GameStatus.SCHEDULED
-						|| game.getStatus() == GameStatus.POSTPONED)
-				.collect(Collectors.toList());
-		if (futureIndex >= futureGames.size()) {
-			return null;
-		}
-		return futureGames.get(futureIndex);
+		return schedule.getGame(team, Partition.FUTURE, futureIndex, false);
 	}
 	
 	/**
@@ -360,14 +551,7 @@ public class GameScheduler extends Thread {
 	 * @return NHLGame of next game for the provided team
 	 */
 	public Game getPastGame(Team team, int beforeIndex) {
-		List<Game> previousGames = games.stream()
-				.filter(game -> game.containsTeam(team))
-				.filter(game -> game.getStatus() == GameStatus.FINAL)
-				.collect(Collectors.toList());
-		if (beforeIndex >= previousGames.size()) {
-			return null;
-		}
-		return previousGames.get(previousGames.size() - 1 - beforeIndex);
+		return schedule.getGame(team, Partition.PAST, beforeIndex, true);
 	}
 
 	/**
@@ -394,16 +578,12 @@ public class GameScheduler extends Thread {
 	 * @return
 	 */
 	public Game getCurrentGame(Team team) {
-		return games.stream()
-				.filter(game -> game.containsTeam(team))
-				.filter(game -> game.getStatus() == GameStatus.LIVE || game.getStatus() == GameStatus.STARTED)
-				.findAny()
-				.orElse(null);
+		return schedule.getGame(team, Partition.CURRENT, 0, false);
 	}
 
 	/**
-	 * Searches all games and returns the NHLGame that would produce the same
-	 * channel name as the parameter.
+	 * Gets the NHLGame that would produce the same channel name as the parameter. The name is looked up in an index
+	 * of the channel names of all games, and is not case sensitive.
 	 * 
 	 * @param channelName
 	 *            name of the Discord channel
@@ -412,36 +592,24 @@ public class GameScheduler extends Thread {
 	 * @throws NHLGameSchedulerException
 	 */
 	public Game getGameByChannelName(String channelName) {
-		try {
-			return games.stream()
-					.filter(game -> GameDayChannel.getChannelName(game).equalsIgnoreCase(channelName))
-					.findAny()
-					.get();
-		} catch (NoSuchElementException e) {
+		Game game = schedule.getByChannelName(channelName);
+		if (game == null) {
 			LOGGER.warn("No channel by name [{}]", channelName);
-			return null;
 		}
+		return game;
 	}
 
 	/**
 	 * Gets the existing GameTracker for the specified game, if it exists. If the
-	 * GameTracker does not exist, a new one is created.
+	 * GameTracker does not exist, a new one is created and registered. Only one
+	 * GameTracker exists per game.
 	 * 
 	 * @param game
-	 *            game to find NHLGameTracker for
-	 * @return NHLGameTracker for the game, if it exists <br>
-	 *         null, if it does not exists
-	 * 
+	 *            game to find GameTracker for
+	 * @return GameTracker for the game
 	 */
 	public GameTracker getGameTracker(Game game) {
-		if (activeGameTrackers.containsKey(game)) {
-			// NHLGameTracker already exists
-			LOGGER.debug("NHLGameTracker exists: " + game);
-			return activeGameTrackers.get(game);
-		} else {
-			LOGGER.debug("NHLGameTracker does not exist: " + game);
-			return GameTracker.get(game);
-		}
+		return gameTrackers.getOrCreate(game);
 	}
 	
 	/**
@@ -452,19 +620,19 @@ public class GameScheduler extends Thread {
 	 * @return list of inactive games
 	 */
 	List<Game> getInactiveGames(Team team) {
-		return games.stream()
-				.filter(game -> game.containsTeam(team))
-				.filter(game -> !getActiveGames(team).contains(game))
+		List<Game> activeGames = getActiveGames(team);
+		return schedule.getGames(team).stream()
+				.filter(game -> !activeGames.contains(game))
 				.collect(Collectors.toList());
 	}
 
 	public boolean isGameActive(Team team, String channelName) {
-		return getActiveGames(team).stream()
-				.anyMatch(game -> channelName.equalsIgnoreCase(GameDayChannel.getChannelName(game)));
+		Game game = schedule.getByChannelName(channelName);
+		return game != null && getActiveGames(team).contains(game);
 	}
 
-	Map<Game, GameTracker> getActiveGameTrackers() {
-		return new HashMap<>(activeGameTrackers);
+	public GameTrackerRegistry getGameTrackerRegistry() {
+		return gameTrackers;
 	}
 
 	/**
@@ -489,14 +657,37 @@ public class GameScheduler extends Thread {
 	}
 
 	public Set<Game> getGames() {
-		return new HashSet<>(games);
+		return new HashSet<>(schedule.getGames());
 	}
 
-	public GameTracker toGameTracker(Game game) {
-		return GameTracker.get(game);
+	/**
+	 * Creates and starts a new GameTracker for the game. Use {@link #getGameTracker(Game)} to get the registered
+	 * tracker of a game. The tracker is held until the games are revalidated, if they are not yet.
+	 * 
+	 * @param game
+	 *            game to track
+	 * @return new GameTracker of the game
+	 */
+	GameTracker toGameTracker(Game game) {
+		GameTracker gameTracker = new GameTracker(game, livePoller, trackerExecutor);
+		// Keep the index up to date as the status of the game changes
+		gameTracker.addListener(new GameTracker.Listener() {
+			@Override
+			public void onStatusChanged(GameStatus oldStatus, GameStatus newStatus) {
+				schedule.updateStatus(game);
+			}
+		});
+		synchronized (provisionalTrackers) {
+			if (!revalidated) {
+				gameTracker.setProvisional();
+				provisionalTrackers.add(gameTracker);
+			}
+		}
+		gameTracker.start();
+		return gameTracker;
 	}
 
 	public boolean isGameExist(Game game) {
-		return games.contains(game);
+		return schedule.contains(game);
 	}
 }
@@ -0,0 +1,74 @@
+package com.hazeluff.discord.nhl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>
+ * Immutable state of a {@link Game} (scores, status and events) at a point in time.
+ * </p>
+ *
+ * <p>
+ * Each snapshot of a game has a version. A new snapshot is only created when the state changes, and its version is one
+ * higher than the previous snapshot. Two snapshots of the same game with the same version have the same state.
+ * </p>
+ */
+public final class GameSnapshot {
+	private final long version;
+	private final int awayScore;
+	private final int homeScore;
+	private final GameStatus status;
+	private final List<GameEvent> events;
+
+	GameSnapshot(long version, int awayScore, int homeScore, GameStatus status, List<GameEvent> events) {
+		this.version = version;
+		this.awayScore = awayScore;
+		this.homeScore = homeScore;
+		this.status = status;
+		this.events = Collections.unmodifiableList(new ArrayList<>(events));
+	}
+
+	/**
+	 * Gets the snapshot that follows this one, with the given state.
+	 *
+	 * @return this snapshot, if the state is the same<br>
+	 *         a new snapshot with the next version, otherwise
+	 */
+	GameSnapshot next(int awayScore, int homeScore, GameStatus status, List<GameEvent> events) {
+		if (this.awayScore == awayScore && this.homeScore == homeScore && this.status == status
+				&& this.events.equals(events)) {
+			return this;
+		}
+		return new GameSnapshot(version + 1, awayScore, homeScore, status, events);
+	}
+
+	public long getVersion() {
+		return version;
+	}
+
+	public int getAwayScore() {
+		return awayScore;
+	}
+
+	public int getHomeScore() {
+		return homeScore;
+	}
+
+	public GameStatus getStatus() {
+		return status;
+	}
+
+	/**
+	 * @return unmodifiable list of the events (goals) of the game
+	 */
+	public List<GameEvent> getEvents() {
+		return events;
+	}
+
+	@Override
+	public String toString() {
+		return "GameSnapshot [version=" + version + ", awayScore=" + awayScore + ", homeScore=" + homeScore
+				+ ", status=" + status + ", events=" + events.size() + "]";
+	}
+}
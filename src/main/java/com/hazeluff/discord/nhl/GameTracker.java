@@ -1,184 +1,353 @@
 package com.hazeluff.discord.nhl;
 
 import java.time.ZonedDateTime;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.hazeluff.discord.bot.GameDayChannel;
 import com.hazeluff.discord.utils.DateUtils;
-import com.hazeluff.discord.utils.HttpException;
-import com.hazeluff.discord.utils.Utils;
 
 /**
  * <p>
- * Creates Channels in Guilds that are subscribed to the teams in this game.
+ * Tracks a {@link Game} until it is finished.
  * </p>
- * 
+ *
  * <p>
- * Creates a thread that updates a {@link NHLGame}
+ * The tracker does not hold a thread. Each step is run as a task on a shared {@link ScheduledExecutorService}, and
+ * reschedules itself with an interval that the {@link PollingPolicy} picks from the state of the game:
  * </p>
- * 
+ * <ol>
+ * <li>{@link State#IDLE} - Game is not close to starting.</li>
+ * <li>{@link State#NEAR_START} - Game is about to start. The game is registered to the {@link LiveGamePoller}.</li>
+ * <li>{@link State#LIVE} - Game has started.</li>
+ * <li>{@link State#POST_GAME} - Game is final. Continue tracking for {@link #POST_GAME_UPDATE_DURATION} in case
+ * the status reverts.</li>
+ * <li>{@link State#FINISHED} - Tracker is finished.</li>
+ * </ol>
+ *
  * <p>
- * Events are sent as messages to the channels created.
+ * Changes to the game are published to the registered {@link Listener}s, so that they do not have to poll the game
+ * themselves.
  * </p>
  */
-public class GameTracker extends Thread {
+public class GameTracker {
 	private static final Logger LOGGER = LoggerFactory.getLogger(GameTracker.class);
 
-	// Polling time for when game is not close to starting
-	static final long IDLE_POLL_RATE_MS = 60000l;
-	// Polling time for when game is started/almost-started
-	static final long ACTIVE_POLL_RATE_MS = 5000l;
-	// Time before game to poll faster
-	static final long CLOSE_TO_START_THRESHOLD_MS = 300000l;
 	// Time after game is final to continue updates
 	static final long POST_GAME_UPDATE_DURATION = 600000l;
 
-	private static Map<Game, GameTracker> gameTrackers = new ConcurrentHashMap<>();
+	public enum State {
+		IDLE, NEAR_START, LIVE, POST_GAME, FINISHED
+	}
+
+	/**
+	 * Receives the changes of the tracked game. Invoked on the thread of the tracker, in the order that the changes
+	 * are found.
+	 */
+	public interface Listener {
+		/**
+		 * Invoked on each step while the game is not close to starting.
+		 * 
+		 * @param timeTillGameMs
+		 *            time (ms) until the game starts
+		 */
+		default void onCountdown(long timeTillGameMs) {
+		}
+
+		default void onStatusChanged(GameStatus oldStatus, GameStatus newStatus) {
+		}
+
+		/**
+		 * Invoked when the goals of the game changed. The same delta is passed to every listener. By default, each
+		 * goal in the delta is passed to {@link #onGoalAdded(GameEvent)}, {@link #onGoalChanged(GameEvent)} and
+		 * {@link #onGoalRescinded(GameEvent)}.
+		 * 
+		 * @param delta
+		 *            the goals that were added, updated and removed
+		 */
+		default void onEventsChanged(GameEventDelta delta) {
+			delta.getAdded().forEach(this::onGoalAdded);
+			delta.getUpdated().forEach(this::onGoalChanged);
+			delta.getRemoved().forEach(this::onGoalRescinded);
+		}
+
+		default void onGoalAdded(GameEvent event) {
+		}
+
+		default void onGoalChanged(GameEvent event) {
+		}
+
+		default void onGoalRescinded(GameEvent event) {
+		}
+
+		/**
+		 * Invoked when the game becomes final. Invoked again if the game reverts and becomes final again.
+		 */
+		default void onGameEnded() {
+		}
+
+		/**
+		 * Invoked when the tracker is finished. No more changes are published after this.
+		 * 
+		 * @param gameTracker
+		 *            the finished tracker
+		 */
+		default void onFinished(GameTracker gameTracker) {
+		}
+	}
 
 	private final Game game;
+	private final LiveGamePoller livePoller;
+	private final ScheduledExecutorService executor;
+	private final PollingPolicy pollingPolicy;
+
+	private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+	private volatile State state = State.IDLE;
+	private ZonedDateTime lastFinal;
+
+	// Last published state of the game
+	private GameStatus status;
+	private long version;
+	private GameEventDiffer eventDiffer;
+	// Whether the game is not revalidated yet, e.g. it was loaded from a snapshot. The tracker waits until it is.
+	private volatile boolean provisional = false;
 
 	private AtomicBoolean started = new AtomicBoolean(false);
 	private AtomicBoolean finished = new AtomicBoolean(false);
 
-	GameTracker(Game game) {
+	GameTracker(Game game, LiveGamePoller livePoller, ScheduledExecutorService executor) {
+		this(game, livePoller, executor, new PollingPolicy());
+	}
+
+	GameTracker(Game game, LiveGamePoller livePoller, ScheduledExecutorService executor,
+			PollingPolicy pollingPolicy) {
 		this.game = game;
+		this.livePoller = livePoller;
+		this.executor = executor;
+		this.pollingPolicy = pollingPolicy;
+		this.status = game.getStatus();
+		this.version = game.getVersion();
+		this.eventDiffer = new GameEventDiffer(game.getGamePk(), game.getEvents());
 	}
 
 	/**
 	 * Gets an instance of a {@link GameTracker} for the given game. The tracker
-	 * thread is started on instantiation.
-	 * 
+	 * is started on instantiation.
+	 *
 	 * @param game
 	 *            game to get {@link GameTracker} for
+	 * @param livePoller
+	 *            poller that updates the game once it is close to starting
+	 * @param executor
+	 *            executor that runs the steps of the tracker
 	 * @return {@link GameTracker} for the game
 	 */
-	public static GameTracker get(Game game) {
-		GameTracker gameTracker = new GameTracker(game);
+	public static GameTracker get(Game game, LiveGamePoller livePoller, ScheduledExecutorService executor) {
+		GameTracker gameTracker = new GameTracker(game, livePoller, executor);
 		gameTracker.start();
 		return gameTracker;
 	}
 
-	@Override
+	/**
+	 * Holds the tracker until {@link #rebase()} is called. Used when the game is loaded from a snapshot, so that the
+	 * changes between the snapshot and the revalidated game are not published as new.
+	 */
+	void setProvisional() {
+		provisional = true;
+	}
+
+	boolean isProvisional() {
+		return provisional;
+	}
+
+	/**
+	 * Takes the current state of the game as the last published state, and releases the tracker if it is
+	 * provisional. Changes made to the game after this are published as usual.
+	 */
+	void rebase() {
+		status = game.getStatus();
+		version = game.getVersion();
+		eventDiffer = new GameEventDiffer(game.getGamePk(), game.getEvents());
+		provisional = false;
+	}
+
+	public void addListener(Listener listener) {
+		listeners.add(listener);
+	}
+
+	public void removeListener(Listener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Schedules the first step of the tracker. Does nothing if the tracker is already started.
+	 */
 	public void start() {
-		if (!started.get()) {
-			LOGGER.info("Started thread for [" + game + "]");
-			started.set(true);
-			superStart();
+		if (started.compareAndSet(false, true)) {
+			LOGGER.info("Started tracker for [" + game + "]");
+			schedule(0);
 		} else {
-			LOGGER.warn("Thread already started.");
+			LOGGER.warn("Tracker already started.");
 		}
 	}
 
-	void superStart() {
-		super.start();
+	void schedule(long delayMs) {
+		executor.schedule(this::run, delayMs, TimeUnit.MILLISECONDS);
 	}
 
-	@Override
-	public void run() {
+	/**
+	 * Runs a step and schedules the next one, until the tracker is finished.
+	 */
+	void run() {
 		try {
-			setName(GameDayChannel.getChannelName(game));
-			if (game.getStatus() != GameStatus.FINAL) {
-				// Wait until close to start of game
-				LOGGER.info("Idling until near game start.");
-				idleUntilNearStart();
-
-				// Game is close to starting. Poll at higher rate than previously
-				LOGGER.info("Game is about to start. Polling more actively.");
-				waitForStart();
-
-				// Game has started
-				LOGGER.info("Game has started.");
-
-				// The thread terminates when the GameStatus is Final and 10 minutes has elapsed
-				ZonedDateTime lastFinal = null;
-				long timeAfterLast = 0l;
-				while (timeAfterLast < POST_GAME_UPDATE_DURATION) {
-					updateGame();
-
-					if (game.getStatus() == GameStatus.FINAL) {
-						if (lastFinal == null) {
-							LOGGER.info("Game finished. Continuing polling...");
-							lastFinal = ZonedDateTime.now();
-						}
-						timeAfterLast = DateUtils.diffMs(ZonedDateTime.now(), lastFinal);
-						LOGGER.debug("Time till thread finishes (ms): "
-								+ String.valueOf(POST_GAME_UPDATE_DURATION - timeAfterLast));
-					} else {
-						lastFinal = null;
-						LOGGER.info("Game not finished.");
-					}
-					Utils.sleep(ACTIVE_POLL_RATE_MS);
-				}
-				LOGGER.info("Game thread finished");
-			} else {
-				LOGGER.info("Game is already finished");
+			long delayMs = step();
+			if (!isFinished()) {
+				schedule(delayMs);
 			}
-		} catch (HttpException e) {
+		} catch (Exception e) {
 			LOGGER.error("Error occured when updating the game.", e);
-		} finally {
-			gameTrackers.remove(game);
-			finished.set(true);
-			LOGGER.info("Thread Completed");
+			finish();
 		}
 	}
 
 	/**
-	 * Idles until we are close to the start of the game.
+	 * Transitions the tracker to its next state, based on the current state of the game.
+	 *
+	 * @return time (ms) until the next step
 	 */
-	void idleUntilNearStart() {
-		boolean closeToStart;
-		long timeTillGameMs = Long.MAX_VALUE;
-		do {
-			timeTillGameMs = DateUtils.diffMs(ZonedDateTime.now(), game.getDate());
-			closeToStart = timeTillGameMs < CLOSE_TO_START_THRESHOLD_MS;
-			if (!closeToStart) {
-				LOGGER.trace("Idling until near game start. Sleeping for [" + IDLE_POLL_RATE_MS + "]");
-				Utils.sleep(IDLE_POLL_RATE_MS);
+	long step() {
+		if (provisional) {
+			LOGGER.trace("Waiting for the game to be revalidated.");
+			return PollingPolicy.LIVE_INTERVAL_MS;
+		}
+		switch (state) {
+		case IDLE:
+			if (game.getStatus() == GameStatus.FINAL) {
+				LOGGER.info("Game is already finished");
+				finish();
+				return 0;
+			}
+			long timeTillGameMs = DateUtils.diffMs(ZonedDateTime.now(), game.getDate());
+			if (timeTillGameMs >= PollingPolicy.CLOSE_TO_START_THRESHOLD_MS) {
+				publish(listener -> listener.onCountdown(timeTillGameMs));
+				LOGGER.trace("Idling until near game start. Next step in [" + PollingPolicy.IDLE_INTERVAL_MS + "]");
+				return PollingPolicy.IDLE_INTERVAL_MS;
+			}
+			// Game is close to starting. Poll at higher rate than previously
+			LOGGER.info("Game is about to start. Polling more actively.");
+			livePoller.register(game);
+			state = State.NEAR_START;
+			return getInterval();
+
+		case NEAR_START:
+			publishChanges();
+			if (game.getStatus() != GameStatus.PREVIEW) {
+				LOGGER.info("Game has started.");
+				state = State.LIVE;
+				return stepLive();
+			}
+			long nearStartInterval = getInterval();
+			LOGGER.trace("Game almost started. Next step in [" + nearStartInterval + "]");
+			return nearStartInterval;
+
+		case LIVE:
+			publishChanges();
+			return stepLive();
+
+		case POST_GAME:
+			publishChanges();
+			if (game.getStatus() != GameStatus.FINAL) {
+				LOGGER.info("Game not finished.");
+				lastFinal = null;
+				state = State.LIVE;
+				return getInterval();
 			}
-		} while (!closeToStart);
+			long timeAfterLast = DateUtils.diffMs(lastFinal, ZonedDateTime.now());
+			if (timeAfterLast >= POST_GAME_UPDATE_DURATION) {
+				LOGGER.info("Game tracker finished");
+				finish();
+				return 0;
+			}
+			LOGGER.debug("Time till tracker finishes (ms): " + (POST_GAME_UPDATE_DURATION - timeAfterLast));
+			return getInterval();
+
+		default:
+			return 0;
+		}
+	}
+
+	private long stepLive() {
+		if (game.getStatus() == GameStatus.FINAL) {
+			LOGGER.info("Game finished. Continuing polling...");
+			lastFinal = ZonedDateTime.now();
+			state = State.POST_GAME;
+			publish(listener -> listener.onGameEnded());
+			return getInterval();
+		}
+		long liveInterval = getInterval();
+		LOGGER.trace("Game in Progress. Next step in [" + liveInterval + "]");
+		return liveInterval;
+	}
+
+	private long getInterval() {
+		return pollingPolicy.getInterval(game, ZonedDateTime.now());
 	}
 
 	/**
-	 * Polls at higher polling rate before game starts.
-	 * 
-	 * @throws HttpException
+	 * Publishes the changes in status and events of the game since the last step.
 	 */
-	void waitForStart() throws HttpException {
-		boolean started = false;
-		do {
-			game.update();
-			started = game.getStatus() != GameStatus.PREVIEW;
-			if (!started) {
-				LOGGER.trace("Game almost started. Sleeping for [" + ACTIVE_POLL_RATE_MS + "]");
-				Utils.sleep(ACTIVE_POLL_RATE_MS);
-			}
-		} while (!started);
+	void publishChanges() {
+		GameStatus newStatus = game.getStatus();
+		if (newStatus != status) {
+			GameStatus oldStatus = status;
+			status = newStatus;
+			LOGGER.debug("Status changed: [" + oldStatus + "] -> [" + newStatus + "]");
+			publish(listener -> listener.onStatusChanged(oldStatus, newStatus));
+		}
+
+		// Events are only diffed when the game has a new snapshot, or a previous diff was deferred
+		long newVersion = game.getVersion();
+		if (newVersion == version && !eventDiffer.isRetryPending()) {
+			return;
+		}
+		version = newVersion;
+		GameEventDelta delta = eventDiffer.diff(game.getEvents());
+		if (!delta.isEmpty()) {
+			publish(listener -> listener.onEventsChanged(delta));
+		}
 	}
 
 	/**
-	 * Updates the game.
-	 * 
-	 * @throws HttpException
+	 * Invokes the action on each listener. A failing listener does not stop the others from being invoked.
 	 */
-	void updateGame() throws HttpException {
-		while (game.getStatus() != GameStatus.FINAL) {
-			game.update();
-
-			if (game.getStatus() != GameStatus.FINAL) {
-				LOGGER.trace("Game in Progress. Sleeping for [" + ACTIVE_POLL_RATE_MS + "]");
-				Utils.sleep(ACTIVE_POLL_RATE_MS);
+	void publish(Consumer<Listener> action) {
+		for (Listener listener : listeners) {
+			try {
+				action.accept(listener);
+			} catch (Exception e) {
+				LOGGER.error("Listener failed to handle update of game [" + game.getGamePk() + "].", e);
 			}
 		}
 	}
 
+	void finish() {
+		state = State.FINISHED;
+		livePoller.deregister(game);
+		finished.set(true);
+		publish(listener -> listener.onFinished(this));
+		LOGGER.info("Tracker Completed");
+	}
+
 	/**
 	 * Determines if this tracker is finished.
-	 * 
+	 *
 	 * @return true, if this tracker is finished<br>
 	 *         false, otherwise
 	 */
@@ -186,9 +355,13 @@ public class GameTracker extends Thread {
 		return finished.get();
 	}
 
+	public State getState() {
+		return state;
+	}
+
 	/**
 	 * Gets the game that is tracked.
-	 * 
+	 *
 	 * @return NHLGame being tracked
 	 */
 	public Game getGame() {
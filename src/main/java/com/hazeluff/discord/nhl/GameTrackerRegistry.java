@@ -0,0 +1,139 @@
+package com.hazeluff.discord.nhl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Holds the {@link GameTracker} of each game. Guarantees that only one {@link GameTracker} exists per gamePk.
+ */
+public class GameTrackerRegistry {
+	private static final Logger LOGGER = LoggerFactory.getLogger(GameTrackerRegistry.class);
+
+	/**
+	 * Hooks that are invoked when trackers are added to or removed from the registry.
+	 */
+	public interface Listener {
+		default void onCreated(GameTracker gameTracker) {
+		}
+
+		default void onRemoved(GameTracker gameTracker) {
+		}
+	}
+
+	// Map<GamePk, GameTracker>
+	private final Map<Integer, GameTracker> gameTrackers = new ConcurrentHashMap<>();
+	private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+	private final Function<Game, GameTracker> trackerFactory;
+
+	/**
+	 * @param trackerFactory
+	 *            creates (and starts) the tracker of a game. Invoked at most once per gamePk while the tracker is in
+	 *            the registry.
+	 */
+	public GameTrackerRegistry(Function<Game, GameTracker> trackerFactory) {
+		this.trackerFactory = trackerFactory;
+	}
+
+	public void addListener(Listener listener) {
+		listeners.add(listener);
+	}
+
+	public void removeListener(Listener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Gets the existing {@link GameTracker} of the game. If it does not exist, one is created. Concurrent calls for
+	 * the same game all get the same instance.
+	 *
+	 * @param game
+	 *            game to get the tracker of
+	 * @return {@link GameTracker} of the game
+	 */
+	public GameTracker getOrCreate(Game game) {
+		GameTracker gameTracker = gameTrackers.get(game.getGamePk());
+		if (gameTracker != null) {
+			return gameTracker;
+		}
+
+		AtomicReference<GameTracker> createdTracker = new AtomicReference<>();
+		gameTracker = gameTrackers.computeIfAbsent(game.getGamePk(), gamePk -> {
+			LOGGER.debug("Creating GameTracker: " + game);
+			createdTracker.set(trackerFactory.apply(game));
+			return createdTracker.get();
+		});
+		if (createdTracker.get() != null) {
+			listeners.forEach(listener -> listener.onCreated(createdTracker.get()));
+		}
+		return gameTracker;
+	}
+
+	/**
+	 * Gets the {@link GameTracker} of a game, if it exists.
+	 *
+	 * @param gamePk
+	 *            gamePk of the game
+	 * @return {@link GameTracker} of the game<br>
+	 *         null, if it does not exist
+	 */
+	public GameTracker get(int gamePk) {
+		return gameTrackers.get(gamePk);
+	}
+
+	public boolean contains(int gamePk) {
+		return gameTrackers.containsKey(gamePk);
+	}
+
+	/**
+	 * Removes the tracker from the registry, if it is the registered tracker of its game.
+	 *
+	 * @param gameTracker
+	 *            tracker to remove
+	 * @return true, if the tracker was removed<br>
+	 *         false, otherwise
+	 */
+	public boolean remove(GameTracker gameTracker) {
+		boolean removed = gameTrackers.remove(gameTracker.getGame().getGamePk(), gameTracker);
+		if (removed) {
+			listeners.forEach(listener -> listener.onRemoved(gameTracker));
+		}
+		return removed;
+	}
+
+	/**
+	 * Removes all trackers that are finished.
+	 *
+	 * @return list of the removed trackers
+	 */
+	public List<GameTracker> removeFinished() {
+		List<GameTracker> removedTrackers = new ArrayList<>();
+		for (GameTracker gameTracker : getGameTrackers()) {
+			if (gameTracker.isFinished() && remove(gameTracker)) {
+				LOGGER.info("Game is finished: " + gameTracker.getGame());
+				removedTrackers.add(gameTracker);
+			}
+		}
+		return removedTrackers;
+	}
+
+	/**
+	 * Gets a snapshot of all registered trackers.
+	 *
+	 * @return list of registered trackers
+	 */
+	public List<GameTracker> getGameTrackers() {
+		return new ArrayList<>(gameTrackers.values());
+	}
+
+	public int size() {
+		return gameTrackers.size();
+	}
+}
@@ -0,0 +1,360 @@
+package com.hazeluff.discord.nhl;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.apache.http.client.utils.URIBuilder;
+import org.json.JSONException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.hazeluff.discord.Config;
+import com.hazeluff.discord.utils.HttpException;
+import com.hazeluff.discord.utils.HttpUtils;
+import com.hazeluff.discord.utils.RequestBudget;
+import com.hazeluff.discord.utils.Utils;
+
+/**
+ * <p>
+ * Updates all registered (started/almost-started) games with a single request to the NHL API per poll, instead of a
+ * request per game.
+ * </p>
+ *
+ * <p>
+ * Games that are not found in the response are updated individually with {@link Game#update()}. If the response is
+ * the same as the previous one, it is not parsed again.
+ * </p>
+ *
+ * <p>
+ * Each game is polled at the interval that the {@link PollingPolicy} picks from its state (e.g. slower during
+ * intermissions and after the game is final). A poll is only made when at least one game is due, and only if the
+ * {@link RequestBudget} of the NHL API allows it; otherwise it is deferred to the next tick.
+ * </p>
+ *
+ * <p>
+ * The clocks of the games being played are polled with a separate request for their linescores. The clock changes
+ * every few seconds, so the schedule of scoring plays is requested without it; otherwise that schedule would change on
+ * every poll, and would never be skipped as unchanged. The clocks are only used to tell intermissions apart, so they
+ * are polled at the slower rate of {@link #CLOCK_POLL_RATE_MS}, and right away when a game starts being played.
+ * </p>
+ */
+public class LiveGamePoller extends Thread {
+	private static final Logger LOGGER = LoggerFactory.getLogger(LiveGamePoller.class);
+
+	// Time between checks for games that are due to be polled
+	static final long POLL_RATE_MS = 5000l;
+	// Time between polls of the clocks
+	static final long CLOCK_POLL_RATE_MS = PollingPolicy.MAX_INTERMISSION_INTERVAL_MS;
+
+	// Time zone the NHL API groups the dates of its schedule by
+	static final ZoneId SCHEDULE_TIME_ZONE = ZoneId.of("America/New_York");
+
+	// Map<GamePk, Game>
+	private final Map<Integer, Game> games = new ConcurrentHashMap<>();
+
+	// GamePks of the last fetch, and the games that were not in its schedule. Only accessed by the polling thread.
+	private Set<Integer> fetchedGamePks = Collections.emptySet();
+	private Set<Integer> missingGamePks = Collections.emptySet();
+	// GamePks of the last fetch of clocks. Only accessed by the polling thread.
+	private Set<Integer> clockGamePks = Collections.emptySet();
+	// GamePks of the games that were played at the last poll of clocks, and the time (ms) that the clocks are due to be
+	// polled again. Only accessed by the polling thread.
+	private Set<Integer> playingGamePks = Collections.emptySet();
+	private long nextClockPollTime = Long.MIN_VALUE;
+	// Map<GamePk, Time (ms) that the game is due to be polled>. Only accessed by the polling thread.
+	private final Map<Integer, Long> nextPollTimes = new HashMap<>();
+
+	private final PollingPolicy pollingPolicy;
+	private final RequestBudget requestBudget;
+
+	public LiveGamePoller() {
+		this(new PollingPolicy(), HttpUtils.getRequestBudget());
+	}
+
+	LiveGamePoller(PollingPolicy pollingPolicy, RequestBudget requestBudget) {
+		setName("LiveGamePoller");
+		this.pollingPolicy = pollingPolicy;
+		this.requestBudget = requestBudget;
+	}
+
+	@Override
+	public void run() {
+		LOGGER.info("Started polling live games.");
+		while (!isStop()) {
+			poll();
+			Utils.sleep(POLL_RATE_MS);
+		}
+	}
+
+	/**
+	 * Registers a game to be updated on each poll.
+	 *
+	 * @param game
+	 *            game to update
+	 */
+	public void register(Game game) {
+		if (games.putIfAbsent(game.getGamePk(), game) == null) {
+			LOGGER.info("Registered game [{}]", game.getGamePk());
+		}
+	}
+
+	/**
+	 * Stops updating the game.
+	 *
+	 * @param game
+	 *            game to stop updating
+	 */
+	public void deregister(Game game) {
+		if (games.remove(game.getGamePk()) != null) {
+			LOGGER.info("Deregistered game [{}]", game.getGamePk());
+		}
+	}
+
+	public boolean isRegistered(Game game) {
+		return games.containsKey(game.getGamePk());
+	}
+
+	/**
+	 * Updates all registered games from one request to the NHL API's schedule, if any of them is due. The schedule
+	 * requested spans the dates of all registered games.
+	 */
+	void poll() {
+		nextPollTimes.keySet().retainAll(games.keySet());
+		if (games.isEmpty()) {
+			return;
+		}
+		List<Game> polledGames = new ArrayList<>(games.values());
+		long now = Utils.getCurrentTime();
+		if (polledGames.stream().noneMatch(game -> isDue(game, now))) {
+			LOGGER.trace("No games are due.");
+			return;
+		}
+		if (!requestBudget.tryAcquire()) {
+			LOGGER.warn("Request budget is spent. Deferring poll of live games.");
+			return;
+		}
+
+		Map<Integer, Game> fetchedGames;
+		try {
+			fetchedGames = fetchGames(polledGames);
+		} catch (HttpException | JSONException e) {
+			LOGGER.error("Failed to poll live games.", e);
+			return;
+		}
+		pollClocks(polledGames, now);
+
+		if (fetchedGames == null) {
+			LOGGER.trace("Schedule is unchanged.");
+			// Games that were not in the schedule still need to be updated individually
+			for (Game game : polledGames) {
+				if (!missingGamePks.contains(game.getGamePk())) {
+					scheduleNextPoll(game, now);
+				} else if (isDue(game, now)) {
+					updateIndividually(game, now);
+				}
+			}
+			return;
+		}
+
+		Set<Integer> missingGamePks = new HashSet<>();
+		for (Game game : polledGames) {
+			Game fetchedGame = fetchedGames.get(game.getGamePk());
+			if (fetchedGame != null) {
+				game.updateTo(fetchedGame);
+				scheduleNextPoll(game, now);
+			} else {
+				LOGGER.warn("Game [{}] was not in the schedule. Updating it individually.", game.getGamePk());
+				missingGamePks.add(game.getGamePk());
+				if (isDue(game, now)) {
+					updateIndividually(game, now);
+				}
+			}
+		}
+		this.missingGamePks = missingGamePks;
+	}
+
+	/**
+	 * Updates the clocks of the games that are being played, if they are due. The clocks are left as they are if the
+	 * linescores are unchanged, or cannot be fetched.
+	 *
+	 * @param polledGames
+	 *            games that are polled
+	 * @param now
+	 *            current time (ms)
+	 */
+	void pollClocks(List<Game> polledGames, long now) {
+		List<Game> playingGames = polledGames.stream()
+				.filter(game -> game.getStatus() == GameStatus.STARTED || game.getStatus() == GameStatus.LIVE)
+				.collect(Collectors.toList());
+		if (playingGames.isEmpty()) {
+			return;
+		}
+		Set<Integer> gamePks = playingGames.stream().map(Game::getGamePk).collect(Collectors.toSet());
+		if (now < nextClockPollTime && gamePks.equals(playingGamePks)) {
+			LOGGER.trace("Clocks are not due.");
+			return;
+		}
+		if (!requestBudget.tryAcquire()) {
+			LOGGER.warn("Request budget is spent. Deferring poll of clocks.");
+			return;
+		}
+		playingGamePks = gamePks;
+		nextClockPollTime = now + CLOCK_POLL_RATE_MS;
+
+		Map<Integer, GameClock> clocks;
+		try {
+			clocks = fetchClocks(playingGames);
+		} catch (HttpException | JSONException e) {
+			LOGGER.error("Failed to poll clocks.", e);
+			return;
+		}
+		if (clocks == null) {
+			LOGGER.trace("Clocks are unchanged.");
+			return;
+		}
+		for (Game game : playingGames) {
+			GameClock clock = clocks.get(game.getGamePk());
+			if (clock != null) {
+				game.setClock(clock);
+			}
+		}
+	}
+
+	private void updateIndividually(Game game, long now) {
+		if (!requestBudget.tryAcquire()) {
+			LOGGER.warn("Request budget is spent. Deferring update of game [{}].", game.getGamePk());
+			return;
+		}
+		try {
+			game.update();
+			scheduleNextPoll(game, now);
+		} catch (HttpException e) {
+			LOGGER.error("Failed to update game [" + game.getGamePk() + "].", e);
+		}
+	}
+
+	private boolean isDue(Game game, long now) {
+		return nextPollTimes.getOrDefault(game.getGamePk(), Long.MIN_VALUE) <= now;
+	}
+
+	private void scheduleNextPoll(Game game, long now) {
+		nextPollTimes.put(game.getGamePk(), now + pollingPolicy.getInterval(game, ZonedDateTime.now()));
+	}
+
+	/**
+	 * Fetches the schedule that contains the given games.
+	 *
+	 * @param games
+	 *            games to fetch
+	 * @return Map<GamePk, Game> of all games in the fetched schedule<br>
+	 *         null, if the schedule is unchanged since the last fetch of the same games
+	 * @throws HttpException
+	 */
+	Map<Integer, Game> fetchGames(List<Game> games) throws HttpException {
+		Comparator<LocalDate> comparator = Comparator.naturalOrder();
+		LocalDate startDate = games.stream().map(LiveGamePoller::getScheduleDate).min(comparator).get();
+		LocalDate endDate = games.stream().map(LiveGamePoller::getScheduleDate).max(comparator).get();
+
+		URI uri = buildURI(startDate, endDate);
+		Set<Integer> gamePks = games.stream().map(Game::getGamePk).collect(Collectors.toSet());
+		if (!gamePks.equals(fetchedGamePks)) {
+			// Games were registered or deregistered. They must all be updated, even if the schedule is unchanged.
+			HttpUtils.forgetResponse(uri);
+			fetchedGamePks = gamePks;
+		}
+
+		String strJSONSchedule = HttpUtils.getIfChanged(uri, true);
+		if (strJSONSchedule == null) {
+			return null;
+		}
+
+		Map<Integer, Game> fetchedGames = new HashMap<>();
+		for (Game fetchedGame : ScheduleParser.parseGames(strJSONSchedule)) {
+			fetchedGames.put(fetchedGame.getGamePk(), fetchedGame);
+		}
+		return fetchedGames;
+	}
+
+	/**
+	 * Fetches the linescores of the given games.
+	 *
+	 * @param games
+	 *            games to fetch
+	 * @return Map<GamePk, GameClock> of all games in the fetched schedule<br>
+	 *         null, if the linescores are unchanged since the last fetch of the same games
+	 * @throws HttpException
+	 */
+	Map<Integer, GameClock> fetchClocks(List<Game> games) throws HttpException {
+		Comparator<LocalDate> comparator = Comparator.naturalOrder();
+		LocalDate startDate = games.stream().map(LiveGamePoller::getScheduleDate).min(comparator).get();
+		LocalDate endDate = games.stream().map(LiveGamePoller::getScheduleDate).max(comparator).get();
+
+		URI uri = buildLinescoreURI(startDate, endDate);
+		Set<Integer> gamePks = games.stream().map(Game::getGamePk).collect(Collectors.toSet());
+		if (!gamePks.equals(clockGamePks)) {
+			HttpUtils.forgetResponse(uri);
+			clockGamePks = gamePks;
+		}
+
+		String strJSONSchedule = HttpUtils.getIfChanged(uri);
+		if (strJSONSchedule == null) {
+			return null;
+		}
+
+		Map<Integer, GameClock> clocks = new HashMap<>();
+		for (Game fetchedGame : ScheduleParser.parseGames(strJSONSchedule)) {
+			clocks.put(fetchedGame.getGamePk(), fetchedGame.getClock());
+		}
+		return clocks;
+	}
+
+	static LocalDate getScheduleDate(Game game) {
+		return game.getDate().withZoneSameInstant(SCHEDULE_TIME_ZONE).toLocalDate();
+	}
+
+	URI buildURI(LocalDate startDate, LocalDate endDate) {
+		return buildScheduleURI(startDate, endDate, "schedule.scoringplays");
+	}
+
+	URI buildLinescoreURI(LocalDate startDate, LocalDate endDate) {
+		return buildScheduleURI(startDate, endDate, "schedule.linescore");
+	}
+
+	private static URI buildScheduleURI(LocalDate startDate, LocalDate endDate, String expand) {
+		try {
+			URIBuilder uriBuilder = new URIBuilder(Config.NHL_API_URL + "/schedule");
+			uriBuilder.addParameter("startDate", startDate.format(DateTimeFormatter.ISO_LOCAL_DATE));
+			uriBuilder.addParameter("endDate", endDate.format(DateTimeFormatter.ISO_LOCAL_DATE));
+			uriBuilder.addParameter("expand", expand);
+			return uriBuilder.build();
+		} catch (URISyntaxException e) {
+			String message = "Error building URI";
+			RuntimeException runtimeException = new RuntimeException(message, e);
+			LOGGER.error(message, runtimeException);
+			throw runtimeException;
+		}
+	}
+
+	/**
+	 * Used for stubbing the loop of {@link #run()} for tests.
+	 *
+	 * @return
+	 */
+	boolean isStop() {
+		return false;
+	}
+}
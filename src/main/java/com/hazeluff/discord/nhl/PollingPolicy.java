@@ -0,0 +1,69 @@
+package com.hazeluff.discord.nhl;
+
+import java.time.ZonedDateTime;
+
+import com.hazeluff.discord.utils.DateUtils;
+
+/**
+ * <p>
+ * Determines how often a game is polled, from its state in the feed of the NHL API.
+ * </p>
+ *
+ * <ul>
+ * <li>Not close to starting (or postponed) - {@link #IDLE_INTERVAL_MS}</li>
+ * <li>Close to starting, or in a period - {@link #LIVE_INTERVAL_MS}</li>
+ * <li>In an intermission - half of the time remaining in the intermission, between {@link #LIVE_INTERVAL_MS} and
+ * {@link #MAX_INTERMISSION_INTERVAL_MS}. Polling speeds up as the intermission ends.</li>
+ * <li>Final - {@link #FINAL_INTERVAL_MS}. Nothing is played, but goals can still be corrected.</li>
+ * </ul>
+ */
+class PollingPolicy {
+	// Interval for games that are not close to starting
+	static final long IDLE_INTERVAL_MS = 60000l;
+	// Interval for games that are about to start, or are in a period
+	static final long LIVE_INTERVAL_MS = 5000l;
+	// Longest interval during an intermission
+	static final long MAX_INTERMISSION_INTERVAL_MS = 60000l;
+	// Interval for games that are final
+	static final long FINAL_INTERVAL_MS = 30000l;
+	// Time before game to poll at the live interval
+	static final long CLOSE_TO_START_THRESHOLD_MS = 300000l;
+
+	/**
+	 * Gets the time until the game should be polled again.
+	 *
+	 * @param game
+	 *            game to poll
+	 * @param now
+	 *            current time
+	 * @return interval (ms)
+	 */
+	long getInterval(Game game, ZonedDateTime now) {
+		GameStatus status = game.getStatus();
+		if (status == null) {
+			return IDLE_INTERVAL_MS;
+		}
+		switch (status) {
+		case FINAL:
+			return FINAL_INTERVAL_MS;
+		case POSTPONED:
+			return IDLE_INTERVAL_MS;
+		case STARTED:
+		case LIVE:
+			return getLiveInterval(game.getClock());
+		default:
+			// Games that are late to start are polled as if they are live
+			return DateUtils.diffMs(now, game.getDate()) >= CLOSE_TO_START_THRESHOLD_MS
+					? IDLE_INTERVAL_MS
+					: LIVE_INTERVAL_MS;
+		}
+	}
+
+	static long getLiveInterval(GameClock clock) {
+		if (clock == null || !clock.isInIntermission()) {
+			return LIVE_INTERVAL_MS;
+		}
+		long halfRemainingMs = clock.getIntermissionTimeRemaining() * 1000l / 2;
+		return Math.max(LIVE_INTERVAL_MS, Math.min(MAX_INTERMISSION_INTERVAL_MS, halfRemainingMs));
+	}
+}
@@ -0,0 +1,403 @@
+package com.hazeluff.discord.nhl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.json.JSONException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.hazeluff.discord.nhl.Player.EventRole;
+import com.hazeluff.discord.utils.DateUtils;
+
+/**
+ * <p>
+ * Parses the schedule of the NHL API (with the <code>schedule.scoringplays</code> expansion) into {@link Game}s. The
+ * {@link GameClock} of each game is parsed too, if the schedule has the <code>schedule.linescore</code> expansion.
+ * </p>
+ *
+ * <p>
+ * The response is read token by token, and the values are mapped directly into the games, events and players. No
+ * intermediate JSON tree is built. Fields that are not used are skipped, and games of
+ * unknown teams are left out.
+ * </p>
+ */
+class ScheduleParser {
+	private static final Logger LOGGER = LoggerFactory.getLogger(ScheduleParser.class);
+
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+	private ScheduleParser() {
+	}
+
+	/**
+	 * Parses all games of all dates in the schedule. Games that cannot be parsed are skipped.
+	 *
+	 * @param strJSONSchedule
+	 *            JSON of the schedule
+	 * @return list of games, in the order of the schedule
+	 * @throws JSONException
+	 *             if the schedule is not valid JSON
+	 */
+	static List<Game> parseGames(String strJSONSchedule) {
+		List<Game> games = new ArrayList<>();
+		try (JsonParser parser = JSON_FACTORY.createParser(strJSONSchedule)) {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				throw new JSONException("Schedule is not an object.");
+			}
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String field = parser.getCurrentName();
+				if (parser.nextToken() == JsonToken.START_ARRAY && "dates".equals(field)) {
+					while (parser.nextToken() == JsonToken.START_OBJECT) {
+						readDate(parser, games);
+					}
+				} else {
+					parser.skipChildren();
+				}
+			}
+		} catch (IOException e) {
+			throw new JSONException("Failed to parse schedule.", e);
+		}
+		return games;
+	}
+
+	private static void readDate(JsonParser parser, List<Game> games) throws IOException {
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			if (parser.nextToken() == JsonToken.START_ARRAY && "games".equals(field)) {
+				while (parser.nextToken() == JsonToken.START_OBJECT) {
+					Game game = readGame(parser);
+					if (game != null) {
+						games.add(game);
+					}
+				}
+			} else {
+				parser.skipChildren();
+			}
+		}
+	}
+
+	/**
+	 * Reads the game at the current object. The whole object is consumed, even if the game cannot be built.
+	 *
+	 * @return the game<br>
+	 *         null, if the game is missing values or has invalid values
+	 */
+	private static Game readGame(JsonParser parser) throws IOException {
+		GameValues values = new GameValues();
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			JsonToken token = parser.nextToken();
+			switch (field) {
+			case "gamePk":
+				values.gamePk = parser.getValueAsInt();
+				break;
+			case "gameDate":
+				values.gameDate = parser.getValueAsString();
+				break;
+			case "teams":
+				readObject(parser, token, teamsField -> {
+					if ("away".equals(teamsField)) {
+						readTeam(parser, parser.currentToken(), values.away);
+					} else if ("home".equals(teamsField)) {
+						readTeam(parser, parser.currentToken(), values.home);
+					} else {
+						parser.skipChildren();
+					}
+				});
+				break;
+			case "status":
+				readObject(parser, token, statusField -> {
+					if ("statusCode".equals(statusField)) {
+						values.statusCode = parser.getValueAsString();
+					} else {
+						parser.skipChildren();
+					}
+				});
+				break;
+			case "linescore":
+				readLinescore(parser, token, values.linescore);
+				break;
+			case "scoringPlays":
+				if (token == JsonToken.START_ARRAY) {
+					while (parser.nextToken() == JsonToken.START_OBJECT) {
+						values.events.add(readScoringPlay(parser));
+					}
+				} else {
+					parser.skipChildren();
+				}
+				break;
+			default:
+				parser.skipChildren();
+				break;
+			}
+		}
+
+		try {
+			return values.build();
+		} catch (Exception e) {
+			LOGGER.error("Could not parse game.", e);
+			return null;
+		}
+	}
+
+	private static void readTeam(JsonParser parser, JsonToken token, TeamValues values) throws IOException {
+		readObject(parser, token, field -> {
+			if ("score".equals(field)) {
+				values.score = parser.getValueAsInt();
+			} else if ("team".equals(field)) {
+				readObject(parser, parser.currentToken(), teamField -> {
+					if ("id".equals(teamField)) {
+						values.id = parser.getValueAsInt();
+					} else {
+						parser.skipChildren();
+					}
+				});
+			} else {
+				parser.skipChildren();
+			}
+		});
+	}
+
+	private static void readLinescore(JsonParser parser, JsonToken token, LinescoreValues values) throws IOException {
+		if (token != JsonToken.START_OBJECT) {
+			parser.skipChildren();
+			return;
+		}
+		values.present = true;
+		readObject(parser, token, field -> {
+			if ("currentPeriod".equals(field)) {
+				values.currentPeriod = parser.getValueAsInt();
+			} else if ("intermissionInfo".equals(field)) {
+				readObject(parser, parser.currentToken(), intermissionField -> {
+					if ("inIntermission".equals(intermissionField)) {
+						values.inIntermission = parser.getValueAsBoolean();
+					} else if ("intermissionTimeRemaining".equals(intermissionField)) {
+						values.intermissionTimeRemaining = parser.getValueAsInt();
+					} else {
+						parser.skipChildren();
+					}
+				});
+			} else {
+				parser.skipChildren();
+			}
+		});
+	}
+
+	private static EventValues readScoringPlay(JsonParser parser) throws IOException {
+		EventValues values = new EventValues();
+		readObject(parser, JsonToken.START_OBJECT, field -> {
+			switch (field) {
+			case "about":
+				readObject(parser, parser.currentToken(), aboutField -> {
+					switch (aboutField) {
+					case "eventId":
+						values.eventId = parser.getValueAsInt();
+						break;
+					case "eventIdx":
+						values.eventIdx = parser.getValueAsInt();
+						break;
+					case "dateTime":
+						values.dateTime = parser.getValueAsString();
+						break;
+					case "period":
+						values.period = parser.getValueAsInt();
+						break;
+					case "periodType":
+						values.periodType = parser.getValueAsString();
+						break;
+					case "ordinalNum":
+						values.ordinalNum = parser.getValueAsString();
+						break;
+					case "periodTime":
+						values.periodTime = parser.getValueAsString();
+						break;
+					default:
+						parser.skipChildren();
+						break;
+					}
+				});
+				break;
+			case "team":
+				readObject(parser, parser.currentToken(), teamField -> {
+					if ("id".equals(teamField)) {
+						values.teamId = parser.getValueAsInt();
+					} else {
+						parser.skipChildren();
+					}
+				});
+				break;
+			case "result":
+				readObject(parser, parser.currentToken(), resultField -> {
+					if ("eventTypeId".equals(resultField)) {
+						values.eventTypeId = parser.getValueAsString();
+					} else if ("strength".equals(resultField)) {
+						readObject(parser, parser.currentToken(), strengthField -> {
+							if ("code".equals(strengthField)) {
+								values.strengthCode = parser.getValueAsString();
+							} else {
+								parser.skipChildren();
+							}
+						});
+					} else {
+						parser.skipChildren();
+					}
+				});
+				break;
+			case "players":
+				if (parser.currentToken() == JsonToken.START_ARRAY) {
+					while (parser.nextToken() == JsonToken.START_OBJECT) {
+						values.players.add(readPlayer(parser));
+					}
+				} else {
+					parser.skipChildren();
+				}
+				break;
+			default:
+				parser.skipChildren();
+				break;
+			}
+		});
+		return values;
+	}
+
+	private static PlayerValues readPlayer(JsonParser parser) throws IOException {
+		PlayerValues values = new PlayerValues();
+		readObject(parser, JsonToken.START_OBJECT, field -> {
+			if ("playerType".equals(field)) {
+				values.playerType = parser.getValueAsString();
+			} else if ("player".equals(field)) {
+				readObject(parser, parser.currentToken(), playerField -> {
+					if ("id".equals(playerField)) {
+						values.id = parser.getValueAsInt();
+					} else if ("fullName".equals(playerField)) {
+						values.fullName = parser.getValueAsString();
+					} else {
+						parser.skipChildren();
+					}
+				});
+			} else {
+				parser.skipChildren();
+			}
+		});
+		return values;
+	}
+
+	/**
+	 * Reads the fields of the object at the current token. The parser is positioned at the value of each field when
+	 * the reader is invoked, and the reader must consume the whole value. Values that are not objects are skipped.
+	 */
+	private static void readObject(JsonParser parser, JsonToken token, FieldReader reader) throws IOException {
+		if (token != JsonToken.START_OBJECT) {
+			parser.skipChildren();
+			return;
+		}
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			parser.nextToken();
+			reader.read(field);
+		}
+	}
+
+	@FunctionalInterface
+	private interface FieldReader {
+		void read(String field) throws IOException;
+	}
+
+	/*
+	 * Values are collected while the object is read, and converted once the object is consumed. This keeps the parser
+	 * at a valid position when a value cannot be converted.
+	 */
+
+	private static class TeamValues {
+		Integer id;
+		int score;
+	}
+
+	private static class LinescoreValues {
+		boolean present;
+		int currentPeriod;
+		boolean inIntermission;
+		int intermissionTimeRemaining;
+	}
+
+	private static class GameValues {
+		Integer gamePk;
+		String gameDate;
+		final TeamValues away = new TeamValues();
+		final TeamValues home = new TeamValues();
+		String statusCode;
+		final LinescoreValues linescore = new LinescoreValues();
+		final List<EventValues> events = new ArrayList<>();
+
+		Game build() {
+			Game game = new Game(DateUtils.parseNHLDate(required(gameDate, "gameDate")), required(gamePk, "gamePk"),
+					Team.parse(required(away.id, "away team")), Team.parse(required(home.id, "home team")), 0, 0,
+					null);
+			List<GameEvent> gameEvents = new ArrayList<>(events.size());
+			for (EventValues event : events) {
+				gameEvents.add(event.build());
+			}
+			game.publish(away.score, home.score,
+					GameStatus.parse(Integer.parseInt(required(statusCode, "statusCode"))), gameEvents);
+			if (linescore.present) {
+				game.setClock(new GameClock(linescore.currentPeriod, linescore.inIntermission,
+						linescore.intermissionTimeRemaining));
+			}
+			return game;
+		}
+	}
+
+	private static class EventValues {
+		Integer eventId;
+		Integer eventIdx;
+		String dateTime;
+		Integer period;
+		String periodType;
+		String ordinalNum;
+		String periodTime;
+		Integer teamId;
+		String eventTypeId;
+		String strengthCode;
+		final List<PlayerValues> players = new ArrayList<>();
+
+		GameEvent build() {
+			GamePeriod gamePeriod = new GamePeriod(required(period, "period"),
+					GamePeriod.Type.parse(required(periodType, "periodType")), required(ordinalNum, "ordinalNum"));
+			List<Player> eventPlayers = new ArrayList<>(players.size());
+			for (PlayerValues player : players) {
+				Player eventPlayer = player.build();
+				if (eventPlayer.getRole() != EventRole.GOALIE) {
+					eventPlayers.add(eventPlayer);
+				}
+			}
+			return new GameEvent(required(eventId, "eventId"), required(eventIdx, "eventIdx"),
+					DateUtils.parseNHLDate(required(dateTime, "dateTime")),
+					GameEventType.parse(required(eventTypeId, "eventTypeId")), Team.parse(required(teamId, "team")),
+					required(periodTime, "periodTime"), gamePeriod, eventPlayers,
+					GameEventStrength.parse(required(strengthCode, "strength")));
+		}
+	}
+
+	private static class PlayerValues {
+		Integer id;
+		String fullName;
+		String playerType;
+
+		Player build() {
+			return new Player(required(id, "player id"), required(fullName, "fullName"),
+					EventRole.parse(required(playerType, "playerType")));
+		}
+	}
+
+	private static <T> T required(T value, String name) {
+		if (value == null) {
+			throw new JSONException("Missing value: " + name);
+		}
+		return value;
+	}
+}
@@ -0,0 +1,194 @@
+package com.hazeluff.discord.nhl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import com.hazeluff.discord.nhl.Player.EventRole;
+
+/**
+ * <p>
+ * Binary snapshot of the games of a season, stored on disk so that the {@link GameScheduler} can start with the games
+ * it had before it was restarted, instead of waiting for the NHL API.
+ * </p>
+ *
+ * <p>
+ * The file starts with a magic number, the version of the format and the season of the games. A file with a different
+ * magic number, format version or season is not loaded. Enums are stored by name, so that reordering their constants
+ * does not invalidate the file. The file is written to a temporary file first and then moved into place, so that a
+ * crash while writing does not leave a partial snapshot.
+ * </p>
+ */
+class ScheduleSnapshot {
+	static final int MAGIC = 0x4E484C53; // "NHLS"
+	static final int FORMAT_VERSION = 1;
+
+	private ScheduleSnapshot() {
+	}
+
+	/**
+	 * Writes the games to the file.
+	 *
+	 * @param path
+	 *            file to write to. Parent directories are created.
+	 * @param season
+	 *            abbreviation of the season of the games
+	 * @param games
+	 *            games to write
+	 * @throws IOException
+	 */
+	static void write(Path path, String season, Collection<Game> games) throws IOException {
+		Path parent = path.toAbsolutePath().getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+		Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+		try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(FORMAT_VERSION);
+			out.writeUTF(season);
+			out.writeInt(games.size());
+			for (Game game : games) {
+				writeGame(out, game);
+			}
+		}
+		Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Reads the games from the file.
+	 *
+	 * @param path
+	 *            file to read
+	 * @param season
+	 *            abbreviation of the season that the games must be of
+	 * @return games of the snapshot
+	 * @throws IOException
+	 *             if the file cannot be read, or it is not a snapshot of the season in the current format
+	 */
+	static List<Game> read(Path path, String season) throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+			if (in.readInt() != MAGIC) {
+				throw new IOException("Not a schedule snapshot: " + path);
+			}
+			int formatVersion = in.readInt();
+			if (formatVersion != FORMAT_VERSION) {
+				throw new IOException("Unsupported snapshot version: " + formatVersion);
+			}
+			String snapshotSeason = in.readUTF();
+			if (!snapshotSeason.equals(season)) {
+				throw new IOException("Snapshot is of season [" + snapshotSeason + "], not [" + season + "]");
+			}
+			int size = in.readInt();
+			List<Game> games = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				games.add(readGame(in));
+			}
+			return games;
+		} catch (IllegalArgumentException e) {
+			throw new IOException("Invalid value in snapshot: " + path, e);
+		}
+	}
+
+	private static void writeGame(DataOutputStream out, Game game) throws IOException {
+		GameSnapshot snapshot = game.getSnapshot();
+		out.writeInt(game.getGamePk());
+		writeDate(out, game.getDate());
+		out.writeInt(game.getAwayTeam().getId());
+		out.writeInt(game.getHomeTeam().getId());
+		out.writeInt(snapshot.getAwayScore());
+		out.writeInt(snapshot.getHomeScore());
+		writeNullableEnum(out, snapshot.getStatus());
+		out.writeInt(snapshot.getEvents().size());
+		for (GameEvent event : snapshot.getEvents()) {
+			writeEvent(out, event);
+		}
+	}
+
+	private static Game readGame(DataInputStream in) throws IOException {
+		int gamePk = in.readInt();
+		ZonedDateTime date = readDate(in);
+		Team awayTeam = Team.parse(in.readInt());
+		Team homeTeam = Team.parse(in.readInt());
+		int awayScore = in.readInt();
+		int homeScore = in.readInt();
+		GameStatus status = readNullableEnum(in, GameStatus.class);
+		int eventCount = in.readInt();
+		List<GameEvent> events = new ArrayList<>(eventCount);
+		for (int i = 0; i < eventCount; i++) {
+			events.add(readEvent(in));
+		}
+		Game game = new Game(date, gamePk, awayTeam, homeTeam, 0, 0, null);
+		game.publish(awayScore, homeScore, status, events);
+		return game;
+	}
+
+	private static void writeEvent(DataOutputStream out, GameEvent event) throws IOException {
+		out.writeInt(event.getId());
+		out.writeInt(event.getIdx());
+		writeDate(out, event.getDate());
+		out.writeUTF(event.getType().name());
+		out.writeInt(event.getTeam().getId());
+		out.writeUTF(event.getPeriodTime());
+		GamePeriod period = event.getPeriod();
+		out.writeInt(period.getPeriodNum());
+		out.writeUTF(period.getType().name());
+		out.writeUTF(period.getOrdinalNum());
+		out.writeInt(event.getPlayers().size());
+		for (Player player : event.getPlayers()) {
+			out.writeInt(player.getId());
+			out.writeUTF(player.getFullName());
+			out.writeUTF(player.getRole().name());
+		}
+		out.writeUTF(event.getStrength().name());
+	}
+
+	private static GameEvent readEvent(DataInputStream in) throws IOException {
+		int id = in.readInt();
+		int idx = in.readInt();
+		ZonedDateTime date = readDate(in);
+		GameEventType type = GameEventType.valueOf(in.readUTF());
+		Team team = Team.parse(in.readInt());
+		String periodTime = in.readUTF();
+		GamePeriod period = new GamePeriod(in.readInt(), GamePeriod.Type.valueOf(in.readUTF()), in.readUTF());
+		int playerCount = in.readInt();
+		List<Player> players = new ArrayList<>(playerCount);
+		for (int i = 0; i < playerCount; i++) {
+			players.add(new Player(in.readInt(), in.readUTF(), EventRole.valueOf(in.readUTF())));
+		}
+		GameEventStrength strength = GameEventStrength.valueOf(in.readUTF());
+		return new GameEvent(id, idx, date, type, team, periodTime, period, players, strength);
+	}
+
+	private static void writeDate(DataOutputStream out, ZonedDateTime date) throws IOException {
+		out.writeLong(date.toInstant().toEpochMilli());
+	}
+
+	// Dates of the NHL API are in UTC
+	private static ZonedDateTime readDate(DataInputStream in) throws IOException {
+		return ZonedDateTime.ofInstant(Instant.ofEpochMilli(in.readLong()), ZoneOffset.UTC);
+	}
+
+	private static void writeNullableEnum(DataOutputStream out, Enum<?> value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			out.writeUTF(value.name());
+		}
+	}
+
+	private static <E extends Enum<E>> E readNullableEnum(DataInputStream in, Class<E> enumClass) throws IOException {
+		return in.readBoolean() ? Enum.valueOf(enumClass, in.readUTF()) : null;
+	}
+}
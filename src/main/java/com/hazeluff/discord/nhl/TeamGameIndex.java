@@ -0,0 +1,170 @@
+package com.hazeluff.discord.nhl;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * <p>
+ * Index of the games of each team. The games of a team are sorted by date (see {@link GameScheduler#GAME_COMPARATOR})
+ * and partitioned by their status, so that the next, last and current games of a team can be found without scanning
+ * the whole schedule.
+ * </p>
+ * 
+ * <p>
+ * The index must be told when a game is added, removed or its status changes.
+ * </p>
+ */
+class TeamGameIndex {
+
+	/**
+	 * Groups of statuses that games are partitioned by.
+	 */
+	enum Partition {
+		PAST, CURRENT, FUTURE;
+
+		/**
+		 * @param status
+		 *            status of a game
+		 * @return the partition of the status<br>
+		 *         null, if the status does not belong to a partition
+		 */
+		static Partition of(GameStatus status) {
+			if (status == null) {
+				return null;
+			}
+			switch (status) {
+			case FINAL:
+				return PAST;
+			case LIVE:
+			case STARTED:
+				return CURRENT;
+			case PREVIEW:
+			case SCHEDULED:
+			case POSTPONED:
+				return FUTURE;
+			default:
+				return null;
+			}
+		}
+	}
+
+	private final Map<Team, NavigableSet<Game>> teamGames = new EnumMap<>(Team.class);
+	private final Map<Team, Map<Partition, NavigableSet<Game>>> partitionedTeamGames = new EnumMap<>(Team.class);
+	// Map<GamePk, Partition> - Partition each game is currently indexed in
+	private final Map<Integer, Partition> indexedPartitions = new HashMap<>();
+
+	TeamGameIndex() {
+		for (Team team : Team.values()) {
+			teamGames.put(team, new TreeSet<>(GameScheduler.GAME_COMPARATOR));
+			Map<Partition, NavigableSet<Game>> partitions = new EnumMap<>(Partition.class);
+			for (Partition partition : Partition.values()) {
+				partitions.put(partition, new TreeSet<>(GameScheduler.GAME_COMPARATOR));
+			}
+			partitionedTeamGames.put(team, partitions);
+		}
+	}
+
+	/**
+	 * Adds the game to the index. If the game is already indexed, it is moved to the partition of its current status.
+	 * 
+	 * @param game
+	 *            game to add
+	 */
+	synchronized void add(Game game) {
+		remove(game);
+		Partition partition = Partition.of(game.getStatus());
+		for (Team team : game.getTeams()) {
+			teamGames.get(team).add(game);
+			if (partition != null) {
+				partitionedTeamGames.get(team).get(partition).add(game);
+			}
+		}
+		indexedPartitions.put(game.getGamePk(), partition);
+	}
+
+	synchronized void addAll(Iterable<Game> games) {
+		games.forEach(this::add);
+	}
+
+	/**
+	 * Moves the game to the partition of its current status, if its status changed partitions.
+	 * 
+	 * @param game
+	 *            game that was updated
+	 */
+	synchronized void update(Game game) {
+		if (!indexedPartitions.containsKey(game.getGamePk())
+				|| indexedPartitions.get(game.getGamePk()) != Partition.of(game.getStatus())) {
+			add(game);
+		}
+	}
+
+	synchronized void remove(Game game) {
+		if (!indexedPartitions.containsKey(game.getGamePk())) {
+			return;
+		}
+		Partition partition = indexedPartitions.remove(game.getGamePk());
+		for (Team team : game.getTeams()) {
+			teamGames.get(team).remove(game);
+			if (partition != null) {
+				partitionedTeamGames.get(team).get(partition).remove(game);
+			}
+		}
+	}
+
+	/**
+	 * Gets the games of the team, sorted by date.
+	 * 
+	 * @param team
+	 *            team to get the games of
+	 * @return list of games
+	 */
+	synchronized List<Game> getGames(Team team) {
+		return new ArrayList<>(teamGames.get(team));
+	}
+
+	/**
+	 * Gets the games of the team in the partition, sorted by date.
+	 * 
+	 * @param team
+	 *            team to get the games of
+	 * @param partition
+	 *            partition of the games
+	 * @return list of games
+	 */
+	synchronized List<Game> getGames(Team team, Partition partition) {
+		return new ArrayList<>(partitionedTeamGames.get(team).get(partition));
+	}
+
+	/**
+	 * Gets the n-th game of the team in the partition.
+	 * 
+	 * @param team
+	 *            team to get the game of
+	 * @param partition
+	 *            partition of the game
+	 * @param index
+	 *            index of the game (0 for the first game)
+	 * @param descending
+	 *            true, to count from the latest game
+	 * @return the game<br>
+	 *         null, if the partition has no game at the index
+	 */
+	synchronized Game getGame(Team team, Partition partition, int index, boolean descending) {
+		NavigableSet<Game> games = partitionedTeamGames.get(team).get(partition);
+		if (index < 0 || index >= games.size()) {
+			return null;
+		}
+		Iterator<Game> iterator = descending ? games.descendingIterator() : games.iterator();
+		for (int i = 0; i < index; i++) {
+			iterator.next();
+		}
+		return iterator.next();
+	}
+}
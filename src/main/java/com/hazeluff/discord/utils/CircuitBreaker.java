@@ -0,0 +1,126 @@
+package com.hazeluff.discord.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ * Stops requests to an endpoint that keeps failing, so that a struggling server is not hammered by retries.
+ * </p>
+ *
+ * <p>
+ * The breaker is {@link State#CLOSED} while requests succeed. After a number of consecutive failures, it is
+ * {@link State#OPEN} and requests are rejected without being sent. Once the open duration has passed, the breaker is
+ * {@link State#HALF_OPEN} and a single trial request is let through. The breaker closes if the trial succeeds, and opens
+ * again if it fails.
+ * </p>
+ */
+public class CircuitBreaker {
+	private static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreaker.class);
+
+	public enum State {
+		CLOSED, OPEN, HALF_OPEN
+	}
+
+	private final String name;
+	private final int failureThreshold;
+	private final long openMs;
+	private final LongSupplier clock;
+
+	private State state = State.CLOSED;
+	private int consecutiveFailures = 0;
+	private long openedAt;
+	private boolean trialInProgress = false;
+
+	private final AtomicLong rejected = new AtomicLong();
+	private final AtomicLong opened = new AtomicLong();
+
+	public CircuitBreaker(String name, int failureThreshold, long openMs) {
+		this(name, failureThreshold, openMs, Utils::getCurrentTime);
+	}
+
+	CircuitBreaker(String name, int failureThreshold, long openMs, LongSupplier clock) {
+		this.name = name;
+		this.failureThreshold = failureThreshold;
+		this.openMs = openMs;
+		this.clock = clock;
+	}
+
+	/**
+	 * Determines if a request may be sent. Every request that is allowed must report its result with
+	 * {@link #onSuccess()} or {@link #onFailure()}.
+	 *
+	 * @return true, if the request may be sent<br>
+	 *         false, if the breaker is open
+	 */
+	public synchronized boolean tryAcquire() {
+		if (state == State.OPEN) {
+			if (clock.getAsLong() - openedAt < openMs) {
+				rejected.incrementAndGet();
+				return false;
+			}
+			LOGGER.info("Circuit [{}] is half-open. Sending trial request.", name);
+			state = State.HALF_OPEN;
+		}
+		if (state == State.HALF_OPEN) {
+			if (trialInProgress) {
+				rejected.incrementAndGet();
+				return false;
+			}
+			trialInProgress = true;
+		}
+		return true;
+	}
+
+	public synchronized void onSuccess() {
+		if (state != State.CLOSED) {
+			LOGGER.info("Circuit [{}] is closed.", name);
+		}
+		state = State.CLOSED;
+		consecutiveFailures = 0;
+		trialInProgress = false;
+	}
+
+	public synchronized void onFailure() {
+		trialInProgress = false;
+		consecutiveFailures++;
+		if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+			LOGGER.warn("Circuit [{}] is open for [{}ms] after [{}] consecutive failures.", name, openMs,
+					consecutiveFailures);
+			state = State.OPEN;
+			openedAt = clock.getAsLong();
+			opened.incrementAndGet();
+		}
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public synchronized State getState() {
+		return state;
+	}
+
+	/**
+	 * @return number of requests that were rejected because the breaker was open
+	 */
+	public long getRejected() {
+		return rejected.get();
+	}
+
+	/**
+	 * @return number of times the breaker opened
+	 */
+	public long getOpened() {
+		return opened.get();
+	}
+
+	@Override
+	public String toString() {
+		return "CircuitBreaker [name=" + name + ", state=" + getState() + ", rejected=" + getRejected()
+				+ ", opened=" + getOpened() + "]";
+	}
+}
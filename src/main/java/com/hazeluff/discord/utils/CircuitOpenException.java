@@ -0,0 +1,12 @@
+package com.hazeluff.discord.utils;
+
+/**
+ * Thrown when a request is not sent because the {@link CircuitBreaker} of its endpoint is open.
+ */
+public class CircuitOpenException extends HttpException {
+	private static final long serialVersionUID = -2385067925046587221L;
+
+	public CircuitOpenException(String message) {
+		super(message);
+	}
+}
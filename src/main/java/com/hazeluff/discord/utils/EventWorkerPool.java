@@ -0,0 +1,192 @@
+package com.hazeluff.discord.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.hazeluff.discord.Config;
+
+/**
+ * <p>
+ * Bounded pool of threads that process the events received from Discord.
+ * </p>
+ * 
+ * <p>
+ * Events are queued up to {@link Config#EVENT_WORKER_QUEUE_SIZE}. When the queue is full, new events are shed
+ * (dropped and counted) instead of blocking the gateway or creating more threads. Metrics are kept per source (the
+ * listener that submitted the event).
+ * </p>
+ */
+public class EventWorkerPool {
+	private static final Logger LOGGER = LoggerFactory.getLogger(EventWorkerPool.class);
+
+	private static EventWorkerPool pool;
+
+	private final ThreadPoolExecutor executor;
+	private final Map<Class<?>, Stats> stats = new ConcurrentHashMap<>();
+
+	EventWorkerPool(int threads, int queueSize) {
+		AtomicInteger threadCount = new AtomicInteger();
+		executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueSize),
+				runnable -> {
+					Thread thread = new Thread(runnable, "EventWorker-" + threadCount.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.AbortPolicy());
+		executor.allowCoreThreadTimeOut(true);
+	}
+
+	public static EventWorkerPool getInstance() {
+		synchronized (EventWorkerPool.class) {
+			if (pool == null) {
+				pool = new EventWorkerPool(Config.EVENT_WORKER_THREADS, Config.EVENT_WORKER_QUEUE_SIZE);
+			}
+		}
+		return pool;
+	}
+
+	/**
+	 * Queues the task to be run by the pool. The task is shed if the queue is full.
+	 * 
+	 * @param source
+	 *            the class that submitted the task. Metrics are kept per source.
+	 * @param runnable
+	 *            the task to run
+	 * @return true, if the task was queued<br>
+	 *         false, if it was shed
+	 */
+	public boolean submit(Class<?> source, Runnable runnable) {
+		Stats sourceStats = getStats(source);
+		sourceStats.submitted.incrementAndGet();
+		long submitTime = System.nanoTime();
+		try {
+			executor.execute(() -> run(sourceStats, runnable, submitTime));
+			return true;
+		} catch (RejectedExecutionException e) {
+			long rejected = sourceStats.rejected.incrementAndGet();
+			LOGGER.warn("Event queue is full. Shedding event from [{}]. Total shed: {}", source.getSimpleName(),
+					rejected);
+			return false;
+		}
+	}
+
+	private static void run(Stats sourceStats, Runnable runnable, long submitTime) {
+		sourceStats.queueDelayMs.addAndGet(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - submitTime));
+		try {
+			runnable.run();
+			sourceStats.completed.incrementAndGet();
+		} catch (Exception e) {
+			sourceStats.failed.incrementAndGet();
+			LOGGER.error("Failed to process event.", e);
+		} finally {
+			long latencyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - submitTime);
+			sourceStats.totalLatencyMs.addAndGet(latencyMs);
+			sourceStats.maxLatencyMs.accumulateAndGet(latencyMs, Math::max);
+		}
+	}
+
+	/**
+	 * Gets the metrics of tasks submitted by the source.
+	 * 
+	 * @param source
+	 *            the class that submitted the tasks
+	 * @return {@link Stats} of the source
+	 */
+	public Stats getStats(Class<?> source) {
+		return stats.computeIfAbsent(source, key -> new Stats());
+	}
+
+	public Map<Class<?>, Stats> getAllStats() {
+		return new HashMap<>(stats);
+	}
+
+	public int getActiveCount() {
+		return executor.getActiveCount();
+	}
+
+	public int getPoolSize() {
+		return executor.getPoolSize();
+	}
+
+	public int getMaxPoolSize() {
+		return executor.getMaximumPoolSize();
+	}
+
+	public int getQueueSize() {
+		return executor.getQueue().size();
+	}
+
+	public int getQueueCapacity() {
+		return executor.getQueue().size() + executor.getQueue().remainingCapacity();
+	}
+
+	/**
+	 * Metrics of the tasks of a source.
+	 */
+	public static class Stats {
+		private final AtomicLong submitted = new AtomicLong();
+		private final AtomicLong rejected = new AtomicLong();
+		private final AtomicLong completed = new AtomicLong();
+		private final AtomicLong failed = new AtomicLong();
+		private final AtomicLong queueDelayMs = new AtomicLong();
+		private final AtomicLong totalLatencyMs = new AtomicLong();
+		private final AtomicLong maxLatencyMs = new AtomicLong();
+
+		public long getSubmitted() {
+			return submitted.get();
+		}
+
+		public long getRejected() {
+			return rejected.get();
+		}
+
+		public long getCompleted() {
+			return completed.get();
+		}
+
+		public long getFailed() {
+			return failed.get();
+		}
+
+		/**
+		 * @return average time (ms) that tasks waited in the queue
+		 */
+		public long getAverageQueueDelayMs() {
+			long processed = getCompleted() + getFailed();
+			return processed == 0 ? 0 : queueDelayMs.get() / processed;
+		}
+
+		/**
+		 * @return average time (ms) from submitting a task to it finishing
+		 */
+		public long getAverageLatencyMs() {
+			long processed = getCompleted() + getFailed();
+			return processed == 0 ? 0 : totalLatencyMs.get() / processed;
+		}
+
+		public long getMaxLatencyMs() {
+			return maxLatencyMs.get();
+		}
+	}
+
+	/**
+	 * Stops accepting tasks and waits for queued tasks to finish. Used for tests.
+	 * 
+	 * @param timeoutMs
+	 *            maximum time to wait
+	 * @throws InterruptedException
+	 */
+	void shutdown(long timeoutMs) throws InterruptedException {
+		executor.shutdown();
+		executor.awaitTermination(timeoutMs, TimeUnit.MILLISECONDS);
+	}
+}
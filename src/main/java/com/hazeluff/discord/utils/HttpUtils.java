@@ -4,11 +4,34 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.apache.http.HttpHost;
 import org.apache.http.HttpResponse;
-import org.apache.http.client.HttpClient;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.HttpGet;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.entity.ContentType;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.util.EntityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -17,29 +40,140 @@ import com.hazeluff.discord.Config;
 public class HttpUtils {
 	private static final Logger LOGGER = LoggerFactory.getLogger(HttpUtils.class);
 
-	public static String get(URI uri) throws HttpException {
-		HttpClient client = HttpClientBuilder.create().build();
-		HttpGet request = new HttpGet(uri);
-		HttpResponse response = null;
-		int retries = Config.HTTP_REQUEST_RETRIES;
-		int httpStatusCode = -1;
-		do {
-			try {
-				response = client.execute(request);
-				httpStatusCode = response == null ? -1 : response.getStatusLine().getStatusCode();
-			} catch (IOException e) {
-				LOGGER.error("Failed to request page [" + uri.toString() + "]", e);
-			}
-		} while ((response == null || httpStatusCode != 200) && retries-- > 0);
-		if ((response == null || httpStatusCode != 200) && retries <= 0) {
-			String message = "Failed to get page after (" + Config.HTTP_REQUEST_RETRIES + ") retries.";
-			LOGGER.error(message);
-			throw new HttpException(message);
+	private static final HttpRoute NHL_API_ROUTE = toRoute(URI.create(Config.NHL_API_URL));
+
+	/**
+	 * Uses the keep-alive duration given by the server. If the server does not provide one, connections are kept
+	 * alive for {@link Config#HTTP_KEEP_ALIVE_MS}.
+	 */
+	static final ConnectionKeepAliveStrategy KEEP_ALIVE_STRATEGY = (response, context) -> {
+		long keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+		return keepAlive > 0 ? keepAlive : Config.HTTP_KEEP_ALIVE_MS;
+	};
+
+	/*
+	 * Shared by all requests so that connections (and their TLS sessions) to the NHL API are kept alive and reused
+	 * between polls. Both are lazily created on first use.
+	 */
+	private static PoolingHttpClientConnectionManager connectionManager;
+	private static CloseableHttpClient client;
+
+	private static final ResponseFingerprints FINGERPRINTS = new ResponseFingerprints();
+	private static final AtomicLong notModifiedResponses = new AtomicLong();
+	private static final AtomicLong unchangedResponses = new AtomicLong();
+
+	private static RetryExecutor retryExecutor;
+	private static RequestHedger requestHedger;
+	// Map<Endpoint, CircuitBreaker>
+	private static Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+	/*
+	 * Last body successfully retrieved by getAndRetry for each URI. Used when the NHL API cannot be reached. Only the
+	 * most recently used URIs are kept.
+	 */
+	private static Map<URI, String> lastKnownGoodResponses = createLastKnownGoodResponses();
+	private static final AtomicLong fallbackResponses = new AtomicLong();
+	// URIs whose last result of getAsync was the last known good body
+	private static final Set<URI> fallbackUris = ConcurrentHashMap.newKeySet();
+	/*
+	 * Requests per second to the NHL API. Required requests are recorded by fetch(URI). Optional (polling) requests
+	 * acquire from the budget before calling getIfChanged(URI).
+	 */
+	private static RequestBudget requestBudget = new RequestBudget("NHL API",
+			Config.NHL_API_MAX_REQUESTS_PER_SECOND, Config.NHL_API_REQUEST_BURST);
+
+	// Requests in flight, per URI. Concurrent callers of the same URI share the request.
+	private static final SingleFlight<URI, String> IN_FLIGHT_GETS = new SingleFlight<>();
+	private static final SingleFlight<URI, String> IN_FLIGHT_CHANGE_CHECKS = new SingleFlight<>();
+	private static final SingleFlight<URI, String> IN_FLIGHT_RETRIES = new SingleFlight<>();
+
+	static synchronized PoolingHttpClientConnectionManager getConnectionManager() {
+		if (connectionManager == null) {
+			connectionManager = buildConnectionManager();
 		}
+		return connectionManager;
+	}
 
-		BufferedReader rd;
-		try {
-			rd = new BufferedReader(new InputStreamReader(response.getEntity().getContent()));
+	static synchronized CloseableHttpClient getClient() {
+		if (client == null) {
+			client = buildClient();
+		}
+		return client;
+	}
+
+	static PoolingHttpClientConnectionManager buildConnectionManager() {
+		PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+		connectionManager.setMaxTotal(Config.HTTP_MAX_CONNECTIONS);
+		connectionManager.setDefaultMaxPerRoute(Config.HTTP_MAX_CONNECTIONS_PER_ROUTE);
+		connectionManager.setMaxPerRoute(NHL_API_ROUTE, Config.HTTP_MAX_NHL_API_CONNECTIONS);
+		connectionManager.setValidateAfterInactivity(Config.HTTP_VALIDATE_AFTER_INACTIVITY_MS);
+		return connectionManager;
+	}
+
+	static CloseableHttpClient buildClient() {
+		RequestConfig requestConfig = RequestConfig.custom()
+				.setConnectTimeout(Config.HTTP_CONNECT_TIMEOUT_MS)
+				.setSocketTimeout(Config.HTTP_SOCKET_TIMEOUT_MS)
+				.setConnectionRequestTimeout(Config.HTTP_CONNECTION_REQUEST_TIMEOUT_MS)
+				.build();
+		// Content compression (gzip/deflate) is enabled by default on the builder.
+		return HttpClientBuilder.create()
+				.setConnectionManager(getConnectionManager())
+				.setDefaultRequestConfig(requestConfig)
+				.setKeepAliveStrategy(KEEP_ALIVE_STRATEGY)
+				.evictExpiredConnections()
+				.evictIdleConnections(Config.HTTP_KEEP_ALIVE_MS, TimeUnit.MILLISECONDS)
+				.build();
+	}
+
+	static synchronized RetryExecutor getRetryExecutor() {
+		if (retryExecutor == null) {
+			retryExecutor = new RetryExecutor("HttpRetry", Config.HTTP_RETRY_THREADS, Config.HTTP_RETRY_BASE_DELAY_MS,
+					Config.HTTP_RETRY_MAX_DELAY_MS);
+		}
+		return retryExecutor;
+	}
+
+	static synchronized RequestHedger getRequestHedger() {
+		if (requestHedger == null) {
+			requestHedger = new RequestHedger("HttpHedge", Config.HTTP_HEDGE_SAMPLES, Config.HTTP_HEDGE_PERCENTILE,
+					Config.HTTP_HEDGE_MIN_DELAY_MS, () -> requestBudget.tryAcquire());
+		}
+		return requestHedger;
+	}
+
+	static Map<URI, String> createLastKnownGoodResponses() {
+		return Collections.synchronizedMap(new LinkedHashMap<URI, String>(16, 0.75f, true) {
+			private static final long serialVersionUID = 5226484826592612301L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<URI, String> eldest) {
+				return size() > Config.HTTP_LAST_KNOWN_GOOD_SIZE;
+			}
+		});
+	}
+
+	static HttpRoute toRoute(URI uri) {
+		boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+		int port = uri.getPort() != -1 ? uri.getPort() : secure ? 443 : 80;
+		return new HttpRoute(new HttpHost(uri.getHost(), port, uri.getScheme()), null, secure);
+	}
+
+	/**
+	 * Gets the page. Concurrent calls for the same URI share one request.
+	 * 
+	 * @param uri
+	 *            URI of the page
+	 * @return body of the page
+	 * @throws HttpException
+	 */
+	public static String get(URI uri) throws HttpException {
+		return join(IN_FLIGHT_GETS.execute(uri, () -> fetch(uri)));
+	}
+
+	static String fetch(URI uri) throws HttpException {
+		requestBudget.record();
+		HttpResponse response = execute(uri, new HttpGet(uri), false);
+		try (BufferedReader rd = new BufferedReader(new InputStreamReader(response.getEntity().getContent()))) {
 			StringBuffer result = new StringBuffer();
 			String line = "";
 			while ((line = rd.readLine()) != null) {
@@ -49,14 +183,385 @@ public class HttpUtils {
 		} catch (UnsupportedOperationException | IOException e) {
 			LOGGER.error("Error reading response");
 			throw new HttpException(e);
+		} finally {
+			release(response);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Gets the page, if it changed since the last time it was requested with this method.
+	 * </p>
+	 * 
+	 * <p>
+	 * The request is conditional (<code>If-None-Match</code>/<code>If-Modified-Since</code>) on the validators of the
+	 * previous response. If the server does not respond with <code>304 Not Modified</code>, the fingerprint of the body
+	 * is compared to the fingerprint of the previous body instead. Since the previous response is remembered per URI,
+	 * a URI should only be requested with this method by a single consumer. Concurrent calls for the same URI share
+	 * one request (and its result).
+	 * </p>
+	 * 
+	 * <p>
+	 * The request is not counted towards the {@link #getRequestBudget() request budget}. Callers poll with this method,
+	 * and should acquire from the budget before calling it.
+	 * </p>
+	 * 
+	 * @param uri
+	 *            URI of the page
+	 * @return body of the page<br>
+	 *         null, if the page is unchanged
+	 * @throws HttpException
+	 */
+	public static String getIfChanged(URI uri) throws HttpException {
+		return getIfChanged(uri, false);
+	}
+
+	/**
+	 * Gets the page with {@link #getIfChanged(URI)}. If hedged, a second request is sent when the first one is slower
+	 * than most recent requests, and the first response is used (see {@link RequestHedger}). Hedge requests are
+	 * counted towards the {@link #getRequestBudget() request budget}, and are not sent when it is spent.
+	 * 
+	 * @param uri
+	 *            URI of the page
+	 * @param hedged
+	 *            true, to hedge the request
+	 * @return body of the page<br>
+	 *         null, if the page is unchanged
+	 * @throws HttpException
+	 */
+	public static String getIfChanged(URI uri, boolean hedged) throws HttpException {
+		return join(IN_FLIGHT_CHANGE_CHECKS.execute(uri, () -> hedged
+				? toChangedBody(uri, join(getRequestHedger().submit(() -> fetchConditional(uri))))
+				: fetchIfChanged(uri)));
+	}
+
+	static String fetchIfChanged(URI uri) throws HttpException {
+		return toChangedBody(uri, fetchConditional(uri));
+	}
+
+	/**
+	 * Requests the page, conditional on the validators of the previous response. The response is read and released,
+	 * but the fingerprints are not updated, so that the response can still be discarded (e.g. by a hedge).
+	 */
+	static ConditionalResponse fetchConditional(URI uri) throws HttpException {
+		HttpGet request = new HttpGet(uri);
+		FINGERPRINTS.addConditionalHeaders(uri, request);
+		HttpResponse response = execute(uri, request, true);
+		try {
+			if (response.getStatusLine().getStatusCode() == HttpStatus.SC_NOT_MODIFIED) {
+				return new ConditionalResponse(response, null);
+			}
+			return new ConditionalResponse(response, EntityUtils.toByteArray(response.getEntity()));
+		} catch (IOException e) {
+			LOGGER.error("Error reading response");
+			throw new HttpException(e);
+		} finally {
+			release(response);
+		}
+	}
+
+	/**
+	 * Updates the fingerprints with the response.
+	 * 
+	 * @return body of the response<br>
+	 *         null, if the page is unchanged
+	 */
+	static String toChangedBody(URI uri, ConditionalResponse conditionalResponse) {
+		HttpResponse response = conditionalResponse.response;
+		byte[] body = conditionalResponse.body;
+		if (body == null) {
+			LOGGER.trace("Not modified: [{}]", uri);
+			notModifiedResponses.incrementAndGet();
+			return null;
+		}
+		if (!FINGERPRINTS.update(uri, response, body)) {
+			LOGGER.trace("Unchanged: [{}]", uri);
+			unchangedResponses.incrementAndGet();
+			return null;
 		}
+		Charset charset = ContentType.getOrDefault(response.getEntity()).getCharset();
+		return new String(body, charset != null ? charset : StandardCharsets.UTF_8);
 	}
 
-	public static String getAndRetry(URI uri, int retries, long sleepMs, String description) throws HttpException {
+	/**
+	 * Response to a conditional request, with its body read.
+	 */
+	static class ConditionalResponse {
+		final HttpResponse response;
+		// null, if not modified
+		final byte[] body;
+
+		ConditionalResponse(HttpResponse response, byte[] body) {
+			this.response = response;
+			this.body = body;
+		}
+	}
+
+	/**
+	 * Executes the request once. The request is not sent if the circuit breaker of the endpoint is open. Retries are
+	 * left to the caller (see {@link #getAsync(URI, int, String)}).
+	 * 
+	 * @param uri
+	 *            URI of the request
+	 * @param request
+	 *            request to execute
+	 * @param acceptNotModified
+	 *            true, if status 304 is accepted as well as 200
+	 * @return response with an accepted status. Must be released with {@link #release(HttpResponse)}.
+	 * @throws CircuitOpenException
+	 *             if the circuit breaker of the endpoint is open
+	 * @throws HttpException
+	 *             if the request failed or the response does not have an accepted status
+	 */
+	static HttpResponse execute(URI uri, HttpGet request, boolean acceptNotModified) throws HttpException {
+		CircuitBreaker circuitBreaker = getCircuitBreaker(uri);
+		if (!circuitBreaker.tryAcquire()) {
+			throw new CircuitOpenException("Circuit of [" + circuitBreaker.getName() + "] is open.");
+		}
+
+		HttpResponse response;
 		try {
-			return Utils.getAndRetry(() -> get(uri), retries, sleepMs, description);
-		} catch (TimeoutException e) {
+			response = getClient().execute(request);
+		} catch (IOException e) {
+			circuitBreaker.onFailure();
+			LOGGER.error("Failed to request page [" + uri + "]", e);
 			throw new HttpException(e);
+		} catch (RuntimeException e) {
+			// Reported as well, so that a trial request of a half open circuit does not keep its permit
+			circuitBreaker.onFailure();
+			LOGGER.error("Failed to request page [" + uri + "]", e);
+			throw e;
 		}
+
+		int httpStatusCode = response == null ? -1 : response.getStatusLine().getStatusCode();
+		if (httpStatusCode == HttpStatus.SC_OK || (acceptNotModified && httpStatusCode == HttpStatus.SC_NOT_MODIFIED)) {
+			circuitBreaker.onSuccess();
+			return response;
+		}
+
+		if (response != null) {
+			release(response);
+		}
+		// Only errors of the server count towards opening the circuit. Other statuses are answers from a healthy server.
+		if (httpStatusCode == -1 || httpStatusCode >= 500 || httpStatusCode == 429) {
+			circuitBreaker.onFailure();
+		} else {
+			circuitBreaker.onSuccess();
+		}
+		String message = "Failed to get page [" + uri + "]. Status: " + httpStatusCode;
+		LOGGER.error(message);
+		throw new HttpException(message);
+	}
+
+	/**
+	 * Gets the circuit breaker of the endpoint (host and path) of the URI.
+	 * 
+	 * @param uri
+	 *            URI of the request
+	 * @return circuit breaker of the endpoint
+	 */
+	static CircuitBreaker getCircuitBreaker(URI uri) {
+		String endpoint = uri.getHost() + uri.getPath();
+		return circuitBreakers.computeIfAbsent(endpoint, key -> new CircuitBreaker(key,
+				Config.HTTP_CIRCUIT_FAILURE_THRESHOLD, Config.HTTP_CIRCUIT_OPEN_MS));
+	}
+
+	/**
+	 * Consumes the remaining content of the response so that its connection is returned to the pool.
+	 * 
+	 * @param response
+	 *            response to release
+	 */
+	static void release(HttpResponse response) {
+		EntityUtils.consumeQuietly(response.getEntity());
+	}
+
+	/**
+	 * <p>
+	 * Gets the page, retrying with backoff (see {@link RetryExecutor}). No thread waits between attempts. Requests are
+	 * not retried while the circuit breaker of the endpoint is open.
+	 * </p>
+	 * 
+	 * <p>
+	 * If all attempts fail, the future completes with the last body that was retrieved for the URI (last known good),
+	 * if there is one.
+	 * </p>
+	 * 
+	 * <p>
+	 * Concurrent calls for the same URI share one future, including its retries.
+	 * </p>
+	 * 
+	 * @param uri
+	 *            URI of the page
+	 * @param attempts
+	 *            maximum number of requests
+	 * @param description
+	 *            description of the request, for logging
+	 * @return future of the body of the page. Completes exceptionally with a {@link CompletionException} if the page
+	 *         could not be retrieved and there is no last known good body.
+	 */
+	public static CompletableFuture<String> getAsync(URI uri, int attempts, String description) {
+		return IN_FLIGHT_RETRIES.executeAsync(uri, () -> getRetryExecutor()
+				.submit(() -> get(uri), attempts, e -> !(e instanceof CircuitOpenException), description)
+				.handle((body, throwable) -> {
+					if (throwable == null) {
+						lastKnownGoodResponses.put(uri, body);
+						fallbackUris.remove(uri);
+						return body;
+					}
+					String lastKnownGood = lastKnownGoodResponses.get(uri);
+					if (lastKnownGood == null) {
+						throw throwable instanceof CompletionException
+								? (CompletionException) throwable
+								: new CompletionException(throwable);
+					}
+					fallbackResponses.incrementAndGet();
+					fallbackUris.add(uri);
+					LOGGER.warn("Failed to get [{}]. Using the last known good response.", description);
+					return lastKnownGood;
+				}));
+	}
+
+	/**
+	 * Gets the page with {@link #getAsync(URI, int, String)}, and waits for the result.
+	 * 
+	 * @param uri
+	 *            URI of the page
+	 * @param attempts
+	 *            maximum number of requests
+	 * @param description
+	 *            description of the request, for logging
+	 * @return body of the page, or the last known good body
+	 * @throws HttpException
+	 *             if the page could not be retrieved and there is no last known good body
+	 */
+	public static String getAndRetry(URI uri, int attempts, String description) throws HttpException {
+		return join(getAsync(uri, attempts, description));
+	}
+
+	/**
+	 * Determines if the last body that {@link #getAsync(URI, int, String)} got for the URI was the last known good body,
+	 * instead of a fresh one.
+	 * 
+	 * @param uri
+	 *            URI of the page
+	 * @return true, if the last body was the last known good body<br>
+	 *         false, otherwise
+	 */
+	public static boolean isFallback(URI uri) {
+		return fallbackUris.contains(uri);
+	}
+
+	/**
+	 * Waits for the body, and unwraps the exception it failed with.
+	 */
+	static <T> T join(CompletableFuture<T> future) throws HttpException {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			Throwable cause = e.getCause() != null ? e.getCause() : e;
+			if (cause instanceof HttpException) {
+				throw (HttpException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new HttpException(cause);
+		}
+	}
+
+	/**
+	 * Forgets the previous response of the URI, so that the next {@link #getIfChanged(URI)} returns the page even if
+	 * it is unchanged.
+	 * 
+	 * @param uri
+	 *            URI of the page
+	 */
+	public static void forgetResponse(URI uri) {
+		FINGERPRINTS.remove(uri);
+	}
+
+	/**
+	 * @return number of responses to {@link #getIfChanged(URI)} that were <code>304 Not Modified</code>
+	 */
+	public static long getNotModifiedResponses() {
+		return notModifiedResponses.get();
+	}
+
+	/**
+	 * @return number of responses to {@link #getIfChanged(URI)} with a body that was the same as the previous body
+	 */
+	public static long getUnchangedResponses() {
+		return unchangedResponses.get();
+	}
+
+	/**
+	 * @return number of times {@link #getAsync(URI, int, String)} used the last known good response
+	 */
+	public static long getFallbackResponses() {
+		return fallbackResponses.get();
+	}
+
+	/**
+	 * @return number of calls that shared the result of a request in flight for the same URI, instead of making a
+	 *         request
+	 */
+	public static long getSharedRequests() {
+		return IN_FLIGHT_GETS.getShared() + IN_FLIGHT_CHANGE_CHECKS.getShared() + IN_FLIGHT_RETRIES.getShared();
+	}
+
+	/**
+	 * Gets the budget shared by all requests to the NHL API.
+	 * 
+	 * @return the request budget
+	 */
+	public static RequestBudget getRequestBudget() {
+		return requestBudget;
+	}
+
+	/**
+	 * @return number of hedge requests that were sent by {@link #getIfChanged(URI, boolean)}
+	 */
+	public static long getHedgedRequests() {
+		return getRequestHedger().getHedged();
+	}
+
+	/**
+	 * @return number of hedge requests that returned before the request they hedged
+	 */
+	public static long getHedgeWins() {
+		return getRequestHedger().getHedgeWins();
+	}
+
+	/**
+	 * @return current time (ms) after which a request is hedged. -1, if requests are not hedged yet.
+	 */
+	public static long getHedgeDelayMs() {
+		return getRequestHedger().getHedgeDelay();
+	}
+
+	/**
+	 * @return circuit breakers of all endpoints that were requested
+	 */
+	public static List<CircuitBreaker> getCircuitBreakers() {
+		return new ArrayList<>(circuitBreakers.values());
+	}
+
+	/**
+	 * Gets the utilization of the connection pool across all routes.
+	 * 
+	 * @return stats of the connection pool
+	 */
+	public static PoolStats getPoolStats() {
+		return getConnectionManager().getTotalStats();
+	}
+
+	/**
+	 * Gets the utilization of the connection pool for connections to the NHL API.
+	 * 
+	 * @return stats of the NHL API connections in the pool
+	 */
+	public static PoolStats getNHLApiPoolStats() {
+		return getConnectionManager().getStats(NHL_API_ROUTE);
 	}
 }
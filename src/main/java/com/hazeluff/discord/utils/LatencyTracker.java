@@ -0,0 +1,45 @@
+package com.hazeluff.discord.utils;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the most recent latencies of a request, to get percentiles of them. Older samples are overwritten, so that
+ * the percentiles follow the current state of the server.
+ */
+public class LatencyTracker {
+	private final long[] samples;
+	private int next = 0;
+	private int size = 0;
+
+	public LatencyTracker(int capacity) {
+		this.samples = new long[capacity];
+	}
+
+	public synchronized void record(long latencyMs) {
+		samples[next] = latencyMs;
+		next = (next + 1) % samples.length;
+		size = Math.min(size + 1, samples.length);
+	}
+
+	/**
+	 * Gets the latency that the given percentage of the samples are at or below.
+	 *
+	 * @param percentile
+	 *            percentile (0-100)
+	 * @return latency (ms)<br>
+	 *         -1, if there are no samples
+	 */
+	public synchronized long getPercentile(double percentile) {
+		if (size == 0) {
+			return -1;
+		}
+		long[] sorted = Arrays.copyOf(samples, size);
+		Arrays.sort(sorted);
+		int index = (int) Math.ceil(percentile / 100d * size) - 1;
+		return sorted[Math.max(0, Math.min(size - 1, index))];
+	}
+
+	public synchronized int size() {
+		return size;
+	}
+}
@@ -0,0 +1,127 @@
+package com.hazeluff.discord.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * <p>
+ * Bounds the rate of requests to an API, shared by everything that requests it.
+ * </p>
+ *
+ * <p>
+ * The budget is a token bucket: tokens are refilled at a fixed rate, up to a burst size, and each request that is sent
+ * takes a token. Requests that must be sent are always recorded, even if no token is left; the budget then goes into
+ * debt (at most the burst size), which is paid back before optional requests are allowed again. Optional requests
+ * (e.g. polling) check {@link #tryAcquire()} first, and are deferred when the budget is spent.
+ * </p>
+ */
+public class RequestBudget {
+	private final String name;
+	private final double permitsPerMs;
+	private final double burst;
+	private final LongSupplier clock;
+
+	private double tokens;
+	private long lastRefill;
+
+	private final AtomicLong acquired = new AtomicLong();
+	private final AtomicLong recorded = new AtomicLong();
+	private final AtomicLong denied = new AtomicLong();
+
+	public RequestBudget(String name, double permitsPerSecond, int burst) {
+		this(name, permitsPerSecond, burst, Utils::getCurrentTime);
+	}
+
+	RequestBudget(String name, double permitsPerSecond, int burst, LongSupplier clock) {
+		this.name = name;
+		this.permitsPerMs = permitsPerSecond / 1000d;
+		this.burst = burst;
+		this.clock = clock;
+		this.tokens = burst;
+		this.lastRefill = clock.getAsLong();
+	}
+
+	/**
+	 * Takes a token for an optional request.
+	 *
+	 * @return true, if the request may be sent<br>
+	 *         false, if the budget is spent. The request should be deferred.
+	 */
+	public synchronized boolean tryAcquire() {
+		refill();
+		if (tokens < 1) {
+			denied.incrementAndGet();
+			return false;
+		}
+		tokens--;
+		acquired.incrementAndGet();
+		return true;
+	}
+
+	/**
+	 * Records a request that is sent regardless of the budget.
+	 */
+	public synchronized void record() {
+		refill();
+		tokens = Math.max(-burst, tokens - 1);
+		recorded.incrementAndGet();
+	}
+
+	private void refill() {
+		long now = clock.getAsLong();
+		if (now > lastRefill) {
+			tokens = Math.min(burst, tokens + (now - lastRefill) * permitsPerMs);
+			lastRefill = now;
+		}
+	}
+
+	/**
+	 * @return time (ms) until a token is available. 0, if one is available now.
+	 */
+	public synchronized long getWaitMs() {
+		refill();
+		if (tokens >= 1) {
+			return 0;
+		}
+		return (long) Math.ceil((1 - tokens) / permitsPerMs);
+	}
+
+	/**
+	 * @return number of whole tokens currently available. Negative, if the budget is in debt.
+	 */
+	public synchronized long getAvailable() {
+		refill();
+		return (long) Math.floor(tokens);
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return number of optional requests that were allowed
+	 */
+	public long getAcquired() {
+		return acquired.get();
+	}
+
+	/**
+	 * @return number of required requests that were recorded
+	 */
+	public long getRecorded() {
+		return recorded.get();
+	}
+
+	/**
+	 * @return number of optional requests that were deferred because the budget was spent
+	 */
+	public long getDenied() {
+		return denied.get();
+	}
+
+	@Override
+	public String toString() {
+		return "RequestBudget [name=" + name + ", available=" + getAvailable() + ", acquired=" + getAcquired()
+				+ ", recorded=" + getRecorded() + ", denied=" + getDenied() + "]";
+	}
+}
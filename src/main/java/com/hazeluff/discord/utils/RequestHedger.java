@@ -0,0 +1,199 @@
+package com.hazeluff.discord.utils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ * Sends a second (hedge) request when the first one is slow, and takes whichever succeeds first.
+ * </p>
+ *
+ * <p>
+ * A request is slow once it takes longer than a percentile (e.g. p95) of the recent latencies of the requests. Since
+ * only the slowest requests are hedged, the extra load is small. No request is hedged until enough latencies are
+ * known, and each hedge must be permitted (e.g. by a {@link RequestBudget}). The result of the request that loses is
+ * discarded.
+ * </p>
+ *
+ * <p>
+ * The result fails only when every request that was sent failed. A request that fails before the hedge is sent is
+ * not hedged.
+ * </p>
+ *
+ * <p>
+ * Requests (and hedges) are sent from their own threads, and the scheduler only fires the hedges. Otherwise slow
+ * requests could take up the threads of the scheduler, and delay the hedges that are meant to cover them.
+ * </p>
+ */
+class RequestHedger {
+	private static final Logger LOGGER = LoggerFactory.getLogger(RequestHedger.class);
+
+	// Number of latencies that must be known before requests are hedged
+	static final int MIN_SAMPLES = 20;
+
+	private final ScheduledExecutorService scheduler;
+	private final ExecutorService executor;
+	private final LatencyTracker latencies;
+	private final double percentile;
+	private final long minDelayMs;
+	private final BooleanSupplier hedgePermit;
+	private final LongSupplier clock;
+
+	private final AtomicLong requests = new AtomicLong();
+	private final AtomicLong hedged = new AtomicLong();
+	private final AtomicLong hedgeWins = new AtomicLong();
+
+	RequestHedger(String name, int samples, double percentile, long minDelayMs, BooleanSupplier hedgePermit) {
+		this(Executors.newSingleThreadScheduledExecutor(newThreadFactory(name + "-Timer")),
+				Executors.newCachedThreadPool(newThreadFactory(name)), new LatencyTracker(samples), percentile,
+				minDelayMs, hedgePermit, Utils::getCurrentTime);
+	}
+
+	RequestHedger(ScheduledExecutorService scheduler, ExecutorService executor, LatencyTracker latencies,
+			double percentile, long minDelayMs, BooleanSupplier hedgePermit, LongSupplier clock) {
+		this.scheduler = scheduler;
+		this.executor = executor;
+		this.latencies = latencies;
+		this.percentile = percentile;
+		this.minDelayMs = minDelayMs;
+		this.hedgePermit = hedgePermit;
+		this.clock = clock;
+	}
+
+	private static ThreadFactory newThreadFactory(String name) {
+		return new ThreadFactory() {
+			private final AtomicInteger count = new AtomicInteger();
+
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		};
+	}
+
+	/**
+	 * Sends the request, and a hedge of it if it is slow.
+	 *
+	 * @param request
+	 *            request to send. Must be safe to send twice.
+	 * @return future of the result of the first request that succeeds
+	 */
+	<T> CompletableFuture<T> submit(CheckedSupplier<T> request) {
+		requests.incrementAndGet();
+		Attempts<T> attempts = new Attempts<>();
+		try {
+			executor.execute(() -> attempt(request, false, attempts));
+		} catch (RejectedExecutionException e) {
+			attempts.result.completeExceptionally(e);
+			return attempts.result;
+		}
+
+		long hedgeDelayMs = getHedgeDelay();
+		if (hedgeDelayMs >= 0) {
+			ScheduledFuture<?> hedge = scheduler.schedule(() -> {
+				if (!attempts.result.isDone() && hedgePermit.getAsBoolean() && attempts.startHedge()) {
+					LOGGER.debug("Request is slower than [{}ms]. Sending hedge.", hedgeDelayMs);
+					hedged.incrementAndGet();
+					sendHedge(request, attempts);
+				}
+			}, hedgeDelayMs, TimeUnit.MILLISECONDS);
+			attempts.result.whenComplete((result, throwable) -> hedge.cancel(false));
+		}
+		return attempts.result;
+	}
+
+	private <T> void sendHedge(CheckedSupplier<T> request, Attempts<T> attempts) {
+		try {
+			executor.execute(() -> attempt(request, true, attempts));
+		} catch (RejectedExecutionException e) {
+			attempts.onFailure(e);
+		}
+	}
+
+	private <T> void attempt(CheckedSupplier<T> request, boolean hedge, Attempts<T> attempts) {
+		long start = clock.getAsLong();
+		T result;
+		try {
+			result = request.get();
+		} catch (Exception e) {
+			attempts.onFailure(e);
+			return;
+		}
+		latencies.record(clock.getAsLong() - start);
+		if (attempts.result.complete(result) && hedge) {
+			hedgeWins.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Gets the time after which a request is hedged.
+	 *
+	 * @return delay (ms)<br>
+	 *         -1, if not enough latencies are known to hedge requests
+	 */
+	long getHedgeDelay() {
+		if (latencies.size() < MIN_SAMPLES) {
+			return -1;
+		}
+		return Math.max(minDelayMs, latencies.getPercentile(percentile));
+	}
+
+	long getRequests() {
+		return requests.get();
+	}
+
+	/**
+	 * @return number of hedge requests that were sent
+	 */
+	long getHedged() {
+		return hedged.get();
+	}
+
+	/**
+	 * @return number of hedge requests that succeeded before the request they hedged
+	 */
+	long getHedgeWins() {
+		return hedgeWins.get();
+	}
+
+	/**
+	 * Requests sent for one call to {@link RequestHedger#submit(CheckedSupplier)}.
+	 */
+	private static class Attempts<T> {
+		final CompletableFuture<T> result = new CompletableFuture<>();
+		private int running = 1;
+		private Exception failure;
+
+		synchronized boolean startHedge() {
+			if (result.isDone()) {
+				return false;
+			}
+			running++;
+			return true;
+		}
+
+		synchronized void onFailure(Exception e) {
+			if (failure == null) {
+				failure = e;
+			}
+			if (--running == 0) {
+				result.completeExceptionally(failure);
+			}
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package com.hazeluff.discord.utils;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+
+/**
+ * <p>
+ * Remembers the last response of each URI, so that a response that did not change can be detected without parsing it.
+ * </p>
+ *
+ * <p>
+ * The validators sent by the server (<code>ETag</code> and <code>Last-Modified</code>) are added to the next request,
+ * so that the server can respond with <code>304 Not Modified</code>. Servers that do not support conditional requests
+ * still return the full body; a fingerprint (hash) of the body is compared to the fingerprint of the last body instead.
+ * </p>
+ */
+class ResponseFingerprints {
+
+	private static class Entry {
+		private final String eTag;
+		private final String lastModified;
+		private final long fingerprint;
+
+		private Entry(String eTag, String lastModified, long fingerprint) {
+			this.eTag = eTag;
+			this.lastModified = lastModified;
+			this.fingerprint = fingerprint;
+		}
+	}
+
+	// FNV-1a (64 bit)
+	private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	private final Map<URI, Entry> entries = new ConcurrentHashMap<>();
+
+	/**
+	 * Adds the validators of the last response of the URI to the request.
+	 *
+	 * @param uri
+	 *            URI of the request
+	 * @param request
+	 *            request to add headers to
+	 */
+	void addConditionalHeaders(URI uri, HttpRequest request) {
+		Entry entry = entries.get(uri);
+		if (entry == null) {
+			return;
+		}
+		if (entry.eTag != null) {
+			request.setHeader(HttpHeaders.IF_NONE_MATCH, entry.eTag);
+		}
+		if (entry.lastModified != null) {
+			request.setHeader(HttpHeaders.IF_MODIFIED_SINCE, entry.lastModified);
+		}
+	}
+
+	/**
+	 * Stores the validators and fingerprint of the response.
+	 *
+	 * @param uri
+	 *            URI of the request
+	 * @param response
+	 *            response with status 200
+	 * @param body
+	 *            body of the response
+	 * @return true, if the body is different from the last body of the URI<br>
+	 *         false, otherwise
+	 */
+	boolean update(URI uri, HttpResponse response, byte[] body) {
+		long fingerprint = fingerprint(body);
+		Entry entry = new Entry(getHeader(response, HttpHeaders.ETAG), getHeader(response, HttpHeaders.LAST_MODIFIED),
+				fingerprint);
+		Entry previousEntry = entries.put(uri, entry);
+		return previousEntry == null || previousEntry.fingerprint != fingerprint;
+	}
+
+	boolean contains(URI uri) {
+		return entries.containsKey(uri);
+	}
+
+	void remove(URI uri) {
+		entries.remove(uri);
+	}
+
+	static long fingerprint(byte[] bytes) {
+		long hash = FNV_OFFSET_BASIS;
+		for (byte b : bytes) {
+			hash ^= (b & 0xff);
+			hash *= FNV_PRIME;
+		}
+		return hash;
+	}
+
+	private static String getHeader(HttpResponse response, String name) {
+		return response.containsHeader(name) ? response.getFirstHeader(name).getValue() : null;
+	}
+}
@@ -0,0 +1,150 @@
+package com.hazeluff.discord.utils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ * Retries failed tasks with exponential backoff, without blocking the thread that submitted them.
+ * </p>
+ *
+ * <p>
+ * Attempts are run on a scheduler. Between attempts, nothing waits: the next attempt is scheduled after the delay. The
+ * delay doubles with each attempt (up to a maximum), and half of it is randomized (jitter) so that clients that failed
+ * together do not retry together.
+ * </p>
+ */
+public class RetryExecutor {
+	private static final Logger LOGGER = LoggerFactory.getLogger(RetryExecutor.class);
+
+	private final ScheduledExecutorService scheduler;
+	private final long baseDelayMs;
+	private final long maxDelayMs;
+
+	private final AtomicLong attempts = new AtomicLong();
+	private final AtomicLong retries = new AtomicLong();
+	private final AtomicLong succeeded = new AtomicLong();
+	private final AtomicLong failed = new AtomicLong();
+
+	public RetryExecutor(String name, int threads, long baseDelayMs, long maxDelayMs) {
+		this(Executors.newScheduledThreadPool(threads, new ThreadFactory() {
+			private final AtomicInteger count = new AtomicInteger();
+
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		}), baseDelayMs, maxDelayMs);
+	}
+
+	RetryExecutor(ScheduledExecutorService scheduler, long baseDelayMs, long maxDelayMs) {
+		this.scheduler = scheduler;
+		this.baseDelayMs = baseDelayMs;
+		this.maxDelayMs = maxDelayMs;
+	}
+
+	/**
+	 * Runs the task until it succeeds, the attempts run out, or it fails with an exception that is not retryable.
+	 *
+	 * @param supplier
+	 *            task to run
+	 * @param maxAttempts
+	 *            maximum number of times to run the task
+	 * @param retryable
+	 *            determines if the task should be retried after failing with the exception
+	 * @param description
+	 *            description of the task, for logging
+	 * @return future that completes with the result of the task, or exceptionally with the exception of the last
+	 *         attempt
+	 */
+	public <T> CompletableFuture<T> submit(CheckedSupplier<T> supplier, int maxAttempts,
+			Predicate<Exception> retryable, String description) {
+		CompletableFuture<T> future = new CompletableFuture<>();
+		try {
+			scheduler.execute(() -> attempt(supplier, 1, maxAttempts, retryable, description, future));
+		} catch (RejectedExecutionException e) {
+			future.completeExceptionally(e);
+		}
+		return future;
+	}
+
+	public <T> CompletableFuture<T> submit(CheckedSupplier<T> supplier, int maxAttempts, String description) {
+		return submit(supplier, maxAttempts, e -> true, description);
+	}
+
+	private <T> void attempt(CheckedSupplier<T> supplier, int attempt, int maxAttempts,
+			Predicate<Exception> retryable, String description, CompletableFuture<T> future) {
+		attempts.incrementAndGet();
+		T result;
+		try {
+			result = supplier.get();
+		} catch (Exception e) {
+			if (attempt >= maxAttempts || !retryable.test(e)) {
+				failed.incrementAndGet();
+				LOGGER.warn(String.format("Failed to get [%s] after attempts [%s]", description, attempt), e);
+				future.completeExceptionally(e);
+				return;
+			}
+			long delayMs = getDelay(attempt);
+			LOGGER.warn(String.format("Failed to get [%s]. Retry in [%sms]", description, delayMs), e);
+			retries.incrementAndGet();
+			try {
+				scheduler.schedule(() -> attempt(supplier, attempt + 1, maxAttempts, retryable, description, future),
+						delayMs, TimeUnit.MILLISECONDS);
+			} catch (RejectedExecutionException rejectedException) {
+				future.completeExceptionally(e);
+			}
+			return;
+		}
+		succeeded.incrementAndGet();
+		future.complete(result);
+	}
+
+	/**
+	 * Gets the delay before the next attempt: half of the backoff, plus a random part of the other half.
+	 *
+	 * @param attempt
+	 *            the attempt that failed (starting at 1)
+	 * @return delay in ms
+	 */
+	long getDelay(int attempt) {
+		long backoff = Math.min(maxDelayMs, baseDelayMs << Math.min(attempt - 1, 30));
+		if (backoff < 0) {
+			backoff = maxDelayMs;
+		}
+		long half = backoff / 2;
+		return half + ThreadLocalRandom.current().nextLong(backoff - half + 1);
+	}
+
+	public long getAttempts() {
+		return attempts.get();
+	}
+
+	public long getRetries() {
+		return retries.get();
+	}
+
+	public long getSucceeded() {
+		return succeeded.get();
+	}
+
+	/**
+	 * @return number of tasks that failed after all of their attempts
+	 */
+	public long getFailed() {
+		return failed.get();
+	}
+}
@@ -0,0 +1,115 @@
+package com.hazeluff.discord.utils;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Coalesces concurrent calls for the same key into one call.
+ * </p>
+ *
+ * <p>
+ * The first caller of a key (the leader) makes the call, and its future is put in a table of in-flight calls. Callers
+ * of the same key that arrive while the call is in flight get the leader's result instead of making their own call.
+ * The key is removed from the table before the result is published, so callers that arrive after the call finished
+ * make a new call.
+ * </p>
+ *
+ * @param <K>
+ *            type of the key
+ * @param <V>
+ *            type of the result
+ */
+class SingleFlight<K, V> {
+	private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+	private final AtomicLong calls = new AtomicLong();
+	private final AtomicLong shared = new AtomicLong();
+
+	/**
+	 * Makes the call on the current thread, or waits for the call that is in flight for the key.
+	 *
+	 * @param key
+	 *            key of the call
+	 * @param call
+	 *            call to make, if none is in flight
+	 * @return future of the result. Already completed, if this caller made the call.
+	 */
+	CompletableFuture<V> execute(K key, CheckedSupplier<V> call) {
+		return executeAsync(key, () -> {
+			CompletableFuture<V> future = new CompletableFuture<>();
+			try {
+				future.complete(call.get());
+			} catch (Exception e) {
+				future.completeExceptionally(e);
+			}
+			return future;
+		});
+	}
+
+	/**
+	 * Starts the asynchronous call, or joins the call that is in flight for the key.
+	 *
+	 * @param key
+	 *            key of the call
+	 * @param call
+	 *            starts the call, if none is in flight
+	 * @return future of the result
+	 */
+	CompletableFuture<V> executeAsync(K key, Supplier<CompletableFuture<V>> call) {
+		CompletableFuture<V> future = new CompletableFuture<>();
+		CompletableFuture<V> inFlightFuture = inFlight.putIfAbsent(key, future);
+		if (inFlightFuture != null) {
+			shared.incrementAndGet();
+			return copy(inFlightFuture);
+		}
+
+		calls.incrementAndGet();
+		CompletableFuture<V> callFuture;
+		try {
+			callFuture = call.get();
+		} catch (RuntimeException e) {
+			inFlight.remove(key, future);
+			future.completeExceptionally(e);
+			return copy(future);
+		}
+		callFuture.whenComplete((result, throwable) -> {
+			inFlight.remove(key, future);
+			if (throwable != null) {
+				future.completeExceptionally(throwable);
+			} else {
+				future.complete(result);
+			}
+		});
+		return copy(future);
+	}
+
+	/*
+	 * Each caller gets its own future, so that one caller cannot complete or cancel the shared future of the others.
+	 */
+	private static <V> CompletableFuture<V> copy(CompletableFuture<V> future) {
+		return future.thenApply(Function.identity());
+	}
+
+	/**
+	 * @return number of calls that were made
+	 */
+	long getCalls() {
+		return calls.get();
+	}
+
+	/**
+	 * @return number of callers that got the result of a call in flight, instead of making a call
+	 */
+	long getShared() {
+		return shared.get();
+	}
+
+	int getInFlight() {
+		return inFlight.size();
+	}
+}
@@ -136,18 +136,6 @@ public class Utils {
 		return new LinkedHashSet<T>(Arrays.asList(elements));
 	}
 
-	public static <T> T getAndRetry(CheckedSupplier<T> supplier, int retries, long sleepMs, String description) {
-		for (int tries = 0; tries < retries; tries++) {
-			try {
-				return supplier.get();
-			} catch (Exception e) {
-				LOGGER.warn(String.format("Failed to get [%s]. Retry in [%sms]", description, sleepMs), e);
-				Utils.sleep(sleepMs);
-			}
-		}
-		throw new TimeoutException(String.format("Failed to get [%s] after retries [%s]", description, retries));
-	}
-
 	public static <T> boolean isListEquivalent(List<T> listA, List<T> listB) {
 		return listA.containsAll(listB) && listB.containsAll(listA) && listA.size() == listB.size();
 	}
@@ -5,7 +5,9 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -29,23 +31,30 @@ import org.junit.runner.RunWith;
 import org.mockito.Answers;
 import org.mockito.InOrder;
 import org.mockito.Mock;
+import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.hazeluff.discord.bot.discord.DiscordManager;
+import com.hazeluff.discord.bot.discord.RequestPriority;
 import com.hazeluff.discord.nhl.Game;
 import com.hazeluff.discord.nhl.GameEvent;
 import com.hazeluff.discord.nhl.GamePeriod;
 import com.hazeluff.discord.nhl.GamePeriod.Type;
+import com.hazeluff.discord.nhl.GameSnapshot;
+import com.hazeluff.discord.nhl.GameStatus;
 import com.hazeluff.discord.nhl.GameTracker;
-import com.hazeluff.discord.nhl.Player;
 import com.hazeluff.discord.nhl.Team;
 import com.hazeluff.discord.utils.DateUtils;
 import com.hazeluff.discord.utils.Utils;
 
+import discord4j.common.util.Snowflake;
 import discord4j.core.object.entity.Guild;
+import discord4j.core.object.entity.Message;
 import discord4j.core.object.entity.channel.TextChannel;
+import reactor.core.publisher.Mono;
 
 @RunWith(PowerMockRunner.class)
 @PrepareForTest(DateUtils.class)
@@ -57,6 +66,7 @@ public class GameDayChannelTest {
 	private static final Team HOME_TEAM = Team.FLORIDA_PANTHERS;
 	private static final int HOME_SCORE = Utils.getRandomInt();
 	private static final ZoneId TIME_ZONE = ZoneId.of("Canada/Pacific");
+	private static final long GUILD_ID = 100;
 	private static final ZonedDateTime DATE = ZonedDateTime.of(2000, 12, 31, 12, 56, 42, 100, ZoneOffset.UTC);
 	private List<GameEvent> events;
 
@@ -86,8 +96,9 @@ public class GameDayChannelTest {
 		when(mockGame.getHomeTeam()).thenReturn(HOME_TEAM);
 		when(mockGame.getHomeScore()).thenReturn(HOME_SCORE);
 		when(mockGame.getDate()).thenReturn(DATE);
+		when(mockGuild.getId()).thenReturn(Snowflake.of(GUILD_ID));
 
-		gameDayChannel = new GameDayChannel(mockNHLBot, mockGameTracker, mockGame, events, mockGuild, mockChannel);
+		gameDayChannel = new GameDayChannel(mockNHLBot, mockGameTracker, mockGame, mockGuild, mockChannel);
 		spyGameDayChannel = spy(gameDayChannel);
 	}
 
@@ -142,6 +153,7 @@ public class GameDayChannelTest {
 	@Test
 	public void getChannelNameShouldReturnFormattedString() {
 		LOGGER.info("getChannelNameShouldReturnFormattedString");
+		when(mockGame.getChannelName()).thenReturn("fla-vs-van-00-12-31");
 		String result = gameDayChannel.getChannelName();
 		String staticResult = GameDayChannel.getChannelName(mockGame);
 
@@ -174,6 +186,22 @@ public class GameDayChannelTest {
 		assertEquals(result, staticResult);
 	}
 
+	@Test
+	@PrepareForTest({ DateUtils.class, GameSnapshot.class })
+	public void renderEndOfGameMessageShouldRenderFromSnapshot() {
+		LOGGER.info("renderEndOfGameMessageShouldRenderFromSnapshot");
+		// The game was updated after the snapshot was taken
+		GameSnapshot mockSnapshot = PowerMockito.mock(GameSnapshot.class);
+		when(mockSnapshot.getHomeScore()).thenReturn(HOME_SCORE + 1);
+		when(mockSnapshot.getAwayScore()).thenReturn(AWAY_SCORE + 1);
+		when(mockSnapshot.getEvents()).thenReturn(Collections.emptyList());
+
+		String result = gameDayChannel.renderEndOfGameMessage(mockSnapshot, Collections.emptyList(), TIME_ZONE);
+
+		assertTrue(result.contains(GameDayChannel.renderScoreMessage(mockGame, HOME_SCORE + 1, AWAY_SCORE + 1)));
+		assertFalse(result.contains(GameDayChannel.renderScoreMessage(mockGame, HOME_SCORE, AWAY_SCORE)));
+	}
+
 	@Test
 	public void getGoalMessageShouldDisplayRegularPeriodGoalsAndOvertimeGoal() {
 		LOGGER.info("getGoalMessageShouldDisplayRegularPeriodGoalsAndOvertimeGoal");
@@ -277,176 +305,154 @@ public class GameDayChannelTest {
 	}
 
 	@Test
-	public void updateMessagesShouldSendMessagesForNewNewEvents() {
-		LOGGER.info("updateMessagesShouldSendMessagesForNewNewEvents");
-		List<GameEvent> events = new ArrayList<>();
-		GameEvent gameEvent = mock(GameEvent.class);
-		when(gameEvent.getId()).thenReturn(Utils.getRandomInt());
-		when(gameEvent.getPlayers()).thenReturn(Arrays.asList(mock(Player.class)));
-		gameDayChannel = spy(new GameDayChannel(mockNHLBot, mockGameTracker, mockGame, events, mockGuild, null));
-		doNothing().when(gameDayChannel).sendEventMessage(any());
-		doNothing().when(gameDayChannel).updateEventMessage(any());
-		doNothing().when(gameDayChannel).sendDeletedEventMessage(any());
-		
-		gameDayChannel.updateMessages(Arrays.asList(gameEvent));
-		
-		verify(gameDayChannel).sendEventMessage(gameEvent);
-		verify(gameDayChannel, never()).updateEventMessage(any());
-		verify(gameDayChannel, never()).sendDeletedEventMessage(any());
+	public void startShouldListenToGameTracker() {
+		LOGGER.info("startShouldListenToGameTracker");
+		when(mockGame.getStatus()).thenReturn(GameStatus.PREVIEW);
+
+		gameDayChannel.start();
+		gameDayChannel.start();
+
+		verify(mockGameTracker, times(1)).addListener(gameDayChannel);
 	}
 
 	@Test
-	public void updateMessagesShouldDoNothingWhenMessageAlreadyExists() {
-		LOGGER.info("updateMessagesShouldDoNothingWhenMessageAlreadyExists");
-		GameEvent gameEvent = mock(GameEvent.class);
-		when(gameEvent.getId()).thenReturn(Utils.getRandomInt());
-		when(gameEvent.getPlayers()).thenReturn(Arrays.asList(mock(Player.class)));
-		List<GameEvent> events = new ArrayList<>();
-		events.add(gameEvent);
-		gameDayChannel = spy(new GameDayChannel(mockNHLBot, mockGameTracker, mockGame, events, mockGuild, null));
-		doNothing().when(gameDayChannel).sendEventMessage(any());
-		doNothing().when(gameDayChannel).updateEventMessage(any());
-		doNothing().when(gameDayChannel).sendDeletedEventMessage(any());
-
-		gameDayChannel.updateMessages(events);
-
-		verify(gameDayChannel, never()).sendEventMessage(any());
-		verify(gameDayChannel, never()).updateEventMessage(any());
-		verify(gameDayChannel, never()).sendDeletedEventMessage(any());
+	public void startShouldNotListenWhenGameIsFinal() {
+		LOGGER.info("startShouldNotListenWhenGameIsFinal");
+		when(mockGame.getStatus()).thenReturn(GameStatus.FINAL);
+
+		gameDayChannel.start();
+
+		verify(mockGameTracker, never()).addListener(any());
 	}
 
 	@Test
-	public void updateMessagesShouldDeleteMessageIfItNoLongerExists() {
-		LOGGER.info("updateMessagesShouldDeleteMessageIfItNoLongerExists");
+	public void onFinishedShouldStopListening() {
+		LOGGER.info("onFinishedShouldStopListening");
+
+		gameDayChannel.onFinished(mockGameTracker);
+
+		verify(mockGameTracker).removeListener(gameDayChannel);
+	}
+
+	@Test
+	public void onStatusChangedShouldSendStartOfGameMessageWhenGameStarts() {
+		LOGGER.info("onStatusChangedShouldSendStartOfGameMessageWhenGameStarts");
+		doNothing().when(spyGameDayChannel).sendStartOfGameMessage();
+
+		spyGameDayChannel.onStatusChanged(GameStatus.LIVE, GameStatus.FINAL);
+		verify(spyGameDayChannel, never()).sendStartOfGameMessage();
+
+		spyGameDayChannel.onStatusChanged(GameStatus.PREVIEW, GameStatus.STARTED);
+		verify(spyGameDayChannel).sendStartOfGameMessage();
+	}
+
+	@Test
+	public void onGoalEventsShouldUpdateMessages() {
+		LOGGER.info("onGoalEventsShouldUpdateMessages");
 		GameEvent gameEvent = mock(GameEvent.class);
-		when(gameEvent.getId()).thenReturn(Utils.getRandomInt());
-		when(gameEvent.getPlayers()).thenReturn(Arrays.asList(mock(Player.class)));
-		GameEvent gameEvent2 = mock(GameEvent.class);
-		when(gameEvent2.getId()).thenReturn(Utils.getRandomInt());
-		when(gameEvent2.getPlayers()).thenReturn(Arrays.asList(mock(Player.class)));
-		List<GameEvent> events = Arrays.asList(gameEvent, gameEvent2);
-		List<GameEvent> retrievedEvents = Arrays.asList(gameEvent2);
-		gameDayChannel = spy(new GameDayChannel(mockNHLBot, mockGameTracker, mockGame, events, mockGuild, null));
-		doNothing().when(gameDayChannel).sendEventMessage(any());
-		doNothing().when(gameDayChannel).updateEventMessage(any());
-		doNothing().when(gameDayChannel).sendDeletedEventMessage(any());
-
-		gameDayChannel.updateMessages(retrievedEvents);
-
-		verify(gameDayChannel, never()).sendEventMessage(any());
-		verify(gameDayChannel, never()).updateEventMessage(any());
-		verify(gameDayChannel).sendDeletedEventMessage(gameEvent);
+		when(mockGame.getStatus()).thenReturn(GameStatus.LIVE);
+		doNothing().when(spyGameDayChannel).sendEventMessage(any());
+		doNothing().when(spyGameDayChannel).updateEventMessage(any());
+		doNothing().when(spyGameDayChannel).sendDeletedEventMessage(any());
+		doNothing().when(spyGameDayChannel).updateEndOfGameMessage();
+
+		spyGameDayChannel.onGoalAdded(gameEvent);
+		spyGameDayChannel.onGoalChanged(gameEvent);
+		spyGameDayChannel.onGoalRescinded(gameEvent);
+
+		InOrder inOrder = inOrder(spyGameDayChannel);
+		inOrder.verify(spyGameDayChannel).sendEventMessage(gameEvent);
+		inOrder.verify(spyGameDayChannel).updateEventMessage(gameEvent);
+		inOrder.verify(spyGameDayChannel).sendDeletedEventMessage(gameEvent);
+		verify(spyGameDayChannel, never()).updateEndOfGameMessage();
 	}
 
 	@Test
-	public void updateMessagesShouldTryAgainWhenNoEventsAreReturned() {
-		LOGGER.info("updateMessagesShouldTryAgainWhenNoEventsAreReturned");
+	public void onGoalEventsShouldUpdateEndOfGameMessageWhenGameIsFinal() {
+		LOGGER.info("onGoalEventsShouldUpdateEndOfGameMessageWhenGameIsFinal");
 		GameEvent gameEvent = mock(GameEvent.class);
-		when(gameEvent.getId()).thenReturn(Utils.getRandomInt());
-		when(gameEvent.getPlayers()).thenReturn(Arrays.asList(mock(Player.class)));
-		List<GameEvent> events = Arrays.asList(gameEvent);
-		List<GameEvent> retrievedEvents = new ArrayList<>();
-		gameDayChannel = spy(new GameDayChannel(mockNHLBot, mockGameTracker, mockGame, events, mockGuild, null));
-		doNothing().when(gameDayChannel).sendEventMessage(any());
-		doNothing().when(gameDayChannel).updateEventMessage(any());
-		doNothing().when(gameDayChannel).sendDeletedEventMessage(any());
-
-		gameDayChannel.updateMessages(retrievedEvents);
-
-		verify(gameDayChannel, never()).sendEventMessage(any());
-		verify(gameDayChannel, never()).updateEventMessage(any());
-		verify(gameDayChannel, times(1)).sendDeletedEventMessage(gameEvent);
+		when(mockGame.getStatus()).thenReturn(GameStatus.FINAL);
+		doNothing().when(spyGameDayChannel).sendDeletedEventMessage(any());
+		doNothing().when(spyGameDayChannel).updateEndOfGameMessage();
+
+		spyGameDayChannel.onGoalRescinded(gameEvent);
+
+		verify(spyGameDayChannel).sendDeletedEventMessage(gameEvent);
+		verify(spyGameDayChannel).updateEndOfGameMessage();
 	}
 
 	@Test
-	@PrepareForTest({ DateUtils.class, ZonedDateTime.class, Utils.class })
-	public void sendRemindersShouldSendMessages() throws InterruptedException {
+	public void sendRemindersShouldSendMessages() {
 		LOGGER.info("sendRemindersShouldSendMessages");
-		ZonedDateTime mockCurrentTime = ZonedDateTime.of(0, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
-		ZonedDateTime mockGameTime = ZonedDateTime.of(0, 1, 1, 0, 0, 1, 0, ZoneOffset.UTC);
-		mockStatic(DateUtils.class, ZonedDateTime.class, Utils.class);
-		when(ZonedDateTime.now()).thenReturn(mockCurrentTime);
-		when(mockGame.getDate()).thenReturn(mockGameTime);
-		when(DateUtils.diffMs(any(ZonedDateTime.class), any(ZonedDateTime.class))).thenReturn(7200000l, 3500000l,
-				3400000l, 1700000l, 1600000l, 500000l, 400000l, 0l);
-		doNothing().when(spyGameDayChannel).sendMessage(anyString());
+		doNothing().when(spyGameDayChannel).sendMessage(anyString(), eq(RequestPriority.REMINDER));
 
-		spyGameDayChannel.sendReminders();
+		for (long timeTillGameMs : new long[] { 7200000l, 3500000l, 3400000l, 1700000l, 1600000l, 500000l,
+				400000l }) {
+			spyGameDayChannel.sendReminders(timeTillGameMs);
+		}
 
 		InOrder inOrder = inOrder(spyGameDayChannel);
-		inOrder.verify(spyGameDayChannel).sendMessage("60 minutes till puck drop.");
-		inOrder.verify(spyGameDayChannel).sendMessage("30 minutes till puck drop.");
-		inOrder.verify(spyGameDayChannel).sendMessage("10 minutes till puck drop.");
+		inOrder.verify(spyGameDayChannel).sendMessage("60 minutes till puck drop.", RequestPriority.REMINDER);
+		inOrder.verify(spyGameDayChannel).sendMessage("30 minutes till puck drop.", RequestPriority.REMINDER);
+		inOrder.verify(spyGameDayChannel).sendMessage("10 minutes till puck drop.", RequestPriority.REMINDER);
+		verify(spyGameDayChannel, times(3)).sendMessage(anyString(), eq(RequestPriority.REMINDER));
 	}
 
 	@Test
-	@PrepareForTest({ DateUtils.class, ZonedDateTime.class, Utils.class })
-	public void sendRemindersShouldSkipMessageIfStartedAfterRemindersPassed() throws InterruptedException {
+	public void sendRemindersShouldSkipMessageIfStartedAfterRemindersPassed() {
 		LOGGER.info("sendRemindersShouldSkipMessageIfStartedAfterRemindersPassed");
-		ZonedDateTime mockCurrentTime = ZonedDateTime.of(0, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
-		ZonedDateTime mockGameTime = ZonedDateTime.of(0, 1, 1, 0, 0, 1, 0, ZoneOffset.UTC);
-		mockStatic(DateUtils.class, ZonedDateTime.class, Utils.class);
-		when(ZonedDateTime.now()).thenReturn(mockCurrentTime);
-		when(mockGame.getDate()).thenReturn(mockGameTime);
-		when(DateUtils.diffMs(any(ZonedDateTime.class), any(ZonedDateTime.class))).thenReturn(1900000l, 1700000l,
-				500000l, 0l);
-		doNothing().when(spyGameDayChannel).sendMessage(anyString());
+		doNothing().when(spyGameDayChannel).sendMessage(anyString(), eq(RequestPriority.REMINDER));
 
-		spyGameDayChannel.sendReminders();
+		for (long timeTillGameMs : new long[] { 1900000l, 1700000l, 500000l }) {
+			spyGameDayChannel.sendReminders(timeTillGameMs);
+		}
 
 		InOrder inOrder = inOrder(spyGameDayChannel);
-		inOrder.verify(spyGameDayChannel, never()).sendMessage("60 minutes till puck drop.");
-		inOrder.verify(spyGameDayChannel).sendMessage("30 minutes till puck drop.");
-		inOrder.verify(spyGameDayChannel).sendMessage("10 minutes till puck drop.");
+		inOrder.verify(spyGameDayChannel, never())
+				.sendMessage("60 minutes till puck drop.", RequestPriority.REMINDER);
+		inOrder.verify(spyGameDayChannel).sendMessage("30 minutes till puck drop.", RequestPriority.REMINDER);
+		inOrder.verify(spyGameDayChannel).sendMessage("10 minutes till puck drop.", RequestPriority.REMINDER);
 	}
 
 	@Test
-	@PrepareForTest({ DateUtils.class, ZonedDateTime.class, Utils.class })
-	public void sendRemindersShouldSleepUntilNearStartOfGame() throws Exception {
-		LOGGER.info("sendRemindersShouldSleepUntilNearStartOfGame");
-
-		ZonedDateTime mockCurrentTime = ZonedDateTime.of(0, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
-		ZonedDateTime mockGameTime = ZonedDateTime.of(0, 1, 1, 0, 0, 1, 0, ZoneOffset.UTC);
-		mockStatic(DateUtils.class, ZonedDateTime.class, Utils.class);
-		when(ZonedDateTime.now()).thenReturn(mockCurrentTime);
-		when(mockGame.getDate()).thenReturn(mockGameTime);
-		when(DateUtils.diffMs(any(ZonedDateTime.class), any(ZonedDateTime.class))).thenReturn(
-				GameDayChannel.CLOSE_TO_START_THRESHOLD_MS + 1, GameDayChannel.CLOSE_TO_START_THRESHOLD_MS + 1,
-				GameDayChannel.CLOSE_TO_START_THRESHOLD_MS + 1, GameDayChannel.CLOSE_TO_START_THRESHOLD_MS - 1);
-
-		spyGameDayChannel.sendReminders();
-		verify(spyGameDayChannel, never()).sendMessage(anyString());
+	public void updateEventMessageShouldEditSentMessage() {
+		LOGGER.info("updateEventMessageShouldEditSentMessage");
+		GameEvent gameEvent = mock(GameEvent.class);
+		when(gameEvent.getId()).thenReturn(1);
+		Message message = mock(Message.class);
+		Message updatedMessage = mock(Message.class);
+		doReturn("goal", "updated goal").when(spyGameDayChannel).buildEventMessage(gameEvent);
+		DiscordManager discordManager = mockNHLBot.getDiscordManager();
+		when(discordManager.sendMessageAsync(mockChannel, "goal", RequestPriority.LIVE_EVENT))
+				.thenReturn(Mono.just(message));
+		when(discordManager.updateMessageAsync(message, "updated goal", RequestPriority.LIVE_EVENT))
+				.thenReturn(Mono.just(updatedMessage));
+
+		spyGameDayChannel.sendEventMessage(gameEvent);
+		spyGameDayChannel.updateEventMessage(gameEvent);
+
+		verify(discordManager).sendMessageAsync(mockChannel, "goal", RequestPriority.LIVE_EVENT);
+		verify(discordManager).updateMessageAsync(message, "updated goal", RequestPriority.LIVE_EVENT);
 	}
 
 	@Test
-	public void isRetryEventFetchShouldReturnBoolean() {
-		LOGGER.info("sendRemindersShouldSleepUntilNearStartOfGame");
-
-		List<GameEvent> emptyList = Collections.emptyList();
-		List<GameEvent> event1List= Arrays.asList(mock(GameEvent.class));
-		List<GameEvent> event2List = Arrays.asList(mock(GameEvent.class), mock(GameEvent.class));
-
-		// returns false when fetchedGameEvents is not empty
-		gameDayChannel = new GameDayChannel(null, null, null, null, null, null);
-		assertFalse(gameDayChannel.isRetryEventFetch(event1List));
-
-		// returns true if existing list is larger than 1
-		gameDayChannel = new GameDayChannel(null, null, null, event2List, null, null);
-		assertTrue(gameDayChannel.isRetryEventFetch(emptyList));
-
-		// when list is 1, returns true until iterations reaches threshold
-		gameDayChannel = new GameDayChannel(null, null, null, event1List, null, null);
-		assertTrue(gameDayChannel.isRetryEventFetch(emptyList));
-		assertTrue(gameDayChannel.isRetryEventFetch(emptyList));
-		assertTrue(gameDayChannel.isRetryEventFetch(emptyList));
-		assertTrue(gameDayChannel.isRetryEventFetch(emptyList));
-		assertTrue(gameDayChannel.isRetryEventFetch(emptyList));
-		assertFalse(gameDayChannel.isRetryEventFetch(emptyList));
-		assertTrue(gameDayChannel.isRetryEventFetch(emptyList));
-		assertTrue(gameDayChannel.isRetryEventFetch(emptyList));
-		assertTrue(gameDayChannel.isRetryEventFetch(emptyList));
-		assertTrue(gameDayChannel.isRetryEventFetch(emptyList));
-		assertTrue(gameDayChannel.isRetryEventFetch(emptyList));
-		assertFalse(gameDayChannel.isRetryEventFetch(emptyList));
+	public void updateEndOfGameMessageShouldSendAndPinOnceThenEdit() {
+		LOGGER.info("updateEndOfGameMessageShouldSendAndPinOnceThenEdit");
+		Message message = mock(Message.class);
+		Message updatedMessage = mock(Message.class);
+		doReturn("final", "updated final").when(spyGameDayChannel).buildEndOfGameMessage();
+		DiscordManager discordManager = mockNHLBot.getDiscordManager();
+		when(discordManager.sendMessageAsync(mockChannel, "final", RequestPriority.LIVE_EVENT))
+				.thenReturn(Mono.just(message));
+		when(discordManager.pinMessageAsync(message, RequestPriority.LIVE_EVENT)).thenReturn(Mono.empty());
+		when(discordManager.updateMessageAsync(message, "updated final", RequestPriority.LIVE_EVENT))
+				.thenReturn(Mono.just(updatedMessage));
+
+		spyGameDayChannel.updateEndOfGameMessage();
+		spyGameDayChannel.updateEndOfGameMessage();
+
+		verify(discordManager, times(1)).sendMessageAsync(mockChannel, "final", RequestPriority.LIVE_EVENT);
+		verify(discordManager).pinMessageAsync(message, RequestPriority.LIVE_EVENT);
+		verify(discordManager).updateMessageAsync(message, "updated final", RequestPriority.LIVE_EVENT);
 	}
 }
@@ -0,0 +1,90 @@
+package com.hazeluff.discord.bot;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.hazeluff.discord.bot.GameMessageCache.Key;
+import com.hazeluff.discord.bot.GameMessageCache.MessageType;
+
+@RunWith(PowerMockRunner.class)
+public class GameMessageCacheTest {
+	private static final Logger LOGGER = LoggerFactory.getLogger(GameMessageCacheTest.class);
+
+	private static final int GAME_PK = 2020020001;
+
+	@SuppressWarnings("unchecked")
+	private static Supplier<String> mockRenderer(String message) {
+		Supplier<String> renderer = mock(Supplier.class);
+		when(renderer.get()).thenReturn(message);
+		return renderer;
+	}
+
+	@Test
+	public void getShouldRenderOncePerKey() {
+		LOGGER.info("getShouldRenderOncePerKey");
+		GameMessageCache cache = new GameMessageCache();
+		Supplier<String> renderer = mockRenderer("message");
+
+		for (int i = 0; i < 10; i++) {
+			assertEquals("message", cache.get(GameMessageCache.eventKey(GAME_PK, 1, "v1"), renderer));
+		}
+
+		verify(renderer, times(1)).get();
+		assertEquals(9, cache.getHits());
+		assertEquals(1, cache.getMisses());
+	}
+
+	@Test
+	public void getShouldRenderAgainForNewVersionOrVariant() {
+		LOGGER.info("getShouldRenderAgainForNewVersionOrVariant");
+		GameMessageCache cache = new GameMessageCache();
+		Supplier<String> renderer = mockRenderer("message");
+		ZoneId vancouver = ZoneId.of("America/Vancouver");
+		ZoneId toronto = ZoneId.of("America/Toronto");
+
+		cache.get(GameMessageCache.key(GAME_PK, MessageType.END_OF_GAME, Arrays.asList(1, 0), vancouver), renderer);
+		cache.get(GameMessageCache.key(GAME_PK, MessageType.END_OF_GAME, Arrays.asList(1, 0), vancouver), renderer);
+		cache.get(GameMessageCache.key(GAME_PK, MessageType.END_OF_GAME, Arrays.asList(1, 0), toronto), renderer);
+		cache.get(GameMessageCache.key(GAME_PK, MessageType.END_OF_GAME, Arrays.asList(2, 0), toronto), renderer);
+		cache.get(GameMessageCache.key(GAME_PK, MessageType.SCORE, Arrays.asList(2, 0)), renderer);
+
+		verify(renderer, times(4)).get();
+		assertEquals(4, cache.size());
+	}
+
+	@Test
+	public void getShouldEvictLeastRecentlyUsedWhenFull() {
+		LOGGER.info("getShouldEvictLeastRecentlyUsedWhenFull");
+		GameMessageCache cache = new GameMessageCache(2);
+		Key key1 = GameMessageCache.eventKey(GAME_PK, 1, "v1");
+		Key key2 = GameMessageCache.eventKey(GAME_PK, 2, "v1");
+		Key key3 = GameMessageCache.eventKey(GAME_PK, 3, "v1");
+		Supplier<String> renderer = mockRenderer("message");
+
+		cache.get(key1, renderer);
+		cache.get(key2, renderer);
+		cache.get(key1, renderer);
+		cache.get(key3, renderer);
+		assertEquals(2, cache.size());
+		verify(renderer, times(3)).get();
+
+		// key1 was used more recently than key2
+		cache.get(key1, renderer);
+		verify(renderer, times(3)).get();
+		cache.get(key2, renderer);
+		verify(renderer, times(4)).get();
+	}
+}
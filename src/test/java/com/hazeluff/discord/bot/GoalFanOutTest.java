@@ -0,0 +1,159 @@
+package com.hazeluff.discord.bot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+
+@RunWith(PowerMockRunner.class)
+public class GoalFanOutTest {
+	private static final Logger LOGGER = LoggerFactory.getLogger(GoalFanOutTest.class);
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+	private final AtomicLong time = new AtomicLong();
+
+	private GoalFanOut newFanOut(int maxConcurrency) {
+		return newFanOut(maxConcurrency, 60000);
+	}
+
+	private GoalFanOut newFanOut(int maxConcurrency, long deliveryTimeoutMs) {
+		return new GoalFanOut(maxConcurrency, deliveryTimeoutMs, 100, time::get);
+	}
+
+	@Test
+	public void deliverShouldKeepOrderOfGuild() {
+		LOGGER.info("deliverShouldKeepOrderOfGuild");
+		GoalFanOut fanOut = newFanOut(10);
+		List<String> started = new ArrayList<>();
+		CompletableFuture<String> goal = new CompletableFuture<>();
+
+		Mono<String> goalResult = fanOut.deliver(1, () -> {
+			started.add("goal");
+			return Mono.fromFuture(goal);
+		});
+		Mono<String> rescindResult = fanOut.deliver(1, () -> {
+			started.add("rescind");
+			return Mono.just("rescind");
+		});
+		// Other guilds do not wait
+		fanOut.deliver(2, () -> {
+			started.add("other");
+			return Mono.just("other");
+		});
+		assertEquals(Arrays.asList("goal", "other"), started);
+
+		goal.complete("goal");
+		assertEquals("goal", goalResult.block());
+		assertEquals("rescind", rescindResult.block());
+		assertEquals(Arrays.asList("goal", "other", "rescind"), started);
+	}
+
+	@Test
+	public void deliverShouldBoundConcurrency() {
+		LOGGER.info("deliverShouldBoundConcurrency");
+		GoalFanOut fanOut = newFanOut(2);
+		List<CompletableFuture<String>> deliveries = new ArrayList<>();
+		List<Mono<String>> results = new ArrayList<>();
+
+		for (int guildId = 0; guildId < 3; guildId++) {
+			CompletableFuture<String> delivery = new CompletableFuture<>();
+			deliveries.add(delivery);
+			results.add(fanOut.deliver(guildId, () -> Mono.fromFuture(delivery)));
+		}
+		assertEquals(2, fanOut.getInFlight());
+		assertEquals(1, fanOut.getWaiting());
+
+		deliveries.get(0).complete("0");
+		assertEquals(2, fanOut.getInFlight());
+		assertEquals(0, fanOut.getWaiting());
+
+		deliveries.get(1).complete("1");
+		deliveries.get(2).complete("2");
+		for (int i = 0; i < 3; i++) {
+			assertEquals(String.valueOf(i), results.get(i).block());
+		}
+		assertEquals(0, fanOut.getInFlight());
+		assertEquals(3, fanOut.getDelivered());
+	}
+
+	@Test
+	public void deliverShouldStartWaitingDeliveriesThatCompleteRightAway() {
+		LOGGER.info("deliverShouldStartWaitingDeliveriesThatCompleteRightAway");
+		GoalFanOut fanOut = newFanOut(1);
+		CompletableFuture<String> first = new CompletableFuture<>();
+		fanOut.deliver(0, () -> Mono.fromFuture(first));
+		for (int guildId = 1; guildId <= 5000; guildId++) {
+			fanOut.deliver(guildId, () -> Mono.empty());
+		}
+		assertEquals(5000, fanOut.getWaiting());
+
+		first.complete("goal");
+
+		assertEquals(0, fanOut.getInFlight());
+		assertEquals(0, fanOut.getWaiting());
+		assertEquals(1, fanOut.getDelivered());
+		assertEquals(5000, fanOut.getFailed());
+	}
+
+	@Test
+	public void deliverShouldReleaseSlotWhenDeliveryNeverCompletes() {
+		LOGGER.info("deliverShouldReleaseSlotWhenDeliveryNeverCompletes");
+		GoalFanOut fanOut = newFanOut(1, 100);
+
+		Mono<String> hungResult = fanOut.deliver(1, () -> Mono.never());
+		// Waits for the slot of the hung delivery
+		Mono<String> nextResult = fanOut.deliver(2, () -> Mono.just("next"));
+		Mono<String> sameGuildResult = fanOut.deliver(1, () -> Mono.just("same guild"));
+		assertEquals(1, fanOut.getWaiting());
+
+		assertEquals("next", nextResult.block(TIMEOUT));
+		assertEquals("same guild", sameGuildResult.block(TIMEOUT));
+		try {
+			hungResult.block(TIMEOUT);
+			fail("Expected the delivery to time out.");
+		} catch (RuntimeException e) {
+			assertTrue(Exceptions.unwrap(e) instanceof TimeoutException);
+		}
+		assertEquals(0, fanOut.getInFlight());
+		assertEquals(1, fanOut.getFailed());
+	}
+
+	@Test
+	public void deliverShouldTrackLatency() {
+		LOGGER.info("deliverShouldTrackLatency");
+		GoalFanOut fanOut = newFanOut(10);
+		assertEquals(-1, fanOut.getLatencyMs(95));
+
+		for (int i = 1; i <= 20; i++) {
+			CompletableFuture<String> delivery = new CompletableFuture<>();
+			fanOut.deliver(i, () -> Mono.fromFuture(delivery));
+			time.addAndGet(i * 10);
+			delivery.complete("goal");
+		}
+		assertNull(fanOut.deliver(1, () -> Mono.empty()).block());
+
+		assertEquals(20, fanOut.getDelivered());
+		assertEquals(1, fanOut.getFailed());
+		assertEquals(100, fanOut.getLatencyMs(50));
+		assertEquals(190, fanOut.getLatencyMs(95));
+		assertEquals(200, fanOut.getMaxLatencyMs());
+	}
+}
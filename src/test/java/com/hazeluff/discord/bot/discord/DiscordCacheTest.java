@@ -0,0 +1,147 @@
+package com.hazeluff.discord.bot.discord;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import discord4j.common.util.Snowflake;
+import discord4j.core.object.entity.Guild;
+import discord4j.core.object.entity.channel.TextChannel;
+import reactor.core.publisher.Mono;
+
+@RunWith(PowerMockRunner.class)
+public class DiscordCacheTest {
+	private static final Logger LOGGER = LoggerFactory.getLogger(DiscordCacheTest.class);
+
+	private static final long GUILD_ID = 100;
+
+	private DiscordCache cache;
+
+	@Before
+	public void before() {
+		cache = new DiscordCache();
+	}
+
+	private static Guild mockGuild(long id) {
+		Guild guild = mock(Guild.class);
+		when(guild.getId()).thenReturn(Snowflake.of(id));
+		return guild;
+	}
+
+	private static TextChannel mockChannel(long id, String name) {
+		TextChannel channel = mock(TextChannel.class);
+		when(channel.getId()).thenReturn(Snowflake.of(id));
+		when(channel.getGuildId()).thenReturn(Snowflake.of(GUILD_ID));
+		when(channel.getName()).thenReturn(name);
+		return channel;
+	}
+
+	private List<TextChannel> getTextChannels(Supplier<List<TextChannel>> loader) {
+		return cache.getTextChannels(GUILD_ID, Mono.fromSupplier(loader)).block();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> Supplier<List<T>> mockLoader(List<T> values) {
+		Supplier<List<T>> loader = mock(Supplier.class);
+		when(loader.get()).thenReturn(values);
+		return loader;
+	}
+
+	@Test
+	public void getTextChannelsShouldLoadOnce() {
+		LOGGER.info("getTextChannelsShouldLoadOnce");
+		TextChannel channel = mockChannel(1, "channel");
+		Supplier<List<TextChannel>> loader = mockLoader(Arrays.asList(channel));
+
+		for (int i = 0; i < 5; i++) {
+			assertEquals(Arrays.asList(channel), getTextChannels(loader));
+		}
+
+		verify(loader, times(1)).get();
+		assertEquals(4, cache.getHits());
+		assertEquals(1, cache.getMisses());
+	}
+
+	@Test
+	public void getTextChannelsShouldNotCacheFailedLoad() {
+		LOGGER.info("getTextChannelsShouldNotCacheFailedLoad");
+		Supplier<List<TextChannel>> loader = mockLoader(null);
+
+		assertNull(getTextChannels(loader));
+		assertNull(getTextChannels(loader));
+
+		verify(loader, times(2)).get();
+	}
+
+	@Test
+	public void channelEventsShouldUpdateLoadedChannels() {
+		LOGGER.info("channelEventsShouldUpdateLoadedChannels");
+		TextChannel channel1 = mockChannel(1, "channel1");
+		TextChannel channel2 = mockChannel(2, "channel2");
+		TextChannel renamedChannel1 = mockChannel(1, "renamed");
+		Supplier<List<TextChannel>> loader = mockLoader(new ArrayList<>(Arrays.asList(channel1)));
+		getTextChannels(loader);
+
+		cache.putTextChannel(channel2);
+		cache.putTextChannel(renamedChannel1);
+		assertEquals(Arrays.asList(renamedChannel1, channel2), getTextChannels(loader));
+
+		cache.removeTextChannel(channel2);
+		assertEquals(Arrays.asList(renamedChannel1), getTextChannels(loader));
+		verify(loader, times(1)).get();
+	}
+
+	@Test
+	public void getTextChannelsShouldNotStoreLoadThatRacedAnEvent() {
+		LOGGER.info("getTextChannelsShouldNotStoreLoadThatRacedAnEvent");
+		TextChannel channel1 = mockChannel(1, "channel1");
+		TextChannel channel2 = mockChannel(2, "channel2");
+		// Channel is created while the (older) channels are fetched
+		Supplier<List<TextChannel>> loader = () -> {
+			cache.putTextChannel(channel2);
+			return Arrays.asList(channel1);
+		};
+
+		assertEquals(Arrays.asList(channel1), getTextChannels(loader));
+
+		Supplier<List<TextChannel>> reloader = mockLoader(Arrays.asList(channel1, channel2));
+		assertEquals(Arrays.asList(channel1, channel2), getTextChannels(reloader));
+		verify(reloader, times(1)).get();
+	}
+
+	@Test
+	public void guildEventsShouldInvalidateChannels() {
+		LOGGER.info("guildEventsShouldInvalidateChannels");
+		Guild guild = mockGuild(GUILD_ID);
+		Supplier<List<Guild>> guildLoader = mockLoader(Arrays.asList(guild));
+		Supplier<List<TextChannel>> channelLoader = mockLoader(Arrays.asList(mockChannel(1, "channel")));
+		cache.getGuilds(Mono.fromSupplier(guildLoader)).block();
+		getTextChannels(channelLoader);
+
+		cache.onGuildCreate(guild);
+		getTextChannels(channelLoader);
+		verify(channelLoader, times(2)).get();
+
+		cache.onGuildDelete(GUILD_ID, true);
+		assertEquals(Arrays.asList(guild), cache.getGuilds(Mono.fromSupplier(guildLoader)).block());
+
+		cache.onGuildDelete(GUILD_ID, false);
+		assertEquals(Arrays.asList(), cache.getGuilds(Mono.fromSupplier(guildLoader)).block());
+		verify(guildLoader, times(1)).get();
+	}
+}
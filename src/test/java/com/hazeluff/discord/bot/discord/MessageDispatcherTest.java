@@ -0,0 +1,331 @@
+package com.hazeluff.discord.bot.discord;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.hazeluff.discord.utils.RequestBudget;
+import com.hazeluff.discord.utils.Utils;
+
+import discord4j.common.util.Snowflake;
+import discord4j.core.object.entity.Message;
+import discord4j.core.spec.MessageEditSpec;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+
+@RunWith(PowerMockRunner.class)
+public class MessageDispatcherTest {
+	private static final Logger LOGGER = LoggerFactory.getLogger(MessageDispatcherTest.class);
+
+	private static final long CHANNEL_ID = 100;
+	private static final Duration TIMEOUT = Duration.ofSeconds(5);
+	private static final long REQUEST_TIMEOUT_MS = 60000;
+
+	private ScheduledExecutorService scheduler;
+
+	@Before
+	public void before() {
+		scheduler = Executors.newSingleThreadScheduledExecutor();
+	}
+
+	@After
+	public void after() {
+		scheduler.shutdownNow();
+	}
+
+	private MessageDispatcher newDispatcher(double channelPermitsPerSecond, int channelBurst) {
+		return newDispatcher(channelPermitsPerSecond, channelBurst, 100, REQUEST_TIMEOUT_MS);
+	}
+
+	private MessageDispatcher newDispatcher(double channelPermitsPerSecond, int channelBurst, int maxChannelQueues,
+			long requestTimeoutMs) {
+		return new MessageDispatcher(scheduler, new RequestBudget("test", 1000, 1000), channelPermitsPerSecond,
+				channelBurst, maxChannelQueues, Long.MAX_VALUE, requestTimeoutMs, Utils::getCurrentTime);
+	}
+
+	/*
+	 * Sends one request at a time (global burst of 1), so that the order of the lanes decides what is sent next.
+	 */
+	private MessageDispatcher newSerialDispatcher(long maxWaitMs) {
+		return new MessageDispatcher(scheduler, new RequestBudget("test", 1000, 1), 1000, 1000, 100, maxWaitMs,
+				REQUEST_TIMEOUT_MS, Utils::getCurrentTime);
+	}
+
+	/**
+	 * Blocks the scheduler of the dispatcher, so that requests are queued up until the latch is released.
+	 */
+	private CountDownLatch pauseScheduler() {
+		CountDownLatch latch = new CountDownLatch(1);
+		scheduler.execute(() -> {
+			try {
+				latch.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		return latch;
+	}
+
+	private static Mono<String> submit(MessageDispatcher dispatcher, RequestPriority priority, long channelId,
+			String name, List<String> sent) {
+		Mono<String> result = dispatcher.submit(priority, channelId, () -> Mono.fromCallable(() -> {
+			sent.add(name);
+			return name;
+		})).cache();
+		result.subscribe();
+		return result;
+	}
+
+	private static Message mockMessage() {
+		Message message = mock(Message.class);
+		when(message.getId()).thenReturn(Snowflake.of(1));
+		when(message.getChannelId()).thenReturn(Snowflake.of(CHANNEL_ID));
+		return message;
+	}
+
+	@Test
+	public void submitShouldSendRequestsOfChannelInOrder() {
+		LOGGER.info("submitShouldSendRequestsOfChannelInOrder");
+		MessageDispatcher dispatcher = newDispatcher(1000, 1000);
+		List<String> sent = Collections.synchronizedList(new ArrayList<>());
+		List<String> expected = new ArrayList<>();
+		List<Mono<String>> results = new ArrayList<>();
+
+		for (int i = 0; i < 10; i++) {
+			results.add(submit(dispatcher, RequestPriority.LIVE_EVENT, CHANNEL_ID, String.valueOf(i), sent));
+			expected.add(String.valueOf(i));
+		}
+
+		for (int i = 0; i < 10; i++) {
+			assertEquals(expected.get(i), results.get(i).block(TIMEOUT));
+		}
+		assertEquals(expected, sent);
+		assertEquals(10, dispatcher.getSent());
+		assertEquals(0, dispatcher.getQueued());
+	}
+
+	@Test
+	public void submitShouldDeferRequestWhenChannelBudgetIsSpent() throws InterruptedException {
+		LOGGER.info("submitShouldDeferRequestWhenChannelBudgetIsSpent");
+		MessageDispatcher dispatcher = newDispatcher(0.001, 1);
+		List<String> sent = Collections.synchronizedList(new ArrayList<>());
+
+		assertEquals("first", submit(dispatcher, RequestPriority.LIVE_EVENT, CHANNEL_ID, "first", sent).block(TIMEOUT));
+		submit(dispatcher, RequestPriority.LIVE_EVENT, CHANNEL_ID, "second", sent);
+		// Other channels have their own budget
+		assertEquals("other",
+				submit(dispatcher, RequestPriority.LIVE_EVENT, CHANNEL_ID + 1, "other", sent).block(TIMEOUT));
+		Thread.sleep(100);
+
+		assertEquals(3, dispatcher.getSubmitted());
+		assertEquals(2, dispatcher.getSent());
+		assertEquals(1, dispatcher.getQueued());
+	}
+
+	@Test
+	public void submitShouldKeepChannelBudgetWhenQueueIsSwept() throws InterruptedException {
+		LOGGER.info("submitShouldKeepChannelBudgetWhenQueueIsSwept");
+		MessageDispatcher dispatcher = newDispatcher(0.001, 1, 1, REQUEST_TIMEOUT_MS);
+		List<String> sent = Collections.synchronizedList(new ArrayList<>());
+
+		assertEquals("first", submit(dispatcher, RequestPriority.LIVE_EVENT, CHANNEL_ID, "first", sent).block(TIMEOUT));
+		// The idle queue of the first channel is swept for the queue of the other channel
+		assertEquals("other",
+				submit(dispatcher, RequestPriority.LIVE_EVENT, CHANNEL_ID + 1, "other", sent).block(TIMEOUT));
+		assertEquals(1, dispatcher.getChannelQueueCount());
+		submit(dispatcher, RequestPriority.LIVE_EVENT, CHANNEL_ID, "second", sent);
+		Thread.sleep(100);
+
+		assertEquals(Arrays.asList("first", "other"), sent);
+		assertEquals(1, dispatcher.getQueued());
+	}
+
+	@Test
+	public void submitShouldFailRequestThatDoesNotFinishWithinTimeout() {
+		LOGGER.info("submitShouldFailRequestThatDoesNotFinishWithinTimeout");
+		MessageDispatcher dispatcher = newDispatcher(1000, 1000, 100, 100);
+		List<String> sent = Collections.synchronizedList(new ArrayList<>());
+
+		Mono<Object> hung = dispatcher.submit(RequestPriority.LIVE_EVENT, CHANNEL_ID, () -> Mono.never()).cache();
+		hung.subscribe(result -> {}, error -> {});
+		// The channel is released for the next request
+		assertEquals("second",
+				submit(dispatcher, RequestPriority.LIVE_EVENT, CHANNEL_ID, "second", sent).block(TIMEOUT));
+
+		try {
+			hung.block(TIMEOUT);
+			fail("Expected the request to time out.");
+		} catch (RuntimeException e) {
+			assertTrue(Exceptions.unwrap(e) instanceof TimeoutException);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void submitEditShouldCoalesceQueuedEdits() {
+		LOGGER.info("submitEditShouldCoalesceQueuedEdits");
+		MessageDispatcher dispatcher = newDispatcher(1000, 1000);
+		Message message = mockMessage();
+		Message editedMessage = mock(Message.class);
+		when(message.edit(any())).thenReturn(Mono.just(editedMessage));
+
+		// Hold the channel with a request in flight, so that the edits stay queued
+		CompletableFuture<String> inFlight = new CompletableFuture<>();
+		dispatcher.submit(RequestPriority.LIVE_EVENT, CHANNEL_ID, () -> Mono.fromFuture(inFlight)).subscribe();
+		List<Mono<Message>> results = new ArrayList<>();
+		for (String content : new String[] { "1", "2", "3" }) {
+			Mono<Message> result = dispatcher.submitEdit(RequestPriority.LIVE_EVENT, message, content).cache();
+			result.subscribe();
+			results.add(result);
+		}
+		inFlight.complete("done");
+
+		for (Mono<Message> result : results) {
+			assertEquals(editedMessage, result.block(TIMEOUT));
+		}
+		assertEquals(2, dispatcher.getCoalesced());
+		assertEquals(2, dispatcher.getSent());
+
+		ArgumentCaptor<Consumer<MessageEditSpec>> captor = ArgumentCaptor.forClass(Consumer.class);
+		verify(message, times(1)).edit(captor.capture());
+		MessageEditSpec spec = mock(MessageEditSpec.class);
+		captor.getValue().accept(spec);
+		verify(spec).setContent("3");
+	}
+
+	@Test
+	public void drainShouldSendLiveEventsAheadOfMaintenance() {
+		LOGGER.info("drainShouldSendLiveEventsAheadOfMaintenance");
+		MessageDispatcher dispatcher = newSerialDispatcher(Long.MAX_VALUE);
+		List<String> sent = Collections.synchronizedList(new ArrayList<>());
+
+		CountDownLatch latch = pauseScheduler();
+		List<Mono<String>> results = new ArrayList<>();
+		for (int i = 0; i < 2; i++) {
+			results.add(submit(dispatcher, RequestPriority.MAINTENANCE, 1 + i, "M", sent));
+		}
+		for (int i = 0; i < 10; i++) {
+			results.add(submit(dispatcher, RequestPriority.LIVE_EVENT, 100 + i, "L", sent));
+		}
+		assertEquals(2, dispatcher.getQueued(RequestPriority.MAINTENANCE));
+		assertEquals(10, dispatcher.getQueued(RequestPriority.LIVE_EVENT));
+		latch.countDown();
+
+		results.forEach(result -> result.block(TIMEOUT));
+		// Maintenance gets 1 turn for every 8 of live events
+		assertEquals(Arrays.asList("L", "L", "L", "L", "L", "L", "L", "L", "M", "L", "L", "M"), sent);
+		assertEquals(0, dispatcher.getStarved());
+	}
+
+	@Test
+	public void drainShouldServeStarvedLaneFirst() {
+		LOGGER.info("drainShouldServeStarvedLaneFirst");
+		MessageDispatcher dispatcher = newSerialDispatcher(50);
+		List<String> sent = Collections.synchronizedList(new ArrayList<>());
+
+		CountDownLatch latch = pauseScheduler();
+		Mono<String> maintenance = submit(dispatcher, RequestPriority.MAINTENANCE, 1, "M", sent);
+		Utils.sleep(100);
+		List<Mono<String>> results = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			results.add(submit(dispatcher, RequestPriority.LIVE_EVENT, 100 + i, "L", sent));
+		}
+		latch.countDown();
+
+		maintenance.block(TIMEOUT);
+		results.forEach(result -> result.block(TIMEOUT));
+		assertEquals(Arrays.asList("M", "L", "L", "L"), sent);
+		assertEquals(1, dispatcher.getStarved());
+	}
+
+	@Test
+	public void drainShouldNotSpendTurnsOfLiveEventsOnLessUrgentRequestAhead() {
+		LOGGER.info("drainShouldNotSpendTurnsOfLiveEventsOnLessUrgentRequestAhead");
+		MessageDispatcher dispatcher = newSerialDispatcher(Long.MAX_VALUE);
+		List<String> sent = Collections.synchronizedList(new ArrayList<>());
+
+		CountDownLatch latch = pauseScheduler();
+		List<Mono<String>> results = new ArrayList<>();
+		// The goal of the channel is queued behind maintenance
+		results.add(submit(dispatcher, RequestPriority.MAINTENANCE, 1, "M", sent));
+		results.add(submit(dispatcher, RequestPriority.LIVE_EVENT, 1, "goal", sent));
+		for (int i = 0; i < 9; i++) {
+			results.add(submit(dispatcher, RequestPriority.LIVE_EVENT, 100 + i, "L", sent));
+		}
+		latch.countDown();
+
+		results.forEach(result -> result.block(TIMEOUT));
+		assertEquals(Arrays.asList("L", "L", "L", "L", "L", "L", "L", "L", "M", "L", "goal"), sent);
+	}
+
+	@Test
+	public void drainShouldServeOldestRequestOfStarvedLane() {
+		LOGGER.info("drainShouldServeOldestRequestOfStarvedLane");
+		MessageDispatcher dispatcher = newSerialDispatcher(50);
+		List<String> sent = Collections.synchronizedList(new ArrayList<>());
+
+		// The old request waits behind one in flight, so its channel joins the lane after the channel of the new one
+		CompletableFuture<String> inFlight = new CompletableFuture<>();
+		dispatcher.submit(RequestPriority.MAINTENANCE, 2, () -> Mono.fromFuture(inFlight)).subscribe();
+		Mono<String> old = submit(dispatcher, RequestPriority.MAINTENANCE, 2, "old", sent);
+		Utils.sleep(100);
+		CountDownLatch latch = pauseScheduler();
+		Mono<String> recent = submit(dispatcher, RequestPriority.MAINTENANCE, 1, "new", sent);
+		List<Mono<String>> results = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			results.add(submit(dispatcher, RequestPriority.LIVE_EVENT, 100 + i, "L", sent));
+		}
+		inFlight.complete("done");
+		latch.countDown();
+
+		old.block(TIMEOUT);
+		recent.block(TIMEOUT);
+		results.forEach(result -> result.block(TIMEOUT));
+		assertEquals(Arrays.asList("old", "L", "L", "L", "new"), sent);
+		assertEquals(1, dispatcher.getStarved());
+	}
+
+	@Test
+	public void submitEditShouldRaisePriorityOfQueuedEdit() {
+		LOGGER.info("submitEditShouldRaisePriorityOfQueuedEdit");
+		MessageDispatcher dispatcher = newDispatcher(1000, 1000);
+		Message message = mockMessage();
+		when(message.edit(any())).thenReturn(Mono.just(message));
+
+		CountDownLatch latch = pauseScheduler();
+		Mono<Message> result = dispatcher.submitEdit(RequestPriority.MAINTENANCE, message, "1").cache();
+		result.subscribe();
+		dispatcher.submitEdit(RequestPriority.LIVE_EVENT, message, "2").subscribe();
+
+		assertEquals(0, dispatcher.getQueued(RequestPriority.MAINTENANCE));
+		assertEquals(1, dispatcher.getQueued(RequestPriority.LIVE_EVENT));
+		latch.countDown();
+		assertEquals(message, result.block(TIMEOUT));
+	}
+}
@@ -0,0 +1,138 @@
+package com.hazeluff.discord.nhl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@RunWith(PowerMockRunner.class)
+public class GameEventDifferTest {
+	private static final Logger LOGGER = LoggerFactory.getLogger(GameEventDifferTest.class);
+
+	private static final int GAME_PK = 2020020001;
+
+	@Test
+	public void diffShouldReturnNewEvents() {
+		LOGGER.info("diffShouldReturnNewEvents");
+		GameEvent gameEvent = mockGameEvent(1);
+		GameEventDiffer differ = new GameEventDiffer(GAME_PK, Collections.emptyList());
+
+		GameEventDelta delta = differ.diff(Arrays.asList(gameEvent));
+
+		assertEquals(GAME_PK, delta.getGamePk());
+		assertEquals(Arrays.asList(gameEvent), delta.getAdded());
+		assertTrue(delta.getUpdated().isEmpty());
+		assertTrue(delta.getRemoved().isEmpty());
+	}
+
+	@Test
+	public void diffShouldReturnEmptyDeltaWhenEventsAreUnchanged() {
+		LOGGER.info("diffShouldReturnEmptyDeltaWhenEventsAreUnchanged");
+		List<GameEvent> events = Arrays.asList(mockGameEvent(1), mockGameEvent(2));
+		GameEventDiffer differ = new GameEventDiffer(GAME_PK, events);
+
+		assertTrue(differ.diff(events).isEmpty());
+	}
+
+	@Test
+	public void diffShouldReturnUpdatedEvents() {
+		LOGGER.info("diffShouldReturnUpdatedEvents");
+		GameEvent gameEvent = mockGameEvent(1);
+		GameEvent updatedGameEvent = mockGameEvent(1);
+		GameEventDiffer differ = new GameEventDiffer(GAME_PK, Arrays.asList(gameEvent));
+
+		GameEventDelta delta = differ.diff(Arrays.asList(updatedGameEvent));
+
+		assertTrue(delta.getAdded().isEmpty());
+		assertEquals(Arrays.asList(updatedGameEvent), delta.getUpdated());
+		assertTrue(delta.getRemoved().isEmpty());
+	}
+
+	@Test
+	public void diffShouldReturnRemovedEvents() {
+		LOGGER.info("diffShouldReturnRemovedEvents");
+		GameEvent gameEvent = mockGameEvent(1);
+		GameEvent gameEvent2 = mockGameEvent(2);
+		GameEventDiffer differ = new GameEventDiffer(GAME_PK, Arrays.asList(gameEvent, gameEvent2));
+
+		GameEventDelta delta = differ.diff(Arrays.asList(gameEvent2));
+
+		assertTrue(delta.getAdded().isEmpty());
+		assertTrue(delta.getUpdated().isEmpty());
+		assertEquals(Arrays.asList(gameEvent), delta.getRemoved());
+	}
+
+	@Test
+	public void diffShouldIgnoreEventsWithoutPlayers() {
+		LOGGER.info("diffShouldIgnoreEventsWithoutPlayers");
+		GameEvent gameEvent = mock(GameEvent.class);
+		when(gameEvent.getId()).thenReturn(1);
+		when(gameEvent.getPlayers()).thenReturn(Collections.emptyList());
+		GameEventDiffer differ = new GameEventDiffer(GAME_PK, Collections.emptyList());
+
+		assertTrue(differ.diff(Arrays.asList(gameEvent)).isEmpty());
+		assertTrue(differ.diff(Collections.emptyList()).isEmpty());
+	}
+
+	@Test
+	public void diffShouldDebounceEmptyFetches() {
+		LOGGER.info("diffShouldDebounceEmptyFetches");
+		GameEvent gameEvent = mockGameEvent(1);
+		GameEventDiffer differ = new GameEventDiffer(GAME_PK, Arrays.asList(gameEvent));
+
+		for (int i = 0; i < GameEventDiffer.NHL_EVENTS_RETRIES; i++) {
+			assertTrue(differ.diff(Collections.emptyList()).isEmpty());
+		}
+		assertEquals(Arrays.asList(gameEvent), differ.diff(Collections.emptyList()).getRemoved());
+	}
+
+	@Test
+	public void isRetryEventFetchShouldReturnBoolean() {
+		LOGGER.info("isRetryEventFetchShouldReturnBoolean");
+
+		List<GameEvent> emptyList = Collections.emptyList();
+		List<GameEvent> event1List = Arrays.asList(mockGameEvent(1));
+		List<GameEvent> event2List = Arrays.asList(mockGameEvent(1), mockGameEvent(2));
+
+		// returns false when fetchedGameEvents is not empty
+		GameEventDiffer differ = new GameEventDiffer(GAME_PK, Collections.emptyList());
+		assertFalse(differ.isRetryEventFetch(event1List));
+
+		// returns true if existing list is larger than 1
+		differ = new GameEventDiffer(GAME_PK, event2List);
+		assertTrue(differ.isRetryEventFetch(emptyList));
+
+		// when list is 1, returns true until iterations reaches threshold
+		differ = new GameEventDiffer(GAME_PK, event1List);
+		assertTrue(differ.isRetryEventFetch(emptyList));
+		assertTrue(differ.isRetryEventFetch(emptyList));
+		assertTrue(differ.isRetryEventFetch(emptyList));
+		assertTrue(differ.isRetryEventFetch(emptyList));
+		assertTrue(differ.isRetryEventFetch(emptyList));
+		assertFalse(differ.isRetryEventFetch(emptyList));
+		assertTrue(differ.isRetryEventFetch(emptyList));
+		assertTrue(differ.isRetryEventFetch(emptyList));
+		assertTrue(differ.isRetryEventFetch(emptyList));
+		assertTrue(differ.isRetryEventFetch(emptyList));
+		assertTrue(differ.isRetryEventFetch(emptyList));
+		assertFalse(differ.isRetryEventFetch(emptyList));
+	}
+
+	private static GameEvent mockGameEvent(int id) {
+		GameEvent gameEvent = mock(GameEvent.class);
+		when(gameEvent.getId()).thenReturn(id);
+		when(gameEvent.getPlayers()).thenReturn(Arrays.asList(mock(Player.class)));
+		return gameEvent;
+	}
+}
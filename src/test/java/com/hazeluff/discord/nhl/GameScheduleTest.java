@@ -0,0 +1,88 @@
+package com.hazeluff.discord.nhl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.hazeluff.discord.nhl.TeamGameIndex.Partition;
+
+@RunWith(PowerMockRunner.class)
+public class GameScheduleTest {
+	private static final Logger LOGGER = LoggerFactory.getLogger(GameScheduleTest.class);
+
+	private static final Team TEAM = Team.VANCOUVER_CANUCKS;
+	private static final Team TEAM2 = Team.EDMONTON_OILERS;
+	private static final ZonedDateTime DATE = ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+	private Game game1;
+	private Game game2;
+	private GameSchedule schedule;
+
+	@Before
+	public void before() {
+		game1 = new Game(DATE, 1, TEAM, TEAM2, 0, 0, GameStatus.PREVIEW);
+		game2 = new Game(DATE.plusDays(1), 2, TEAM2, TEAM, 0, 0, GameStatus.PREVIEW);
+		schedule = new GameSchedule();
+		schedule.upsertAll(Arrays.asList(game1, game2));
+	}
+
+	@Test
+	public void upsertShouldUpdateExistingGame() {
+		LOGGER.info("upsertShouldUpdateExistingGame");
+		Game updatedGame1 = new Game(DATE, 1, TEAM, TEAM2, 1, 0, GameStatus.LIVE);
+
+		assertEquals(GameSchedule.UpsertResult.CHANGED, schedule.upsert(updatedGame1));
+		assertEquals(GameSchedule.UpsertResult.UNCHANGED, schedule.upsert(updatedGame1));
+
+		assertSame(game1, schedule.get(1));
+		assertEquals(1, game1.getAwayScore());
+		assertEquals(game1, schedule.getGame(TEAM, Partition.CURRENT, 0, false));
+		assertEquals(2, schedule.size());
+	}
+
+	@Test
+	public void mergeShouldReturnAddedChangedAndRemovedGames() {
+		LOGGER.info("mergeShouldReturnAddedChangedAndRemovedGames");
+		Game game3 = new Game(DATE.plusDays(2), 3, TEAM, TEAM2, 0, 0, GameStatus.PREVIEW);
+		Game updatedGame2 = new Game(DATE.plusDays(1), 2, TEAM2, TEAM, 0, 0, GameStatus.POSTPONED);
+
+		GameSchedule.Changes changes = schedule.merge(Arrays.asList(game3, updatedGame2), Arrays.asList(1, 4));
+
+		assertEquals(Arrays.asList(game3), changes.getAdded());
+		assertEquals(Arrays.asList(game2), changes.getChanged());
+		assertEquals(Arrays.asList(game1), changes.getRemoved());
+		assertNull(schedule.get(1));
+		assertFalse(schedule.contains(game1));
+		assertNull(schedule.getByChannelName(game1.getChannelName()));
+		assertEquals(Arrays.asList(game2, game3), schedule.getGames(TEAM));
+	}
+
+	@Test
+	public void mergeShouldReturnEmptyChangesWhenNothingChanged() {
+		LOGGER.info("mergeShouldReturnEmptyChangesWhenNothingChanged");
+		Game sameGame1 = new Game(DATE, 1, TEAM, TEAM2, 0, 0, GameStatus.PREVIEW);
+
+		assertTrue(schedule.merge(Arrays.asList(sameGame1), Collections.emptyList()).isEmpty());
+	}
+
+	@Test
+	public void getByChannelNameShouldIgnoreCase() {
+		LOGGER.info("getByChannelNameShouldIgnoreCase");
+		assertSame(game2, schedule.getByChannelName(game2.getChannelName().toUpperCase()));
+		assertNull(schedule.getByChannelName("not-a-channel"));
+	}
+}
@@ -6,11 +6,12 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
@@ -21,9 +22,12 @@ import static org.powermock.api.mockito.PowerMockito.mockStatic;
 import static org.powermock.api.mockito.PowerMockito.whenNew;
 
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
@@ -33,10 +37,11 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 
 import org.apache.http.client.utils.URIBuilder;
-import org.json.JSONObject;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -83,6 +88,8 @@ public class GameSchedulerTest {
 	Guild mockGuild1, mockGuild2, mockGuild3;
 	@Mock
 	TextChannel mockChannel1, mockChannel2, mockChannel3, mockChannel4;
+	@Mock
+	LiveGamePoller mockLivePoller;
 
 	private GameScheduler gameScheduler;
 	private GameScheduler spyGameScheduler;
@@ -97,7 +104,7 @@ public class GameSchedulerTest {
 	private static final Team TEAM = Team.VANCOUVER_CANUCKS;
 	private static final Team TEAM2 = Team.EDMONTON_OILERS;
 	private Set<Game> GAMES;
-	private Map<Game, GameTracker> GAME_TRACKERS;
+	private GameTrackerRegistry GAME_TRACKERS;
 	
 	@Before
 	public void setup() throws Exception {
@@ -106,23 +113,35 @@ public class GameSchedulerTest {
 		when(mockNHLBot.getGameDayChannelsManager()).thenReturn(mockGameChannelsManager);
 
 		mockStatic(GameDayChannel.class);
-		when(GameDayChannel.getChannelName(mockGame1)).thenReturn(GAME_CHANNEL_NAME1);
-		when(GameDayChannel.getChannelName(mockGame2)).thenReturn(GAME_CHANNEL_NAME2);
-		when(GameDayChannel.getChannelName(mockGame3)).thenReturn(GAME_CHANNEL_NAME3);
-		when(GameDayChannel.getChannelName(mockGame4)).thenReturn(GAME_CHANNEL_NAME4);
+		when(mockGame1.getChannelName()).thenReturn(GAME_CHANNEL_NAME1);
+		when(mockGame2.getChannelName()).thenReturn(GAME_CHANNEL_NAME2);
+		when(mockGame3.getChannelName()).thenReturn(GAME_CHANNEL_NAME3);
+		when(mockGame4.getChannelName()).thenReturn(GAME_CHANNEL_NAME4);
+		when(mockGame5.getChannelName()).thenReturn("GameChannelName5");
+		when(mockGame6.getChannelName()).thenReturn("GameChannelName6");
 		
-		when(mockGame1.getGamePk()).thenReturn(Utils.getRandomInt());
-		when(mockGame2.getGamePk()).thenReturn(Utils.getRandomInt());
+		when(mockGame1.getGamePk()).thenReturn(1);
+		when(mockGame2.getGamePk()).thenReturn(2);
+		when(mockGame3.getGamePk()).thenReturn(3);
+		when(mockGame4.getGamePk()).thenReturn(4);
+		when(mockGame5.getGamePk()).thenReturn(5);
+		when(mockGame6.getGamePk()).thenReturn(6);
 
 		when(mockGame1.getDate()).thenReturn(gameDate1);
 		when(mockGame2.getDate()).thenReturn(gameDate2);
 		when(mockGame3.getDate()).thenReturn(gameDate3);
+		when(mockGame4.getDate()).thenReturn(gameDate3.plusDays(1));
+		when(mockGame5.getDate()).thenReturn(gameDate3.plusDays(2));
+		when(mockGame6.getDate()).thenReturn(gameDate3.plusDays(3));
 		when(mockGameTracker1.getGame()).thenReturn(mockGame1);
 		when(mockGameTracker2.getGame()).thenReturn(mockGame2);
 		when(mockGameTracker3.getGame()).thenReturn(mockGame3);
 		when(mockGame1.getTeams()).thenReturn(Arrays.asList(TEAM, Team.EDMONTON_OILERS));
 		when(mockGame2.getTeams()).thenReturn(Arrays.asList(TEAM, Team.ANAHEIM_DUCKS));
 		when(mockGame3.getTeams()).thenReturn(Arrays.asList(TEAM, Team.ARIZONA_COYOTES));
+		when(mockGame4.getTeams()).thenReturn(Arrays.asList(TEAM, Team.BOSTON_BRUINS));
+		when(mockGame5.getTeams()).thenReturn(Arrays.asList(TEAM, Team.BUFFALO_SABRES));
+		when(mockGame6.getTeams()).thenReturn(Arrays.asList(TEAM, Team.CALGARY_FLAMES));
 		when(mockChannel1.getName()).thenReturn(GAME_CHANNEL_NAME1);
 		when(mockChannel2.getName()).thenReturn(GAME_CHANNEL_NAME2);
 		when(mockChannel3.getName()).thenReturn(GAME_CHANNEL_NAME3);
@@ -133,11 +152,8 @@ public class GameSchedulerTest {
 		// when(mockGuild1.getChannels()).thenReturn(Arrays.asList(mockChannel1,
 		// mockChannel2, mockChannel3));
 		GAMES = Utils.asSet(mockGame1, mockGame2, mockGame3);
-		GAME_TRACKERS = new HashMap<>();
-		GAME_TRACKERS.put(mockGame1, mockGameTracker1);
-		GAME_TRACKERS.put(mockGame2, mockGameTracker2);
-		GAME_TRACKERS.put(mockGame3, mockGameTracker3);
-		gameScheduler = new GameScheduler(GAMES, GAME_TRACKERS);
+		GAME_TRACKERS = new GameTrackerRegistry(game -> null);
+		gameScheduler = new GameScheduler(GAMES, GAME_TRACKERS, mockLivePoller);
 		spyGameScheduler = spy(gameScheduler);
 
 		doReturn(mockGameTracker1).when(spyGameScheduler).toGameTracker(mockGame1);
@@ -181,23 +197,36 @@ public class GameSchedulerTest {
 		LOGGER.info("initGamesShouldAddAllGamesInOrder");
 		mockStatic(Utils.class);
 		when(Utils.getCurrentTime()).thenReturn(0L, GameScheduler.GAME_SCHEDULE_UPDATE_RATE + 1);
-		gameScheduler = new GameScheduler(new HashSet<>(), new HashMap<>());
+		gameScheduler = new GameScheduler(new HashSet<>(), new GameTrackerRegistry(game -> null));
 		spyGameScheduler = spy(gameScheduler);
 
-		Map<Team, Game> expectedGames = new HashMap<>();
-
-		for (Team team : Team.values()) {
-			Game mockGame = mock(Game.class);
-			expectedGames.put(team, mockGame);
-			doReturn(Arrays.asList(mockGame)).when(spyGameScheduler).getGames(eq(team), any(), any());
-		}
+		List<Game> expectedGames = Arrays.asList(mockGame1, mockGame2, mockGame3);
+		doReturn(expectedGames).when(spyGameScheduler).getLeagueGames(any(ZonedDateTime.class),
+				any(ZonedDateTime.class));
 
 		spyGameScheduler.initGames();
 
-		assertEquals(Team.values().length, spyGameScheduler.getGames().size());
-		for (Team team : Team.values()) {
-			assertTrue(spyGameScheduler.getGames().contains(expectedGames.get(team)));
-		}
+		assertEquals(expectedGames.size(), spyGameScheduler.getGames().size());
+		assertTrue(spyGameScheduler.getGames().containsAll(expectedGames));
+		verify(spyGameScheduler, never()).getGames(any(Team.class), any(), any());
+	}
+
+	@Test
+	public void getLeagueGamesShouldFetchPeriodInChunks() throws HttpException {
+		LOGGER.info("getLeagueGamesShouldFetchPeriodInChunks");
+		ZonedDateTime startDate = ZonedDateTime.of(2016, 10, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+		ZonedDateTime endDate = startDate.plusDays(GameScheduler.SCHEDULE_CHUNK_DAYS * 2);
+		doReturn(Arrays.asList(mockGame1)).when(spyGameScheduler).getGames(startDate,
+				startDate.plusDays(GameScheduler.SCHEDULE_CHUNK_DAYS - 1));
+		doReturn(Arrays.asList(mockGame2)).when(spyGameScheduler).getGames(
+				startDate.plusDays(GameScheduler.SCHEDULE_CHUNK_DAYS),
+				startDate.plusDays(GameScheduler.SCHEDULE_CHUNK_DAYS * 2 - 1));
+		doReturn(Arrays.asList(mockGame3)).when(spyGameScheduler).getGames(endDate, endDate);
+
+		List<Game> result = spyGameScheduler.getLeagueGames(startDate, endDate);
+
+		assertEquals(Arrays.asList(mockGame1, mockGame2, mockGame3), result);
+		verify(spyGameScheduler, times(3)).getGames(any(ZonedDateTime.class), any(ZonedDateTime.class));
 	}
 
 	@Test
@@ -209,10 +238,100 @@ public class GameSchedulerTest {
 
 		spyGameScheduler.run();
 
+		verify(mockLivePoller).start();
 		verify(spyGameScheduler).initGames();
 		verify(spyGameScheduler).initTrackers();
 	}
 
+	@Test
+	@PrepareForTest({ Utils.class, GameDayChannel.class })
+	public void runShouldRetryInitializationWhenGamesCannotBeFetched() throws HttpException {
+		LOGGER.info("runShouldRetryInitializationWhenGamesCannotBeFetched");
+		mockStatic(Utils.class);
+		doThrow(HttpException.class).doNothing().when(spyGameScheduler).initGames();
+		doNothing().when(spyGameScheduler).initTrackers();
+		doReturn(false).doReturn(true).when(spyGameScheduler).isStop();
+
+		spyGameScheduler.run();
+
+		verify(spyGameScheduler, times(2)).initGames();
+		verify(spyGameScheduler, times(1)).initTrackers();
+		assertTrue(spyGameScheduler.isInit());
+	}
+
+	@Test
+	public void runShouldStartWithGamesOfSnapshotWhenGamesCannotBeFetched() throws Exception {
+		LOGGER.info("runShouldStartWithGamesOfSnapshotWhenGamesCannotBeFetched");
+		Path snapshotPath = Files.createTempDirectory("schedule").resolve("schedule.snapshot");
+		Game game = new Game(gameDate1, 2016020001, TEAM, TEAM2, 2, 1, GameStatus.FINAL);
+		ScheduleSnapshot.write(snapshotPath, Config.CURRENT_SEASON.getAbbreviation(), Arrays.asList(game));
+		spyGameScheduler = spy(new GameScheduler(null, GAME_TRACKERS, mockLivePoller, null, snapshotPath));
+		doThrow(HttpException.class).when(spyGameScheduler).initGames();
+		doNothing().when(spyGameScheduler).initTrackers();
+		doReturn(true).when(spyGameScheduler).isStop();
+
+		spyGameScheduler.run();
+
+		assertTrue(spyGameScheduler.isInit());
+		assertEquals(Sets.newSet(game), spyGameScheduler.getGames());
+		verify(spyGameScheduler).initTrackers();
+	}
+
+	@Test
+	public void runShouldNotPublishChangesSinceSnapshotWhenRestartedDuringGame() throws Exception {
+		LOGGER.info("runShouldNotPublishChangesSinceSnapshotWhenRestartedDuringGame");
+		Path snapshotPath = Files.createTempDirectory("schedule").resolve("schedule.snapshot");
+		Game snapshotGame = new Game(gameDate1, 2016020001, TEAM, TEAM2, 0, 0, GameStatus.PREVIEW);
+		ScheduleSnapshot.write(snapshotPath, Config.CURRENT_SEASON.getAbbreviation(), Arrays.asList(snapshotGame));
+		// The game started and a goal was scored while the bot was down
+		Game fetchedGame = new Game(gameDate1, 2016020001, TEAM, TEAM2, 0, 1, GameStatus.LIVE);
+		fetchedGame.publish(0, 1, GameStatus.LIVE, Arrays.asList(GameTrackerTest.mockGameEvent()));
+		AtomicReference<GameScheduler> scheduler = new AtomicReference<>();
+		GameTrackerRegistry gameTrackers = new GameTrackerRegistry(game -> scheduler.get().toGameTracker(game));
+		spyGameScheduler = spy(new GameScheduler(null, gameTrackers, mockLivePoller,
+				mock(ScheduledExecutorService.class), snapshotPath));
+		scheduler.set(spyGameScheduler);
+		doAnswer(invocation -> new ArrayList<>(spyGameScheduler.getGames())).when(spyGameScheduler)
+				.getActiveGames(any(Team.class));
+		doAnswer(invocation -> {
+			spyGameScheduler.getGames().forEach(game -> game.updateTo(fetchedGame));
+			return null;
+		}).when(spyGameScheduler).initGames();
+		doReturn(true).when(spyGameScheduler).isStop();
+		GameTracker.Listener mockListener = mock(GameTracker.Listener.class);
+		// Channels attach to the tracker created from the snapshot, before the games are revalidated
+		doAnswer(invocation -> {
+			spyGameScheduler.getGameTracker(snapshotGame).addListener(mockListener);
+			return invocation.callRealMethod();
+		}).when(spyGameScheduler).rebaseTrackers();
+
+		spyGameScheduler.run();
+
+		GameTracker gameTracker = spyGameScheduler.getGameTracker(snapshotGame);
+		assertFalse(gameTracker.isProvisional());
+		gameTracker.publishChanges();
+		verify(mockListener, never()).onStatusChanged(any(), any());
+		verify(mockListener, never()).onEventsChanged(any());
+	}
+
+	@Test
+	public void runShouldSaveSnapshotAfterInitialization() throws Exception {
+		LOGGER.info("runShouldSaveSnapshotAfterInitialization");
+		Path snapshotPath = Files.createTempDirectory("schedule").resolve("schedule.snapshot");
+		Game game = new Game(gameDate1, 2016020001, TEAM, TEAM2, 2, 1, GameStatus.FINAL);
+		spyGameScheduler = spy(
+				new GameScheduler(Sets.newSet(game), GAME_TRACKERS, mockLivePoller, null, snapshotPath));
+		doNothing().when(spyGameScheduler).initGames();
+		doNothing().when(spyGameScheduler).initTrackers();
+		doReturn(true).when(spyGameScheduler).isStop();
+
+		spyGameScheduler.run();
+
+		List<Game> snapshotGames = ScheduleSnapshot.read(snapshotPath, Config.CURRENT_SEASON.getAbbreviation());
+		assertEquals(Arrays.asList(game), snapshotGames);
+		assertEquals(GameStatus.FINAL, snapshotGames.get(0).getStatus());
+	}
+
 	@Test
 	@PrepareForTest({ Utils.class, GameDayChannel.class })
 	public void runShouldLoopAndInvokeMethodsWhenNewDayHasPassed() throws HttpException {
@@ -220,7 +339,7 @@ public class GameSchedulerTest {
 		mockStatic(Utils.class);
 		doNothing().when(spyGameScheduler).initGames();
 		doNothing().when(spyGameScheduler).initTrackers();
-		doNothing().when(spyGameScheduler).updateGameSchedule();
+		doReturn(null).when(spyGameScheduler).updateGameSchedule();
 		doReturn(false).doReturn(false).doReturn(false).doReturn(false).doReturn(true).when(spyGameScheduler).isStop();
 		when(Utils.getCurrentDate(Config.DATE_START_TIME_ZONE)).thenReturn(
 				LocalDate.of(1900, 1, 1),
@@ -234,6 +353,28 @@ public class GameSchedulerTest {
 		verify(spyGameScheduler, times(1)).updateTrackers();
 	}
 
+	@Test
+	@PrepareForTest({ Utils.class, GameDayChannel.class })
+	public void runShouldNotAdvanceLastUpdateWhenScheduleIsStale() throws HttpException {
+		LOGGER.info("runShouldNotAdvanceLastUpdateWhenScheduleIsStale");
+		mockStatic(Utils.class);
+		doNothing().when(spyGameScheduler).initGames();
+		doNothing().when(spyGameScheduler).initTrackers();
+		doReturn(null).when(spyGameScheduler).updateGameSchedule();
+		doNothing().when(spyGameScheduler).updateTrackers();
+		doReturn(true).doReturn(false).when(spyGameScheduler).isScheduleStale();
+		doReturn(false).doReturn(false).doReturn(true).when(spyGameScheduler).isStop();
+		when(Utils.getCurrentDate(Config.DATE_START_TIME_ZONE)).thenReturn(
+				LocalDate.of(1900, 1, 1),
+				LocalDate.of(1900, 1, 2));
+
+		spyGameScheduler.run();
+
+		// The stale update is tried again in the next loop
+		verify(spyGameScheduler, times(2)).updateGameSchedule();
+		assertEquals(LocalDate.of(1900, 1, 2), spyGameScheduler.lastUpdate);
+	}
+
 	@Test
 	public void initTrackersShouldInvokeCreateGameTrackerForEachGameInList() {
 		LOGGER.info("initTrackersShouldInvokeCreateGameTrackerForEachGameInList");
@@ -256,9 +397,12 @@ public class GameSchedulerTest {
 		LOGGER.info("updateTrackersShouldRemoveFinishedTrackersAndAddLatest");
 		when(mockGameTracker1.isFinished()).thenReturn(true);
 		when(mockGameTracker2.isFinished()).thenReturn(false);
-		Map<Game, GameTracker> gameTrackers = new HashMap<>();
-		gameTrackers.put(mockGame1, mockGameTracker1);
-		gameTrackers.put(mockGame2, mockGameTracker2);
+		when(mockGame1.getGamePk()).thenReturn(1);
+		when(mockGame2.getGamePk()).thenReturn(2);
+		GameTrackerRegistry gameTrackers = new GameTrackerRegistry(
+				game -> game == mockGame1 ? mockGameTracker1 : mockGameTracker2);
+		gameTrackers.getOrCreate(mockGame1);
+		gameTrackers.getOrCreate(mockGame2);
 		
 		gameScheduler = new GameScheduler(null, gameTrackers);
 		spyGameScheduler = spy(gameScheduler);
@@ -272,18 +416,21 @@ public class GameSchedulerTest {
 
 		verify(spyGameScheduler).getGameTracker(mockGame3);
 		verify(spyGameScheduler).getGameTracker(mockGame4);
+		assertFalse(gameTrackers.contains(1));
+		assertTrue(gameTrackers.contains(2));
 	}
 
 	@SuppressWarnings("serial")
 	@Test
 	@PrepareForTest({ DateUtils.class, GameDayChannel.class })
-	public void updateGameScheduleShouldGetGamesFromAllTeamsAndAddToAndRemoveFromSet() throws HttpException {
-		LOGGER.info("updateGameScheduleShouldGetGamesFromAllTeamsAndAddToAndRemoveFromSet");
+	public void updateGameScheduleShouldGetLeagueGamesAndAddToAndRemoveFromSet() throws HttpException {
+		LOGGER.info("updateGameScheduleShouldGetLeagueGamesAndAddToAndRemoveFromSet");
 		BiFunction<Integer, ZonedDateTime, Game> mockGame = (gamePk, date) -> {
 			Game mGame = mock(Game.class);
 			when(mGame.getGamePk()).thenReturn(gamePk);
 			when(mGame.getDate()).thenReturn(date);
 			when(mGame.containsTeam(TEAM)).thenReturn(true);
+			when(mGame.getChannelName()).thenReturn("GameChannelName" + gamePk);
 			return mGame;
 		};
 		ZonedDateTime now = ZonedDateTime.now();
@@ -308,10 +455,13 @@ public class GameSchedulerTest {
 		gameScheduler = new GameScheduler(Sets.newSet(mockGame2, mockGame3, mockGame4), null);
 		spyGameScheduler = spy(gameScheduler);
 
-		doReturn(Collections.emptyList()).when(spyGameScheduler).getGames(any(Team.class), any(), any());
-		doReturn(Arrays.asList(newMockGame1, newMockGame2)).when(spyGameScheduler).getGames(eq(TEAM), any(), any());
+		doReturn(Arrays.asList(newMockGame1, newMockGame2)).when(spyGameScheduler)
+				.getGames(any(ZonedDateTime.class), any(ZonedDateTime.class));
 
-		spyGameScheduler.updateGameSchedule();
+		GameSchedule.Changes changes = spyGameScheduler.updateGameSchedule();
+		assertEquals(Arrays.asList(newMockGame1), changes.getAdded());
+		assertTrue(changes.getChanged().isEmpty());
+		assertEquals(Arrays.asList(mockGame3), changes.getRemoved());
 		assertEquals(
 				new LinkedHashSet<Game>() {{
 						add(newMockGame1);
@@ -324,7 +474,7 @@ public class GameSchedulerTest {
 	}
 
 	@Test
-	@PrepareForTest({ GameScheduler.class, HttpUtils.class, Game.class, GameDayChannel.class })
+	@PrepareForTest({ GameScheduler.class, HttpUtils.class, ScheduleParser.class, GameDayChannel.class })
 	public void getGamesShouldReturnListOfGames() throws Exception {
 		LOGGER.info("getGamesShouldReturnListOfGames");
 		ZonedDateTime startDate = ZonedDateTime.of(2016, 10, 1, 0, 0, 0, 0, ZoneOffset.UTC);
@@ -335,28 +485,9 @@ public class GameSchedulerTest {
 		URI mockURI = new URI("mockURI");
 		when(mockURIBuilder.build()).thenReturn(mockURI);
 		
-		mockStatic(HttpUtils.class, Game.class);
-		when(HttpUtils.getAndRetry(eq(mockURI), anyInt(), anyLong(), anyString()))
-				.thenReturn("{"
-				+ "dates:["
-				+ "{"
-					+ "games:["
-						+ "{game:1}"
-					+ "]"
-				+ "},"
-				+ "{"
-					+ "games:["
-						+ "{game:2}"
-					+ "]"
-				+ "},"
-				+ "{"
-					+ "games:["
-						+ "{game:3}"
-					+ "]"
-				+ "}"
-			+ "]"
-		+ "}");
-		when(Game.parse(any(JSONObject.class))).thenReturn(mockGame1, mockGame2, mockGame3);
+		mockStatic(HttpUtils.class, ScheduleParser.class);
+		when(HttpUtils.getAndRetry(eq(mockURI), anyInt(), anyString())).thenReturn("schedule");
+		when(ScheduleParser.parseGames("schedule")).thenReturn(Arrays.asList(mockGame1, mockGame2, mockGame3));
 		
 		List<Game> result = gameScheduler.getGames(TEAM, startDate, endDate);
 
@@ -365,11 +496,36 @@ public class GameSchedulerTest {
 		verify(mockURIBuilder).addParameter("endDate", "2017-06-05");
 	}
 
+	@Test
+	@PrepareForTest({ GameScheduler.class, HttpUtils.class, ScheduleParser.class, GameDayChannel.class })
+	public void getGamesShouldReturnAllGamesOfEachDateWhenNoTeamIsGiven() throws Exception {
+		LOGGER.info("getGamesShouldReturnAllGamesOfEachDateWhenNoTeamIsGiven");
+		ZonedDateTime startDate = ZonedDateTime.of(2016, 10, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+		ZonedDateTime endDate = ZonedDateTime.of(2016, 10, 2, 0, 0, 0, 0, ZoneOffset.UTC);
+
+		URIBuilder mockURIBuilder = mock(URIBuilder.class);
+		whenNew(URIBuilder.class).withArguments(Config.NHL_API_URL + "/schedule").thenReturn(mockURIBuilder);
+		URI mockURI = new URI("mockURI");
+		when(mockURIBuilder.build()).thenReturn(mockURI);
+
+		mockStatic(HttpUtils.class, ScheduleParser.class);
+		when(HttpUtils.getAndRetry(eq(mockURI), anyInt(), anyString())).thenReturn("schedule");
+		when(ScheduleParser.parseGames("schedule")).thenReturn(Arrays.asList(mockGame1, mockGame2, mockGame3));
+
+		List<Game> result = gameScheduler.getGames(startDate, endDate);
+
+		assertEquals(Arrays.asList(mockGame1, mockGame2, mockGame3), result);
+		verify(mockURIBuilder).addParameter("startDate", "2016-10-01");
+		verify(mockURIBuilder).addParameter("endDate", "2016-10-02");
+		verify(mockURIBuilder, never()).addParameter(eq("teamId"), anyString());
+	}
+
 	@Test
 	public void getFutureGameShouldReturnGameInTheFuture() {
 		LOGGER.info("getFutureGameShouldReturnGameInTheFuture");
 		Set<Game> games = Utils.asSet(mockGame1, mockGame2, mockGame3, mockGame4, mockGame5, mockGame6);
 		when(mockGame1.containsTeam(TEAM)).thenReturn(false);
+		when(mockGame1.getTeams()).thenReturn(Arrays.asList(TEAM2, Team.ANAHEIM_DUCKS));
 		when(mockGame2.containsTeam(TEAM)).thenReturn(true);
 		when(mockGame3.containsTeam(TEAM)).thenReturn(true);
 		when(mockGame4.containsTeam(TEAM)).thenReturn(true);
@@ -403,6 +559,7 @@ public class GameSchedulerTest {
 		LOGGER.info("getPastGameShouldReturnGameInPast");
 		Set<Game> games = Utils.asSet(mockGame1, mockGame2, mockGame3, mockGame4, mockGame5, mockGame6);
 		when(mockGame1.containsTeam(TEAM)).thenReturn(false);
+		when(mockGame1.getTeams()).thenReturn(Arrays.asList(TEAM2, Team.ANAHEIM_DUCKS));
 		when(mockGame2.containsTeam(TEAM)).thenReturn(true);
 		when(mockGame3.containsTeam(TEAM)).thenReturn(true);
 		when(mockGame4.containsTeam(TEAM)).thenReturn(true);
@@ -435,6 +592,7 @@ public class GameSchedulerTest {
 		LOGGER.info("getCurrentGameShouldReturnStartedGame");
 		Set<Game> games = Utils.asSet(mockGame1, mockGame2, mockGame3, mockGame4);
 		when(mockGame1.containsTeam(TEAM)).thenReturn(false);
+		when(mockGame1.getTeams()).thenReturn(Arrays.asList(TEAM2, Team.ANAHEIM_DUCKS));
 		when(mockGame2.containsTeam(TEAM)).thenReturn(true);
 		when(mockGame3.containsTeam(TEAM)).thenReturn(true);
 		when(mockGame4.containsTeam(TEAM)).thenReturn(true);
@@ -451,6 +609,7 @@ public class GameSchedulerTest {
 		LOGGER.info("getCurrentGameShouldReturnLiveGame");
 		Set<Game> games = Utils.asSet(mockGame1, mockGame2, mockGame3, mockGame4);
 		when(mockGame1.containsTeam(TEAM)).thenReturn(false);
+		when(mockGame1.getTeams()).thenReturn(Arrays.asList(TEAM2, Team.ANAHEIM_DUCKS));
 		when(mockGame2.containsTeam(TEAM)).thenReturn(true);
 		when(mockGame3.containsTeam(TEAM)).thenReturn(true);
 		when(mockGame4.containsTeam(TEAM)).thenReturn(true);
@@ -477,19 +636,22 @@ public class GameSchedulerTest {
 		when(mockGame1.getGamePk()).thenReturn(1);
 		when(mockGame2.getGamePk()).thenReturn(2);
 		when(mockGame3.getGamePk()).thenReturn(3);
-		Map<Game, GameTracker> gameTrackers = new HashMap<>();
-		gameTrackers.put(mockGame1, mockGameTracker1);
-		gameTrackers.put(mockGame2, mockGameTracker2);
-		gameTrackers.put(mockGame3, mockGameTracker3);
+		Map<Game, GameTracker> trackers = new HashMap<>();
+		trackers.put(mockGame1, mockGameTracker1);
+		trackers.put(mockGame2, mockGameTracker2);
+		trackers.put(mockGame3, mockGameTracker3);
+		GameTrackerRegistry gameTrackers = new GameTrackerRegistry(trackers::get);
+		gameTrackers.getOrCreate(mockGame1);
+		gameTrackers.getOrCreate(mockGame2);
+		gameTrackers.getOrCreate(mockGame3);
+		trackers.clear();
 
 		GameScheduler spyGameScheduler = spy(new GameScheduler(null, gameTrackers));
-		doReturn(null).when(spyGameScheduler).toGameTracker(any(Game.class));
 
 		assertEquals(mockGameTracker1, spyGameScheduler.getGameTracker(mockGame1));
 		assertEquals(mockGameTracker2, spyGameScheduler.getGameTracker(mockGame2));
 		assertEquals(mockGameTracker3, spyGameScheduler.getGameTracker(mockGame3));
-
-		verify(spyGameScheduler, never()).toGameTracker(any(Game.class));
+		assertEquals(3, gameTrackers.size());
 	}
 
 	@Test
@@ -507,21 +669,14 @@ public class GameSchedulerTest {
 	}
 
 	@Test
-	@PrepareForTest(GameDayChannel.class)
 	public void isGameActiveShouldFunctionCorrectly() {
 		LOGGER.info("isGameActiveShouldFunctionCorrectly");
-		Game game1 = mock(Game.class);
-		String channelName1 = "Channel1";
-		Game game2 = mock(Game.class);
-		String channelName2 = "Channel2";
-		mockStatic(GameDayChannel.class);
-		when(GameDayChannel.getChannelName(game1)).thenReturn(channelName1);
-		when(GameDayChannel.getChannelName(game2)).thenReturn(channelName2);
 		Team team = Team.VANCOUVER_CANUCKS;
-		doReturn(Arrays.asList(game1, game2)).when(spyGameScheduler).getActiveGames(team);
+		doReturn(Arrays.asList(mockGame1, mockGame2)).when(spyGameScheduler).getActiveGames(team);
 
-		assertTrue(spyGameScheduler.isGameActive(team, channelName1));
-		assertTrue(spyGameScheduler.isGameActive(team, channelName2));
+		assertTrue(spyGameScheduler.isGameActive(team, GAME_CHANNEL_NAME1));
+		assertTrue(spyGameScheduler.isGameActive(team, GAME_CHANNEL_NAME2.toUpperCase()));
+		assertFalse(spyGameScheduler.isGameActive(team, GAME_CHANNEL_NAME3));
 		assertFalse(spyGameScheduler.isGameActive(team, "Some other channel's name"));
 	}
 }
@@ -5,12 +5,12 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -27,8 +27,6 @@ import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
 
 import org.apache.http.client.utils.URIBuilder;
-import org.json.JSONArray;
-import org.json.JSONObject;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -87,52 +85,6 @@ public class GameTest {
 		spyGame = spy(game);
 	}
 
-	@Test
-	@PrepareForTest({ Game.class, GameEvent.class, DateUtils.class })
-	public void parseShouldParseJSONObject() throws Exception {
-		LOGGER.info("parseShouldParseJSONObject");
-		JSONObject jsonGame = new JSONObject(
-				"{"
-					+ "gamePk:" + GAME_PK + ","					
-					+ "gameDate:\"2016-01-01T00:00Z\","
-					+ "teams:{"
-						+ "away:{"
-							+ "team: {"
-								+ "id:" + AWAY_TEAM.getId()
-							+ "},"
-							+ "score:" + AWAY_SCORE
-						+ "},"
-						+ "home:{"
-							+ "team: {"
-								+ "id:" + HOME_TEAM.getId()
-							+ "},"
-							+ "score:" + HOME_SCORE
-						+ "}"
-					+ "},"
-					+ "status: {"
-						+ "statusCode:\"" + STATUS_CODE + "\""
-					+ "},"
-					+ "scoringPlays: [{"
-						+ "to:\"bemocked\""
-					+ "}]"
-				+ "}");
-		mockStatic(GameEvent.class);
-		when(GameEvent.parse(any(JSONObject.class))).thenReturn(mockGameEvent);
-
-		Game result = Game.parse(jsonGame);
-
-		assertEquals(GAME_PK, result.getGamePk());
-		assertEquals(DATE, result.getDate());
-		assertEquals(AWAY_TEAM, result.getAwayTeam());
-		assertEquals(HOME_TEAM, result.getHomeTeam());
-		assertEquals(AWAY_SCORE, result.getAwayScore());
-		assertEquals(HOME_SCORE, result.getHomeScore());
-		assertEquals(STATUS, result.getStatus());
-		assertEquals(Arrays.asList(mockGameEvent), result.getEvents());
-	}
-
-
-
 	@Test
 	public void eventsShouldBeCopyOfList() {
 		LOGGER.info("eventsShouldBeCopyOfList");
@@ -146,27 +98,30 @@ public class GameTest {
 	}
 
 	@Test
-	@PrepareForTest({ Game.class, DateUtils.class, HttpUtils.class, JSONObject.class })
+	@PrepareForTest({ Game.class, DateUtils.class, HttpUtils.class, ScheduleParser.class })
 	public void updateShouldUpdateValues() throws Exception {
 		LOGGER.info("updateShouldUpdateValues");
-		doNothing().when(spyGame).updateState(any(JSONObject.class));
-		mockStatic(HttpUtils.class);
-		when(HttpUtils.getAndRetry(any(URI.class), anyInt(), anyLong(), anyString())).thenReturn("asdf");
-		JSONObject mockJsonSchedule = mock(JSONObject.class);
-		JSONArray mockJsonDates = mock(JSONArray.class);
-		JSONObject mockJsonDate = mock(JSONObject.class);
-		JSONArray mockJsonGames = mock(JSONArray.class);
-		JSONObject mockJsonGame = mock(JSONObject.class);
-		when(mockJsonSchedule.getJSONArray(anyString())).thenReturn(mockJsonDates);
-		when(mockJsonDates.getJSONObject(anyInt())).thenReturn(mockJsonDate);
-		when(mockJsonDate.getJSONArray(anyString())).thenReturn(mockJsonGames);
-		when(mockJsonGames.getJSONObject(anyInt())).thenReturn(mockJsonGame);
-		
-		whenNew(JSONObject.class).withAnyArguments().thenReturn(mockJsonSchedule);
+		Game fetchedGame = mock(Game.class);
+		doReturn(true).when(spyGame).updateTo(any(Game.class));
+		mockStatic(HttpUtils.class, ScheduleParser.class);
+		when(HttpUtils.getIfChanged(any(URI.class), eq(true))).thenReturn("asdf");
+		when(ScheduleParser.parseGames("asdf")).thenReturn(Arrays.asList(fetchedGame));
 
 		spyGame.update();
 		
-		verify(spyGame).updateState(mockJsonGame);
+		verify(spyGame).updateTo(fetchedGame);
+	}
+
+	@Test
+	@PrepareForTest({ Game.class, DateUtils.class, HttpUtils.class, ScheduleParser.class })
+	public void updateShouldNotParseWhenResponseIsUnchanged() throws Exception {
+		LOGGER.info("updateShouldNotParseWhenResponseIsUnchanged");
+		mockStatic(HttpUtils.class, ScheduleParser.class);
+		when(HttpUtils.getIfChanged(any(URI.class), eq(true))).thenReturn(null);
+
+		spyGame.update();
+
+		verify(spyGame, never()).updateTo(any(Game.class));
 	}
 
 	@Test
@@ -180,42 +135,6 @@ public class GameTest {
 		spyGame.update();
 	}
 
-	@Test
-	@PrepareForTest({ GameEvent.class, DateUtils.class })
-	public void updateStateShouldUpdateMembers() {
-		LOGGER.info("updateStateShouldUpdateMembers");
-		int newAwayScore = AWAY_SCORE + 5;
-		int newHomeScore = AWAY_SCORE + 5;
-		int statusCode = 4;
-		GameStatus newStatus = GameStatus.parse(statusCode);
-		assertNotEquals(STATUS, newStatus);
-		JSONObject jsonGame = new JSONObject("{"
-					+ "teams:{"
-						+ "away:{"
-							+ "score:" + newAwayScore
-						+ "},"
-						+ "home:{"
-							+ "score:" + newHomeScore
-						+ "}"
-					+ "},"
-					+ "status:{"
-						+ "statusCode:\"" + statusCode + "\""
-					+ "},"
-					+ "scoringPlays:[{"
-						+ "to:\"bemocked\""
-					+ "}]"
-				+ "}");
-		mockStatic(GameEvent.class);
-		when(GameEvent.parse(any(JSONObject.class))).thenReturn(mockGameEvent);
-
-		game.updateState(jsonGame);
-
-		assertEquals(newAwayScore, game.getAwayScore());
-		assertEquals(newHomeScore, game.getHomeScore());
-		assertEquals(newStatus, game.getStatus());
-		assertEquals(Arrays.asList(mockGameEvent), game.getEvents());
-	}
-
 	@Test
 	public void isEndedShouldReturnBoolean() {
 		for (GameStatus gs : GameStatus.values()) {
@@ -227,4 +146,40 @@ public class GameTest {
 			}
 		}
 	}
+
+	@Test
+	public void getChannelNameShouldReturnFormattedString() {
+		LOGGER.info("getChannelNameShouldReturnFormattedString");
+		String result = game.getChannelName();
+
+		assertEquals("fla-vs-van-00-12-31", result);
+		assertTrue(result == game.getChannelName());
+	}
+
+	@Test
+	public void updateToShouldPublishNewVersionOnlyWhenChanged() {
+		LOGGER.info("updateToShouldPublishNewVersionOnlyWhenChanged");
+		GameSnapshot snapshot = game.getSnapshot();
+		Game sameGame = new Game(DATE, GAME_PK, AWAY_TEAM, HOME_TEAM, AWAY_SCORE, HOME_SCORE, STATUS);
+		Game updatedGame = new Game(DATE, GAME_PK, AWAY_TEAM, HOME_TEAM, AWAY_SCORE + 1, HOME_SCORE, STATUS);
+
+		assertFalse(game.updateTo(sameGame));
+		assertTrue(snapshot == game.getSnapshot());
+
+		assertTrue(game.updateTo(updatedGame));
+		assertEquals(snapshot.getVersion() + 1, game.getVersion());
+		assertEquals(AWAY_SCORE + 1, game.getAwayScore());
+		assertEquals(AWAY_SCORE, snapshot.getAwayScore());
+	}
+
+	@Test
+	public void equalsShouldOnlyCompareGamePk() {
+		LOGGER.info("equalsShouldOnlyCompareGamePk");
+		Game updatedGame = new Game(DATE, GAME_PK, AWAY_TEAM, HOME_TEAM, AWAY_SCORE + 1, HOME_SCORE, STATUS);
+		Game otherGame = new Game(DATE, GAME_PK + 1, AWAY_TEAM, HOME_TEAM, AWAY_SCORE, HOME_SCORE, STATUS);
+
+		assertEquals(game, updatedGame);
+		assertEquals(game.hashCode(), updatedGame.hashCode());
+		assertNotEquals(game, otherGame);
+	}
 }
@@ -0,0 +1,129 @@
+package com.hazeluff.discord.nhl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@RunWith(PowerMockRunner.class)
+public class GameTrackerRegistryTest {
+	private static final Logger LOGGER = LoggerFactory.getLogger(GameTrackerRegistryTest.class);
+
+	@Mock
+	private Game mockGame1, mockGame2;
+	@Mock
+	private GameTrackerRegistry.Listener mockListener;
+
+	private AtomicInteger createdCount;
+	private GameTrackerRegistry gameTrackers;
+
+	@Before
+	public void before() {
+		when(mockGame1.getGamePk()).thenReturn(1);
+		when(mockGame2.getGamePk()).thenReturn(2);
+		createdCount = new AtomicInteger();
+		gameTrackers = new GameTrackerRegistry(game -> {
+			createdCount.incrementAndGet();
+			GameTracker gameTracker = mock(GameTracker.class);
+			when(gameTracker.getGame()).thenReturn(game);
+			return gameTracker;
+		});
+		gameTrackers.addListener(mockListener);
+	}
+
+	@Test
+	public void getOrCreateShouldCreateOneTrackerPerGame() {
+		LOGGER.info("getOrCreateShouldCreateOneTrackerPerGame");
+		GameTracker gameTracker1 = gameTrackers.getOrCreate(mockGame1);
+		GameTracker gameTracker2 = gameTrackers.getOrCreate(mockGame2);
+
+		assertSame(gameTracker1, gameTrackers.getOrCreate(mockGame1));
+		assertSame(gameTracker2, gameTrackers.getOrCreate(mockGame2));
+		assertSame(gameTracker1, gameTrackers.get(1));
+		assertEquals(2, createdCount.get());
+		assertEquals(2, gameTrackers.size());
+		verify(mockListener).onCreated(gameTracker1);
+		verify(mockListener).onCreated(gameTracker2);
+	}
+
+	@Test
+	public void getOrCreateShouldCreateOneTrackerWhenCalledConcurrently() throws Exception {
+		LOGGER.info("getOrCreateShouldCreateOneTrackerWhenCalledConcurrently");
+		int numThreads = 16;
+		ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+		CountDownLatch latch = new CountDownLatch(1);
+		List<Future<GameTracker>> futures = new ArrayList<>();
+		for (int i = 0; i < numThreads; i++) {
+			futures.add(executor.submit((Callable<GameTracker>) () -> {
+				latch.await();
+				return gameTrackers.getOrCreate(mockGame1);
+			}));
+		}
+		latch.countDown();
+
+		GameTracker gameTracker = futures.get(0).get();
+		for (Future<GameTracker> future : futures) {
+			assertSame(gameTracker, future.get());
+		}
+		executor.shutdown();
+		assertEquals(1, createdCount.get());
+		verify(mockListener, times(1)).onCreated(gameTracker);
+	}
+
+	@Test
+	public void removeShouldOnlyRemoveRegisteredTracker() {
+		LOGGER.info("removeShouldOnlyRemoveRegisteredTracker");
+		GameTracker gameTracker = gameTrackers.getOrCreate(mockGame1);
+		GameTracker otherTracker = mock(GameTracker.class);
+		when(otherTracker.getGame()).thenReturn(mockGame1);
+
+		assertFalse(gameTrackers.remove(otherTracker));
+		assertTrue(gameTrackers.contains(1));
+
+		assertTrue(gameTrackers.remove(gameTracker));
+		assertFalse(gameTrackers.contains(1));
+		assertNull(gameTrackers.get(1));
+		verify(mockListener).onRemoved(gameTracker);
+		verify(mockListener, never()).onRemoved(otherTracker);
+	}
+
+	@Test
+	public void removeFinishedShouldRemoveFinishedTrackers() {
+		LOGGER.info("removeFinishedShouldRemoveFinishedTrackers");
+		GameTracker gameTracker1 = gameTrackers.getOrCreate(mockGame1);
+		GameTracker gameTracker2 = gameTrackers.getOrCreate(mockGame2);
+		when(gameTracker1.isFinished()).thenReturn(true);
+		when(gameTracker2.isFinished()).thenReturn(false);
+
+		assertEquals(Arrays.asList(gameTracker1), gameTrackers.removeFinished());
+		assertEquals(Arrays.asList(gameTracker2), gameTrackers.getGameTrackers());
+
+		GameTracker newTracker1 = gameTrackers.getOrCreate(mockGame1);
+		assertFalse(newTracker1 == gameTracker1);
+		assertEquals(3, createdCount.get());
+	}
+}
@@ -1,26 +1,32 @@
 package com.hazeluff.discord.nhl;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.powermock.api.mockito.PowerMockito.mockStatic;
 
-import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.Captor;
 import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.powermock.core.classloader.annotations.PrepareForTest;
@@ -28,159 +34,347 @@ import org.powermock.modules.junit4.PowerMockRunner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.hazeluff.discord.bot.GameDayChannel;
-import com.hazeluff.discord.bot.GameDayChannelsManager;
+import com.hazeluff.discord.nhl.GameTracker.State;
 import com.hazeluff.discord.utils.DateUtils;
-import com.hazeluff.discord.utils.HttpException;
 import com.hazeluff.discord.utils.Utils;
 
 @RunWith(PowerMockRunner.class)
-@PrepareForTest({ DateUtils.class, GameDayChannel.class })
+@PrepareForTest({ DateUtils.class })
 public class GameTrackerTest {
 	private static final Logger LOGGER = LoggerFactory.getLogger(GameTrackerTest.class);
 
-	private static final ZoneId TIME_ZONE = ZoneId.of("America/Vancouver");
-	private static final String CHANNEL_NAME = "ChannelName";
-	private static final String GAME_DETAILS = "GameDetails";
-
-	@Mock
-	private GameDayChannelsManager mockGameChannelsManager;
 	@Mock
 	private Game mockGame;
-
-	@Captor
-	private ArgumentCaptor<String> captorString;
+	@Mock
+	private LiveGamePoller mockLivePoller;
+	@Mock
+	private ScheduledExecutorService mockExecutor;
+	@Mock
+	private GameTracker.Listener mockListener;
 
 	private GameTracker gameTracker;
 	private GameTracker spyGameTracker;
 
 	@Before
 	public void before() {
-		mockStatic(GameDayChannel.class);
-		when(GameDayChannel.getChannelName(mockGame)).thenReturn(CHANNEL_NAME);
-		when(GameDayChannel.getDetailsMessage(mockGame, TIME_ZONE)).thenReturn(GAME_DETAILS);
-		gameTracker = new GameTracker(mockGame);
+		mockStatic(DateUtils.class);
+		gameTracker = new GameTracker(mockGame, mockLivePoller, mockExecutor);
 		spyGameTracker = spy(gameTracker);
 	}
 
 	@Test
-	public void runShouldDoNothingWhenStatusIsFinal() throws Exception {
-		LOGGER.info("runShouldDoNothingWhenStatusIsFinal");
+	public void stepShouldFinishWhenStatusIsFinal() {
+		LOGGER.info("stepShouldFinishWhenStatusIsFinal");
 		when(mockGame.getStatus()).thenReturn(GameStatus.FINAL);
-		doNothing().when(spyGameTracker).waitForStart();
-		
-		assertFalse(spyGameTracker.isFinished());
-		spyGameTracker.run();
-		assertTrue(spyGameTracker.isFinished());
 
-		verify(spyGameTracker, never()).idleUntilNearStart();
-		verify(spyGameTracker, never()).waitForStart();
-		verify(spyGameTracker, never()).updateGame();
-		verifyNoMoreInteractions(mockGameChannelsManager);
+		assertFalse(gameTracker.isFinished());
+		gameTracker.step();
+		assertTrue(gameTracker.isFinished());
+		assertEquals(State.FINISHED, gameTracker.getState());
+
+		verify(mockLivePoller, never()).register(mockGame);
+		verify(mockLivePoller).deregister(mockGame);
+	}
+
+	@Test
+	public void stepShouldIdleWhenGameIsNotNearStart() {
+		LOGGER.info("stepShouldIdleWhenGameIsNotNearStart");
+		when(mockGame.getStatus()).thenReturn(GameStatus.PREVIEW);
+		when(DateUtils.diffMs(any(ZonedDateTime.class), any()))
+				.thenReturn(PollingPolicy.CLOSE_TO_START_THRESHOLD_MS);
+
+		assertEquals(PollingPolicy.IDLE_INTERVAL_MS, gameTracker.step());
+		assertEquals(State.IDLE, gameTracker.getState());
+		verify(mockLivePoller, never()).register(mockGame);
+	}
+
+	@Test
+	public void stepShouldTransitionThroughStatesUntilFinished() {
+		LOGGER.info("stepShouldTransitionThroughStatesUntilFinished");
+		when(mockGame.getStatus()).thenReturn(GameStatus.PREVIEW);
+		when(DateUtils.diffMs(any(), any())).thenReturn(0l);
+
+		assertEquals(PollingPolicy.LIVE_INTERVAL_MS, gameTracker.step());
+		assertEquals(State.NEAR_START, gameTracker.getState());
+		verify(mockLivePoller).register(mockGame);
+
+		assertEquals(PollingPolicy.LIVE_INTERVAL_MS, gameTracker.step());
+		assertEquals(State.NEAR_START, gameTracker.getState());
+
+		when(mockGame.getStatus()).thenReturn(GameStatus.LIVE);
+		assertEquals(PollingPolicy.LIVE_INTERVAL_MS, gameTracker.step());
+		assertEquals(State.LIVE, gameTracker.getState());
+
+		when(mockGame.getStatus()).thenReturn(GameStatus.FINAL);
+		assertEquals(PollingPolicy.FINAL_INTERVAL_MS, gameTracker.step());
+		assertEquals(State.POST_GAME, gameTracker.getState());
+
+		assertEquals(PollingPolicy.FINAL_INTERVAL_MS, gameTracker.step());
+		assertEquals(State.POST_GAME, gameTracker.getState());
+		assertFalse(gameTracker.isFinished());
+
+		when(DateUtils.diffMs(any(), any())).thenReturn(GameTracker.POST_GAME_UPDATE_DURATION);
+		gameTracker.step();
+		assertEquals(State.FINISHED, gameTracker.getState());
+		assertTrue(gameTracker.isFinished());
+		verify(mockLivePoller).deregister(mockGame);
+	}
+
+	@Test
+	public void stepShouldPollSlowerDuringIntermission() {
+		LOGGER.info("stepShouldPollSlowerDuringIntermission");
+		when(mockGame.getStatus()).thenReturn(GameStatus.PREVIEW);
+		when(DateUtils.diffMs(any(), any())).thenReturn(0l);
+		gameTracker.step();
+		when(mockGame.getStatus()).thenReturn(GameStatus.LIVE);
+		assertEquals(PollingPolicy.LIVE_INTERVAL_MS, gameTracker.step());
+
+		when(mockGame.getClock()).thenReturn(new GameClock(1, true, 1020));
+		assertEquals(PollingPolicy.MAX_INTERMISSION_INTERVAL_MS, gameTracker.step());
+		assertEquals(State.LIVE, gameTracker.getState());
+
+		when(mockGame.getClock()).thenReturn(new GameClock(2, false, 0));
+		assertEquals(PollingPolicy.LIVE_INTERVAL_MS, gameTracker.step());
+	}
+
+	@Test
+	public void stepShouldReturnToLiveWhenStatusReverts() {
+		LOGGER.info("stepShouldReturnToLiveWhenStatusReverts");
+		when(mockGame.getStatus()).thenReturn(GameStatus.PREVIEW);
+		when(DateUtils.diffMs(any(), any())).thenReturn(0l);
+		gameTracker.step();
+		when(mockGame.getStatus()).thenReturn(GameStatus.FINAL);
+		gameTracker.step();
+		assertEquals(State.POST_GAME, gameTracker.getState());
+
+		when(mockGame.getStatus()).thenReturn(GameStatus.LIVE);
+		gameTracker.step();
+		assertEquals(State.LIVE, gameTracker.getState());
+		assertFalse(gameTracker.isFinished());
 	}
 
 	@Test
-	@PrepareForTest({ DateUtils.class, GameDayChannel.class, Utils.class })
-	public void runShouldInvokeMethodsUntilConditionsAreMet() throws Exception {
-		LOGGER.info("runShouldInvokeMethodsUntilConditionsAreMet");
-		when(mockGame.getStatus()).thenReturn(GameStatus.PREVIEW, GameStatus.LIVE, GameStatus.LIVE, GameStatus.FINAL,
-				GameStatus.FINAL);
-		doNothing().when(spyGameTracker).idleUntilNearStart();
-		doNothing().when(spyGameTracker).waitForStart();
-		doNothing().when(spyGameTracker).updateGame();
-		mockStatic(DateUtils.class, Utils.class);
-		when(DateUtils.diffMs(any(ZonedDateTime.class), any(ZonedDateTime.class)))
-				.thenReturn(0l, GameTracker.POST_GAME_UPDATE_DURATION + 1);
+	public void runShouldRescheduleWithIntervalOfState() {
+		LOGGER.info("runShouldRescheduleWithIntervalOfState");
+		doReturn(PollingPolicy.IDLE_INTERVAL_MS).when(spyGameTracker).step();
 
-		assertFalse(spyGameTracker.isFinished());
 		spyGameTracker.run();
-		assertTrue(spyGameTracker.isFinished());
 
-		InOrder inOrder = inOrder(spyGameTracker, mockGameChannelsManager);
-		inOrder.verify(spyGameTracker).idleUntilNearStart();
-		inOrder.verify(spyGameTracker).waitForStart();
-		// Invoke once per state that is not PREVIEW
-		inOrder.verify(spyGameTracker, times(4)).updateGame();
+		verify(mockExecutor).schedule(any(Runnable.class), eq(PollingPolicy.IDLE_INTERVAL_MS),
+				eq(TimeUnit.MILLISECONDS));
+	}
+
+	@Test
+	public void runShouldNotRescheduleWhenFinished() {
+		LOGGER.info("runShouldNotRescheduleWhenFinished");
+		when(mockGame.getStatus()).thenReturn(GameStatus.FINAL);
+
+		gameTracker.run();
+
+		assertTrue(gameTracker.isFinished());
+		verify(mockExecutor, never()).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
 	}
 
 	@Test
-	@PrepareForTest({ DateUtils.class, GameDayChannel.class, Utils.class })
-	public void runShouldInvokeMethodsWhenStatusReverts() throws Exception {
-		LOGGER.info("runShouldInvokeMethodsWhenStatusReverts");
-		when(mockGame.getStatus()).thenReturn(GameStatus.PREVIEW, GameStatus.LIVE, GameStatus.LIVE, GameStatus.FINAL,
-				GameStatus.FINAL, GameStatus.LIVE, GameStatus.LIVE, GameStatus.FINAL, GameStatus.FINAL);
-		doNothing().when(spyGameTracker).idleUntilNearStart();
-		doNothing().when(spyGameTracker).waitForStart();
-		doNothing().when(spyGameTracker).updateGame();
-		mockStatic(DateUtils.class, Utils.class);
-		when(DateUtils.diffMs(any(ZonedDateTime.class), any(ZonedDateTime.class)))
-				.thenReturn(0l, 0l, 0l, GameTracker.POST_GAME_UPDATE_DURATION + 1);
+	public void runShouldFinishWhenStepFails() {
+		LOGGER.info("runShouldFinishWhenStepFails");
+		doThrow(new RuntimeException()).when(spyGameTracker).step();
 
-		assertFalse(spyGameTracker.isFinished());
 		spyGameTracker.run();
-		assertTrue(spyGameTracker.isFinished());
 
-		InOrder inOrder = inOrder(spyGameTracker, mockGameChannelsManager);
-		inOrder.verify(spyGameTracker).idleUntilNearStart();
-		inOrder.verify(spyGameTracker).waitForStart();
-		// Invoke once per state that is not PREVIEW
-		inOrder.verify(spyGameTracker, times(8)).updateGame();
+		assertTrue(spyGameTracker.isFinished());
+		verify(mockLivePoller).deregister(mockGame);
+		verify(mockExecutor, never()).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
 	}
-	
+
 	@Test
-	@PrepareForTest({ Utils.class, GameDayChannel.class })
-	public void waitForStartShouldSleepUntilGameStarted() throws HttpException {
-		LOGGER.info("waitForStartShouldSleepUntilGameStarted");
-		mockStatic(Utils.class);
-		when(mockGame.getStatus()).thenReturn(GameStatus.PREVIEW, GameStatus.PREVIEW, GameStatus.PREVIEW,
-				GameStatus.PREVIEW, GameStatus.STARTED);
+	public void startShouldScheduleOnce() {
+		LOGGER.info("startShouldScheduleOnce");
 
-		gameTracker.waitForStart();
+		gameTracker.start();
+		gameTracker.start();
+
+		verify(mockExecutor, times(1)).schedule(any(Runnable.class), eq(0l), eq(TimeUnit.MILLISECONDS));
 	}
-	
+
 	@Test
-	@PrepareForTest({ Utils.class, GameDayChannel.class })
-	public void updateChannelShouldShouldInvokeClasses() throws HttpException {
-		LOGGER.info("updateChannelShouldInvokeClasses");
-		mockStatic(Utils.class);
-		when(mockGame.getStatus()).thenReturn(GameStatus.STARTED, GameStatus.STARTED, GameStatus.STARTED,
-				GameStatus.STARTED, GameStatus.STARTED, GameStatus.FINAL);
+	public void stepShouldPublishCountdownWhenIdle() {
+		LOGGER.info("stepShouldPublishCountdownWhenIdle");
+		when(mockGame.getStatus()).thenReturn(GameStatus.PREVIEW);
+		when(DateUtils.diffMs(any(ZonedDateTime.class), any()))
+				.thenReturn(PollingPolicy.CLOSE_TO_START_THRESHOLD_MS);
+		gameTracker.addListener(mockListener);
 
-		spyGameTracker.updateGame();
+		gameTracker.step();
 
-		verify(mockGame, times(3)).update();
+		verify(mockListener).onCountdown(PollingPolicy.CLOSE_TO_START_THRESHOLD_MS);
 	}
 
 	@Test
-	@PrepareForTest({ Utils.class, GameDayChannel.class })
-	public void updateChannelShouldNotInvokeClassesIfGameIsFinal() throws HttpException {
-		LOGGER.info("updateChannelShouldNotInvokeClassesIfGameIsFinal");
-		mockStatic(Utils.class);
+	public void stepShouldPublishStatusChangesAndGameEnd() {
+		LOGGER.info("stepShouldPublishStatusChangesAndGameEnd");
+		when(mockGame.getStatus()).thenReturn(GameStatus.PREVIEW);
+		when(DateUtils.diffMs(any(), any())).thenReturn(0l);
+		gameTracker = new GameTracker(mockGame, mockLivePoller, mockExecutor);
+		gameTracker.addListener(mockListener);
+
+		gameTracker.step();
+		when(mockGame.getStatus()).thenReturn(GameStatus.STARTED);
+		gameTracker.step();
+		gameTracker.step();
 		when(mockGame.getStatus()).thenReturn(GameStatus.FINAL);
+		gameTracker.step();
+		gameTracker.step();
+		when(DateUtils.diffMs(any(), any())).thenReturn(GameTracker.POST_GAME_UPDATE_DURATION);
+		gameTracker.step();
+
+		InOrder inOrder = inOrder(mockListener);
+		inOrder.verify(mockListener).onStatusChanged(GameStatus.PREVIEW, GameStatus.STARTED);
+		inOrder.verify(mockListener).onStatusChanged(GameStatus.STARTED, GameStatus.FINAL);
+		inOrder.verify(mockListener).onGameEnded();
+		inOrder.verify(mockListener).onFinished(gameTracker);
+		verify(mockListener, times(2)).onStatusChanged(any(), any());
+	}
+
+	@Test
+	public void publishShouldContinueWhenListenerFails() {
+		LOGGER.info("publishShouldContinueWhenListenerFails");
+		GameTracker.Listener mockListener2 = mock(GameTracker.Listener.class);
+		doThrow(new RuntimeException()).when(mockListener).onGameEnded();
+		gameTracker.addListener(mockListener);
+		gameTracker.addListener(mockListener2);
+
+		gameTracker.publish(listener -> listener.onGameEnded());
+
+		verify(mockListener2).onGameEnded();
+	}
+
+	@Test
+	public void publishChangesShouldPublishSameDeltaToAllListeners() {
+		LOGGER.info("publishChangesShouldPublishSameDeltaToAllListeners");
+		GameEvent gameEvent = mockGameEvent();
+		GameTracker.Listener mockListener2 = mock(GameTracker.Listener.class);
+		gameTracker.addListener(mockListener);
+		gameTracker.addListener(mockListener2);
+		when(mockGame.getEvents()).thenReturn(Arrays.asList(gameEvent));
+		when(mockGame.getVersion()).thenReturn(1l);
+
+		gameTracker.publishChanges();
+
+		ArgumentCaptor<GameEventDelta> captor = ArgumentCaptor.forClass(GameEventDelta.class);
+		verify(mockListener).onEventsChanged(captor.capture());
+		verify(mockListener2).onEventsChanged(captor.getValue());
+		assertEquals(Arrays.asList(gameEvent), captor.getValue().getAdded());
+	}
+
+	@Test
+	public void publishChangesShouldNotPublishEmptyDelta() {
+		LOGGER.info("publishChangesShouldNotPublishEmptyDelta");
+		gameTracker.addListener(mockListener);
 
-		spyGameTracker.updateGame();
+		gameTracker.publishChanges();
 
-		verify(mockGame, never()).update();
+		verify(mockListener, never()).onEventsChanged(any());
 	}
 
 	@Test
-	public void startShouldInvokeRun() {
-		LOGGER.info("startShouldInvokeRun");
-		doNothing().when(spyGameTracker).superStart();
+	public void onEventsChangedShouldInvokeTypedCallbacks() {
+		LOGGER.info("onEventsChangedShouldInvokeTypedCallbacks");
+		GameEvent addedEvent = mockGameEvent();
+		GameEvent updatedEvent = mockGameEvent();
+		GameEvent removedEvent = mockGameEvent();
+		GameTracker.Listener spyListener = spy(new GameTracker.Listener() {});
 
-		spyGameTracker.start();
+		spyListener.onEventsChanged(new GameEventDelta(0, Arrays.asList(addedEvent), Arrays.asList(updatedEvent),
+				Arrays.asList(removedEvent)));
 
-		verify(spyGameTracker).superStart();
+		verify(spyListener).onGoalAdded(addedEvent);
+		verify(spyListener).onGoalChanged(updatedEvent);
+		verify(spyListener).onGoalRescinded(removedEvent);
 	}
 
 	@Test
-	public void startShouldInvokeRunOnce() {
-		LOGGER.info("startShouldInvokeRunOnce");
-		doNothing().when(spyGameTracker).superStart();
+	public void publishChangesShouldRetryWhenNoEventsAreReturned() {
+		LOGGER.info("publishChangesShouldRetryWhenNoEventsAreReturned");
+		GameEvent gameEvent = mockGameEvent();
+		when(mockGame.getEvents()).thenReturn(Arrays.asList(gameEvent));
+		gameTracker = new GameTracker(mockGame, mockLivePoller, mockExecutor);
+		gameTracker.addListener(mockListener);
+		when(mockGame.getEvents()).thenReturn(new ArrayList<>());
+		when(mockGame.getVersion()).thenReturn(1l);
 
-		spyGameTracker.start();
-		spyGameTracker.start();
+		for (int i = 0; i < GameEventDiffer.NHL_EVENTS_RETRIES; i++) {
+			gameTracker.publishChanges();
+		}
+		verify(mockListener, never()).onEventsChanged(any());
+
+		gameTracker.publishChanges();
+		ArgumentCaptor<GameEventDelta> captor = ArgumentCaptor.forClass(GameEventDelta.class);
+		verify(mockListener, times(1)).onEventsChanged(captor.capture());
+		assertEquals(Arrays.asList(gameEvent), captor.getValue().getRemoved());
+	}
+
+	@Test
+	public void publishChangesShouldNotDiffEventsWhenVersionIsUnchanged() {
+		LOGGER.info("publishChangesShouldNotDiffEventsWhenVersionIsUnchanged");
+		GameEvent gameEvent = mockGameEvent();
+		gameTracker.addListener(mockListener);
+		when(mockGame.getEvents()).thenReturn(Arrays.asList(gameEvent));
+
+		gameTracker.publishChanges();
+
+		verify(mockListener, never()).onEventsChanged(any());
+	}
+
+	@Test
+	public void stepShouldWaitWhileProvisional() {
+		LOGGER.info("stepShouldWaitWhileProvisional");
+		when(mockGame.getStatus()).thenReturn(GameStatus.FINAL);
+		gameTracker.addListener(mockListener);
+		gameTracker.setProvisional();
+
+		assertEquals(PollingPolicy.LIVE_INTERVAL_MS, gameTracker.step());
+
+		assertFalse(gameTracker.isFinished());
+		assertEquals(State.IDLE, gameTracker.getState());
+		verify(mockListener, never()).onFinished(any());
+	}
+
+	@Test
+	public void rebaseShouldNotPublishChangesSinceProvisionalState() {
+		LOGGER.info("rebaseShouldNotPublishChangesSinceProvisionalState");
+		when(mockGame.getStatus()).thenReturn(GameStatus.PREVIEW);
+		gameTracker = new GameTracker(mockGame, mockLivePoller, mockExecutor);
+		gameTracker.addListener(mockListener);
+		gameTracker.setProvisional();
+		// Game is revalidated
+		GameEvent gameEvent = mockGameEvent();
+		when(mockGame.getStatus()).thenReturn(GameStatus.LIVE);
+		when(mockGame.getEvents()).thenReturn(Arrays.asList(gameEvent));
+		when(mockGame.getVersion()).thenReturn(1l);
+
+		gameTracker.rebase();
+		gameTracker.publishChanges();
+
+		assertFalse(gameTracker.isProvisional());
+		verify(mockListener, never()).onStatusChanged(any(), any());
+		verify(mockListener, never()).onEventsChanged(any());
+
+		// Later changes are published
+		GameEvent gameEvent2 = mockGameEvent();
+		when(mockGame.getEvents()).thenReturn(Arrays.asList(gameEvent, gameEvent2));
+		when(mockGame.getVersion()).thenReturn(2l);
+		gameTracker.publishChanges();
+
+		ArgumentCaptor<GameEventDelta> captor = ArgumentCaptor.forClass(GameEventDelta.class);
+		verify(mockListener).onEventsChanged(captor.capture());
+		assertEquals(Arrays.asList(gameEvent2), captor.getValue().getAdded());
+	}
 
-		verify(spyGameTracker, times(1)).superStart();
+	static GameEvent mockGameEvent() {
+		GameEvent gameEvent = mock(GameEvent.class);
+		when(gameEvent.getId()).thenReturn(Utils.getRandomInt());
+		when(gameEvent.getPlayers()).thenReturn(Arrays.asList(mock(Player.class)));
+		return gameEvent;
 	}
-}
\ No newline at end of file
+}
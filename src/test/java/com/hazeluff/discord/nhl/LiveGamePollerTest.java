@@ -0,0 +1,260 @@
+package com.hazeluff.discord.nhl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.hazeluff.discord.utils.HttpException;
+import com.hazeluff.discord.utils.RequestBudget;
+import com.hazeluff.discord.utils.Utils;
+
+@RunWith(PowerMockRunner.class)
+public class LiveGamePollerTest {
+	private static final Logger LOGGER = LoggerFactory.getLogger(LiveGamePollerTest.class);
+
+	private static final int GAME_PK1 = 2020020001;
+	private static final int GAME_PK2 = 2020020002;
+
+	@Mock
+	private Game mockGame1, mockGame2;
+	@Mock
+	private PollingPolicy mockPollingPolicy;
+	@Mock
+	private RequestBudget mockRequestBudget;
+
+	private LiveGamePoller livePoller;
+	private LiveGamePoller spyLivePoller;
+
+	@Before
+	public void before() {
+		when(mockGame1.getGamePk()).thenReturn(GAME_PK1);
+		when(mockGame2.getGamePk()).thenReturn(GAME_PK2);
+		// Games are due on every poll, unless a test stubs the interval
+		when(mockRequestBudget.tryAcquire()).thenReturn(true);
+		livePoller = new LiveGamePoller(mockPollingPolicy, mockRequestBudget);
+		spyLivePoller = spy(livePoller);
+	}
+
+	@Test
+	public void registerShouldAddAndDeregisterShouldRemoveGame() {
+		LOGGER.info("registerShouldAddAndDeregisterShouldRemoveGame");
+		assertFalse(livePoller.isRegistered(mockGame1));
+
+		livePoller.register(mockGame1);
+		assertTrue(livePoller.isRegistered(mockGame1));
+		assertFalse(livePoller.isRegistered(mockGame2));
+
+		livePoller.deregister(mockGame1);
+		assertFalse(livePoller.isRegistered(mockGame1));
+	}
+
+	@Test
+	public void pollShouldNotFetchWhenNoGamesAreRegistered() throws HttpException {
+		LOGGER.info("pollShouldNotFetchWhenNoGamesAreRegistered");
+		spyLivePoller.poll();
+
+		verify(spyLivePoller, never()).fetchGames(anyList());
+	}
+
+	@Test
+	public void pollShouldUpdateAllRegisteredGamesFromOneFetch() throws HttpException {
+		LOGGER.info("pollShouldUpdateAllRegisteredGamesFromOneFetch");
+		Game fetchedGame1 = mock(Game.class);
+		Game fetchedGame2 = mock(Game.class);
+		Map<Integer, Game> fetchedGames = new HashMap<>();
+		fetchedGames.put(GAME_PK1, fetchedGame1);
+		fetchedGames.put(GAME_PK2, fetchedGame2);
+		doReturn(fetchedGames).when(spyLivePoller).fetchGames(anyList());
+		spyLivePoller.register(mockGame1);
+		spyLivePoller.register(mockGame2);
+
+		spyLivePoller.poll();
+
+		verify(spyLivePoller).fetchGames(anyList());
+		verify(mockGame1).updateTo(fetchedGame1);
+		verify(mockGame2).updateTo(fetchedGame2);
+	}
+
+	@Test
+	public void pollShouldUpdateGameIndividuallyWhenNotInSchedule() throws HttpException {
+		LOGGER.info("pollShouldUpdateGameIndividuallyWhenNotInSchedule");
+		Game fetchedGame1 = mock(Game.class);
+		Map<Integer, Game> fetchedGames = new HashMap<>();
+		fetchedGames.put(GAME_PK1, fetchedGame1);
+		doReturn(fetchedGames).when(spyLivePoller).fetchGames(anyList());
+		spyLivePoller.register(mockGame1);
+		spyLivePoller.register(mockGame2);
+
+		spyLivePoller.poll();
+
+		verify(mockGame1).updateTo(fetchedGame1);
+		verify(mockGame1, never()).update();
+		verify(mockGame2).update();
+	}
+
+	@Test
+	public void pollShouldOnlyUpdateMissingGamesWhenScheduleIsUnchanged() throws HttpException {
+		LOGGER.info("pollShouldOnlyUpdateMissingGamesWhenScheduleIsUnchanged");
+		Map<Integer, Game> fetchedGames = new HashMap<>();
+		fetchedGames.put(GAME_PK1, mock(Game.class));
+		doReturn(fetchedGames).doReturn(null).when(spyLivePoller).fetchGames(anyList());
+		spyLivePoller.register(mockGame1);
+		spyLivePoller.register(mockGame2);
+
+		spyLivePoller.poll();
+		spyLivePoller.poll();
+
+		verify(mockGame1).updateTo(any(Game.class));
+		verify(mockGame1, never()).update();
+		verify(mockGame2, times(2)).update();
+	}
+
+	@Test
+	public void pollShouldNotUpdateGamesWhenFetchFails() throws HttpException {
+		LOGGER.info("pollShouldNotUpdateGamesWhenFetchFails");
+		doThrow(HttpException.class).when(spyLivePoller).fetchGames(anyList());
+		spyLivePoller.register(mockGame1);
+
+		spyLivePoller.poll();
+
+		verify(mockGame1, never()).update();
+	}
+
+	@Test
+	public void pollShouldNotFetchUntilIntervalOfGamePassed() throws HttpException {
+		LOGGER.info("pollShouldNotFetchUntilIntervalOfGamePassed");
+		Map<Integer, Game> fetchedGames = new HashMap<>();
+		fetchedGames.put(GAME_PK1, mock(Game.class));
+		doReturn(fetchedGames).when(spyLivePoller).fetchGames(anyList());
+		when(mockPollingPolicy.getInterval(any(Game.class), any(ZonedDateTime.class)))
+				.thenReturn(PollingPolicy.MAX_INTERMISSION_INTERVAL_MS);
+		spyLivePoller.register(mockGame1);
+
+		spyLivePoller.poll();
+		spyLivePoller.poll();
+
+		verify(spyLivePoller, times(1)).fetchGames(anyList());
+		verify(mockPollingPolicy).getInterval(any(Game.class), any(ZonedDateTime.class));
+	}
+
+	@Test
+	public void pollShouldDeferWhenRequestBudgetIsSpent() throws HttpException {
+		LOGGER.info("pollShouldDeferWhenRequestBudgetIsSpent");
+		Map<Integer, Game> fetchedGames = new HashMap<>();
+		fetchedGames.put(GAME_PK1, mock(Game.class));
+		doReturn(fetchedGames).when(spyLivePoller).fetchGames(anyList());
+		when(mockRequestBudget.tryAcquire()).thenReturn(false, true, false);
+		spyLivePoller.register(mockGame1);
+		spyLivePoller.register(mockGame2);
+
+		spyLivePoller.poll();
+		verify(spyLivePoller, never()).fetchGames(anyList());
+
+		spyLivePoller.poll();
+		verify(spyLivePoller).fetchGames(anyList());
+		verify(mockGame1).updateTo(any(Game.class));
+		// Budget is spent for the individual update
+		verify(mockGame2, never()).update();
+	}
+
+	@Test
+	public void pollShouldUpdateClocksOfPlayingGames() throws HttpException {
+		LOGGER.info("pollShouldUpdateClocksOfPlayingGames");
+		GameClock clock = new GameClock(2, true, 540);
+		Map<Integer, GameClock> clocks = new HashMap<>();
+		clocks.put(GAME_PK1, clock);
+		// Scoring plays are unchanged while the clock runs
+		doReturn(null).when(spyLivePoller).fetchGames(anyList());
+		doReturn(clocks).when(spyLivePoller).fetchClocks(anyList());
+		when(mockGame1.getStatus()).thenReturn(GameStatus.LIVE);
+		when(mockGame2.getStatus()).thenReturn(GameStatus.FINAL);
+		spyLivePoller.register(mockGame1);
+		spyLivePoller.register(mockGame2);
+
+		spyLivePoller.poll();
+
+		verify(spyLivePoller).fetchClocks(Arrays.asList(mockGame1));
+		verify(mockGame1).setClock(clock);
+		verify(mockGame2, never()).setClock(any(GameClock.class));
+	}
+
+	@Test
+	public void pollShouldFetchClocksAtClockPollRate() throws HttpException {
+		LOGGER.info("pollShouldFetchClocksAtClockPollRate");
+		doReturn(null).when(spyLivePoller).fetchGames(anyList());
+		doReturn(null).when(spyLivePoller).fetchClocks(anyList());
+		when(mockGame1.getStatus()).thenReturn(GameStatus.LIVE);
+		when(mockGame2.getStatus()).thenReturn(GameStatus.PREVIEW);
+		spyLivePoller.register(mockGame1);
+		spyLivePoller.register(mockGame2);
+
+		spyLivePoller.poll();
+		spyLivePoller.poll();
+		verify(spyLivePoller, times(2)).fetchGames(anyList());
+		verify(spyLivePoller, times(1)).fetchClocks(anyList());
+
+		// Clocks are fetched right away when another game starts being played
+		when(mockGame2.getStatus()).thenReturn(GameStatus.LIVE);
+		spyLivePoller.poll();
+		verify(spyLivePoller, times(2)).fetchClocks(anyList());
+
+		// Clocks are fetched again once they are due
+		spyLivePoller.pollClocks(Arrays.asList(mockGame1, mockGame2),
+				Utils.getCurrentTime() + LiveGamePoller.CLOCK_POLL_RATE_MS);
+		verify(spyLivePoller, times(3)).fetchClocks(anyList());
+	}
+
+	@Test
+	public void pollShouldNotFetchClocksWhenNoGameIsPlaying() throws HttpException {
+		LOGGER.info("pollShouldNotFetchClocksWhenNoGameIsPlaying");
+		doReturn(null).when(spyLivePoller).fetchGames(anyList());
+		when(mockGame1.getStatus()).thenReturn(GameStatus.PREVIEW);
+		spyLivePoller.register(mockGame1);
+
+		spyLivePoller.poll();
+
+		verify(spyLivePoller, never()).fetchClocks(anyList());
+	}
+
+	@Test
+	public void buildURIShouldNotExpandLinescore() {
+		LOGGER.info("buildURIShouldNotExpandLinescore");
+		LocalDate date = LocalDate.of(2021, 1, 13);
+
+		assertFalse(livePoller.buildURI(date, date).toString().contains("linescore"));
+		assertTrue(livePoller.buildLinescoreURI(date, date).toString().contains("linescore"));
+	}
+
+	@Test
+	public void getScheduleDateShouldUseNHLTimeZone() {
+		LOGGER.info("getScheduleDateShouldUseNHLTimeZone");
+		when(mockGame1.getDate()).thenReturn(ZonedDateTime.of(2021, 1, 14, 3, 0, 0, 0, ZoneOffset.UTC));
+
+		assertEquals(LocalDate.of(2021, 1, 13), LiveGamePoller.getScheduleDate(mockGame1));
+	}
+}
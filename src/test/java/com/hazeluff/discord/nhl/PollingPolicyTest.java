@@ -0,0 +1,82 @@
+package com.hazeluff.discord.nhl;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.when;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@RunWith(PowerMockRunner.class)
+public class PollingPolicyTest {
+	private static final Logger LOGGER = LoggerFactory.getLogger(PollingPolicyTest.class);
+
+	private static final ZonedDateTime GAME_DATE = ZonedDateTime.of(2021, 1, 14, 3, 0, 0, 0, ZoneOffset.UTC);
+
+	@Mock
+	private Game mockGame;
+
+	private PollingPolicy pollingPolicy;
+
+	@Before
+	public void before() {
+		when(mockGame.getDate()).thenReturn(GAME_DATE);
+		when(mockGame.getClock()).thenReturn(GameClock.NONE);
+		pollingPolicy = new PollingPolicy();
+	}
+
+	@Test
+	public void getIntervalShouldIdleUntilGameIsCloseToStarting() {
+		LOGGER.info("getIntervalShouldIdleUntilGameIsCloseToStarting");
+		when(mockGame.getStatus()).thenReturn(GameStatus.PREVIEW);
+
+		assertEquals(PollingPolicy.IDLE_INTERVAL_MS, pollingPolicy.getInterval(mockGame,
+				GAME_DATE.minusNanos(PollingPolicy.CLOSE_TO_START_THRESHOLD_MS * 1000000)));
+		assertEquals(PollingPolicy.LIVE_INTERVAL_MS, pollingPolicy.getInterval(mockGame, GAME_DATE.minusMinutes(1)));
+		// Late to start
+		assertEquals(PollingPolicy.LIVE_INTERVAL_MS, pollingPolicy.getInterval(mockGame, GAME_DATE.plusMinutes(10)));
+
+		when(mockGame.getStatus()).thenReturn(GameStatus.POSTPONED);
+		assertEquals(PollingPolicy.IDLE_INTERVAL_MS, pollingPolicy.getInterval(mockGame, GAME_DATE));
+	}
+
+	@Test
+	public void getIntervalShouldPollActivelyDuringPeriods() {
+		LOGGER.info("getIntervalShouldPollActivelyDuringPeriods");
+		when(mockGame.getStatus()).thenReturn(GameStatus.LIVE);
+		when(mockGame.getClock()).thenReturn(new GameClock(2, false, 0));
+
+		assertEquals(PollingPolicy.LIVE_INTERVAL_MS, pollingPolicy.getInterval(mockGame, GAME_DATE));
+	}
+
+	@Test
+	public void getIntervalShouldSlowDownDuringIntermission() {
+		LOGGER.info("getIntervalShouldSlowDownDuringIntermission");
+		when(mockGame.getStatus()).thenReturn(GameStatus.LIVE);
+
+		when(mockGame.getClock()).thenReturn(new GameClock(1, true, 1020));
+		assertEquals(PollingPolicy.MAX_INTERMISSION_INTERVAL_MS, pollingPolicy.getInterval(mockGame, GAME_DATE));
+
+		// Speeds up as the intermission ends
+		when(mockGame.getClock()).thenReturn(new GameClock(1, true, 60));
+		assertEquals(30000, pollingPolicy.getInterval(mockGame, GAME_DATE));
+
+		when(mockGame.getClock()).thenReturn(new GameClock(1, true, 0));
+		assertEquals(PollingPolicy.LIVE_INTERVAL_MS, pollingPolicy.getInterval(mockGame, GAME_DATE));
+	}
+
+	@Test
+	public void getIntervalShouldSlowDownWhenGameIsFinal() {
+		LOGGER.info("getIntervalShouldSlowDownWhenGameIsFinal");
+		when(mockGame.getStatus()).thenReturn(GameStatus.FINAL);
+
+		assertEquals(PollingPolicy.FINAL_INTERVAL_MS, pollingPolicy.getInterval(mockGame, GAME_DATE));
+	}
+}
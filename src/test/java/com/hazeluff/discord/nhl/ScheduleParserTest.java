@@ -0,0 +1,136 @@
+package com.hazeluff.discord.nhl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.json.JSONException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.hazeluff.discord.nhl.Player.EventRole;
+import com.hazeluff.discord.utils.DateUtils;
+
+@RunWith(PowerMockRunner.class)
+public class ScheduleParserTest {
+	private static final Logger LOGGER = LoggerFactory.getLogger(ScheduleParserTest.class);
+
+	private static final String SCORING_PLAY = "{"
+			+ "\"players\":["
+				+ "{\"player\":{\"id\":8474568,\"fullName\":\"Elias Pettersson\",\"link\":\"/api\"},"
+					+ "\"playerType\":\"Scorer\",\"seasonTotal\":10},"
+				+ "{\"player\":{\"id\":8477500,\"fullName\":\"Quinn Hughes\"},\"playerType\":\"Assist\"},"
+				+ "{\"player\":{\"id\":8471679,\"fullName\":\"Mike Smith\"},\"playerType\":\"Goalie\"}"
+			+ "],"
+			+ "\"result\":{\"event\":\"Goal\",\"eventTypeId\":\"GOAL\",\"strength\":{\"code\":\"PPG\",\"name\":\"PP\"},"
+				+ "\"emptyNet\":false},"
+			+ "\"about\":{\"eventIdx\":%d,\"eventId\":%d,\"period\":2,\"periodType\":\"REGULAR\","
+				+ "\"ordinalNum\":\"2nd\",\"periodTime\":\"05:12\",\"dateTime\":\"2021-01-14T03:40:00Z\","
+				+ "\"goals\":{\"away\":1,\"home\":0}},"
+			+ "\"coordinates\":{\"x\":80.0,\"y\":-5.0},"
+			+ "\"team\":{\"id\":23,\"name\":\"Vancouver Canucks\"}"
+		+ "}";
+
+	private static String game(int gamePk, int awayTeamId, int homeTeamId, String statusCode, String... plays) {
+		return "{"
+				+ "\"gamePk\":" + gamePk + ","
+				+ "\"link\":\"/api/v1/game/" + gamePk + "/feed/live\","
+				+ "\"gameDate\":\"2021-01-14T03:00:00Z\","
+				+ "\"status\":{\"abstractGameState\":\"Live\",\"statusCode\":\"" + statusCode + "\"},"
+				+ "\"teams\":{"
+					+ "\"away\":{\"leagueRecord\":{\"wins\":1},\"score\":2,\"team\":{\"id\":" + awayTeamId + "}},"
+					+ "\"home\":{\"score\":1,\"team\":{\"id\":" + homeTeamId + ",\"name\":\"Team\"}}"
+				+ "},"
+				+ "\"venue\":{\"name\":\"Arena\"},"
+				+ "\"scoringPlays\":[" + String.join(",", plays) + "]"
+			+ "}";
+	}
+
+	private static final String SCHEDULE = "{"
+			+ "\"copyright\":\"NHL\","
+			+ "\"totalGames\":3,"
+			+ "\"dates\":["
+				+ "{\"date\":\"2021-01-13\",\"games\":["
+					+ game(2020020001, 23, 22, "3", String.format(SCORING_PLAY, 10, 101),
+							String.format(SCORING_PLAY, 20, 202))
+					+ "," + game(2020020002, 20, 23, "1")
+				+ "],\"events\":[]},"
+				+ "{\"date\":\"2021-01-14\",\"games\":["
+					// Unknown team. Skipped.
+					+ game(2020020003, 999, 23, "1")
+					+ "," + game(2020020004, 22, 20, "7", String.format(SCORING_PLAY, 30, 303))
+				+ "]}"
+			+ "]"
+		+ "}";
+
+	@Test
+	public void parseGamesShouldParseGames() {
+		LOGGER.info("parseGamesShouldParseGames");
+		int[] expectedGamePks = { 2020020001, 2020020002, 2020020004 };
+		Team[] expectedAwayTeams = { Team.parse(23), Team.parse(20), Team.parse(22) };
+		Team[] expectedHomeTeams = { Team.parse(22), Team.parse(23), Team.parse(20) };
+		GameStatus[] expectedStatuses = { GameStatus.parse(3), GameStatus.parse(1), GameStatus.parse(7) };
+		int[] expectedEventCounts = { 2, 0, 1 };
+
+		List<Game> result = ScheduleParser.parseGames(SCHEDULE);
+
+		assertEquals(3, result.size());
+		for (int i = 0; i < result.size(); i++) {
+			Game game = result.get(i);
+			assertEquals(expectedGamePks[i], game.getGamePk());
+			assertEquals(DateUtils.parseNHLDate("2021-01-14T03:00:00Z"), game.getDate());
+			assertEquals(expectedAwayTeams[i], game.getAwayTeam());
+			assertEquals(expectedHomeTeams[i], game.getHomeTeam());
+			assertEquals(2, game.getAwayScore());
+			assertEquals(1, game.getHomeScore());
+			assertEquals(expectedStatuses[i], game.getStatus());
+			assertEquals(expectedEventCounts[i], game.getEvents().size());
+		}
+	}
+
+	@Test
+	public void parseGamesShouldMapScoringPlays() {
+		LOGGER.info("parseGamesShouldMapScoringPlays");
+		Game game = ScheduleParser.parseGames(SCHEDULE).get(0);
+
+		assertEquals(GameStatus.LIVE, game.getStatus());
+		assertEquals(2, game.getEvents().size());
+		GameEvent event = game.getEvents().get(0);
+		assertEquals(101, event.getId());
+		assertEquals(10, event.getIdx());
+		assertEquals(Team.VANCOUVER_CANUCKS, event.getTeam());
+		assertEquals(GameEventStrength.PPG, event.getStrength());
+		assertEquals("05:12", event.getPeriodTime());
+		// Goalies are excluded
+		assertEquals(2, event.getPlayers().size());
+		assertTrue(event.getPlayers().stream().noneMatch(player -> player.getRole() == EventRole.GOALIE));
+	}
+
+	@Test
+	public void parseGamesShouldMapLinescore() {
+		LOGGER.info("parseGamesShouldMapLinescore");
+		String linescore = "\"linescore\":{\"currentPeriod\":2,\"currentPeriodOrdinal\":\"2nd\","
+				+ "\"periods\":[{\"num\":1}],"
+				+ "\"intermissionInfo\":{\"intermissionTimeRemaining\":540,\"inIntermission\":true}}";
+		String jsonGame = game(2020020001, 23, 22, "3").replaceFirst("^\\{", "{" + linescore + ",");
+		String schedule = "{\"dates\":[{\"games\":[" + jsonGame + "]}]}";
+
+		GameClock clock = ScheduleParser.parseGames(schedule).get(0).getClock();
+
+		assertEquals(2, clock.getCurrentPeriod());
+		assertTrue(clock.isInIntermission());
+		assertEquals(540, clock.getIntermissionTimeRemaining());
+		// Games without a linescore have no clock
+		assertEquals(GameClock.NONE, ScheduleParser.parseGames(SCHEDULE).get(0).getClock());
+	}
+
+	@Test(expected = JSONException.class)
+	public void parseGamesShouldThrowExceptionWhenJSONIsInvalid() {
+		LOGGER.info("parseGamesShouldThrowExceptionWhenJSONIsInvalid");
+		ScheduleParser.parseGames("{\"dates\":[{\"games\":[");
+	}
+}
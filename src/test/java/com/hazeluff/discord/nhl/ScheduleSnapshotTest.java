@@ -0,0 +1,110 @@
+package com.hazeluff.discord.nhl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.hazeluff.discord.nhl.Player.EventRole;
+
+@RunWith(PowerMockRunner.class)
+public class ScheduleSnapshotTest {
+	private static final Logger LOGGER = LoggerFactory.getLogger(ScheduleSnapshotTest.class);
+
+	private static final String SEASON = "20-21";
+	private static final ZonedDateTime DATE = ZonedDateTime.of(2021, 1, 14, 3, 0, 0, 0, ZoneOffset.UTC);
+
+	private Path snapshotPath;
+
+	@Before
+	public void before() throws IOException {
+		snapshotPath = Files.createTempDirectory("schedule").resolve("data").resolve("schedule.snapshot");
+	}
+
+	private static Game game(int gamePk, GameStatus status, GameEvent... events) {
+		Game game = new Game(DATE, gamePk, Team.VANCOUVER_CANUCKS, Team.EDMONTON_OILERS, 0, 0, null);
+		game.publish(events.length, 1, status, Arrays.asList(events));
+		return game;
+	}
+
+	private static GameEvent event(int id) {
+		return new GameEvent(id, id * 10, DATE.plusMinutes(id), GameEventType.GOAL, Team.VANCOUVER_CANUCKS, "05:12",
+				new GamePeriod(2, GamePeriod.Type.REGULAR, "2nd"),
+				Arrays.asList(new Player(8474568, "Elias Pettersson", EventRole.SCORER),
+						new Player(8477500, "Quinn Hughes", EventRole.ASSIST)),
+				GameEventStrength.PPG);
+	}
+
+	@Test
+	public void readShouldReturnWrittenGames() throws IOException {
+		LOGGER.info("readShouldReturnWrittenGames");
+		List<Game> games = Arrays.asList(game(2020020001, GameStatus.FINAL, event(1), event(2)),
+				game(2020020002, null));
+
+		ScheduleSnapshot.write(snapshotPath, SEASON, games);
+		List<Game> result = ScheduleSnapshot.read(snapshotPath, SEASON);
+
+		assertEquals(games.size(), result.size());
+		for (int i = 0; i < games.size(); i++) {
+			Game expected = games.get(i);
+			Game game = result.get(i);
+			assertEquals(expected.getGamePk(), game.getGamePk());
+			assertEquals(expected.getDate(), game.getDate());
+			assertEquals(expected.getAwayTeam(), game.getAwayTeam());
+			assertEquals(expected.getHomeTeam(), game.getHomeTeam());
+			assertEquals(expected.getAwayScore(), game.getAwayScore());
+			assertEquals(expected.getHomeScore(), game.getHomeScore());
+			assertEquals(expected.getStatus(), game.getStatus());
+			assertEquals(expected.getEvents(), game.getEvents());
+		}
+		assertNull(result.get(1).getStatus());
+		assertFalse(Files.exists(snapshotPath.resolveSibling("schedule.snapshot.tmp")));
+	}
+
+	@Test(expected = IOException.class)
+	public void readShouldThrowExceptionWhenSeasonIsDifferent() throws IOException {
+		LOGGER.info("readShouldThrowExceptionWhenSeasonIsDifferent");
+		ScheduleSnapshot.write(snapshotPath, "19-20", Arrays.asList(game(2019020001, GameStatus.FINAL)));
+
+		ScheduleSnapshot.read(snapshotPath, SEASON);
+	}
+
+	@Test(expected = IOException.class)
+	public void readShouldThrowExceptionWhenFormatVersionIsDifferent() throws IOException {
+		LOGGER.info("readShouldThrowExceptionWhenFormatVersionIsDifferent");
+		Files.createDirectories(snapshotPath.getParent());
+		try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(snapshotPath))) {
+			out.writeInt(ScheduleSnapshot.MAGIC);
+			out.writeInt(ScheduleSnapshot.FORMAT_VERSION + 1);
+			out.writeUTF(SEASON);
+			out.writeInt(0);
+		}
+
+		ScheduleSnapshot.read(snapshotPath, SEASON);
+	}
+
+	@Test(expected = IOException.class)
+	public void readShouldThrowExceptionWhenFileIsTruncated() throws IOException {
+		LOGGER.info("readShouldThrowExceptionWhenFileIsTruncated");
+		ScheduleSnapshot.write(snapshotPath, SEASON, Arrays.asList(game(2020020001, GameStatus.FINAL, event(1))));
+		byte[] bytes = Files.readAllBytes(snapshotPath);
+		Files.write(snapshotPath, Arrays.copyOf(bytes, bytes.length - 10));
+
+		ScheduleSnapshot.read(snapshotPath, SEASON);
+	}
+}
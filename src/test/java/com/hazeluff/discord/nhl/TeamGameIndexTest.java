@@ -0,0 +1,94 @@
+package com.hazeluff.discord.nhl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.hazeluff.discord.nhl.TeamGameIndex.Partition;
+
+@RunWith(PowerMockRunner.class)
+public class TeamGameIndexTest {
+	private static final Logger LOGGER = LoggerFactory.getLogger(TeamGameIndexTest.class);
+
+	private static final Team TEAM = Team.VANCOUVER_CANUCKS;
+	private static final Team TEAM2 = Team.EDMONTON_OILERS;
+	private static final ZonedDateTime DATE = ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+	private Game pastGame;
+	private Game currentGame;
+	private Game futureGame1;
+	private Game futureGame2;
+	private TeamGameIndex teamGameIndex;
+
+	@Before
+	public void before() {
+		pastGame = mockGame(1, 0, GameStatus.FINAL, TEAM, TEAM2);
+		currentGame = mockGame(2, 1, GameStatus.LIVE, TEAM, TEAM2);
+		futureGame1 = mockGame(3, 2, GameStatus.PREVIEW, TEAM2, TEAM);
+		futureGame2 = mockGame(4, 3, GameStatus.SCHEDULED, TEAM, Team.CALGARY_FLAMES);
+		teamGameIndex = new TeamGameIndex();
+		teamGameIndex.addAll(Arrays.asList(futureGame2, currentGame, pastGame, futureGame1));
+	}
+
+	@Test
+	public void getGamesShouldReturnGamesOfTeamSortedByDate() {
+		LOGGER.info("getGamesShouldReturnGamesOfTeamSortedByDate");
+		assertEquals(Arrays.asList(pastGame, currentGame, futureGame1, futureGame2), teamGameIndex.getGames(TEAM));
+		assertEquals(Arrays.asList(pastGame, currentGame, futureGame1), teamGameIndex.getGames(TEAM2));
+		assertEquals(Arrays.asList(futureGame2), teamGameIndex.getGames(Team.CALGARY_FLAMES));
+	}
+
+	@Test
+	public void getGameShouldReturnGameOfPartition() {
+		LOGGER.info("getGameShouldReturnGameOfPartition");
+		assertEquals(futureGame1, teamGameIndex.getGame(TEAM, Partition.FUTURE, 0, false));
+		assertEquals(futureGame2, teamGameIndex.getGame(TEAM, Partition.FUTURE, 1, false));
+		assertNull(teamGameIndex.getGame(TEAM, Partition.FUTURE, 2, false));
+		assertEquals(pastGame, teamGameIndex.getGame(TEAM, Partition.PAST, 0, true));
+		assertEquals(currentGame, teamGameIndex.getGame(TEAM, Partition.CURRENT, 0, false));
+		assertNull(teamGameIndex.getGame(Team.CALGARY_FLAMES, Partition.CURRENT, 0, false));
+	}
+
+	@Test
+	public void updateShouldMoveGameToPartitionOfStatus() {
+		LOGGER.info("updateShouldMoveGameToPartitionOfStatus");
+		when(currentGame.getStatus()).thenReturn(GameStatus.FINAL);
+		teamGameIndex.update(currentGame);
+
+		assertTrue(teamGameIndex.getGames(TEAM, Partition.CURRENT).isEmpty());
+		assertEquals(Arrays.asList(pastGame, currentGame), teamGameIndex.getGames(TEAM, Partition.PAST));
+		assertEquals(currentGame, teamGameIndex.getGame(TEAM2, Partition.PAST, 0, true));
+	}
+
+	@Test
+	public void removeShouldRemoveGameFromAllTeams() {
+		LOGGER.info("removeShouldRemoveGameFromAllTeams");
+		teamGameIndex.remove(futureGame1);
+
+		assertEquals(Arrays.asList(pastGame, currentGame, futureGame2), teamGameIndex.getGames(TEAM));
+		assertEquals(Arrays.asList(pastGame, currentGame), teamGameIndex.getGames(TEAM2));
+		assertEquals(futureGame2, teamGameIndex.getGame(TEAM, Partition.FUTURE, 0, false));
+	}
+
+	private static Game mockGame(int gamePk, int days, GameStatus status, Team homeTeam, Team awayTeam) {
+		Game game = mock(Game.class);
+		when(game.getGamePk()).thenReturn(gamePk);
+		when(game.getDate()).thenReturn(DATE.plusDays(days));
+		when(game.getStatus()).thenReturn(status);
+		when(game.getTeams()).thenReturn(Arrays.asList(homeTeam, awayTeam));
+		return game;
+	}
+}
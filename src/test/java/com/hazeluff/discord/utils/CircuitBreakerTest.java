@@ -0,0 +1,90 @@
+package com.hazeluff.discord.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.hazeluff.discord.utils.CircuitBreaker.State;
+
+@RunWith(PowerMockRunner.class)
+public class CircuitBreakerTest {
+	private static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreakerTest.class);
+
+	private static final int FAILURE_THRESHOLD = 3;
+	private static final long OPEN_MS = 1000;
+
+	private AtomicLong time;
+	private CircuitBreaker circuitBreaker;
+
+	@Before
+	public void before() {
+		time = new AtomicLong(0);
+		circuitBreaker = new CircuitBreaker("test", FAILURE_THRESHOLD, OPEN_MS, time::get);
+	}
+
+	private void fail(int times) {
+		for (int i = 0; i < times; i++) {
+			assertTrue(circuitBreaker.tryAcquire());
+			circuitBreaker.onFailure();
+		}
+	}
+
+	@Test
+	public void circuitShouldOpenAfterConsecutiveFailures() {
+		LOGGER.info("circuitShouldOpenAfterConsecutiveFailures");
+		fail(FAILURE_THRESHOLD - 1);
+		assertTrue(circuitBreaker.tryAcquire());
+		circuitBreaker.onSuccess();
+		fail(FAILURE_THRESHOLD - 1);
+		assertEquals(State.CLOSED, circuitBreaker.getState());
+
+		fail(1);
+
+		assertEquals(State.OPEN, circuitBreaker.getState());
+		assertFalse(circuitBreaker.tryAcquire());
+		assertEquals(1, circuitBreaker.getRejected());
+		assertEquals(1, circuitBreaker.getOpened());
+	}
+
+	@Test
+	public void circuitShouldLetOneTrialThroughAfterOpenDuration() {
+		LOGGER.info("circuitShouldLetOneTrialThroughAfterOpenDuration");
+		fail(FAILURE_THRESHOLD);
+		time.set(OPEN_MS - 1);
+		assertFalse(circuitBreaker.tryAcquire());
+
+		time.set(OPEN_MS);
+		assertTrue(circuitBreaker.tryAcquire());
+		assertEquals(State.HALF_OPEN, circuitBreaker.getState());
+		assertFalse(circuitBreaker.tryAcquire());
+
+		circuitBreaker.onSuccess();
+		assertEquals(State.CLOSED, circuitBreaker.getState());
+		assertTrue(circuitBreaker.tryAcquire());
+	}
+
+	@Test
+	public void circuitShouldOpenAgainWhenTrialFails() {
+		LOGGER.info("circuitShouldOpenAgainWhenTrialFails");
+		fail(FAILURE_THRESHOLD);
+		time.set(OPEN_MS);
+		assertTrue(circuitBreaker.tryAcquire());
+
+		circuitBreaker.onFailure();
+
+		assertEquals(State.OPEN, circuitBreaker.getState());
+		assertFalse(circuitBreaker.tryAcquire());
+		assertEquals(2, circuitBreaker.getOpened());
+		time.set(OPEN_MS * 2);
+		assertTrue(circuitBreaker.tryAcquire());
+	}
+}
@@ -0,0 +1,71 @@
+package com.hazeluff.discord.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@RunWith(PowerMockRunner.class)
+public class EventWorkerPoolTest {
+	private static final Logger LOGGER = LoggerFactory.getLogger(EventWorkerPoolTest.class);
+
+	@Test
+	public void submitShouldRunTasksAndRecordStatsPerSource() throws InterruptedException {
+		LOGGER.info("submitShouldRunTasksAndRecordStatsPerSource");
+		EventWorkerPool pool = new EventWorkerPool(2, 10);
+
+		assertTrue(pool.submit(String.class, () -> {}));
+		assertTrue(pool.submit(String.class, () -> {}));
+		assertTrue(pool.submit(Integer.class, () -> {
+			throw new RuntimeException();
+		}));
+		pool.shutdown(5000);
+
+		assertEquals(2, pool.getStats(String.class).getSubmitted());
+		assertEquals(2, pool.getStats(String.class).getCompleted());
+		assertEquals(0, pool.getStats(String.class).getFailed());
+		assertEquals(1, pool.getStats(Integer.class).getSubmitted());
+		assertEquals(0, pool.getStats(Integer.class).getCompleted());
+		assertEquals(1, pool.getStats(Integer.class).getFailed());
+		assertEquals(2, pool.getAllStats().size());
+	}
+
+	@Test
+	public void submitShouldShedTasksWhenQueueIsFull() throws InterruptedException {
+		LOGGER.info("submitShouldShedTasksWhenQueueIsFull");
+		EventWorkerPool pool = new EventWorkerPool(1, 1);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		// Occupies the only thread
+		assertTrue(pool.submit(String.class, () -> {
+			started.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}));
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		// Fills the queue
+		assertTrue(pool.submit(String.class, () -> {}));
+		assertEquals(1, pool.getQueueSize());
+		// Shed
+		assertFalse(pool.submit(String.class, () -> {}));
+
+		release.countDown();
+		pool.shutdown(5000);
+
+		assertEquals(3, pool.getStats(String.class).getSubmitted());
+		assertEquals(1, pool.getStats(String.class).getRejected());
+		assertEquals(2, pool.getStats(String.class).getCompleted());
+	}
+}
@@ -0,0 +1,43 @@
+package com.hazeluff.discord.utils;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@RunWith(PowerMockRunner.class)
+public class LatencyTrackerTest {
+	private static final Logger LOGGER = LoggerFactory.getLogger(LatencyTrackerTest.class);
+
+	@Test
+	public void getPercentileShouldReturnLatencyAtPercentile() {
+		LOGGER.info("getPercentileShouldReturnLatencyAtPercentile");
+		LatencyTracker latencyTracker = new LatencyTracker(100);
+		assertEquals(-1, latencyTracker.getPercentile(95));
+
+		for (int i = 100; i >= 1; i--) {
+			latencyTracker.record(i);
+		}
+
+		assertEquals(100, latencyTracker.size());
+		assertEquals(50, latencyTracker.getPercentile(50));
+		assertEquals(95, latencyTracker.getPercentile(95));
+		assertEquals(100, latencyTracker.getPercentile(100));
+		assertEquals(1, latencyTracker.getPercentile(0));
+	}
+
+	@Test
+	public void recordShouldOverwriteOldestLatency() {
+		LOGGER.info("recordShouldOverwriteOldestLatency");
+		LatencyTracker latencyTracker = new LatencyTracker(2);
+		latencyTracker.record(1000);
+		latencyTracker.record(10);
+		latencyTracker.record(20);
+
+		assertEquals(2, latencyTracker.size());
+		assertEquals(20, latencyTracker.getPercentile(100));
+	}
+}
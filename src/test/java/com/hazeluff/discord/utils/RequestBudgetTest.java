@@ -0,0 +1,93 @@
+package com.hazeluff.discord.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@RunWith(PowerMockRunner.class)
+public class RequestBudgetTest {
+	private static final Logger LOGGER = LoggerFactory.getLogger(RequestBudgetTest.class);
+
+	private static final double PERMITS_PER_SECOND = 2;
+	private static final int BURST = 3;
+
+	private AtomicLong time;
+	private RequestBudget requestBudget;
+
+	@Before
+	public void before() {
+		time = new AtomicLong(0);
+		requestBudget = new RequestBudget("test", PERMITS_PER_SECOND, BURST, time::get);
+	}
+
+	@Test
+	public void tryAcquireShouldAllowBurstThenDeny() {
+		LOGGER.info("tryAcquireShouldAllowBurstThenDeny");
+		for (int i = 0; i < BURST; i++) {
+			assertTrue(requestBudget.tryAcquire());
+		}
+		assertFalse(requestBudget.tryAcquire());
+
+		assertEquals(BURST, requestBudget.getAcquired());
+		assertEquals(1, requestBudget.getDenied());
+	}
+
+	@Test
+	public void tryAcquireShouldAllowRequestsAtRefillRate() {
+		LOGGER.info("tryAcquireShouldAllowRequestsAtRefillRate");
+		for (int i = 0; i < BURST; i++) {
+			requestBudget.tryAcquire();
+		}
+
+		time.addAndGet(499);
+		assertFalse(requestBudget.tryAcquire());
+		time.addAndGet(1);
+		assertTrue(requestBudget.tryAcquire());
+		assertFalse(requestBudget.tryAcquire());
+
+		// Tokens do not accumulate beyond the burst
+		time.addAndGet(60000);
+		assertEquals(BURST, requestBudget.getAvailable());
+	}
+
+	@Test
+	public void recordShouldGoIntoDebtThatDefersOptionalRequests() {
+		LOGGER.info("recordShouldGoIntoDebtThatDefersOptionalRequests");
+		for (int i = 0; i < BURST * 3; i++) {
+			requestBudget.record();
+		}
+		// Debt is limited to the burst
+		assertEquals(-BURST, requestBudget.getAvailable());
+		assertEquals(BURST * 3, requestBudget.getRecorded());
+
+		// Debt is paid back before a token is available
+		time.addAndGet(1999);
+		assertFalse(requestBudget.tryAcquire());
+		time.addAndGet(1);
+		assertTrue(requestBudget.tryAcquire());
+	}
+
+	@Test
+	public void getWaitMsShouldReturnTimeUntilNextToken() {
+		LOGGER.info("getWaitMsShouldReturnTimeUntilNextToken");
+		assertEquals(0, requestBudget.getWaitMs());
+		for (int i = 0; i < BURST; i++) {
+			requestBudget.tryAcquire();
+		}
+		assertEquals(500, requestBudget.getWaitMs());
+
+		time.addAndGet(200);
+		assertEquals(300, requestBudget.getWaitMs());
+		time.addAndGet(300);
+		assertEquals(0, requestBudget.getWaitMs());
+	}
+}
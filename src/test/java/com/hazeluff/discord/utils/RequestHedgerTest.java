@@ -0,0 +1,177 @@
+package com.hazeluff.discord.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@RunWith(PowerMockRunner.class)
+public class RequestHedgerTest {
+	private static final Logger LOGGER = LoggerFactory.getLogger(RequestHedgerTest.class);
+
+	private static final long LATENCY_MS = 10;
+
+	private ScheduledExecutorService scheduler;
+	private ExecutorService executor;
+	private LatencyTracker latencies;
+	private AtomicBoolean permit;
+	private RequestHedger requestHedger;
+
+	private AtomicInteger calls;
+	private CountDownLatch release;
+
+	@Before
+	public void before() {
+		scheduler = Executors.newSingleThreadScheduledExecutor();
+		executor = Executors.newCachedThreadPool();
+		latencies = new LatencyTracker(100);
+		permit = new AtomicBoolean(true);
+		requestHedger = new RequestHedger(scheduler, executor, latencies, 95, 0, permit::get, Utils::getCurrentTime);
+		calls = new AtomicInteger();
+		release = new CountDownLatch(1);
+	}
+
+	@After
+	public void after() {
+		release.countDown();
+		scheduler.shutdownNow();
+		executor.shutdownNow();
+	}
+
+	private void recordLatencies() {
+		for (int i = 0; i < RequestHedger.MIN_SAMPLES; i++) {
+			latencies.record(LATENCY_MS);
+		}
+	}
+
+	/*
+	 * First call is slow (until released), and later calls are fast.
+	 */
+	private String slowThenFast() throws InterruptedException {
+		if (calls.incrementAndGet() == 1) {
+			release.await(5, TimeUnit.SECONDS);
+			return "primary";
+		}
+		return "hedge";
+	}
+
+	@Test
+	public void submitShouldNotHedgeUntilLatenciesAreKnown() {
+		LOGGER.info("submitShouldNotHedgeUntilLatenciesAreKnown");
+		assertEquals(-1, requestHedger.getHedgeDelay());
+
+		scheduler.schedule(release::countDown, 100, TimeUnit.MILLISECONDS);
+		assertEquals("primary", requestHedger.submit(this::slowThenFast).join());
+
+		assertEquals(1, calls.get());
+		assertEquals(0, requestHedger.getHedged());
+		assertEquals(1, latencies.size());
+	}
+
+	@Test
+	public void submitShouldHedgeSlowRequestAndTakeFirstResult() {
+		LOGGER.info("submitShouldHedgeSlowRequestAndTakeFirstResult");
+		recordLatencies();
+		assertEquals(LATENCY_MS, requestHedger.getHedgeDelay());
+
+		assertEquals("hedge", requestHedger.submit(this::slowThenFast).join());
+
+		assertEquals(2, calls.get());
+		assertEquals(1, requestHedger.getRequests());
+		assertEquals(1, requestHedger.getHedged());
+		assertEquals(1, requestHedger.getHedgeWins());
+	}
+
+	@Test
+	public void submitShouldHedgeWhenMoreRequestsAreSlowThanSchedulerThreads() {
+		LOGGER.info("submitShouldHedgeWhenMoreRequestsAreSlowThanSchedulerThreads");
+		recordLatencies();
+
+		// The first 2 requests are slow. The scheduler has 1 thread.
+		CheckedSupplier<String> request = () -> {
+			if (calls.incrementAndGet() <= 2) {
+				release.await(5, TimeUnit.SECONDS);
+				return "primary";
+			}
+			return "hedge";
+		};
+		CompletableFuture<String> result1 = requestHedger.submit(request);
+		CompletableFuture<String> result2 = requestHedger.submit(request);
+
+		assertEquals("hedge", result1.join());
+		assertEquals("hedge", result2.join());
+		assertEquals(2, requestHedger.getHedged());
+	}
+
+	@Test
+	public void submitShouldNotHedgeWhenNotPermitted() {
+		LOGGER.info("submitShouldNotHedgeWhenNotPermitted");
+		recordLatencies();
+		permit.set(false);
+
+		scheduler.schedule(release::countDown, 100, TimeUnit.MILLISECONDS);
+		assertEquals("primary", requestHedger.submit(this::slowThenFast).join());
+
+		assertEquals(1, calls.get());
+		assertEquals(0, requestHedger.getHedged());
+	}
+
+	@Test
+	public void submitShouldFailWhenAllRequestsFail() {
+		LOGGER.info("submitShouldFailWhenAllRequestsFail");
+		recordLatencies();
+
+		try {
+			requestHedger.submit(() -> {
+				if (calls.incrementAndGet() == 1) {
+					release.await(100, TimeUnit.MILLISECONDS);
+				}
+				throw new HttpException("Failed");
+			}).join();
+			fail("Expected CompletionException");
+		} catch (CompletionException e) {
+			assertTrue(e.getCause() instanceof HttpException);
+		}
+
+		assertEquals(2, calls.get());
+		assertEquals(0, requestHedger.getHedgeWins());
+	}
+
+	@Test
+	public void submitShouldNotHedgeRequestThatFailedFast() throws InterruptedException {
+		LOGGER.info("submitShouldNotHedgeRequestThatFailedFast");
+		for (int i = 0; i < RequestHedger.MIN_SAMPLES; i++) {
+			latencies.record(200);
+		}
+
+		try {
+			requestHedger.submit(() -> {
+				calls.incrementAndGet();
+				throw new HttpException("Failed");
+			}).join();
+			fail("Expected CompletionException");
+		} catch (CompletionException e) {
+		}
+		Thread.sleep(400);
+
+		assertEquals(1, calls.get());
+		assertEquals(0, requestHedger.getHedged());
+	}
+}
@@ -0,0 +1,91 @@
+package com.hazeluff.discord.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.message.BasicHttpResponse;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@RunWith(PowerMockRunner.class)
+public class ResponseFingerprintsTest {
+	private static final Logger LOGGER = LoggerFactory.getLogger(ResponseFingerprintsTest.class);
+
+	private static final URI URI1 = URI.create("https://statsapi.web.nhl.com/api/v1/schedule?teamId=23");
+	private static final URI URI2 = URI.create("https://statsapi.web.nhl.com/api/v1/schedule?teamId=22");
+
+	private ResponseFingerprints fingerprints;
+
+	@Before
+	public void before() {
+		fingerprints = new ResponseFingerprints();
+	}
+
+	private static HttpResponse response() {
+		return new BasicHttpResponse(HttpVersion.HTTP_1_1, HttpStatus.SC_OK, "OK");
+	}
+
+	private static byte[] bytes(String body) {
+		return body.getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Test
+	public void updateShouldReturnWhetherBodyChanged() {
+		LOGGER.info("updateShouldReturnWhetherBodyChanged");
+		assertTrue(fingerprints.update(URI1, response(), bytes("{\"a\":1}")));
+		assertFalse(fingerprints.update(URI1, response(), bytes("{\"a\":1}")));
+		assertTrue(fingerprints.update(URI1, response(), bytes("{\"a\":2}")));
+		// Fingerprints are per URI
+		assertTrue(fingerprints.update(URI2, response(), bytes("{\"a\":2}")));
+
+		fingerprints.remove(URI1);
+		assertFalse(fingerprints.contains(URI1));
+		assertTrue(fingerprints.update(URI1, response(), bytes("{\"a\":2}")));
+	}
+
+	@Test
+	public void addConditionalHeadersShouldAddValidatorsOfLastResponse() {
+		LOGGER.info("addConditionalHeadersShouldAddValidatorsOfLastResponse");
+		HttpGet request = new HttpGet(URI1);
+		fingerprints.addConditionalHeaders(URI1, request);
+		assertNull(request.getFirstHeader(HttpHeaders.IF_NONE_MATCH));
+		assertNull(request.getFirstHeader(HttpHeaders.IF_MODIFIED_SINCE));
+
+		HttpResponse response = response();
+		response.setHeader(HttpHeaders.ETAG, "\"abc\"");
+		response.setHeader(HttpHeaders.LAST_MODIFIED, "Thu, 14 Jan 2021 03:00:00 GMT");
+		fingerprints.update(URI1, response, bytes("{}"));
+		fingerprints.addConditionalHeaders(URI1, request);
+
+		assertEquals("\"abc\"", request.getFirstHeader(HttpHeaders.IF_NONE_MATCH).getValue());
+		assertEquals("Thu, 14 Jan 2021 03:00:00 GMT", request.getFirstHeader(HttpHeaders.IF_MODIFIED_SINCE).getValue());
+
+		HttpGet otherRequest = new HttpGet(URI2);
+		fingerprints.addConditionalHeaders(URI2, otherRequest);
+		assertNull(otherRequest.getFirstHeader(HttpHeaders.IF_NONE_MATCH));
+	}
+
+	@Test
+	public void fingerprintShouldDifferForDifferentBodies() {
+		LOGGER.info("fingerprintShouldDifferForDifferentBodies");
+		assertEquals(ResponseFingerprints.fingerprint(bytes("{\"a\":1}")),
+				ResponseFingerprints.fingerprint(bytes("{\"a\":1}")));
+		assertNotEquals(ResponseFingerprints.fingerprint(bytes("{\"a\":1}")),
+				ResponseFingerprints.fingerprint(bytes("{\"a\":2}")));
+	}
+}
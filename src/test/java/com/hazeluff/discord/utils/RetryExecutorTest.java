@@ -0,0 +1,125 @@
+package com.hazeluff.discord.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@RunWith(PowerMockRunner.class)
+public class RetryExecutorTest {
+	private static final Logger LOGGER = LoggerFactory.getLogger(RetryExecutorTest.class);
+
+	private RetryExecutor retryExecutor;
+
+	@Before
+	public void before() {
+		retryExecutor = new RetryExecutor("RetryTest", 1, 0, 0);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void submitShouldRetryUntilSuccess() throws Exception {
+		LOGGER.info("submitShouldRetryUntilSuccess");
+		CheckedSupplier<Object> supplier = mock(CheckedSupplier.class);
+		Object obj = new Object();
+		when(supplier.get()).thenThrow(RuntimeException.class).thenThrow(RuntimeException.class).thenReturn(obj);
+
+		assertEquals(obj, retryExecutor.submit(supplier, 5, "").join());
+
+		verify(supplier, times(3)).get();
+		assertEquals(3, retryExecutor.getAttempts());
+		assertEquals(2, retryExecutor.getRetries());
+		assertEquals(1, retryExecutor.getSucceeded());
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void submitShouldFailWithLastExceptionWhenAttemptsRunOut() throws Exception {
+		LOGGER.info("submitShouldFailWithLastExceptionWhenAttemptsRunOut");
+		CheckedSupplier<Object> supplier = mock(CheckedSupplier.class);
+		HttpException exception = new HttpException("fail");
+		when(supplier.get()).thenThrow(exception);
+
+		try {
+			retryExecutor.submit(supplier, 5, "").join();
+			fail("Expected CompletionException");
+		} catch (CompletionException e) {
+			assertSame(exception, e.getCause());
+		}
+
+		verify(supplier, times(5)).get();
+		assertEquals(1, retryExecutor.getFailed());
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void submitShouldNotRetryWhenExceptionIsNotRetryable() throws Exception {
+		LOGGER.info("submitShouldNotRetryWhenExceptionIsNotRetryable");
+		CheckedSupplier<Object> supplier = mock(CheckedSupplier.class);
+		when(supplier.get()).thenThrow(new CircuitOpenException("open"));
+
+		CompletableFuture<Object> future = retryExecutor.submit(supplier, 5,
+				e -> !(e instanceof CircuitOpenException), "");
+
+		try {
+			future.join();
+			fail("Expected CompletionException");
+		} catch (CompletionException e) {
+			assertTrue(e.getCause() instanceof CircuitOpenException);
+		}
+		verify(supplier, times(1)).get();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void submitShouldScheduleRetriesInsteadOfWaiting() throws Exception {
+		LOGGER.info("submitShouldScheduleRetriesInsteadOfWaiting");
+		ScheduledExecutorService mockScheduler = mock(ScheduledExecutorService.class);
+		retryExecutor = new RetryExecutor(mockScheduler, 1000, 60000);
+		CheckedSupplier<Object> supplier = mock(CheckedSupplier.class);
+
+		CompletableFuture<Object> future = retryExecutor.submit(supplier, 5, "");
+
+		// The first attempt is queued, not run by the calling thread.
+		verify(mockScheduler).execute(any(Runnable.class));
+		verify(supplier, times(0)).get();
+		assertFalse(future.isDone());
+		verify(mockScheduler, times(0)).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+	}
+
+	@Test
+	public void getDelayShouldBackOffExponentiallyWithJitterUpToMaximum() {
+		LOGGER.info("getDelayShouldBackOffExponentiallyWithJitterUpToMaximum");
+		retryExecutor = new RetryExecutor(mock(ScheduledExecutorService.class), 1000, 60000);
+		for (int i = 0; i < 100; i++) {
+			long delay1 = retryExecutor.getDelay(1);
+			assertTrue(delay1 >= 500 && delay1 <= 1000);
+			long delay3 = retryExecutor.getDelay(3);
+			assertTrue(delay3 >= 2000 && delay3 <= 4000);
+			long delay20 = retryExecutor.getDelay(20);
+			assertTrue(delay20 >= 30000 && delay20 <= 60000);
+			long delay100 = retryExecutor.getDelay(100);
+			assertTrue(delay100 >= 30000 && delay100 <= 60000);
+		}
+	}
+}
@@ -0,0 +1,152 @@
+package com.hazeluff.discord.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@RunWith(PowerMockRunner.class)
+public class SingleFlightTest {
+	private static final Logger LOGGER = LoggerFactory.getLogger(SingleFlightTest.class);
+
+	private SingleFlight<String, String> singleFlight;
+
+	@Before
+	public void before() {
+		singleFlight = new SingleFlight<>();
+	}
+
+	@Test
+	public void executeAsyncShouldShareCallInFlight() {
+		LOGGER.info("executeAsyncShouldShareCallInFlight");
+		CompletableFuture<String> call = new CompletableFuture<>();
+		AtomicInteger calls = new AtomicInteger();
+
+		CompletableFuture<String> result1 = singleFlight.executeAsync("key", () -> {
+			calls.incrementAndGet();
+			return call;
+		});
+		CompletableFuture<String> result2 = singleFlight.executeAsync("key", () -> {
+			calls.incrementAndGet();
+			return new CompletableFuture<>();
+		});
+		CompletableFuture<String> otherResult = singleFlight.executeAsync("otherKey",
+				() -> CompletableFuture.completedFuture("other"));
+
+		assertEquals(1, calls.get());
+		assertFalse(result1.isDone());
+		assertFalse(result2.isDone());
+		assertEquals(1, singleFlight.getInFlight());
+
+		call.complete("value");
+
+		assertEquals("value", result1.join());
+		assertEquals("value", result2.join());
+		assertEquals("other", otherResult.join());
+		assertEquals(0, singleFlight.getInFlight());
+		assertEquals(2, singleFlight.getCalls());
+		assertEquals(1, singleFlight.getShared());
+	}
+
+	@Test
+	public void executeAsyncShouldMakeNewCallAfterCallCompletes() {
+		LOGGER.info("executeAsyncShouldMakeNewCallAfterCallCompletes");
+		assertEquals("value1", singleFlight.executeAsync("key", () -> CompletableFuture.completedFuture("value1")).join());
+		assertEquals("value2", singleFlight.executeAsync("key", () -> CompletableFuture.completedFuture("value2")).join());
+		assertEquals(2, singleFlight.getCalls());
+		assertEquals(0, singleFlight.getShared());
+	}
+
+	@Test
+	public void executeAsyncShouldShareFailureAndRemoveCall() {
+		LOGGER.info("executeAsyncShouldShareFailureAndRemoveCall");
+		CompletableFuture<String> call = new CompletableFuture<>();
+		CompletableFuture<String> result1 = singleFlight.executeAsync("key", () -> call);
+		CompletableFuture<String> result2 = singleFlight.executeAsync("key", () -> call);
+		HttpException exception = new HttpException("fail");
+
+		call.completeExceptionally(exception);
+
+		for (CompletableFuture<String> result : Arrays.asList(result1, result2)) {
+			try {
+				result.join();
+				fail("Expected CompletionException");
+			} catch (CompletionException e) {
+				assertSame(exception, e.getCause());
+			}
+		}
+		assertEquals(0, singleFlight.getInFlight());
+	}
+
+	@Test
+	public void cancellingResultShouldNotAffectOtherCallers() {
+		LOGGER.info("cancellingResultShouldNotAffectOtherCallers");
+		CompletableFuture<String> call = new CompletableFuture<>();
+		CompletableFuture<String> result1 = singleFlight.executeAsync("key", () -> call);
+		CompletableFuture<String> result2 = singleFlight.executeAsync("key", () -> call);
+
+		result1.cancel(true);
+		call.complete("value");
+
+		assertTrue(result1.isCancelled());
+		assertEquals("value", result2.join());
+	}
+
+	@Test
+	public void executeShouldMakeOneCallForConcurrentCallers() throws Exception {
+		LOGGER.info("executeShouldMakeOneCallForConcurrentCallers");
+		int callers = 4;
+		CountDownLatch callStarted = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger calls = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(callers);
+		try {
+			Future<String> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+				calls.incrementAndGet();
+				callStarted.countDown();
+				release.await();
+				return "value";
+			}).join());
+			assertTrue(callStarted.await(5, TimeUnit.SECONDS));
+			@SuppressWarnings("unchecked")
+			Future<String>[] followers = new Future[callers - 1];
+			for (int i = 0; i < followers.length; i++) {
+				followers[i] = executor.submit(() -> singleFlight.execute("key", () -> {
+					calls.incrementAndGet();
+					return "other";
+				}).join());
+			}
+			while (singleFlight.getShared() < followers.length) {
+				Thread.sleep(10);
+			}
+
+			release.countDown();
+
+			assertEquals("value", leader.get(5, TimeUnit.SECONDS));
+			for (Future<String> follower : followers) {
+				assertEquals("value", follower.get(5, TimeUnit.SECONDS));
+			}
+			assertEquals(1, calls.get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
@@ -1,10 +1,10 @@
 package utils;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
-import static org.powermock.api.mockito.PowerMockito.mockStatic;
 import static org.powermock.api.mockito.PowerMockito.whenNew;
 
 import java.io.BufferedReader;
@@ -12,6 +12,8 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.http.HttpEntity;
 import org.apache.http.StatusLine;
@@ -19,21 +21,24 @@ import org.apache.http.client.ClientProtocolException;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClientBuilder;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.hazeluff.discord.Config;
+import com.hazeluff.discord.utils.CircuitOpenException;
 import com.hazeluff.discord.utils.HttpException;
 import com.hazeluff.discord.utils.HttpUtils;
+import com.hazeluff.discord.utils.RetryExecutor;
 
 @RunWith(PowerMockRunner.class)
-@PrepareForTest({ HttpUtils.class, HttpClientBuilder.class })
+@PrepareForTest({ HttpUtils.class })
 public class HttpUtilsTest {
 	private static final Logger LOGGER = LoggerFactory.getLogger(HttpUtilsTest.class);
 	
@@ -48,8 +53,6 @@ public class HttpUtilsTest {
 	@Mock
 	HttpEntity mockEntity;
 	@Mock
-	HttpClientBuilder mockClientBuilder;
-	@Mock
 	CloseableHttpClient mockClient;
 	@Mock
 	BufferedReader mockBufferedReader;
@@ -58,9 +61,10 @@ public class HttpUtilsTest {
 
 	@Before
 	public void setup() throws Exception {
-		mockStatic(HttpClientBuilder.class);
-		when(HttpClientBuilder.create()).thenReturn(mockClientBuilder);
-		when(mockClientBuilder.build()).thenReturn(mockClient);
+		Whitebox.setInternalState(HttpUtils.class, "client", mockClient);
+		Whitebox.setInternalState(HttpUtils.class, "retryExecutor", new RetryExecutor("Test", 1, 0, 0));
+		Whitebox.setInternalState(HttpUtils.class, "circuitBreakers", new ConcurrentHashMap<>());
+		Whitebox.setInternalState(HttpUtils.class, "lastKnownGoodResponses", new HashMap<>());
 		whenNew(HttpGet.class).withArguments(mockURI).thenReturn(mockRequest);
 		whenNew(BufferedReader.class).withAnyArguments().thenReturn(mockBufferedReader);
 		whenNew(InputStreamReader.class).withAnyArguments().thenReturn(mockInputStreamReader);
@@ -82,17 +86,58 @@ public class HttpUtilsTest {
 		verify(mockClient).execute(mockRequest);
 	}
 
+	@Test(expected = HttpException.class)
+	public void getShouldThrowHttpExceptionWhenStatusIsNot200()
+			throws URISyntaxException, ClientProtocolException, IOException, HttpException {
+		LOGGER.info("getShouldThrowHttpExceptionWhenStatusIsNot200");
+		when(mockClient.execute(mockRequest)).thenReturn(mockResponse);
+		when(mockResponse.getStatusLine()).thenReturn(mockStatusLine);
+		when(mockStatusLine.getStatusCode()).thenReturn(500, 200);
+
+		try {
+			HttpUtils.get(mockURI);
+		} finally {
+			verify(mockClient, times(1)).execute(mockRequest);
+		}
+	}
+
 	@Test
-	public void getShouldRetryWhenStatusIsNot200()
+	public void getShouldNotRequestWhenCircuitIsOpen()
 			throws URISyntaxException, ClientProtocolException, IOException, HttpException {
-		LOGGER.info("getShouldRetryWhenStatusIsNot200");
+		LOGGER.info("getShouldNotRequestWhenCircuitIsOpen");
+		when(mockClient.execute(mockRequest)).thenReturn(mockResponse);
+		when(mockResponse.getStatusLine()).thenReturn(mockStatusLine);
+		when(mockStatusLine.getStatusCode()).thenReturn(503);
+
+		for (int i = 0; i < Config.HTTP_CIRCUIT_FAILURE_THRESHOLD; i++) {
+			try {
+				HttpUtils.get(mockURI);
+				fail("Expected HttpException");
+			} catch (CircuitOpenException e) {
+				fail("Circuit opened early");
+			} catch (HttpException e) {
+			}
+		}
+		try {
+			HttpUtils.get(mockURI);
+			fail("Expected CircuitOpenException");
+		} catch (CircuitOpenException e) {
+		}
+
+		verify(mockClient, times(Config.HTTP_CIRCUIT_FAILURE_THRESHOLD)).execute(mockRequest);
+	}
+
+	@Test
+	public void getAndRetryShouldRetryWhenStatusIsNot200()
+			throws URISyntaxException, ClientProtocolException, IOException, HttpException {
+		LOGGER.info("getAndRetryShouldRetryWhenStatusIsNot200");
 		when(mockClient.execute(mockRequest)).thenReturn(mockResponse);
 		when(mockResponse.getStatusLine()).thenReturn(mockStatusLine);
 		when(mockStatusLine.getStatusCode()).thenReturn(500, 500, 500, 500, 200);
 		when(mockResponse.getEntity()).thenReturn(mockEntity);
 		when(mockBufferedReader.readLine()).thenReturn("{", "key:value", "}", null);
 
-		String result = HttpUtils.get(mockURI);
+		String result = HttpUtils.getAndRetry(mockURI, 5, "");
 
 		assertEquals("{key:value}", result);
 
@@ -100,16 +145,16 @@ public class HttpUtilsTest {
 	}
 
 	@Test
-	public void getShouldRetryWhenResponseIsNull()
+	public void getAndRetryShouldRetryWhenResponseIsNull()
 			throws URISyntaxException, ClientProtocolException, IOException, HttpException {
-		LOGGER.info("getShouldRetryWhenStatusIsNot200");
+		LOGGER.info("getAndRetryShouldRetryWhenResponseIsNull");
 		when(mockClient.execute(mockRequest)).thenReturn(null, null, null, null, mockResponse);
 		when(mockResponse.getStatusLine()).thenReturn(mockStatusLine);
 		when(mockStatusLine.getStatusCode()).thenReturn(200);
 		when(mockResponse.getEntity()).thenReturn(mockEntity);
 		when(mockBufferedReader.readLine()).thenReturn("{", "key:value", "}", null);
 
-		String result = HttpUtils.get(mockURI);
+		String result = HttpUtils.getAndRetry(mockURI, 5, "");
 
 		assertEquals("{key:value}", result);
 
@@ -118,9 +163,9 @@ public class HttpUtilsTest {
 
 	@SuppressWarnings("unchecked")
 	@Test
-	public void getShouldRetryWhenIOExceptionIsThrown()
+	public void getAndRetryShouldRetryWhenIOExceptionIsThrown()
 			throws URISyntaxException, ClientProtocolException, IOException, HttpException {
-		LOGGER.info("getShouldRetryWhenStatusIsNot200");
+		LOGGER.info("getAndRetryShouldRetryWhenIOExceptionIsThrown");
 		when(mockClient.execute(mockRequest)).thenThrow(IOException.class, IOException.class, IOException.class,
 				IOException.class).thenReturn(mockResponse);
 		when(mockResponse.getStatusLine()).thenReturn(mockStatusLine);
@@ -128,7 +173,7 @@ public class HttpUtilsTest {
 		when(mockResponse.getEntity()).thenReturn(mockEntity);
 		when(mockBufferedReader.readLine()).thenReturn("{", "key:value", "}", null);
 
-		String result = HttpUtils.get(mockURI);
+		String result = HttpUtils.getAndRetry(mockURI, 5, "");
 
 		assertEquals("{key:value}", result);
 
@@ -136,36 +181,53 @@ public class HttpUtilsTest {
 	}
 
 	@Test(expected = HttpException.class)
-	public void getShouldThrowHttpExceptionWhenRetriesExceededAndStatusIsNot200()
+	public void getAndRetryShouldThrowHttpExceptionWhenRetriesExceededAndStatusIsNot200()
 			throws URISyntaxException, ClientProtocolException, IOException, HttpException {
-		LOGGER.info("getShouldThrowHttpExceptionWhenRetriesExceeded");
+		LOGGER.info("getAndRetryShouldThrowHttpExceptionWhenRetriesExceededAndStatusIsNot200");
 		when(mockClient.execute(mockRequest)).thenReturn(mockResponse);
 		when(mockResponse.getStatusLine()).thenReturn(mockStatusLine);
 		when(mockStatusLine.getStatusCode()).thenReturn(500);
 		when(mockBufferedReader.readLine()).thenReturn("{", "key:value", "}", null);
 
-		HttpUtils.get(mockURI);
+		HttpUtils.getAndRetry(mockURI, 5, "");
 	}
 
 	@Test(expected = HttpException.class)
-	public void getShouldThrowHttpExceptionWhenRetriesExceededAndResponseIsNull()
+	public void getAndRetryShouldThrowHttpExceptionWhenRetriesExceededAndResponseIsNull()
 			throws URISyntaxException, ClientProtocolException, IOException, HttpException {
-		LOGGER.info("getShouldThrowHttpExceptionWhenRetriesExceededAndResponseIsNull");
+		LOGGER.info("getAndRetryShouldThrowHttpExceptionWhenRetriesExceededAndResponseIsNull");
 		when(mockClient.execute(mockRequest)).thenReturn(null);
 		when(mockResponse.getEntity()).thenReturn(mockEntity);
 		when(mockBufferedReader.readLine()).thenReturn("{", "key:value", "}", null);
 
-		HttpUtils.get(mockURI);
+		HttpUtils.getAndRetry(mockURI, 5, "");
 	}
 
 	@Test(expected = HttpException.class)
-	public void getShouldThrowHttpExceptionWhenRetriesExceededAndIOExceptionIsThrown()
+	public void getAndRetryShouldThrowHttpExceptionWhenRetriesExceededAndIOExceptionIsThrown()
 			throws URISyntaxException, ClientProtocolException, IOException, HttpException {
-		LOGGER.info("getShouldThrowHttpExceptionWhenRetriesExceededAndIOExceptionIsThrown");
+		LOGGER.info("getAndRetryShouldThrowHttpExceptionWhenRetriesExceededAndIOExceptionIsThrown");
 		when(mockClient.execute(mockRequest)).thenThrow(IOException.class);
 		when(mockBufferedReader.readLine()).thenReturn("{", "key:value", "}", null);
 
-		HttpUtils.get(mockURI);
+		HttpUtils.getAndRetry(mockURI, 5, "");
+	}
+
+	@Test
+	public void getAndRetryShouldReturnLastKnownGoodResponseWhenRetriesExceeded()
+			throws URISyntaxException, ClientProtocolException, IOException, HttpException {
+		LOGGER.info("getAndRetryShouldReturnLastKnownGoodResponseWhenRetriesExceeded");
+		when(mockClient.execute(mockRequest)).thenReturn(mockResponse);
+		when(mockResponse.getStatusLine()).thenReturn(mockStatusLine);
+		when(mockStatusLine.getStatusCode()).thenReturn(200, 500);
+		when(mockResponse.getEntity()).thenReturn(mockEntity);
+		when(mockBufferedReader.readLine()).thenReturn("{", "key:value", "}", null);
+
+		assertEquals("{key:value}", HttpUtils.getAndRetry(mockURI, 2, ""));
+		assertEquals("{key:value}", HttpUtils.getAndRetry(mockURI, 2, ""));
+
+		verify(mockClient, times(3)).execute(mockRequest);
+		assertEquals(1, HttpUtils.getFallbackResponses());
 	}
 
 	@Test(expected = HttpException.class)
@@ -4,11 +4,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.anyLong;
-import static org.mockito.Mockito.times;
-import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.powermock.api.mockito.PowerMockito.doThrow;
-import static org.powermock.api.mockito.PowerMockito.mock;
 import static org.powermock.api.mockito.PowerMockito.mockStatic;
 
 import java.time.Duration;
@@ -24,9 +21,7 @@ import org.powermock.modules.junit4.PowerMockRunner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.hazeluff.discord.utils.CheckedSupplier;
 import com.hazeluff.discord.utils.Utils;
-import com.hazeluff.test.ThrowableAssert;
 
 @RunWith(PowerMockRunner.class)
 public class UtilsTest {
@@ -87,19 +82,4 @@ public class UtilsTest {
 		assertEquals("2", set.toArray()[1]);
 		assertEquals("3", set.toArray()[2]);
 	}
-
-	@SuppressWarnings("unchecked")
-	@Test
-	public void getAndRetryShouldFunctionCorrectly() throws Exception {
-		CheckedSupplier<Object> supplier = mock(CheckedSupplier.class);
-		when(supplier.get()).thenThrow(RuntimeException.class);
-		ThrowableAssert.assertException(() -> Utils.getAndRetry(supplier, 5, 0, ""));
-		verify(supplier, times(5)).get();
-		
-		CheckedSupplier<Object> supplier2 = mock(CheckedSupplier.class);
-		Object obj = new Object();
-		when(supplier2.get()).thenThrow(RuntimeException.class).thenThrow(RuntimeException.class).thenReturn(obj);
-		assertEquals(obj, Utils.getAndRetry(supplier2, 5, 0, ""));
-		verify(supplier2, times(3)).get();
-	}
 }